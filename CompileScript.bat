@@ -12,13 +12,14 @@ SET DOCPACK=
 SET DOCERR=labs-javadoc.err
 SET MAINCLASSSRC=src/system/Main.java
 SET MAINCLASSBIN=system.Main
+SET TOOLCLASSSRC=src/system/Simulation.java src/system/Benchmark.java src/system/ListenerCheck.java src/system/LobbyServer.java src/system/LoadTest.java src/system/BotClient.java
 
 @echo off
 
 ECHO "[LABS SCRIPT ---------------------]"
 
 ECHO "1. Compiling ......................"
-javac -Xlint -cp "%SRCDIR%" %MAINCLASSSRC% -d %BINDIR% 2> %BINERR%
+javac -Xlint -cp "%SRCDIR%" %MAINCLASSSRC% %TOOLCLASSSRC% -d %BINDIR% 2> %BINERR%
 
 ECHO "2. Creating Jar ..................."
 cd bin
@@ -1,6 +1,6 @@
 package sysobj;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import system.Const;
 
 /**
@@ -12,6 +12,12 @@ import system.Const;
  */
 public class AIPlayer extends Player {
 
+	/** The difficulty of the AI, Const.AI_EASY or Const.AI_HARD. */
+	private int difficulty = Const.AI_EASY;
+
+	/** The suit this player decided on for the eight it is about to play, if any. */
+	private Suit plannedSuit;
+
 	/**
 	 * Default constructor.
 	 * @since 23
@@ -71,34 +77,33 @@ public class AIPlayer extends Player {
 	 * @since 23
 	 */
 	public Card decideCard(Card lastPlayedCard) {
-		/* ai will look through its hand and pick the first card that matches 
-		 * the last played card in either rank or suit. if it picks an 8, it will
-		 * pick a suit/rank at random. */
-		for (Card c : this.hand) {
-			Rank rank = c.getRank();
-			if (rank == Rank.EIGHT) {
-				return c;
-			}
-
-			if (rank == lastPlayedCard.getRank()
-					|| c.getSuit() == lastPlayedCard.getSuit()) {
-				return c;
-			}
+		/* ai will pick the first card in its hand that matches the last played
+		 * card in either rank or suit. if it picks an 8, it will pick a suit at
+		 * random. */
+		long legal = hand.legalMoves(lastPlayedCard.getId());
+		if (legal != 0L) {
+			return Card.of(Long.numberOfTrailingZeros(legal));
 		}
 		System.out.println("AIPlayer.decideCard() returned null card selection.");
 		return null;
 	}
 
 	/**
-	 * When the AI player plays an 8, they must decide a suit for the 8. Right now,
+	 * When the AI player plays an 8, they must decide a suit for the 8. If a suit
+	 * was planned along with the card (hard AI), that suit is used; otherwise
 	 * they choose one at random. If I wanted to modify the difficulty of the AI,
 	 * I could get it to take into account how many of x suit they have in their
 	 * hand and change the suit to match that suit.
+	 * @param r The random source of the game.
 	 * @return Suit The suit that they are changing the 8 to.
 	 * @since 23
 	 */
-	public Suit chooseSuit() {
-		Random r = new Random();
+	public Suit chooseSuit(RandomGenerator r) {
+		if (plannedSuit != null) {
+			Suit s = plannedSuit;
+			plannedSuit = null;
+			return s;
+		}
 		int choice = r.nextInt(4);
 		switch (choice) {
 		case 0: return Suit.CLUBS;
@@ -109,4 +114,32 @@ public class AIPlayer extends Player {
 		}
 	}
 
+	/**
+	 * Plans the suit to declare for the eight this player is about to play.
+	 * Used by the hard AI, which picks the card and the suit together.
+	 * @param s The suit to declare.
+	 * @since 23
+	 */
+	public void setPlannedSuit(Suit s) {
+		this.plannedSuit = s;
+	}
+
+	/**
+	 * Getter for the difficulty.
+	 * @return Const.AI_EASY or Const.AI_HARD.
+	 * @since 23
+	 */
+	public int getDifficulty() {
+		return this.difficulty;
+	}
+
+	/**
+	 * Setter for the difficulty.
+	 * @param difficulty Const.AI_EASY or Const.AI_HARD.
+	 * @since 23
+	 */
+	public void setDifficulty(int difficulty) {
+		this.difficulty = difficulty;
+	}
+
 }
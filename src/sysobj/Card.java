@@ -1,103 +1,161 @@
 package sysobj;
 
-import javax.swing.ImageIcon;
-import javax.swing.JButton;
+import java.util.HashMap;
+import java.util.Map;
+import system.Const;
 
 /**
- * Each card is composed of a suit, a rank, and a display image (if the card is
- * face up).
- * 
+ * Each card is composed of a suit and a rank. Cards are immutable values with
+ * no dependency on Swing, so the rules engine can create and compare them
+ * without initializing the AWT toolkit. The on-screen representation of a card
+ * is painted by the view (see system.CardTable and system.CardImages).
+ *
+ * Every card is identified by an id from 0 to 51, which is the suit ordinal
+ * times 13 plus the rank ordinal. The rank and suit are extracted from the id
+ * arithmetically, so rule checks can work on plain ints; a Card object is a
+ * view over its id. One shared instance exists per id (see of()).
+ *
  * @since 23
  * */
-public class Card extends JButton {
+public class Card {
+
+	/** The ordinal of Rank.EIGHT, used by the id-based rule checks. */
+	private static final int EIGHT = 7;
+
+	/** Every rank, indexed by ordinal. */
+	private static final Rank[] RANKS = Rank.values();
+
+	/** Every suit, indexed by ordinal. */
+	private static final Suit[] SUITS = Suit.values();
+
+	/** The shared instance of each card, indexed by id. */
+	private static final Card[] CARDS = new Card[Const.DECK_SIZE];
+
+	/** The name of each card ("QUEEN of HEARTS"), indexed by id. */
+	private static final String[] NAMES = new String[Const.DECK_SIZE];
+
+	/** The shared instance of each card, by name. */
+	private static final Map<String, Card> BY_NAME = new HashMap<>();
+
+	static {
+		for (int id = 0; id < Const.DECK_SIZE; id++) {
+			CARDS[id] = new Card(id);
+			NAMES[id] = RANKS[rankOf(id)] + " of " + SUITS[suitOf(id)];
+			BY_NAME.put(NAMES[id], CARDS[id]);
+		}
+	}
 
 	/**
-	 * SerialVersionID.
-	 * Default: @value 1L
+	 * Card id, from 0 to 51
 	 */
-	private static final long serialVersionUID = 1L;
+	private final int id;
 
 	/**
-	 * Card rank
+	 * Parameterized constructor for Card objects. Each card has a suit and a rank.
+	 * Prefer of(), which returns the shared instance instead of allocating.
+	 * @param r The rank of the card.
+	 * @param s The suit of the card.
+	 *
+	 * @since 23
 	 */
-	private final Rank rank;
+	public Card(Rank r, Suit s) {
+		this.id = idOf(r, s);
+	}
 
 	/**
-	 * Card suit
+	 * Creates the card with the passed id.
+	 * @param id The id of the card.
+	 *
+	 * @since 23
 	 */
-	private Suit suit;
+	private Card(int id) {
+		this.id = id;
+	}
 
 	/**
-	 * Card image
+	 * Returns the shared card with the passed id.
+	 * @param id The id of the card, from 0 to 51.
+	 * @return the card.
+	 *
+	 * @since 23
 	 */
-	private ImageIcon cardImg;
+	public static Card of(int id) {
+		return CARDS[id];
+	}
 
 	/**
-	 * Parameterized constructor for Card objects. Each card has a suit and a rank.
-	 * Based on this suit and rank, an ImageIcon is fetched that serves as a default
-	 * image for the card, since each Card is a button.
+	 * Returns the shared card with the passed rank and suit.
 	 * @param r The rank of the card.
 	 * @param s The suit of the card.
-	 * 
+	 * @return the card.
+	 *
 	 * @since 23
 	 */
-	public Card(Rank r, Suit s) {
-		this.rank = r;
-		this.suit = s;
+	public static Card of(Rank r, Suit s) {
+		return CARDS[idOf(r, s)];
 	}
 
 	/**
-	 * Fetches a new ImageIcon (and sets it) for the Card button based on some
-	 * factors that vary during play (is the card supposed to be hidden, is it
-	 * displayed as a left slice or a top slice). Dynamically builds the path
-	 * for the card object using conditionals to assign the correct path for the
-	 * correct image.
-	 * @param isTop Should the card be rendered as a top slice?
-	 * @param isLeft Should the card be rendered as a left slice?
-	 * @param isHidden Should the card face be visible or rendered as a card back?
-	 * @return ImageIcon that reflects the current state of the card.
-	 * 
+	 * Returns the id of the card with the passed rank and suit.
+	 * @param r The rank of the card.
+	 * @param s The suit of the card.
+	 * @return the id, from 0 to 51.
+	 *
 	 * @since 23
 	 */
-	public ImageIcon fetchCardImg(boolean isTop, boolean isLeft, boolean isHidden) {
-		Rank r = this.rank;
-		Suit s = this.suit;
-		StringBuilder path = new StringBuilder("asset/card/");
-
-		if (isHidden) {
-
-			// If hidden, determine the correct back image
-			if (isTop) {
-
-				// Top section hidden card
-				path.append("tback"); 
-			} else if (isLeft) {
-
-				// Left section hidden card
-				path.append("lback"); 
-			} else {
-
-				// Full card hidden
-				path.append("back");  
-			}
-		} else {
+	public static int idOf(Rank r, Suit s) {
+		return s.ordinal() * Const.CARDS_PER_SUIT + r.ordinal();
+	}
 
-			// If visible, determine the appropriate front image
-			if (isLeft) {
+	/**
+	 * Extracts the rank ordinal from a card id.
+	 * @param id The id of the card.
+	 * @return the ordinal of the card's rank.
+	 *
+	 * @since 23
+	 */
+	public static int rankOf(int id) {
+		return id % Const.CARDS_PER_SUIT;
+	}
 
-				// Left section prefix
-				path.append("l"); 
-			}
+	/**
+	 * Extracts the suit ordinal from a card id.
+	 * @param id The id of the card.
+	 * @return the ordinal of the card's suit.
+	 *
+	 * @since 23
+	 */
+	public static int suitOf(int id) {
+		return id / Const.CARDS_PER_SUIT;
+	}
 
-			// Get the rank and suit of the card as part of the path
-			path.append(rankToString(r));
-			path.append(suitToString(s));
-		}
+	/**
+	 * Returns the id of the card of the same rank as the passed id, in the
+	 * passed suit. Used when an eight is declared as another suit.
+	 * @param id The id of the card.
+	 * @param suit The ordinal of the new suit.
+	 * @return the id of the card in the new suit.
+	 *
+	 * @since 23
+	 */
+	public static int withSuit(int id, int suit) {
+		return suit * Const.CARDS_PER_SUIT + rankOf(id);
+	}
 
-		// All cards are .png files
-		path.append(".png");
-		this.setIcon(new ImageIcon(path.toString()));
-		return new ImageIcon(path.toString());
+	/**
+	 * Checks if a card may be played onto another. A play is legal if the card
+	 * is an eight, or if it matches the rank or suit of the top card.
+	 * @param cardId The id of the card to be played.
+	 * @param topId The id of the top card of the played cards pile.
+	 * @return true if the play is legal.
+	 *
+	 * @since 23
+	 */
+	public static boolean isLegalPlay(int cardId, int topId) {
+		int rank = rankOf(cardId);
+		return rank == EIGHT
+				|| rank == rankOf(topId)
+				|| suitOf(cardId) == suitOf(topId);
 	}
 
 	/**
@@ -105,7 +163,7 @@ public class Card extends JButton {
 	 * fetching the image from the assets folder.
 	 * @param s The passed suit, to convert to String.
 	 * @return a String representation of the suit.
-	 * 
+	 *
 	 * @since 23
 	 */
 	public String suitToString(Suit s) {
@@ -125,7 +183,7 @@ public class Card extends JButton {
 	 * fetching the image from the assets folder.
 	 * @param r The passed rank, to convert to String.
 	 * @return a String representation of the rank.
-	 * 
+	 *
 	 * @since 23
 	 */
 	public String rankToString(Rank r) {
@@ -134,14 +192,14 @@ public class Card extends JButton {
 		case TWO: return "2";
 		case THREE: return "3";
 		case FOUR: return "4";
-		case FIVE: return "5"; 
-		case SIX: return "6"; 
-		case SEVEN: return "7"; 
-		case EIGHT: return "8"; 
-		case NINE: return "9"; 
-		case TEN: return "1"; 
-		case JACK: return "J"; 
-		case QUEEN: return "Q"; 
+		case FIVE: return "5";
+		case SIX: return "6";
+		case SEVEN: return "7";
+		case EIGHT: return "8";
+		case NINE: return "9";
+		case TEN: return "1";
+		case JACK: return "J";
+		case QUEEN: return "Q";
 		case KING: return "K";
 		default:
 			System.out.println("Default switch case reached while converting Rank to String.");
@@ -150,69 +208,77 @@ public class Card extends JButton {
 
 	}
 
-	/**
-	 * Setter for the Suit.
-	 * @param s The suit to set the card to.
-	 * 
-	 * @since 23
-	 */
-	public void setSuit(Suit s) {
-		this.suit = s;
-	}
-
 	/**
 	 * Getter for the Rank.
 	 * @return the rank of the card.
-	 * 
+	 *
 	 * @since 23
 	 */
 	public Rank getRank() {
-		return this.rank;
+		return RANKS[rankOf(this.id)];
 	}
 
 	/**
 	 * Getter for the Suit.
 	 * @return the Suit of the card.
-	 * 
+	 *
 	 * @since 23
 	 */
 	public Suit getSuit() {
-		return this.suit;
+		return SUITS[suitOf(this.id)];
+	}
+
+	/**
+	 * Getter for the id.
+	 * @return the id of the card, from 0 to 51.
+	 *
+	 * @since 23
+	 */
+	public int getId() {
+		return this.id;
 	}
 
 	/**
-	 * Getter for the ImageIcon of the card.
-	 * @return the ImageIcon of the card.
-	 * 
+	 * Two cards are equal if they have the same id (rank and suit).
+	 * @param o The object to compare against.
+	 * @return true if o is a card of the same rank and suit.
+	 *
 	 * @since 23
 	 */
-	public ImageIcon getImage() {
-		return this.cardImg;
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Card)) {
+			return false;
+		}
+		return this.id == ((Card) o).id;
 	}
 
 	/**
-	 * Setter for the ImageIcon of the card.
-	 * @param img The new image to be displayed on the card.
-	 * 
+	 * Hash code consistent with equals().
+	 * @return the id of the card.
+	 *
 	 * @since 23
 	 */
-	public void setImage(ImageIcon img) {
-		this.cardImg = img;
-		this.setIcon(img);
+	@Override
+	public int hashCode() {
+		return this.id;
 	}
 
 	/**
 	 * Returns a string representation of a card, to be used in console print
 	 * statements and System.out calls, mainly.
 	 * @return a String representation of the card.
-	 * 
+	 *
 	 * @since 23
 	 */
 	@Override
 	public String toString() {
-		return this.rank + " of " + this.suit;
+		return NAMES[id];
 	}
-	
+
 	/**
 	 * Returns a suit from a passed String
 	 * @param suit String to return as a Suit
@@ -236,18 +302,11 @@ public class Card extends JButton {
 	 * @return the card
 	 */
 	public static Card getCardFromStr(String cardStr) {
-		if (cardStr == null || !cardStr.contains(" of ")) {
+		Card card = cardStr == null ? null : BY_NAME.get(cardStr);
+		if (card == null) {
 			throw new IllegalArgumentException("Invalid card format");
 		}
-
-		String[] parts = cardStr.split(" of ");
-		if (parts.length != 2) {
-			throw new IllegalArgumentException("Invalid card format");
-		}
-
-		Rank rank = Rank.valueOf(parts[0]);
-		Suit suit = Suit.valueOf(parts[1]);
-		return new Card(rank, suit);
+		return card;
 	}
 
 }
@@ -0,0 +1,222 @@
+package sysobj;
+
+import java.util.random.RandomGenerator;
+import system.Const;
+
+/**
+ * The library (draw pile) and the played cards (discard pile), kept in one
+ * fixed array of 52 slots. The library fills the array from the bottom, with
+ * its top card at the highest index in use. The played cards fill it from the
+ * end down, with the top card at the lowest index in use. Cards held by the
+ * players are in neither pile, so the two piles never overlap.
+ *
+ * The same 52 shared Card instances are reused every round and the array is
+ * allocated once, so resetting, shuffling, drawing and reshuffling the played
+ * cards back into the library produce no garbage.
+ *
+ * @since 23
+ */
+public class Deck {
+
+	/** Library cards in [0, librarySize), played cards in [DECK_SIZE - playedSize, DECK_SIZE). */
+	private final Card[] cards;
+
+	/** The number of cards in the library. */
+	private int librarySize;
+
+	/** The number of cards in the played cards pile. */
+	private int playedSize;
+
+	/**
+	 * Creates an empty deck. Call reset() to fill the library.
+	 * @since 23
+	 */
+	public Deck() {
+		this.cards = new Card[Const.DECK_SIZE];
+	}
+
+	/**
+	 * Puts all 52 cards back into the library, in id order, and empties the
+	 * played cards pile.
+	 * @since 23
+	 */
+	public void reset() {
+		for (int id = 0; id < Const.DECK_SIZE; id++) {
+			cards[id] = Card.of(id);
+		}
+		librarySize = Const.DECK_SIZE;
+		playedSize = 0;
+	}
+
+	/**
+	 * Empties both piles.
+	 * @since 23
+	 */
+	public void clear() {
+		librarySize = 0;
+		playedSize = 0;
+	}
+
+	/**
+	 * Shuffles the library in place (Fisher-Yates).
+	 * @param rng The random source of the game.
+	 * @since 23
+	 */
+	public void shuffle(RandomGenerator rng) {
+		for (int i = librarySize - 1; i > 0; i--) {
+			int j = rng.nextInt(i + 1);
+			Card tmp = cards[i];
+			cards[i] = cards[j];
+			cards[j] = tmp;
+		}
+	}
+
+	/**
+	 * Removes the top card of the library.
+	 * @return the drawn card, or null if the library is empty.
+	 * @since 23
+	 */
+	public Card draw() {
+		if (librarySize == 0) {
+			return null;
+		}
+		return cards[--librarySize];
+	}
+
+	/**
+	 * Puts a card on top of the played cards pile.
+	 * @param c The card played.
+	 * @since 23
+	 */
+	public void discard(Card c) {
+		playedSize++;
+		cards[Const.DECK_SIZE - playedSize] = c;
+	}
+
+	/**
+	 * Replaces the top card of the played cards pile, or plays the card if the
+	 * pile is empty. Used by clients, who only mirror the top card sent by the
+	 * host.
+	 * @param c The new top card.
+	 * @since 23
+	 */
+	public void setTopCard(Card c) {
+		if (playedSize == 0) {
+			discard(c);
+		} else {
+			cards[Const.DECK_SIZE - playedSize] = c;
+		}
+	}
+
+	/**
+	 * Getter for the top card of the played cards pile.
+	 * @return the last played card, or null if none has been played.
+	 * @since 23
+	 */
+	public Card getTopCard() {
+		if (playedSize == 0) {
+			return null;
+		}
+		return cards[Const.DECK_SIZE - playedSize];
+	}
+
+	/**
+	 * Moves every played card except the top one back into the library, then
+	 * shuffles the library. The cards are moved as one range, and the top card
+	 * stays as the only played card.
+	 * @param rng The random source of the game.
+	 * @return the number of cards moved into the library.
+	 * @since 23
+	 */
+	public int recyclePlayedCards(RandomGenerator rng) {
+		int moved = playedSize - 1;
+		if (moved <= 0) {
+			return 0;
+		}
+		Card top = cards[Const.DECK_SIZE - playedSize];
+		System.arraycopy(cards, Const.DECK_SIZE - moved, cards, librarySize, moved);
+		librarySize += moved;
+		playedSize = 1;
+		cards[Const.DECK_SIZE - 1] = top;
+		shuffle(rng);
+		return moved;
+	}
+
+	/**
+	 * Makes this deck a copy of the passed deck, without allocating.
+	 * @param other The deck to copy.
+	 * @since 23
+	 */
+	public void copyFrom(Deck other) {
+		System.arraycopy(other.cards, 0, cards, 0, Const.DECK_SIZE);
+		librarySize = other.librarySize;
+		playedSize = other.playedSize;
+	}
+
+	/**
+	 * Getter for a card of the library.
+	 * @param index The position in the library, 0 being the bottom.
+	 * @return the card at that position.
+	 * @since 23
+	 */
+	public Card getLibraryCard(int index) {
+		return cards[index];
+	}
+
+	/**
+	 * Replaces a card of the library. Used to deal a guess of the hidden cards
+	 * when searching for a move.
+	 * @param index The position in the library, 0 being the bottom.
+	 * @param c The card to put there.
+	 * @since 23
+	 */
+	public void setLibraryCard(int index, Card c) {
+		cards[index] = c;
+	}
+
+	/**
+	 * Getter for the size of the library.
+	 * @return the number of cards left to draw.
+	 * @since 23
+	 */
+	public int getLibrarySize() {
+		return librarySize;
+	}
+
+	/**
+	 * Getter for the size of the played cards pile.
+	 * @return the number of played cards.
+	 * @since 23
+	 */
+	public int getPlayedSize() {
+		return playedSize;
+	}
+
+	/**
+	 * Checks if the library is empty.
+	 * @return true if there are no cards left to draw.
+	 * @since 23
+	 */
+	public boolean isLibraryEmpty() {
+		return librarySize == 0;
+	}
+
+	/**
+	 * Returns a string representation of both piles.
+	 * @return the library and the played cards, bottom to top.
+	 * @since 23
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("library=[");
+		for (int i = 0; i < librarySize; i++) {
+			sb.append(i == 0 ? "" : ", ").append(cards[i]);
+		}
+		sb.append("], playedCards=[");
+		for (int i = Const.DECK_SIZE - 1; i >= Const.DECK_SIZE - playedSize; i--) {
+			sb.append(i == Const.DECK_SIZE - 1 ? "" : ", ").append(cards[i]);
+		}
+		return sb.append("]").toString();
+	}
+
+}
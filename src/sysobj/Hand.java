@@ -0,0 +1,183 @@
+package sysobj;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import system.Const;
+
+/**
+ * A hand of cards stored as a 64-bit mask, where bit n is set if the card with
+ * id n (see Card) is held. Adding, removing and looking up a card are single
+ * bit operations, and every legal play for a given top card is found with one
+ * AND against a precomputed mask. Iteration goes from the lowest card id to the
+ * highest, so the order of the cards is stable no matter the order they were
+ * drawn in.
+ *
+ * @since 23
+ */
+public class Hand implements Iterable<Card> {
+
+	/** For each top card id, the mask of every card that may be played on it. */
+	private static final long[] LEGAL_MASKS = new long[Const.DECK_SIZE];
+
+	static {
+		for (int top = 0; top < Const.DECK_SIZE; top++) {
+			long mask = 0L;
+			for (int id = 0; id < Const.DECK_SIZE; id++) {
+				if (Card.isLegalPlay(id, top)) {
+					mask |= 1L << id;
+				}
+			}
+			LEGAL_MASKS[top] = mask;
+		}
+	}
+
+	/** The cards held, one bit per card id. */
+	private long cards;
+
+	/**
+	 * Creates an empty hand.
+	 * @since 23
+	 */
+	public Hand() {
+	}
+
+	/**
+	 * Adds a card to the hand, unless the hand already holds the max number
+	 * of cards.
+	 * @param card - The card to add.
+	 * @return true if the card was added, false if the hand was full.
+	 * @since 23
+	 */
+	public boolean add(Card card) {
+		if (size() >= Const.MAX_HAND_SIZE) {
+			return false;
+		}
+		cards |= 1L << card.getId();
+		return true;
+	}
+
+	/**
+	 * Removes a card from the hand.
+	 * @param card - The card to remove.
+	 * @return true if the card was in the hand.
+	 * @since 23
+	 */
+	public boolean remove(Card card) {
+		long bit = 1L << card.getId();
+		boolean held = (cards & bit) != 0;
+		cards &= ~bit;
+		return held;
+	}
+
+	/**
+	 * Checks if the hand holds a card.
+	 * @param card - The card to look for.
+	 * @return true if the card is in the hand.
+	 * @since 23
+	 */
+	public boolean contains(Card card) {
+		return (cards & (1L << card.getId())) != 0;
+	}
+
+	/**
+	 * Returns the mask of every card in the hand that may be played on the
+	 * card with the passed id.
+	 * @param topId - The id of the last played card.
+	 * @return the mask of legal cards, 0 if there are none.
+	 * @since 23
+	 */
+	public long legalMoves(int topId) {
+		return cards & LEGAL_MASKS[topId];
+	}
+
+	/**
+	 * Returns the mask of the cards held.
+	 * @return one bit per card id.
+	 * @since 23
+	 */
+	public long getMask() {
+		return cards;
+	}
+
+	/**
+	 * Replaces the cards held with the cards of the passed mask.
+	 * @param mask - One bit per card id.
+	 * @since 23
+	 */
+	public void setMask(long mask) {
+		cards = mask;
+	}
+
+	/**
+	 * Retrieves the number of cards in the hand.
+	 * @return the number of cards held.
+	 * @since 23
+	 */
+	public int size() {
+		return Long.bitCount(cards);
+	}
+
+	/**
+	 * Checks if the hand has no cards.
+	 * @return true if the hand is empty.
+	 * @since 23
+	 */
+	public boolean isEmpty() {
+		return cards == 0L;
+	}
+
+	/**
+	 * Removes all cards from the hand.
+	 * @since 23
+	 */
+	public void clear() {
+		cards = 0L;
+	}
+
+	/**
+	 * Iterates over the cards from the lowest id to the highest.
+	 * @return an iterator over the cards in the hand.
+	 * @since 23
+	 */
+	@Override
+	public Iterator<Card> iterator() {
+		return new Iterator<Card>() {
+
+			/** The cards not yet returned. */
+			private long remaining = cards;
+
+			@Override
+			public boolean hasNext() {
+				return remaining != 0L;
+			}
+
+			@Override
+			public Card next() {
+				if (remaining == 0L) {
+					throw new NoSuchElementException();
+				}
+				int id = Long.numberOfTrailingZeros(remaining);
+				remaining &= remaining - 1;
+				return Card.of(id);
+			}
+		};
+	}
+
+	/**
+	 * Returns a string representation of the hand.
+	 * @return the cards in the hand, in iteration order.
+	 * @since 23
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (Card c : this) {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.append(c);
+		}
+		return sb.append("]").toString();
+	}
+
+}
@@ -1,6 +1,6 @@
 package sysobj;
 
-import java.util.Vector;
+import system.Const;
 
 /**
  * Players have a name, a hand of cards, a score, an orientation in the UI, and 
@@ -10,8 +10,8 @@ import java.util.Vector;
  */
 public class Player {
 
-	/** The list of cards held by the player. */
-	protected Vector<Card> hand;
+	/** The cards held by the player. */
+	protected Hand hand;
 
 	/** Indicates whether the player is human. */
 	protected boolean isHuman;
@@ -46,7 +46,7 @@ public class Player {
 	public Player(String name) {
 		this.name = name;
 		this.score = 0;
-		this.hand = new Vector<Card>();
+		this.hand = new Hand();
 	}
 
 	/**
@@ -58,7 +58,7 @@ public class Player {
 	 */
 	public Player(String n, int orientation) {
 		this.name = n;
-		this.hand = new Vector<Card>();
+		this.hand = new Hand();
 		this.score = 0;
 		this.orientation = orientation;
 		this.isHuman = false;
@@ -74,7 +74,7 @@ public class Player {
 	 */
 	public Player(String n, int orientation, int id, boolean isHuman) {
 		this.name = n;
-		this.hand = new Vector<Card>();
+		this.hand = new Hand();
 		this.score = 0;
 		this.orientation = orientation;
 		this.id = id;
@@ -91,16 +91,14 @@ public class Player {
 	 * @since 23
 	 */
 	public void addCardToHand(Card card) {
-		if (this.getHandSize() >= 12) {
-			System.out.println("Player.addCardToHand() tried to add card to full hand.");
-			return;
-		}
-
 		if (card == null) {
 			System.out.println("Player.addCardToHand() was passed a null card.");
 			return;
 		}
-		hand.add(card);
+
+		if (!hand.add(card)) {
+			System.out.println("Player.addCardToHand() tried to add card to full hand.");
+		}
 	}
 
 	/**
@@ -128,17 +126,7 @@ public class Player {
 
 		/* a player had a legal move if they have an 8 in hand OR they have a
 		 * card in hand that matches the last played card's rank OR suit */
-		for (Card card : this.hand) {
-			Rank rank = card.getRank();
-			if (rank == Rank.EIGHT
-					|| rank == lastPlayedCard.getRank()
-					|| card.getSuit() == lastPlayedCard.getSuit()) {
-				return true;
-			}
-		}
-
-		// no legal moves found
-		return false;
+		return hand.legalMoves(lastPlayedCard.getId()) != 0L;
 	}
 
 	/**
@@ -214,19 +202,19 @@ public class Player {
 
 	/**
 	 * Retrieves the player's hand of cards.
-	 * @return A list of cards in the player's hand.
+	 * @return The cards in the player's hand.
 	 * @since 23
 	 */
-	public Vector<Card> getHand(){
+	public Hand getHand(){
 		return this.hand;
 	}
 	
 	/**
 	 * Setter for a player's hand
-	 * @param hand Vector of Cards (the hand)
+	 * @param hand the hand
 	 * @since 23
 	 */
-	public void setHand(Vector<Card> hand) {
+	public void setHand(Hand hand) {
 		this.hand = hand;
 	}
 	
@@ -249,11 +237,11 @@ public class Player {
 			return "";
 		}
 		StringBuilder sb = new StringBuilder();
-		for (int i = 0; i < hand.size(); i++) {
-			sb.append(hand.get(i).toString());
+		for (Card c : hand) {
+			sb.append(c.toString());
 			sb.append(",");
 		}
-		
+
 		return sb.substring(0, sb.toString().length() - 1);
 	}
 
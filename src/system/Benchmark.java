@@ -0,0 +1,856 @@
+package system;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.Vector;
+import javax.swing.JButton;
+import sysobj.AIPlayer;
+import sysobj.Card;
+import sysobj.Deck;
+import sysobj.Player;
+import sysobj.Rank;
+import sysobj.Suit;
+
+/**
+ * Micro-benchmarks for the hot paths of the rules engine and the AI: setting up
+ * a round, legality checks, AI decisions, forced draws through reshuffles, card
+ * parsing, hand stringification, and a whole game played to completion.
+ *
+ * Each benchmark is warmed up, then timed over several fixed-length
+ * iterations, and reported in nanoseconds per operation. The result of every
+ * operation is folded into a volatile sink so the JIT cannot remove the work.
+ * Every engine is seeded with the same seed, so runs are comparable between
+ * revisions that have the benchmark.
+ *
+ * Older revisions cannot run it: they have no GameEngine or Deck, and their
+ * cards are Swing buttons. So the "baseline." benchmarks time a copy of that
+ * older code, kept in the nested Baseline class: cards that extend JButton
+ * and are created anew for every deck, hands and piles held in Vectors, and
+ * the same legality checks, AI decisions, draws, reshuffles and card parsing.
+ * Its console output is left out, as the engine's is with setVerbose(false),
+ * and it shuffles unseeded, as it did, so its numbers vary a little more.
+ *
+ * Usage: java system.Benchmark [name filter]
+ *
+ * @since 23
+ */
+public class Benchmark {
+
+	/** The number of seats at a benchmarked table. */
+	private static final int SEATS = 4;
+
+	/** The seed every benchmarked engine starts from. */
+	private static final long SEED = 23L;
+
+	/** Receives the result of each operation so it is not optimized away. */
+	private static volatile long sink;
+
+	/**
+	 * So Javadoc doesn't throw a fit
+	 */
+	Benchmark(){}
+
+	/**
+	 * One benchmarked operation.
+	 *
+	 * @since 23
+	 */
+	@FunctionalInterface
+	interface Op {
+
+		/**
+		 * Runs the operation once.
+		 * @return any value derived from the work done.
+		 */
+		long run();
+	}
+
+	/**
+	 * Runs every benchmark whose name contains the passed filter, or all of
+	 * them if there is no filter.
+	 *
+	 * @param args - An optional filter on the benchmark names.
+	 * @since 23
+	 */
+	public static void main(String[] args) {
+		String filter = args.length > 0 ? args[0] : "";
+
+		System.out.printf("%-34s %14s %14s %14s%n", "Benchmark", "ns/op", "min ns/op", "max ns/op");
+
+		// Setting up a round: reset, shuffle and deal the deck
+		GameEngine dealEngine = newEngine();
+		run(filter, "deck.instantiateShuffleDeal", () -> {
+			dealEngine.cleanUpGameState();
+			dealEngine.instantiateDeck();
+			dealEngine.shuffleDeck();
+			dealEngine.dealCards(Const.DEFAULT_HAND_SIZE);
+			return dealEngine.getDeck().getLibrarySize();
+		});
+
+		// Legality of each card of the deck against the top card
+		GameEngine legalEngine = newEngine();
+		legalEngine.initRound();
+		run(filter, "engine.isPlayLegal", () -> {
+			long legal = 0;
+			for (int id = 0; id < Const.DECK_SIZE; id++) {
+				if (legalEngine.isPlayLegal(id)) {
+					legal++;
+				}
+			}
+			return legal;
+		});
+
+		// A dealt hand against every possible top card
+		Player handPlayer = legalEngine.getPlayers().getFirst();
+		run(filter, "player.hasLegalMove", () -> {
+			long hasMove = 0;
+			for (int id = 0; id < Const.DECK_SIZE; id++) {
+				if (handPlayer.hasLegalMove(Card.of(id))) {
+					hasMove++;
+				}
+			}
+			return hasMove;
+		});
+
+		AIPlayer ai = (AIPlayer) handPlayer;
+		run(filter, "ai.decideCard", () -> {
+			long sum = 0;
+			for (int id = 0; id < Const.DECK_SIZE; id++) {
+				Card top = Card.of(id);
+				if (ai.hasLegalMove(top)) {
+					sum += ai.decideCard(top).getId();
+				}
+			}
+			return sum;
+		});
+
+		// Forced draws of four, with the drawn cards played back, so the
+		// library runs out and is reshuffled every few draws
+		GameEngine drawEngine = newEngine();
+		drawEngine.initRound();
+		Player passive = drawEngine.peekNextPlayer();
+		Deck drawDeck = drawEngine.getDeck();
+		run(filter, "engine.forceDrawReshuffle", () -> {
+			drawEngine.forceDraw(passive, 4);
+			long drawn = 0;
+			for (Card c : passive.getHand()) {
+				drawDeck.discard(c);
+				drawn++;
+			}
+			passive.clearHand();
+			return drawn;
+		});
+
+		String[] cardStrs = new String[Const.DECK_SIZE];
+		for (int id = 0; id < Const.DECK_SIZE; id++) {
+			cardStrs[id] = Card.of(id).toString();
+		}
+		run(filter, "card.getCardFromStr", () -> {
+			long sum = 0;
+			for (String s : cardStrs) {
+				sum += Card.getCardFromStr(s).getId();
+			}
+			return sum;
+		});
+
+		run(filter, "player.stringifyHand", () -> handPlayer.stringifyHand().length());
+
+		// A whole game, from the first deal to the score limit
+		GameEngine gameEngine = newEngine();
+		Simulation.Tally tally = new Simulation.Tally();
+		run(filter, "game.playToCompletion", () -> {
+			Simulation.playGame(gameEngine, tally);
+			return tally.rounds;
+		});
+
+		// The same operations on the copy of the older engine
+		Baseline dealBaseline = new Baseline();
+		run(filter, "baseline.instantiateShuffleDeal", () -> {
+			dealBaseline.cleanUpGameState();
+			dealBaseline.instantiateDeck();
+			dealBaseline.shuffleDeck();
+			dealBaseline.dealCards(Const.DEFAULT_HAND_SIZE);
+			return dealBaseline.library.size();
+		});
+
+		Baseline legalBaseline = new Baseline();
+		legalBaseline.initRound();
+		Vector<Baseline.OldCard> allCards = new Vector<>();
+		for (Suit s : Suit.values()) {
+			for (Rank r : Rank.values()) {
+				allCards.add(new Baseline.OldCard(r, s));
+			}
+		}
+		run(filter, "baseline.isPlayLegal", () -> {
+			long legal = 0;
+			for (Baseline.OldCard c : allCards) {
+				if (legalBaseline.isPlayLegal(c)) {
+					legal++;
+				}
+			}
+			return legal;
+		});
+
+		Baseline.OldPlayer oldPlayer = legalBaseline.players.getFirst();
+		run(filter, "baseline.hasLegalMove", () -> {
+			long hasMove = 0;
+			for (Baseline.OldCard top : allCards) {
+				if (oldPlayer.hasLegalMove(top)) {
+					hasMove++;
+				}
+			}
+			return hasMove;
+		});
+
+		run(filter, "baseline.decideCard", () -> {
+			long sum = 0;
+			for (Baseline.OldCard top : allCards) {
+				if (oldPlayer.hasLegalMove(top)) {
+					sum += oldPlayer.decideCard(top).rank.ordinal();
+				}
+			}
+			return sum;
+		});
+
+		Baseline drawBaseline = new Baseline();
+		drawBaseline.initRound();
+		Baseline.OldPlayer oldPassive = drawBaseline.peekNextPlayer();
+		run(filter, "baseline.forceDrawReshuffle", () -> {
+			drawBaseline.forceDraw(oldPassive, 4);
+			long drawn = oldPassive.hand.size();
+			drawBaseline.playedCards.addAll(oldPassive.hand);
+			oldPassive.hand.clear();
+			return drawn;
+		});
+
+		run(filter, "baseline.getCardFromStr", () -> {
+			long sum = 0;
+			for (Baseline.OldCard c : allCards) {
+				sum += Baseline.OldCard.getCardFromStr(c.toString()).rank.ordinal();
+			}
+			return sum;
+		});
+
+		run(filter, "baseline.stringifyHand", () -> oldPlayer.stringifyHand().length());
+
+		Baseline gameBaseline = new Baseline();
+		run(filter, "baseline.playToCompletion", () -> gameBaseline.playGame());
+	}
+
+	/**
+	 * Creates a quiet, seeded engine with four AI players seated.
+	 * @return the engine.
+	 *
+	 * @since 23
+	 */
+	private static GameEngine newEngine() {
+		Vector<Player> players = new Vector<>();
+		for (int seat = 0; seat < SEATS; seat++) {
+			AIPlayer p = new AIPlayer("AI " + seat, seat);
+			p.setID(seat);
+			players.add(p);
+		}
+		GameEngine engine = new GameEngine(SEED);
+		engine.setVerbose(false);
+		engine.setPlayers(players);
+		return engine;
+	}
+
+	/**
+	 * Warms up and times one benchmark, if its name passes the filter, and
+	 * prints the mean, fastest and slowest iteration in nanoseconds per
+	 * operation.
+	 * @param filter - The filter on benchmark names.
+	 * @param name - The name of the benchmark.
+	 * @param op - The operation to time.
+	 *
+	 * @since 23
+	 */
+	private static void run(String filter, String name, Op op) {
+		if (!name.contains(filter)) {
+			return;
+		}
+
+		for (int i = 0; i < Const.BENCH_WARMUP_ITERATIONS; i++) {
+			iteration(op);
+		}
+
+		double total = 0;
+		double min = Double.MAX_VALUE;
+		double max = 0;
+		for (int i = 0; i < Const.BENCH_ITERATIONS; i++) {
+			double nsPerOp = iteration(op);
+			total += nsPerOp;
+			min = Math.min(min, nsPerOp);
+			max = Math.max(max, nsPerOp);
+		}
+		System.out.printf("%-34s %14.1f %14.1f %14.1f%n", name, total / Const.BENCH_ITERATIONS, min, max);
+	}
+
+	/**
+	 * Runs an operation repeatedly for Const.BENCH_ITERATION_MS.
+	 * @param op - The operation to time.
+	 * @return the time taken per operation, in nanoseconds.
+	 *
+	 * @since 23
+	 */
+	private static double iteration(Op op) {
+		long budget = Const.BENCH_ITERATION_MS * 1_000_000L;
+		long ops = 0;
+		long acc = 0;
+		long start = System.nanoTime();
+		long elapsed;
+		do {
+			// time in batches so reading the clock does not dominate short ops
+			for (int i = 0; i < 64; i++) {
+				acc += op.run();
+			}
+			ops += 64;
+			elapsed = System.nanoTime() - start;
+		} while (elapsed < budget);
+		sink += acc;
+		return (double) elapsed / ops;
+	}
+
+	/**
+	 * A copy of the rules engine, players and cards as they were before the
+	 * engine was reworked, trimmed to what a game between AI players uses, so
+	 * the benchmark can time it next to the current engine. Apart from the
+	 * console output, the code does what the old GameModel, Player, AIPlayer
+	 * and Card did, in the same way.
+	 *
+	 * @since 23
+	 */
+	static final class Baseline {
+
+		/**
+		 * A card as it used to be: a Swing button holding a rank and a suit,
+		 * whose suit changes when an eight is played on it.
+		 *
+		 * @since 23
+		 */
+		static final class OldCard extends JButton {
+
+			private static final long serialVersionUID = 1L;
+
+			/** The rank of the card. */
+			final Rank rank;
+
+			/** The suit of the card. */
+			Suit suit;
+
+			/**
+			 * Default Constructor
+			 * @param r - The rank.
+			 * @param s - The suit.
+			 */
+			OldCard(Rank r, Suit s) {
+				this.rank = r;
+				this.suit = s;
+			}
+
+			@Override
+			public String toString() {
+				return this.rank + " of " + this.suit;
+			}
+
+			/**
+			 * Parses a card from its String form, creating a new card.
+			 * @param cardStr - The card, as "RANK of SUIT".
+			 * @return the new card.
+			 *
+			 * @since 23
+			 */
+			static OldCard getCardFromStr(String cardStr) {
+				if (cardStr == null || !cardStr.contains(" of ")) {
+					throw new IllegalArgumentException("Invalid card format");
+				}
+				String[] parts = cardStr.split(" of ");
+				if (parts.length != 2) {
+					throw new IllegalArgumentException("Invalid card format");
+				}
+				return new OldCard(Rank.valueOf(parts[0]), Suit.valueOf(parts[1]));
+			}
+		}
+
+		/**
+		 * An AI player as it used to be, with its hand in a Vector.
+		 *
+		 * @since 23
+		 */
+		static final class OldPlayer {
+
+			/** The cards in hand. */
+			final Vector<OldCard> hand = new Vector<>();
+
+			/** The score. */
+			int score;
+
+			/**
+			 * Default Constructor
+			 */
+			OldPlayer() {}
+
+			/**
+			 * Adds a card to the hand, unless it is full.
+			 * @param card - The card.
+			 *
+			 * @since 23
+			 */
+			void addCardToHand(OldCard card) {
+				if (hand.size() >= 12 || card == null) {
+					return;
+				}
+				hand.add(card);
+			}
+
+			/**
+			 * Checks the hand for a card that can be played on the top card.
+			 * @param lastPlayedCard - The top card.
+			 * @return whether there is one.
+			 *
+			 * @since 23
+			 */
+			boolean hasLegalMove(OldCard lastPlayedCard) {
+				if (hand.isEmpty()) {
+					return false;
+				}
+				for (OldCard card : hand) {
+					Rank rank = card.rank;
+					if (rank == Rank.EIGHT || rank == lastPlayedCard.rank || card.suit == lastPlayedCard.suit) {
+						return true;
+					}
+				}
+				return false;
+			}
+
+			/**
+			 * Joins the cards in hand with commas.
+			 * @return the hand as a String.
+			 *
+			 * @since 23
+			 */
+			String stringifyHand() {
+				if (hand.isEmpty()) {
+					return "";
+				}
+				StringBuilder sb = new StringBuilder();
+				for (int i = 0; i < hand.size(); i++) {
+					sb.append(hand.get(i).toString());
+					sb.append(",");
+				}
+				return sb.substring(0, sb.toString().length() - 1);
+			}
+
+			/**
+			 * Decides whether to play, draw or pass.
+			 * @param lastPlayedCard - The top card.
+			 * @return Const.PLAY, Const.DRAW or Const.PASS.
+			 *
+			 * @since 23
+			 */
+			int decidePlayDraw(OldCard lastPlayedCard) {
+				boolean hasMove = hasLegalMove(lastPlayedCard);
+				if (!hasMove && hand.size() >= Const.MAX_HAND_SIZE) {
+					return Const.PASS;
+				}
+				return hasMove ? Const.PLAY : Const.DRAW;
+			}
+
+			/**
+			 * Picks the first card in hand that can be played.
+			 * @param lastPlayedCard - The top card.
+			 * @return the card, or null if there is none.
+			 *
+			 * @since 23
+			 */
+			OldCard decideCard(OldCard lastPlayedCard) {
+				for (OldCard c : hand) {
+					Rank rank = c.rank;
+					if (rank == Rank.EIGHT) {
+						return c;
+					}
+					if (rank == lastPlayedCard.rank || c.suit == lastPlayedCard.suit) {
+						return c;
+					}
+				}
+				return null;
+			}
+
+			/**
+			 * Picks a suit at random, with a new Random every time.
+			 * @return the suit.
+			 *
+			 * @since 23
+			 */
+			Suit chooseSuit() {
+				Random r = new Random();
+				return Suit.values()[r.nextInt(4)];
+			}
+		}
+
+		/** The players, in turn order. */
+		final Vector<OldPlayer> players = new Vector<>();
+
+		/** The cards left to draw. */
+		Vector<OldCard> library;
+
+		/** The cards played, the top card last. */
+		Vector<OldCard> playedCards = new Vector<>();
+
+		/** The player whose turn it is. */
+		OldPlayer activePlayer;
+
+		/** The seat whose turn it is. */
+		int currentTurn;
+
+		/** Whether the turn order is reversed. */
+		boolean isTurnOrderReversed;
+
+		/** The number of twos played in a row. */
+		int numTwosPlayed;
+
+		/**
+		 * Default Constructor
+		 */
+		Baseline() {
+			for (int seat = 0; seat < SEATS; seat++) {
+				players.add(new OldPlayer());
+			}
+		}
+
+		/**
+		 * Empties the hands, the library and the played cards.
+		 *
+		 * @since 23
+		 */
+		void cleanUpGameState() {
+			for (OldPlayer p : players) {
+				p.hand.clear();
+			}
+			if (library != null) {
+				library.clear();
+			}
+			playedCards.clear();
+		}
+
+		/**
+		 * Creates a new card for every rank of every suit.
+		 *
+		 * @since 23
+		 */
+		void instantiateDeck() {
+			if (library != null) {
+				library.clear();
+			}
+			library = new Vector<OldCard>();
+			for (Suit s : Suit.values()) {
+				for (Rank r : Rank.values()) {
+					library.add(new OldCard(r, s));
+				}
+			}
+		}
+
+		/**
+		 * Shuffles the library.
+		 *
+		 * @since 23
+		 */
+		void shuffleDeck() {
+			Collections.shuffle(this.library);
+		}
+
+		/**
+		 * Deals cards from the library to every player.
+		 * @param numCards - The number of cards each player gets.
+		 *
+		 * @since 23
+		 */
+		void dealCards(int numCards) {
+			if (players.size() * numCards > library.size()) {
+				return;
+			}
+			for (OldPlayer p : players) {
+				for (int i = 0; i < numCards; i++) {
+					p.addCardToHand(library.removeLast());
+				}
+			}
+		}
+
+		/**
+		 * Starts a round: a new deck, shuffled and dealt, and its top card
+		 * flipped.
+		 *
+		 * @since 23
+		 */
+		void initRound() {
+			currentTurn = Const.SOUTH;
+			if (library != null) {
+				cleanUpGameState();
+			}
+			instantiateDeck();
+			shuffleDeck();
+			dealCards(Const.DEFAULT_HAND_SIZE);
+			playedCards.add(library.removeLast());
+			if (playedCards.getLast().rank == Rank.TWO) {
+				numTwosPlayed++;
+			}
+			activePlayer = players.get(currentTurn);
+			isTurnOrderReversed = false;
+		}
+
+		/**
+		 * Shuffles the played cards, all but the top one, back into the
+		 * library.
+		 *
+		 * @since 23
+		 */
+		void reshuffleSpentDeck() {
+			if (playedCards.size() <= 1) {
+				return;
+			}
+			OldCard topCard = playedCards.removeLast();
+			library.addAll(playedCards);
+			playedCards.clear();
+			shuffleDeck();
+			playedCards.add(topCard);
+		}
+
+		/**
+		 * Plays a card from the active player's hand, if it is legal.
+		 * @param card - The card.
+		 * @return whether it was played.
+		 *
+		 * @since 23
+		 */
+		boolean playCard(OldCard card) {
+			if (activePlayer.hand.isEmpty() || card == null || !isPlayLegal(card)) {
+				return false;
+			}
+			activePlayer.hand.remove(card);
+			playedCards.add(card);
+			applySpecialAction(card);
+			return true;
+		}
+
+		/**
+		 * Checks a card against the top card.
+		 * @param card - The card.
+		 * @return whether it can be played.
+		 *
+		 * @since 23
+		 */
+		boolean isPlayLegal(OldCard card) {
+			if (card == null) {
+				return false;
+			}
+			OldCard lastPlayedCard = playedCards.getLast();
+			Rank cardRank = card.rank;
+			return cardRank == Rank.EIGHT || cardRank == lastPlayedCard.rank || card.suit == lastPlayedCard.suit;
+		}
+
+		/**
+		 * Draws a card for the active player, reshuffling if the library is
+		 * empty.
+		 *
+		 * @since 23
+		 */
+		void drawCard() {
+			if (library.isEmpty()) {
+				reshuffleSpentDeck();
+			}
+			if (activePlayer.hand.size() < Const.MAX_HAND_SIZE && !library.isEmpty()) {
+				activePlayer.addCardToHand(library.removeLast());
+			}
+		}
+
+		/**
+		 * Makes a player draw penalty cards, redirected to the active player,
+		 * or scored against them, when hands are full.
+		 * @param passivePlayer - The player who draws.
+		 * @param penaltyCards - The number of cards.
+		 *
+		 * @since 23
+		 */
+		void forceDraw(OldPlayer passivePlayer, int penaltyCards) {
+			int remainingCards = penaltyCards;
+			while (remainingCards > 0) {
+				if (library.isEmpty()) {
+					reshuffleSpentDeck();
+					if (library.isEmpty()) {
+						break;
+					}
+				}
+				if (passivePlayer.hand.size() < Const.MAX_HAND_SIZE) {
+					passivePlayer.addCardToHand(library.removeLast());
+				} else if (activePlayer.hand.size() < Const.MAX_HAND_SIZE) {
+					activePlayer.addCardToHand(library.removeLast());
+				} else {
+					activePlayer.score += remainingCards;
+				}
+				remainingCards--;
+			}
+		}
+
+		/**
+		 * Applies the effect of a played card.
+		 * @param c - The card.
+		 *
+		 * @since 23
+		 */
+		void applySpecialAction(OldCard c) {
+			switch (c.rank) {
+			case ACE:
+				numTwosPlayed = 0;
+				isTurnOrderReversed = !isTurnOrderReversed;
+				break;
+			case TWO:
+				numTwosPlayed++;
+				forceDraw(peekNextPlayer(), 2 * numTwosPlayed);
+				break;
+			case FOUR:
+				numTwosPlayed = 0;
+				forceDraw(peekNextPlayer(), 4);
+				break;
+			case EIGHT:
+				playedCards.getLast().suit = activePlayer.chooseSuit();
+				break;
+			case QUEEN:
+				numTwosPlayed = 0;
+				skipTurn();
+				break;
+			default:
+				numTwosPlayed = 0;
+				break;
+			}
+		}
+
+		/**
+		 * Plays one AI turn: draws until a card can be played or the hand is
+		 * full, then plays or passes.
+		 *
+		 * @since 23
+		 */
+		void playAITurn() {
+			OldCard lastPlayedCard = playedCards.getLast();
+			while (true) {
+				switch (activePlayer.decidePlayDraw(lastPlayedCard)) {
+				case Const.PLAY:
+					playCard(activePlayer.decideCard(lastPlayedCard));
+					return;
+				case Const.DRAW:
+					drawCard();
+					break;
+				default:
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Checks whether a player has emptied their hand.
+		 * @return whether the round is over.
+		 *
+		 * @since 23
+		 */
+		boolean isRoundOver() {
+			for (OldPlayer p : players) {
+				if (p.hand.size() == Const.HAND_EMPTY) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Checks whether a player reached the score limit.
+		 * @return whether the game is over.
+		 *
+		 * @since 23
+		 */
+		boolean isGameOver() {
+			for (OldPlayer p : players) {
+				if (p.score >= Const.MAX_SCORE) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Moves the turn to the next player.
+		 * @return the next player.
+		 *
+		 * @since 23
+		 */
+		OldPlayer getNextPlayer() {
+			skipTurn();
+			return players.get(currentTurn);
+		}
+
+		/**
+		 * Returns the next player without moving the turn.
+		 * @return the next player.
+		 *
+		 * @since 23
+		 */
+		OldPlayer peekNextPlayer() {
+			int numPlayers = players.size();
+			int nextTurn = isTurnOrderReversed ? currentTurn - 1 : currentTurn + 1;
+			if (nextTurn < 0) {
+				nextTurn = numPlayers - 1;
+			} else if (nextTurn >= numPlayers) {
+				nextTurn = 0;
+			}
+			return players.get(nextTurn);
+		}
+
+		/**
+		 * Moves the current turn one seat in the turn order.
+		 *
+		 * @since 23
+		 */
+		void skipTurn() {
+			int numPlayers = players.size();
+			if (isTurnOrderReversed) {
+				currentTurn--;
+				if (currentTurn < 0) {
+					currentTurn = numPlayers - 1;
+				}
+			} else {
+				currentTurn++;
+				if (currentTurn >= numPlayers) {
+					currentTurn = 0;
+				}
+			}
+		}
+
+		/**
+		 * Plays a whole game, from the first deal to the score limit, the way
+		 * Simulation.playGame plays one on the engine.
+		 * @return the number of rounds played.
+		 *
+		 * @since 23
+		 */
+		long playGame() {
+			for (OldPlayer p : players) {
+				p.score = 0;
+			}
+			long rounds = 0;
+			while (!isGameOver()) {
+				initRound();
+				rounds++;
+				int turns = 0;
+				while (!isRoundOver() && ++turns <= Const.SIM_MAX_TURNS) {
+					playAITurn();
+					activePlayer = getNextPlayer();
+				}
+				for (OldPlayer p : players) {
+					p.score += p.hand.size();
+				}
+			}
+			cleanUpGameState();
+			return rounds;
+		}
+	}
+}
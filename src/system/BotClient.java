@@ -0,0 +1,636 @@
+package system;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import sysobj.Card;
+import sysobj.Hand;
+import sysobj.Rank;
+import sysobj.Suit;
+
+/**
+ * A headless client that plays at a lobby table through the real protocol,
+ * without Swing: it sends NAME, CREATE or JOIN, PLAY, DRAW, SUITCHOICE and
+ * DISCONNECT, keeps its view with a ViewState as GameClient does, and always
+ * plays legally. It speaks binary once the table offers it, or text only if
+ * asked to.
+ *
+ * Run as a program, it is a load generator: it starts as many bots as asked,
+ * in groups that each fill the human seats of a table, one thread per bot.
+ * When a game ends, each group sits down at a new table, until the time is
+ * up. Every Const.LOAD_STEP_MS, it prints the bots connected, the games
+ * finished, the moves per second, and the end-to-end latency of the moves of
+ * that step: from a PLAY, DRAW or SUITCHOICE being sent to the table
+ * answering it. A lobby is started in this process on the port, unless
+ * "nolobby" is given, in which case the bots play at the lobby already
+ * listening there.
+ *
+ * Usage: java [-Dcrazyeights.threads=virtual] system.BotClient [bots] [seats
+ * per table] [seconds] [port] [text] [nolobby]
+ *
+ * @since 23
+ */
+public class BotClient {
+
+	/** The mask of the four eights. */
+	private static final long EIGHTS;
+
+	static {
+		long eights = 0L;
+		for (int id = 0; id < Const.DECK_SIZE; id++) {
+			if (Card.rankOf(id) == Rank.EIGHT.ordinal()) {
+				eights |= 1L << id;
+			}
+		}
+		EIGHTS = eights;
+	}
+
+	/** The table each group of bots plays each of its games at, by "group:game". */
+	private static final ConcurrentHashMap<String, CompletableFuture<Integer>> groupTables = new ConcurrentHashMap<>();
+
+	/** The bots connected to the lobby. */
+	private static final AtomicInteger connected = new AtomicInteger();
+
+	/** The games finished, counted once per table. */
+	private static final AtomicInteger games = new AtomicInteger();
+
+	/** The errors: lobby errors, refused moves, missed view updates and lost connections. */
+	private static final AtomicInteger errors = new AtomicInteger();
+
+	/** The latencies of the moves of the current step. */
+	private static volatile Latencies step = new Latencies();
+
+	/** The latencies of every move. */
+	private static final Latencies total = new Latencies();
+
+	/** Whether the bots should keep playing. */
+	private static volatile boolean running = true;
+
+	/** The number of the bot. */
+	private final int n;
+
+	/** The name of the bot, unique in the lobby. */
+	private final String name;
+
+	/** The number of human seats of each table of the group. */
+	private final int seats;
+
+	/** The port of the lobby. */
+	private final int port;
+
+	/** Whether the bot should keep speaking text. */
+	private final boolean textOnly;
+
+	/** The bot's copy of its view of the game. */
+	private ViewState view;
+
+	/** The socket to the lobby. */
+	private Socket socket;
+
+	/** The stream packets are sent on. */
+	private OutputStream out;
+
+	/** Whether the bot sends binary frames. */
+	private boolean binaryOut;
+
+	/** Whether the bot receives binary frames. */
+	private boolean binaryIn;
+
+	/** The seat of the bot at its table, which is its id in game packets. */
+	private int seat;
+
+	/** Whether it is the bot's turn. */
+	private boolean myTurn;
+
+	/** Whether the bot drew a card and moves again once its view is updated. */
+	private boolean awaitingView;
+
+	/** When the last move was sent, in nanoseconds, or 0 if it was answered. */
+	private long moveSentAt;
+
+	/**
+	 * Creates a bot.
+	 * @param n - The number of the bot; bots n to n + seats - 1 play together.
+	 * @param seats - The number of human seats of each table of the group.
+	 * @param port - The port of the lobby.
+	 * @param textOnly - Whether the bot should keep speaking text.
+	 *
+	 * @since 23
+	 */
+	public BotClient(int n, int seats, int port, boolean textOnly) {
+		this.n = n;
+		this.name = "bot" + n;
+		this.seats = seats;
+		this.port = port;
+		this.textOnly = textOnly;
+	}
+
+	/**
+	 * Runs the load generator.
+	 *
+	 * @param args - The number of bots, the number of human seats of each
+	 * table, how long to run in seconds, the port of the lobby, "text" to
+	 * keep every bot on the text protocol, and "nolobby" to play at a lobby
+	 * that is already running; all optional.
+	 * @since 23
+	 */
+	public static void main(String[] args) {
+		int bots = Const.BOT_DEFAULT_COUNT;
+		int seats = Const.BOT_DEFAULT_SEATS;
+		int seconds = Const.BOT_DEFAULT_SECONDS;
+		int port = Const.LOBBY_DEFAULT_PORT;
+		boolean textOnly = false;
+		boolean startLobby = true;
+		try {
+			if (args.length > 0) {
+				bots = Integer.parseInt(args[0]);
+			}
+			if (args.length > 1) {
+				seats = Integer.parseInt(args[1]);
+			}
+			if (args.length > 2) {
+				seconds = Integer.parseInt(args[2]);
+			}
+			if (args.length > 3) {
+				port = Integer.parseInt(args[3]);
+			}
+			for (int i = 4; i < args.length; i++) {
+				if (args[i].equals("text")) {
+					textOnly = true;
+				} else if (args[i].equals("nolobby")) {
+					startLobby = false;
+				} else {
+					throw new NumberFormatException(args[i]);
+				}
+			}
+		} catch (NumberFormatException e) {
+			System.out.println("Usage: java system.BotClient [bots] [seats per table] [seconds] [port] [text] [nolobby]");
+			return;
+		}
+		if (seats < 1 || seats > Const.TABLE_SEATS) {
+			System.out.println("A table has 1 to " + Const.TABLE_SEATS + " human seats.");
+			return;
+		}
+
+		LobbyServer lobby = null;
+		if (startLobby) {
+			try {
+				lobby = new LobbyServer(port);
+				lobby.start();
+			} catch (IOException e) {
+				System.out.println("Could not open the lobby on port " + port + ": " + e.getMessage());
+				return;
+			}
+		}
+
+		System.out.println("Running " + bots + " bots, " + seats + " per table, for " + seconds + "s on "
+				+ Threads.describe() + " threads, speaking " + (textOnly ? "text" : "binary"));
+		System.out.printf("%10s %8s %8s %10s %10s %10s %10s%n", "connected", "games", "errors", "moves/s", "p50 us",
+				"p99 us", "max us");
+
+		for (int i = 0; i < bots; i++) {
+			BotClient bot = new BotClient(i, seats, port, textOnly);
+			Threads.start("bot-" + i, true, bot::run);
+		}
+
+		long end = System.currentTimeMillis() + seconds * 1000L;
+		while (System.currentTimeMillis() < end) {
+			try {
+				Thread.sleep(Const.LOAD_STEP_MS);
+			} catch (InterruptedException e) {
+				break;
+			}
+			Latencies last = step;
+			step = new Latencies();
+			System.out.printf("%10d %8d %8d %10d %10d %10d %10d%n", connected.get(), games.get(), errors.get(),
+					last.count() * 1000L / Const.LOAD_STEP_MS, last.percentile(50), last.percentile(99), last.max());
+		}
+
+		running = false;
+		System.out.printf("Total: %d moves, %d games, %d errors, p50 %d us, p90 %d us, p99 %d us, max %d us%n",
+				total.count(), games.get(), errors.get(), total.percentile(50), total.percentile(90),
+				total.percentile(99), total.max());
+		if (lobby != null) {
+			lobby.shutdown();
+		}
+	}
+
+	/**
+	 * Plays games until the load generator stops: sits down at a table with
+	 * the rest of the group, plays, and starts over once the table closes.
+	 *
+	 * @since 23
+	 */
+	public void run() {
+		for (int game = 0; running; game++) {
+			try {
+				play(game);
+			} catch (IOException e) {
+				if (running) {
+					System.out.println("Bot " + name + " lost its connection: " + e.getMessage());
+					errors.incrementAndGet();
+				}
+				return;
+			} catch (InterruptedException | ExecutionException | TimeoutException e) {
+				System.out.println("Bot " + name + " found no table to join: " + e);
+				errors.incrementAndGet();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Plays one game: connects, sits down, and answers the table until it
+	 * sends SHUTDOWN, or leaves with DISCONNECT if the load generator stops.
+	 * @param game - The number of the game, the same for the whole group.
+	 * @throws IOException if the connection fails.
+	 * @throws InterruptedException if interrupted while waiting for a table.
+	 * @throws ExecutionException never; the table future is only completed.
+	 * @throws TimeoutException if the group's table is not created in time.
+	 *
+	 * @since 23
+	 */
+	private void play(int game) throws IOException, InterruptedException, ExecutionException, TimeoutException {
+		view = new ViewState();
+		binaryOut = false;
+		binaryIn = false;
+		myTurn = false;
+		awaitingView = false;
+		moveSentAt = 0;
+
+		try (Socket s = new Socket("localhost", port)) {
+			socket = s;
+			out = s.getOutputStream();
+			InputStream in = new BufferedInputStream(s.getInputStream());
+			DataInputStream frames = new DataInputStream(in);
+			connected.incrementAndGet();
+			try {
+				send(new Wire.Packet("NAME", name));
+
+				// the first bot of each group creates the table, the others join it
+				CompletableFuture<Integer> table = groupTables.computeIfAbsent((n / seats) + ":" + game,
+						k -> new CompletableFuture<>());
+				if (n % seats == 0) {
+					send(new Wire.Packet("CREATE", String.valueOf(seats), "bots " + (n / seats)));
+				} else {
+					int id = table.get(Const.LOAD_STEP_MS * 10L, TimeUnit.MILLISECONDS);
+					send(new Wire.Packet("JOIN", String.valueOf(id)));
+				}
+
+				while (true) {
+					if (!running) {
+						send(new Wire.Packet("DISCONNECT", String.valueOf(seat)));
+						return;
+					}
+					if (binaryIn) {
+						byte[] frame = new byte[frames.readUnsignedShort()];
+						frames.readFully(frame);
+						int op = frame[0] & 0xFF;
+						if (op == Wire.OP_REFRESH) {
+							view.applyRefresh(new Wire.Reader(frame, 1, frame.length - 1));
+							onView();
+						} else if (op == Wire.OP_DELTA) {
+							if (view.applyDelta(new Wire.Reader(frame, 1, frame.length - 1))) {
+								onView();
+							} else {
+								resync();
+							}
+						} else if (!receive(Wire.decode(frame, 0, frame.length), table)) {
+							return;
+						}
+					} else {
+						String line = Wire.readLine(in);
+						if (line == null) {
+							throw new EOFException("closed by the lobby");
+						}
+						String[] packet = line.split("\\|");
+						if (packet[0].equals("REFRESH")) {
+							view.applyRefresh(packet);
+							onView();
+						} else if (packet[0].equals("DELTA")) {
+							if (view.applyDelta(packet)) {
+								onView();
+							} else {
+								resync();
+							}
+						} else if (!receive(packet, table)) {
+							return;
+						}
+					}
+				}
+			} finally {
+				connected.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Handles a packet from the lobby or the table, other than a view update.
+	 * @param packet - The fields of the packet.
+	 * @param table - The table of the group for this game.
+	 * @return false once the table has sent SHUTDOWN.
+	 *
+	 * @since 23
+	 */
+	private boolean receive(String[] packet, CompletableFuture<Integer> table) {
+		switch (packet[0]) {
+
+		case "ID":
+			seat = Integer.parseInt(packet[1]);
+			if (packet.length > 2 && Integer.parseInt(packet[2]) == Wire.VERSION) {
+				if (textOnly) {
+					// keeps to text, but still takes versioned views and deltas
+					send(new Wire.Packet("PROTO", String.valueOf(Wire.VERSION), "text"));
+				} else {
+					send(new Wire.Packet("PROTO", String.valueOf(Wire.VERSION)));
+					binaryOut = true;
+				}
+			}
+			break;
+
+		case "PROTO":
+			binaryIn = true;
+			break;
+
+		case "PING":
+			send(new Wire.Packet("PONG"));
+			break;
+
+		case "JOINED":
+			table.complete(Integer.parseInt(packet[1]));
+			break;
+
+		case "LOBBYERR":
+			System.out.println("Bot " + name + " got a lobby error: " + packet[1]);
+			errors.incrementAndGet();
+			table.complete(-1);
+			break;
+
+		case "SUITREQUEST":
+			answered();
+			moveSentAt = System.nanoTime();
+			send(new Wire.Packet("SUITCHOICE", String.valueOf(seat), chooseSuit(), packet[1]));
+			break;
+
+		case "CONSOLE":
+			onConsole(packet[1], packet[2]);
+			break;
+
+		case "GAMEOVER":
+			if (n % seats == 0) {
+				games.incrementAndGet();
+			}
+			break;
+
+		case "SHUTDOWN":
+			return false;
+
+		default:
+			break;
+		}
+		return true;
+	}
+
+	/**
+	 * Follows the turns from the console messages of the table.
+	 * @param who - The name the message is about.
+	 * @param key - The key of the message.
+	 *
+	 * @since 23
+	 */
+	private void onConsole(String who, String key) {
+		boolean mine = who.equals(name);
+		switch (key) {
+		case "currentTurn":
+			myTurn = mine;
+			if (myTurn) {
+				move();
+			}
+			break;
+		case "playCard":
+		case "passTurn":
+			if (mine) {
+				answered();
+				myTurn = false;
+			}
+			break;
+		case "drawCard":
+			if (mine) {
+				// the view with the new card follows
+				answered();
+				awaitingView = true;
+			}
+			break;
+		case "cantDraw":
+			answered();
+			errors.incrementAndGet();
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Moves again after a draw, once the drawn card is in the view.
+	 *
+	 * @since 23
+	 */
+	private void onView() {
+		if (myTurn && awaitingView) {
+			awaitingView = false;
+			move();
+		}
+	}
+
+	/**
+	 * Plays a legal card, keeping eights for last, or draws if there is none.
+	 *
+	 * @since 23
+	 */
+	private void move() {
+		Hand hand = new Hand();
+		hand.setMask(view.getHand());
+		long legal = hand.legalMoves(view.getTop());
+		moveSentAt = System.nanoTime();
+		if (legal == 0) {
+			send(new Wire.Packet("DRAW", String.valueOf(seat)));
+			return;
+		}
+		long preferred = (legal & ~EIGHTS) != 0 ? legal & ~EIGHTS : legal;
+		Card card = Card.of(Long.numberOfTrailingZeros(preferred));
+		send(new Wire.Packet("PLAY", String.valueOf(seat), card.toString()));
+	}
+
+	/**
+	 * Picks the suit the bot holds the most cards of.
+	 * @return the suit, as sent in a SUITCHOICE packet.
+	 *
+	 * @since 23
+	 */
+	private String chooseSuit() {
+		int[] counts = new int[4];
+		long cards = view.getHand() & ~EIGHTS;
+		while (cards != 0) {
+			counts[Card.suitOf(Long.numberOfTrailingZeros(cards))]++;
+			cards &= cards - 1;
+		}
+		int best = 0;
+		for (int suit = 1; suit < counts.length; suit++) {
+			if (counts[suit] > counts[best]) {
+				best = suit;
+			}
+		}
+		return Suit.values()[best].toString();
+	}
+
+	/**
+	 * Records the latency of the last move, now that the table answered it.
+	 *
+	 * @since 23
+	 */
+	private void answered() {
+		if (moveSentAt != 0) {
+			long us = (System.nanoTime() - moveSentAt) / 1000;
+			step.record(us);
+			total.record(us);
+			moveSentAt = 0;
+		}
+	}
+
+	/**
+	 * Asks the table for a full refresh after a missed view update.
+	 *
+	 * @since 23
+	 */
+	private void resync() {
+		errors.incrementAndGet();
+		send(new Wire.Packet("RESYNC"));
+	}
+
+	/**
+	 * Sends a packet, as a text line or a frame, whichever the bot speaks.
+	 * @param packet - The packet.
+	 *
+	 * @since 23
+	 */
+	private void send(Wire.Message packet) {
+		try {
+			out.write(binaryOut ? packet.frame() : packet.line());
+			out.flush();
+		} catch (IOException e) {
+			// the read that follows fails too, and reports it
+			try {
+				socket.close();
+			} catch (IOException ignored) {
+				// already closed
+			}
+		}
+	}
+
+	/**
+	 * A histogram of latencies in microseconds, safe to record into from any
+	 * thread. Each power of two is split into eight buckets, so percentiles
+	 * are within an eighth of the real value.
+	 *
+	 * @since 23
+	 */
+	private static class Latencies {
+
+		/** The number of latencies in each bucket. */
+		private final AtomicLongArray buckets = new AtomicLongArray(16 + 60 * 8);
+
+		/** The highest latency recorded. */
+		private final AtomicLong max = new AtomicLong();
+
+		/**
+		 * Default Constructor
+		 */
+		Latencies() {}
+
+		/**
+		 * Records a latency.
+		 * @param us - The latency, in microseconds.
+		 */
+		void record(long us) {
+			buckets.incrementAndGet(bucketOf(us));
+			max.accumulateAndGet(us, Math::max);
+		}
+
+		/**
+		 * Returns the number of latencies recorded.
+		 * @return the count.
+		 */
+		long count() {
+			long count = 0;
+			for (int i = 0; i < buckets.length(); i++) {
+				count += buckets.get(i);
+			}
+			return count;
+		}
+
+		/**
+		 * Returns a percentile of the latencies recorded.
+		 * @param p - The percentile, from 0 to 100.
+		 * @return the lowest latency of the bucket holding it, or 0 if none was
+		 * recorded.
+		 */
+		long percentile(int p) {
+			long count = count();
+			long rank = (count * p + 99) / 100;
+			long seen = 0;
+			for (int i = 0; i < buckets.length(); i++) {
+				seen += buckets.get(i);
+				if (seen >= rank && seen > 0) {
+					return lowestOf(i);
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Returns the highest latency recorded.
+		 * @return the latency, in microseconds.
+		 */
+		long max() {
+			return max.get();
+		}
+
+		/**
+		 * Returns the bucket of a latency.
+		 * @param us - The latency.
+		 * @return the index of its bucket.
+		 */
+		private static int bucketOf(long us) {
+			if (us < 16) {
+				return (int) Math.max(us, 0);
+			}
+			int exp = 63 - Long.numberOfLeadingZeros(us);
+			return 16 + (exp - 4) * 8 + (int) ((us >> (exp - 3)) & 7);
+		}
+
+		/**
+		 * Returns the lowest latency of a bucket.
+		 * @param i - The index of the bucket.
+		 * @return the latency.
+		 */
+		private static long lowestOf(int i) {
+			if (i < 16) {
+				return i;
+			}
+			int exp = (i - 16) / 8 + 4;
+			return (8L + (i - 16) % 8) << (exp - 3);
+		}
+	}
+}
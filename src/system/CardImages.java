@@ -0,0 +1,160 @@
+package system;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import sysobj.Card;
+
+/**
+ * Every card image the view draws: the face and the left slice of each card,
+ * and the full, left and top card backs. They are read from asset/card/ once,
+ * the first time one is asked for, and packed into a single atlas image; each
+ * icon is a view of its part of the atlas. The icons are shared by every
+ * button and label that shows them, so they must not be modified.
+ *
+ * Once loaded, fetching an icon is an array lookup: redrawing a hand reads no
+ * file and decodes no image.
+ *
+ * @since 23
+ */
+public final class CardImages {
+
+	/** The face of each card, by card id. */
+	private static final ImageIcon[] FACES;
+
+	/** The left slice of each card's face, by card id. */
+	private static final ImageIcon[] LEFT_FACES;
+
+	/** The full card back. */
+	private static final ImageIcon BACK;
+
+	/** The left slice of the card back. */
+	private static final ImageIcon LEFT_BACK;
+
+	/** The top slice of the card back. */
+	private static final ImageIcon TOP_BACK;
+
+	static {
+		int n = Const.DECK_SIZE;
+		String[] names = new String[2 * n + 3];
+		for (int id = 0; id < n; id++) {
+			Card card = Card.of(id);
+			String name = card.rankToString(card.getRank()) + card.suitToString(card.getSuit());
+			names[id] = name;
+			names[n + id] = "l" + name;
+		}
+		names[2 * n] = "back";
+		names[2 * n + 1] = "lback";
+		names[2 * n + 2] = "tback";
+
+		ImageIcon[] icons = pack(names);
+		FACES = new ImageIcon[n];
+		LEFT_FACES = new ImageIcon[n];
+		System.arraycopy(icons, 0, FACES, 0, n);
+		System.arraycopy(icons, n, LEFT_FACES, 0, n);
+		BACK = icons[2 * n];
+		LEFT_BACK = icons[2 * n + 1];
+		TOP_BACK = icons[2 * n + 2];
+	}
+
+	/**
+	 * So Javadoc doesn't throw a fit
+	 */
+	private CardImages() {}
+
+	/**
+	 * Returns the icon of a card: its back if it is hidden, else its face, as
+	 * a slice or whole.
+	 * @param card The card.
+	 * @param isTop Should the card be rendered as a top slice?
+	 * @param isLeft Should the card be rendered as a left slice?
+	 * @param isHidden Should the card face be visible or rendered as a card back?
+	 * @return the shared icon.
+	 *
+	 * @since 23
+	 */
+	public static ImageIcon get(Card card, boolean isTop, boolean isLeft, boolean isHidden) {
+		if (isHidden) {
+			return isTop ? TOP_BACK : isLeft ? LEFT_BACK : BACK;
+		}
+		return isLeft ? LEFT_FACES[card.getId()] : FACES[card.getId()];
+	}
+
+	/**
+	 * Returns the icon of the full card back.
+	 * @return the shared icon.
+	 *
+	 * @since 23
+	 */
+	public static ImageIcon back() {
+		return BACK;
+	}
+
+	/**
+	 * Reads the images, packs them into one atlas, row by row, and returns an
+	 * icon for each one's part of the atlas.
+	 * @param names The names of the images in asset/card/, without ".png".
+	 * @return the icons, in the order of the names.
+	 *
+	 * @since 23
+	 */
+	private static ImageIcon[] pack(String[] names) {
+		BufferedImage[] images = new BufferedImage[names.length];
+		int[] x = new int[names.length];
+		int[] y = new int[names.length];
+
+		// lay the images out in rows, starting a new row when one is full
+		int rowX = 0;
+		int rowY = 0;
+		int rowHeight = 0;
+		for (int i = 0; i < names.length; i++) {
+			images[i] = read(names[i]);
+			if (rowX + images[i].getWidth() > Const.CARD_ATLAS_WIDTH) {
+				rowX = 0;
+				rowY += rowHeight;
+				rowHeight = 0;
+			}
+			x[i] = rowX;
+			y[i] = rowY;
+			rowX += images[i].getWidth();
+			rowHeight = Math.max(rowHeight, images[i].getHeight());
+		}
+
+		BufferedImage atlas = new BufferedImage(Const.CARD_ATLAS_WIDTH, rowY + rowHeight, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = atlas.createGraphics();
+		for (int i = 0; i < names.length; i++) {
+			g.drawImage(images[i], x[i], y[i], null);
+		}
+		g.dispose();
+
+		ImageIcon[] icons = new ImageIcon[names.length];
+		for (int i = 0; i < names.length; i++) {
+			icons[i] = new ImageIcon(atlas.getSubimage(x[i], y[i], images[i].getWidth(), images[i].getHeight()));
+		}
+		return icons;
+	}
+
+	/**
+	 * Reads one card image. An image that cannot be read is replaced by a
+	 * blank card, so a missing file does not stop the game.
+	 * @param name The name of the image in asset/card/, without ".png".
+	 * @return the image.
+	 *
+	 * @since 23
+	 */
+	private static BufferedImage read(String name) {
+		try {
+			BufferedImage image = ImageIO.read(new File("asset/card/" + name + ".png"));
+			if (image != null) {
+				return image;
+			}
+		} catch (IOException e) {
+			// reported below
+		}
+		System.out.println("Could not read the card image " + name + ".png");
+		return new BufferedImage(Const.CARD_WIDTH, Const.CARD_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+	}
+}
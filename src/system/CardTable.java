@@ -0,0 +1,703 @@
+package system;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import sysobj.Card;
+
+/**
+ * The card table: the four hands, the library and the played cards, painted
+ * from CardImages in one pass. The cards are not components. A click is
+ * resolved to the card under the mouse from where the cards were painted:
+ * first the hand whose area holds the point, then the card, from its
+ * distance to the first one. A single mouse listener on the table handles
+ * every click and hover, and a single listener is told of card plays and
+ * one of library clicks, so the listeners never pile up over a long game.
+ *
+ * The South hand runs left to right at the bottom and shows its cards, each
+ * framed by a border that turns red while the mouse is over a card that can
+ * be played. The North hand runs left to right at the top, and the East and
+ * West hands run top to bottom along the sides; all three show card backs.
+ * Every card but the last of a hand is drawn as a slice. A hand too long for
+ * the table is squeezed so it still fits.
+ *
+ * The labels holding the players' names and the logo are the only children
+ * of the table, which places them itself.
+ *
+ * @since 23
+ */
+public final class CardTable extends JPanel {
+
+	/**
+	 * SerialVersionID.
+	 * Default: @value 1L
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/** The space around the hands, piles and labels, in pixels. */
+	private static final int GAP = 10;
+
+	/** The width of the border around each card of the South hand, in pixels. */
+	private static final int BORDER = 2;
+
+	/** The cards of each hand, by orientation. A null card is one whose face is not known. */
+	private final transient Card[][] hands;
+
+	/** The last played card, or null if there is none. */
+	private transient Card lastPlayed;
+
+	/** The cards that can be clicked to be played, one bit per card id as in Hand; set whole by makeClickable(). */
+	private long clickable;
+
+	/** The card the mouse is over, if it can be played, or null. */
+	private transient Card hovered;
+
+	/** The card the mouse was pressed on, or null. */
+	private transient Card pressedCard;
+
+	/** Whether the mouse was pressed on the library. */
+	private boolean pressedLibrary;
+
+	/** Told which card was clicked, by its name, as the action command, or null. */
+	private transient ActionListener cardPlayListener;
+
+	/** Told when the library is clicked, or null. */
+	private transient ActionListener libraryListener;
+
+	/** The name of each player, by orientation. */
+	private final JLabel[] names;
+
+	/** The logo, under the piles. */
+	private final JLabel logo;
+
+	/**
+	 * Creates an empty table.
+	 * @param north The label of the North player's name.
+	 * @param east The label of the East player's name.
+	 * @param south The label of the South player's name.
+	 * @param west The label of the West player's name.
+	 * @param logo The logo.
+	 *
+	 * @since 23
+	 */
+	public CardTable(JLabel north, JLabel east, JLabel south, JLabel west, JLabel logo) {
+		super(null);
+		this.hands = new Card[4][0];
+		this.names = new JLabel[4];
+		names[Const.NORTH] = north;
+		names[Const.EAST] = east;
+		names[Const.SOUTH] = south;
+		names[Const.WEST] = west;
+		this.logo = logo;
+		for (JLabel name : names) {
+			add(name);
+		}
+		add(logo);
+
+		MouseAdapter mouse = new TableMouseListener();
+		addMouseListener(mouse);
+		addMouseMotionListener(mouse);
+	}
+
+	/* ---------- CONTENT ---------- */
+
+	/**
+	 * Shows the cards of a hand.
+	 * @param orientation The hand, Const.NORTH, EAST, SOUTH or WEST.
+	 * @param cards The cards, in the order they are shown.
+	 *
+	 * @since 23
+	 */
+	public void showCards(int orientation, Iterable<Card> cards) {
+		List<Card> list = new ArrayList<>();
+		cards.forEach(list::add);
+		setHand(orientation, list.toArray(new Card[0]));
+	}
+
+	/**
+	 * Shows a number of face down cards in a hand whose cards are not known.
+	 * @param orientation The hand, Const.NORTH, EAST, SOUTH or WEST.
+	 * @param count The number of cards.
+	 *
+	 * @since 23
+	 */
+	public void showHiddenCards(int orientation, int count) {
+		setHand(orientation, new Card[count]);
+	}
+
+	/**
+	 * Takes one card out of a hand, if it is there.
+	 * @param orientation The hand, Const.NORTH, EAST, SOUTH or WEST.
+	 * @param card The card.
+	 *
+	 * @since 23
+	 */
+	public void removeCard(int orientation, Card card) {
+		List<Card> cards = new ArrayList<>(Arrays.asList(hands[orientation]));
+		if (cards.remove(card)) {
+			setHand(orientation, cards.toArray(new Card[0]));
+		}
+	}
+
+	/**
+	 * Empties every hand.
+	 *
+	 * @since 23
+	 */
+	public void clearHands() {
+		for (int i = 0; i < hands.length; i++) {
+			setHand(i, new Card[0]);
+		}
+		clickable = 0L;
+	}
+
+	/**
+	 * Shows the last played card on top of the played cards.
+	 * @param card The card, or null to show none.
+	 *
+	 * @since 23
+	 */
+	public void showLastPlayed(Card card) {
+		if (card != lastPlayed) {
+			lastPlayed = card;
+			repaint(playedCardsBounds());
+		}
+	}
+
+	/**
+	 * Lets the passed cards, and only them, be clicked to be played, wherever
+	 * they are. A card made clickable before that is not passed again can no
+	 * longer be clicked, so the whole hand is passed each time.
+	 * @param cards The cards.
+	 *
+	 * @since 23
+	 */
+	public void makeClickable(Iterable<Card> cards) {
+		long mask = 0L;
+		for (Card card : cards) {
+			mask |= 1L << card.getId();
+		}
+		clickable = mask;
+		if (!isClickable(hovered)) {
+			setHovered(null);
+		}
+	}
+
+	/**
+	 * Returns whether a card can be clicked to be played.
+	 * @param card The card, or null.
+	 * @return true if it can.
+	 *
+	 * @since 23
+	 */
+	public boolean isClickable(Card card) {
+		return card != null && (clickable & (1L << card.getId())) != 0;
+	}
+
+	/**
+	 * Sets the listener told which card was clicked, replacing the one set
+	 * before. The action command of the event is the name of the card.
+	 * @param listener The listener.
+	 *
+	 * @since 23
+	 */
+	public void setCardPlayListener(ActionListener listener) {
+		cardPlayListener = listener;
+	}
+
+	/**
+	 * Sets the listener told when the library is clicked, replacing the one
+	 * set before.
+	 * @param listener The listener.
+	 *
+	 * @since 23
+	 */
+	public void setLibraryListener(ActionListener listener) {
+		libraryListener = listener;
+	}
+
+	/**
+	 * Returns the number of listeners the table holds: its own mouse
+	 * listeners and the ones told of clicks. It does not grow as cards move
+	 * between hands, however long the game.
+	 * @return the number of listeners.
+	 *
+	 * @since 23
+	 */
+	public int getListenerCount() {
+		return getMouseListeners().length + getMouseMotionListeners().length
+				+ (cardPlayListener != null ? 1 : 0) + (libraryListener != null ? 1 : 0);
+	}
+
+	/**
+	 * Replaces the cards of a hand by diffing it with the cards shown: only
+	 * the cards that changed, moved, or went from a slice to a whole card or
+	 * back are repainted, where they were and where they are now. A card
+	 * drawn onto the East or West hand repaints its last two cards; the North
+	 * and South hands are centered, so a change in their length moves, and
+	 * repaints, every card.
+	 * @param orientation The hand.
+	 * @param cards The new cards.
+	 *
+	 * @since 23
+	 */
+	private void setHand(int orientation, Card[] cards) {
+		Card[] old = hands[orientation];
+		if (Arrays.equals(cards, old)) {
+			return;
+		}
+		Rectangle[] before = new Rectangle[old.length];
+		for (int i = 0; i < old.length; i++) {
+			before[i] = cardBounds(orientation, i);
+		}
+		hands[orientation] = cards;
+		for (int i = 0; i < Math.max(old.length, cards.length); i++) {
+			Rectangle now = i < cards.length ? cardBounds(orientation, i) : null;
+			if (i < old.length && now != null && Objects.equals(old[i], cards[i]) && before[i].equals(now)) {
+				continue;
+			}
+			if (i < old.length) {
+				repaint(before[i]);
+			}
+			if (now != null) {
+				repaint(now);
+			}
+		}
+		if (orientation == Const.SOUTH && !Arrays.asList(cards).contains(hovered)) {
+			hovered = null;
+		}
+	}
+
+	/* ---------- HIT-TESTING ---------- */
+
+	/**
+	 * Returns the card at a point of the table.
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @return the card, or null if there is none or its face is not known.
+	 *
+	 * @since 23
+	 */
+	public Card cardAt(int x, int y) {
+		int orientation = handAt(x, y);
+		int index = orientation < 0 ? -1 : indexAt(orientation, x, y);
+		return index < 0 ? null : hands[orientation][index];
+	}
+
+	/**
+	 * Returns the hand whose area holds a point.
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @return the orientation of the hand, or -1 if the point is on none.
+	 */
+	private int handAt(int x, int y) {
+		for (int o = 0; o < hands.length; o++) {
+			if (handBounds(o).contains(x, y)) {
+				return o;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the card of a hand at a point, worked out from
+	 * the distance to the first card, so the cost does not depend on the
+	 * size of the hand.
+	 * @param orientation The hand.
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @return the index, or -1 if no card of the hand is there.
+	 */
+	private int indexAt(int orientation, int x, int y) {
+		int count = hands[orientation].length;
+		if (count == 0) {
+			return -1;
+		}
+		Rectangle first = cardBounds(orientation, 0);
+		int offset = isHorizontal(orientation) ? x - first.x : y - first.y;
+		if (offset < 0) {
+			return -1;
+		}
+		int index = Math.min(offset / step(orientation, count, handOrigin(orientation).width), count - 1);
+		return cardBounds(orientation, index).contains(x, y) ? index : -1;
+	}
+
+	/**
+	 * Returns whether a point of the table is on the library.
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @return true if it is.
+	 *
+	 * @since 23
+	 */
+	public boolean isLibraryAt(int x, int y) {
+		return libraryBounds().contains(x, y);
+	}
+
+	/* ---------- GEOMETRY ---------- */
+
+	/**
+	 * Returns whether a hand runs left to right.
+	 * @param orientation The hand.
+	 * @return true for North and South.
+	 */
+	private static boolean isHorizontal(int orientation) {
+		return orientation == Const.NORTH || orientation == Const.SOUTH;
+	}
+
+	/**
+	 * Returns the width of the border around each card of a hand.
+	 * @param orientation The hand.
+	 * @return BORDER for South, 0 for the others.
+	 */
+	private static int border(int orientation) {
+		return orientation == Const.SOUTH ? BORDER : 0;
+	}
+
+	/**
+	 * Returns the height of the band holding the North or South hand.
+	 * @return the height, in pixels.
+	 */
+	private static int rowHeight() {
+		return Const.CARD_HEIGHT + 2 * BORDER;
+	}
+
+	/**
+	 * Returns the distance between the cards of a hand, squeezed if the hand
+	 * would not fit in the passed length.
+	 * @param orientation The hand.
+	 * @param count The number of cards.
+	 * @param length The room for the hand, in pixels.
+	 * @return the distance, in pixels.
+	 */
+	private static int step(int orientation, int count, int length) {
+		int b = border(orientation);
+		int step = Const.CARD_SLICE_SIZE + 2 * b;
+		int full = (isHorizontal(orientation) ? Const.CARD_WIDTH : Const.CARD_HEIGHT) + 2 * b;
+		if (count > 1 && step * (count - 1) + full > length) {
+			step = Math.max(1, (length - full) / (count - 1));
+		}
+		return step;
+	}
+
+	/**
+	 * Returns the length a hand takes up.
+	 * @param orientation The hand.
+	 * @param count The number of cards.
+	 * @param step The distance between the cards.
+	 * @return the length, in pixels.
+	 */
+	private static int handLength(int orientation, int count, int step) {
+		if (count == 0) {
+			return 0;
+		}
+		int full = (isHorizontal(orientation) ? Const.CARD_WIDTH : Const.CARD_HEIGHT) + 2 * border(orientation);
+		return step * (count - 1) + full;
+	}
+
+	/**
+	 * Returns the top of the space between the North and South bands.
+	 * @return the y coordinate.
+	 */
+	private int middleTop() {
+		return GAP + names[Const.NORTH].getPreferredSize().height + GAP + rowHeight() + GAP;
+	}
+
+	/**
+	 * Returns the bottom of the space between the North and South bands.
+	 * @return the y coordinate.
+	 */
+	private int middleBottom() {
+		return getHeight() - GAP - rowHeight() - GAP - names[Const.SOUTH].getPreferredSize().height - GAP;
+	}
+
+	/**
+	 * Returns where the first card of a hand is drawn, and the room the hand
+	 * has along its length.
+	 * @param orientation The hand.
+	 * @return x and y of the first card, and the room as the width.
+	 */
+	private Rectangle handOrigin(int orientation) {
+		switch (orientation) {
+		case Const.NORTH:
+			return new Rectangle(0, GAP + names[Const.NORTH].getPreferredSize().height + GAP, getWidth() - 2 * GAP, 0);
+		case Const.SOUTH:
+			return new Rectangle(0, getHeight() - GAP - rowHeight(), getWidth() - 2 * GAP, 0);
+		case Const.WEST:
+			return new Rectangle(GAP, sideCardsTop(Const.WEST), middleBottom() - sideCardsTop(Const.WEST), 0);
+		default:
+			return new Rectangle(getWidth() - GAP - Const.CARD_WIDTH, sideCardsTop(Const.EAST),
+					middleBottom() - sideCardsTop(Const.EAST), 0);
+		}
+	}
+
+	/**
+	 * Returns the top of the East or West hand, under the player's name.
+	 * @param orientation Const.EAST or Const.WEST.
+	 * @return the y coordinate.
+	 */
+	private int sideCardsTop(int orientation) {
+		JLabel name = names[orientation];
+		return name.getY() + name.getHeight() + GAP;
+	}
+
+	/**
+	 * Returns where a card of a hand is drawn, as far as it can be seen: the
+	 * slice for every card but the last, all of the last one.
+	 * @param orientation The hand.
+	 * @param index The index of the card.
+	 * @return the bounds, border included.
+	 */
+	private Rectangle cardBounds(int orientation, int index) {
+		int count = hands[orientation].length;
+		Rectangle origin = handOrigin(orientation);
+		int step = step(orientation, count, origin.width);
+		int b = border(orientation);
+		boolean isLast = index == count - 1;
+		if (isHorizontal(orientation)) {
+			int x = (getWidth() - handLength(orientation, count, step)) / 2 + index * step;
+			return new Rectangle(x, origin.y, isLast ? Const.CARD_WIDTH + 2 * b : step, Const.CARD_HEIGHT + 2 * b);
+		}
+		return new Rectangle(origin.x, origin.y + index * step, Const.CARD_WIDTH, isLast ? Const.CARD_HEIGHT : step);
+	}
+
+	/**
+	 * Returns the area a hand covers.
+	 * @param orientation The hand.
+	 * @return the bounds, empty if the hand is.
+	 */
+	private Rectangle handBounds(int orientation) {
+		int count = hands[orientation].length;
+		if (count == 0) {
+			return new Rectangle();
+		}
+		return cardBounds(orientation, 0).union(cardBounds(orientation, count - 1));
+	}
+
+	/**
+	 * Returns where the library is drawn.
+	 * @return the bounds.
+	 */
+	private Rectangle libraryBounds() {
+		return new Rectangle(getWidth() / 2 - GAP / 2 - Const.CARD_WIDTH, middleTop() + GAP,
+				Const.CARD_WIDTH, Const.CARD_HEIGHT);
+	}
+
+	/**
+	 * Returns where the last played card is drawn.
+	 * @return the bounds.
+	 */
+	private Rectangle playedCardsBounds() {
+		return new Rectangle(getWidth() / 2 + GAP / 2, middleTop() + GAP, Const.CARD_WIDTH, Const.CARD_HEIGHT);
+	}
+
+	/* ---------- LAYOUT AND PAINTING ---------- */
+
+	@Override
+	public Dimension getPreferredSize() {
+		if (isPreferredSizeSet()) {
+			return super.getPreferredSize();
+		}
+		int max = Const.MAX_HAND_SIZE;
+		int sideWidth = Const.CARD_WIDTH + 2 * GAP;
+		int centerWidth = Math.max(2 * Const.CARD_WIDTH + GAP, logo.getPreferredSize().width) + 2 * GAP;
+		int rowWidth = handLength(Const.SOUTH, max, step(Const.SOUTH, max, Integer.MAX_VALUE)) + 2 * GAP;
+		int width = Math.max(rowWidth, 2 * sideWidth + centerWidth);
+
+		int side = names[Const.WEST].getPreferredSize().height + GAP
+				+ handLength(Const.WEST, max, step(Const.WEST, max, Integer.MAX_VALUE));
+		int center = GAP + Const.CARD_HEIGHT + GAP + logo.getPreferredSize().height;
+		int height = GAP + names[Const.NORTH].getPreferredSize().height + GAP + rowHeight() + GAP
+				+ Math.max(side, center) + GAP
+				+ GAP + names[Const.SOUTH].getPreferredSize().height + GAP + rowHeight() + GAP;
+		return new Dimension(width, height);
+	}
+
+	@Override
+	public void doLayout() {
+		int width = getWidth();
+		place(names[Const.NORTH], width / 2, GAP);
+		place(names[Const.SOUTH], width / 2, getHeight() - GAP - rowHeight() - GAP - names[Const.SOUTH].getPreferredSize().height);
+		int top = middleTop();
+		place(names[Const.WEST], GAP + Const.CARD_WIDTH / 2, top);
+		place(names[Const.EAST], width - GAP - Const.CARD_WIDTH / 2, top);
+		Dimension l = logo.getPreferredSize();
+		logo.setBounds((width - l.width) / 2, Math.max(top + GAP + Const.CARD_HEIGHT, middleBottom() - l.height), l.width, l.height);
+	}
+
+	/**
+	 * Gives a label its preferred size, centered on a point, inside the table.
+	 * @param label The label.
+	 * @param centerX The x coordinate of its center.
+	 * @param y The y coordinate of its top.
+	 */
+	private void place(JLabel label, int centerX, int y) {
+		Dimension d = label.getPreferredSize();
+		int x = Math.max(0, Math.min(centerX - d.width / 2, getWidth() - d.width));
+		label.setBounds(x, y, d.width, d.height);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		Rectangle clip = g.getClipBounds();
+
+		Rectangle library = libraryBounds();
+		if (clip == null || clip.intersects(library)) {
+			CardImages.back().paintIcon(this, g, library.x, library.y);
+		}
+		Rectangle played = playedCardsBounds();
+		if (lastPlayed != null && (clip == null || clip.intersects(played))) {
+			CardImages.get(lastPlayed, false, false, false).paintIcon(this, g, played.x, played.y);
+		}
+
+		for (int o = 0; o < hands.length; o++) {
+			paintHand(g, clip, o);
+		}
+	}
+
+	/**
+	 * Paints the cards of a hand that are inside the clip, first to last so
+	 * each card's slice is drawn over the one before.
+	 * @param g The graphics to paint with.
+	 * @param clip The area to paint, or null for all of it.
+	 * @param orientation The hand.
+	 */
+	private void paintHand(Graphics g, Rectangle clip, int orientation) {
+		Card[] cards = hands[orientation];
+		boolean isHidden = orientation != Const.SOUTH;
+		boolean horizontal = isHorizontal(orientation);
+		int b = border(orientation);
+		for (int i = 0; i < cards.length; i++) {
+			Rectangle r = cardBounds(orientation, i);
+			if (clip != null && !clip.intersects(r)) {
+				continue;
+			}
+			boolean isLast = i == cards.length - 1;
+			Card card = cards[i] == null ? Card.of(0) : cards[i];
+			CardImages.get(card, !isLast && !horizontal, !isLast && horizontal, isHidden).paintIcon(this, g, r.x + b, r.y + b);
+			if (b > 0) {
+				g.setColor(cards[i] != null && cards[i] == hovered ? Color.RED : Color.BLACK);
+				for (int k = 0; k < b; k++) {
+					g.drawRect(r.x + k, r.y + k, r.width - 2 * k - 1, r.height - 2 * k - 1);
+				}
+			}
+		}
+	}
+
+	/* ---------- MOUSE ---------- */
+
+	/**
+	 * Sets the card the mouse is over, repainting the border of the card it
+	 * leaves and the one it enters.
+	 * @param card The card, or null.
+	 */
+	private void setHovered(Card card) {
+		if (card == hovered) {
+			return;
+		}
+		Card before = hovered;
+		hovered = card;
+		repaintCard(before);
+		repaintCard(card);
+	}
+
+	/**
+	 * Repaints one card of the South hand.
+	 * @param card The card, or null for none.
+	 */
+	private void repaintCard(Card card) {
+		Card[] cards = hands[Const.SOUTH];
+		for (int i = 0; card != null && i < cards.length; i++) {
+			if (cards[i] == card) {
+				repaint(cardBounds(Const.SOUTH, i));
+			}
+		}
+	}
+
+	/**
+	 * Returns the card of the South hand that can be played at a point.
+	 * @param p The point.
+	 * @return the card, or null.
+	 */
+	private Card hoverTarget(Point p) {
+		if (handAt(p.x, p.y) != Const.SOUTH) {
+			return null;
+		}
+		int index = indexAt(Const.SOUTH, p.x, p.y);
+		Card card = index < 0 ? null : hands[Const.SOUTH][index];
+		return isClickable(card) ? card : null;
+	}
+
+	/**
+	 * The one mouse listener of the table. A press and a release on the same
+	 * card or on the library make a click, as they would on a button.
+	 *
+	 * @since 23
+	 */
+	private class TableMouseListener extends MouseAdapter {
+
+		/**
+		 * Default Constructor
+		 */
+		TableMouseListener() {}
+
+		@Override
+		public void mousePressed(MouseEvent e) {
+			if (!SwingUtilities.isLeftMouseButton(e)) {
+				return;
+			}
+			Card card = cardAt(e.getX(), e.getY());
+			pressedCard = isClickable(card) ? card : null;
+			pressedLibrary = isLibraryAt(e.getX(), e.getY());
+		}
+
+		@Override
+		public void mouseReleased(MouseEvent e) {
+			if (!SwingUtilities.isLeftMouseButton(e)) {
+				return;
+			}
+			Card card = pressedCard;
+			boolean library = pressedLibrary;
+			pressedCard = null;
+			pressedLibrary = false;
+			if (card != null && cardAt(e.getX(), e.getY()) == card) {
+				if (cardPlayListener != null) {
+					cardPlayListener.actionPerformed(new ActionEvent(CardTable.this, ActionEvent.ACTION_PERFORMED, card.toString()));
+				}
+			} else if (library && isLibraryAt(e.getX(), e.getY())) {
+				if (libraryListener != null) {
+					libraryListener.actionPerformed(new ActionEvent(CardTable.this, ActionEvent.ACTION_PERFORMED, "library"));
+				}
+			}
+		}
+
+		@Override
+		public void mouseMoved(MouseEvent e) {
+			setHovered(hoverTarget(e.getPoint()));
+		}
+
+		@Override
+		public void mouseDragged(MouseEvent e) {
+			setHovered(hoverTarget(e.getPoint()));
+		}
+
+		@Override
+		public void mouseExited(MouseEvent e) {
+			setHovered(null);
+		}
+	}
+}
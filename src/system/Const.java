@@ -47,6 +47,27 @@ public class Const {
 	/** The maximum number of cards in hand. Default value is {@value}. */
 	public static final int MAX_HAND_SIZE = 12;
 
+	/** The number of cards in a deck. Default value is {@value}. */
+	public static final int DECK_SIZE = 52;
+
+	/** The width of a full card image, in pixels. Default value is {@value}. */
+	public static final int CARD_WIDTH = 71;
+
+	/** The height of a full card image, in pixels. Default value is {@value}. */
+	public static final int CARD_HEIGHT = 96;
+
+	/** The width of a left slice, and the height of a top slice, of a card image, in pixels. Default value is {@value}. */
+	public static final int CARD_SLICE_SIZE = 14;
+
+	/** The width of the atlas the card images are packed into, in pixels. Default value is {@value}. */
+	public static final int CARD_ATLAS_WIDTH = 1024;
+
+	/** The number of clips each sound effect is opened into, so it can overlap itself. Default value is {@value}. */
+	public static final int SOUND_CLIPS_PER_EFFECT = 2;
+
+	/** The number of ranks (cards) in each suit. Default value is {@value}. */
+	public static final int CARDS_PER_SUIT = 13;
+
 	/** Represents single-player mode. Default value is {@value}. */
 	public static final int SINGLE_PLAYER = 1;
 
@@ -79,7 +100,170 @@ public class Const {
 
 	/** Represents the pass action. Default value is {@value}. */
 	public static final int PASS = 3;
-	
+
+	/** Represents the easy AI, which plays its first legal card. Default value is {@value}. */
+	public static final int AI_EASY = 0;
+
+	/** Represents the hard AI, which searches for its move. Default value is {@value}. */
+	public static final int AI_HARD = 1;
+
+	/** The most search iterations the hard AI runs per move. Default value is {@value}. */
+	public static final int MCTS_ITERATIONS = 5000;
+
+	/** The most time the hard AI searches per move, in milliseconds. Default value is {@value}. */
+	public static final int MCTS_TIME_MS = 500;
+
+	/** The exploration constant of the hard AI's search. Default value is {@value}. */
+	public static final double MCTS_EXPLORATION = 0.7;
+
+	/**
+	 * The most turns played out after a search iteration leaves the tree,
+	 * before the round is scored as it stands. Default value is {@value}.
+	 */
+	public static final int MCTS_ROLLOUT_TURNS = 40;
+
+	/** The number of rounds the listener check plays if none is given. Default value is {@value}. */
+	public static final int LISTENER_CHECK_ROUNDS = 100;
+
+	/** The number of games a simulation plays if none is given. Default value is {@value}. */
+	public static final int SIM_DEFAULT_GAMES = 10000;
+
+	/**
+	 * The number of turns after which a simulated round is abandoned, for when
+	 * every player's hand is full and nobody can play. Default value is {@value}.
+	 */
+	public static final int SIM_MAX_TURNS = 2000;
+
+	/** The most games a single simulation task plays before splitting. Default value is {@value}. */
+	public static final int SIM_GAMES_PER_TASK = 64;
+
+	/** The number of untimed iterations run before each benchmark. Default value is {@value}. */
+	public static final int BENCH_WARMUP_ITERATIONS = 3;
+
+	/** The number of timed iterations of each benchmark. Default value is {@value}. */
+	public static final int BENCH_ITERATIONS = 5;
+
+	/** The length of one benchmark iteration, in milliseconds. Default value is {@value}. */
+	public static final int BENCH_ITERATION_MS = 500;
+
+	/** The initial size of each connection's read buffer, in bytes. Default value is {@value}. */
+	public static final int NET_READ_BUFFER_SIZE = 4096;
+
+	/**
+	 * The longest message accepted from a client, in bytes. A client sending a
+	 * longer one is disconnected. Default value is {@value}.
+	 */
+	public static final int NET_MAX_FRAME_SIZE = 65536;
+
+	/**
+	 * The number of bytes queued for a client past which it is behind: view
+	 * updates are dropped for it until it catches up, and it is then sent a
+	 * full refresh instead. Default value is {@value}.
+	 */
+	public static final int NET_QUEUE_SOFT_LIMIT = 64 * 1024;
+
+	/**
+	 * The number of bytes queued for a client past which it is disconnected.
+	 * Default value is {@value}.
+	 */
+	public static final int NET_QUEUE_HARD_LIMIT = 1024 * 1024;
+
+	/** The most queued messages written to a client in one call. Default value is {@value}. */
+	public static final int NET_WRITE_BATCH = 64;
+
+	/**
+	 * The most low priority connections, such as those of spectators, written
+	 * to between two checks for messages to the others. Default value is
+	 * {@value}.
+	 */
+	public static final int NET_LOW_PRIORITY_WRITES = 64;
+
+	/** The time a client may be silent before the server sends it PING, in milliseconds. Default value is {@value}. */
+	public static final int NET_HEARTBEAT_MS = 10000;
+
+	/**
+	 * The time a client may be silent before the server disconnects it, in
+	 * milliseconds. A client that answers PING is never silent this long.
+	 * Default value is {@value}.
+	 */
+	public static final int NET_IDLE_TIMEOUT_MS = 30000;
+
+	/**
+	 * The system property that overrides NET_HEARTBEAT_MS for the servers
+	 * started in the process; 0 turns heartbeats and idle timeouts off.
+	 * Default value is {@value}.
+	 */
+	public static final String NET_HEARTBEAT_PROPERTY = "crazyeights.heartbeatMs";
+
+	/**
+	 * The system property that overrides NET_IDLE_TIMEOUT_MS for the servers
+	 * started in the process. Default value is {@value}.
+	 */
+	public static final String NET_IDLE_TIMEOUT_PROPERTY = "crazyeights.idleTimeoutMs";
+
+	/**
+	 * The system property that selects the threads connections, tables and AI
+	 * turns run on: "virtual" for virtual threads, anything else for platform
+	 * threads. Default value is {@value}.
+	 */
+	public static final String THREADS_PROPERTY = "crazyeights.threads";
+
+	/** The number of bots the load test plays with. Default value is {@value}. */
+	public static final int LOAD_DEFAULT_BOTS = 1000;
+
+	/** The number of bots the load test starts at once, in one process, while ramping up. Default value is {@value}. */
+	public static final int LOAD_RAMP_STEP = 250;
+
+	/** The longest a process of load test bots runs, in seconds, if the test does not stop it first. Default value is {@value}. */
+	public static final int LOAD_BOT_SECONDS = 3600;
+
+	/** The time each load test step is measured for, in milliseconds. Default value is {@value}. */
+	public static final int LOAD_STEP_MS = 3000;
+
+	/** The number of bots the bot load generator runs. Default value is {@value}. */
+	public static final int BOT_DEFAULT_COUNT = 400;
+
+	/** The number of human seats of each bot table. Default value is {@value}. */
+	public static final int BOT_DEFAULT_SEATS = 4;
+
+	/** How long the bot load generator runs, in seconds. Default value is {@value}. */
+	public static final int BOT_DEFAULT_SECONDS = 30;
+
+	/** The most spectators watching a hosted game at once. Default value is {@value}. */
+	public static final int SPECTATOR_MAX = 10000;
+
+	/** The port the lobby server listens on if none is given. Default value is {@value}. */
+	public static final int LOBBY_DEFAULT_PORT = 5000;
+
+	/** The most tables a lobby server hosts at once. Default value is {@value}. */
+	public static final int LOBBY_MAX_TABLES = 1000;
+
+	/** The number of seats at a table, filled by AI players if needed. Default value is {@value}. */
+	public static final int TABLE_SEATS = 4;
+
+	/** The delay before an AI player at a lobby table moves, in milliseconds. Default value is {@value}. */
+	public static final int TABLE_AI_DELAY_MS = 1500;
+
+	/**
+	 * The time a human player of a multiplayer game has to finish their turn,
+	 * in milliseconds, before an AI player takes their seat. Default value is
+	 * {@value}.
+	 */
+	public static final int MOVE_DEADLINE_MS = 60000;
+
+	/**
+	 * The time a player whose connection was lost has to reconnect and get
+	 * their seat back, in milliseconds, before an AI player takes it. Default
+	 * value is {@value}.
+	 */
+	public static final int SESSION_GRACE_MS = 20000;
+
+	/** The shortest wait before a client tries to reconnect, in milliseconds. Default value is {@value}. */
+	public static final int SESSION_RETRY_MIN_MS = 250;
+
+	/** The longest wait between two tries to reconnect, in milliseconds. Default value is {@value}. */
+	public static final int SESSION_RETRY_MAX_MS = 4000;
+
 	/**
 	 * Default constructor
 	 */
@@ -1,10 +1,13 @@
 package system;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.util.concurrent.ThreadLocalRandom;
 import javax.swing.SwingUtilities;
 
 /**
@@ -12,19 +15,39 @@ import javax.swing.SwingUtilities;
  * as well as protocols for network messages. Maps to a Player contained in the
  * server's model.
  * 
+ * If the connection drops during a game, the client reconnects and sends the
+ * session token it was issued with its ID, to get its seat back. It keeps
+ * trying for Const.SESSION_GRACE_MS, waiting a little longer and a random
+ * while between tries, so clients dropped together do not all come back at
+ * once.
  * 
  * @since 23
  */
 public class GameClient {
 
 	/** The socket connection to the server. */
-	private Socket clientSocket;
+	private volatile Socket clientSocket;
+
+	/** The address of the server, to reconnect to. */
+	private final String ip;
+
+	/** The port of the server, to reconnect to. */
+	private final int port;
 
 	/** Listener for handling game-related events. */
 	private GameControllerListener listener;
 
-	/** Writer for sending messages to the server. */
-	private PrintWriter out;
+	/** Stream for sending messages to the server. Guarded by sendLock. */
+	private OutputStream out;
+
+	/** Held while sending a message, or switching to a new connection. */
+	private final Object sendLock = new Object();
+
+	/** Whether messages are sent to the server as binary frames. Guarded by sendLock. */
+	private boolean binaryOut;
+
+	/** Whether the server sends binary frames. Only touched by the receive thread. */
+	private boolean binaryIn;
 
 	/** Thread for receiving messages from the server. */
 	private Thread receiveThread;
@@ -35,6 +58,18 @@ public class GameClient {
 	/** The unique ID of the client, initialized to -1. */
 	private int clientId = -1;
 
+	/** Whether the server made the client a spectator, whose moves are not sent. */
+	private volatile boolean spectating;
+
+	/** The token the server issued with the client's ID, to resume the session with, or null. */
+	private volatile String sessionToken;
+
+	/** Whether the client is leaving, or was told to, so a lost connection is not resumed. */
+	private volatile boolean closing;
+
+	/** The client's copy of the game, kept up to date by REFRESH and DELTA packets. */
+	private ViewState view = new ViewState();
+
 
 	/**
 	 * Constructor that creates a new GameClient object with a specified name.
@@ -50,8 +85,10 @@ public class GameClient {
 	 */
 	public GameClient(int port, String ip, GameControllerListener listener, String playerName) throws IOException {
 		this.listener = listener;
+		this.ip = ip;
+		this.port = port;
 		this.clientSocket = new Socket(ip, port);
-		this.out = new PrintWriter(clientSocket.getOutputStream(), true);
+		this.out = clientSocket.getOutputStream();
 		this.clientName = playerName;
 		startReceiving();
 	}
@@ -59,98 +96,324 @@ public class GameClient {
 	/**
 	 * Start the thread that is responsible for receiving network packets from
 	 * the host. Packet protocol is MSGTYPE|OPTIONALINFO|OPTIONALINFO... etc. 
-	 * The method switches on the packet "type", which is the 0th index of the
-	 * packet. What happens next depends on the packet type, but mostly involves
-	 * calling some method from the listener.
+	 * Once both sides agree on it, packets are binary frames instead (see
+	 * Wire), decoded into the same fields. The thread is a virtual thread if
+	 * they were chosen at startup (see Threads). If the connection drops, the
+	 * same thread reconnects, and receives from the new connection.
 	 * 
 	 * 
 	 * @since 23
 	 */
 	private void startReceiving() {
-		receiveThread = new Thread(new Runnable() {
+		receiveThread = Threads.start("game-client", false, new Runnable() {
 			public void run() {
-				try {
-					BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
-					String line;
-					while ((line = in.readLine()) != null && !clientSocket.isClosed()) {
-						System.out.println("Client received packet: " + line);
-						String[] packet = line.split("\\|");
-
-						switch (packet[0]) {
-
-						case "ID":
-							System.out.println("Client: " + clientName + " received a packet assigning them the ID: " + packet[1]);
-							clientId = Integer.parseInt(packet[1]);
-							break;
-
-						case "CHAT":
-							System.out.println("Client received a request from Server to display a chat: " + packet[1]);
-							listener.onChatReceived(packet[1]);
-							break;
-
-						case "REFRESH":
-							if (packet.length == 8) {
-								System.out.println("Client received a request to refresh its UI: " + line);
-								SwingUtilities.invokeLater(new Runnable() {
-									public void run() {		// id		  hand	 	 lastPlayed no. Cards  plyrNames  plyrScore	 turnDir
-										listener.onViewRefresh(packet[1], packet[2], packet[3], packet[4], packet[5], packet[6], packet[7]);
-									}
-								});
-							} else {
-								System.out.println("Client received a refresh packet with an invalid length.");
-							}
-							break;
-
-						case "CONSOLE":
-							System.out.println("Client has received a console message from the Server.");
-							listener.onConsoleMsgReceived(packet[1], packet[2], packet[3]);
-							break;
-
-						case "ROUNDOVER":
-							System.out.println("Client has received a request to display the round winner " + packet[1]);
-							listener.onRoundOver(packet[1]);
-							break;
-
-						case "GAMEOVER":
-							System.out.println("Client has received a request to display the game winner.");
-							listener.onGameOver(packet[1]);
-							break;
-
-						case "SUITREQUEST":
-							SwingUtilities.invokeLater(new Runnable() {
-								public void run() {
-									System.out.println("Client has received a request to choose a suit.");
-									listener.onClientSuitRequest(packet[1]);
-								}
-							});
-							break;
-
-						case "BTN":
-							System.out.println("Client received a button status packet from server.");
-							listener.onButtonStatusReceived(packet[1]);
-							break;
-							
-						case "CLEANUP":
-							listener.onTerminateGameRequest();
-							break;
-							
-						case "SHUTDOWN":
-							listener.onTerminateGameRequest();
-							receiveThread.interrupt();
-							break;
-
-						default:
-							System.out.println("Client received packet of unknown type: " + packet[0]);
-							break;
-						}
+				do {
+					receiveUntilClosed();
+				} while (reconnect());
+			}
+		});
+	}
 
+	/**
+	 * Receives packets from the server until the connection is closed.
+	 * 
+	 * @since 23
+	 */
+	private void receiveUntilClosed() {
+		try {
+			Socket socket = clientSocket;
+			InputStream in = new BufferedInputStream(socket.getInputStream());
+			DataInputStream frames = new DataInputStream(in);
+			while (!socket.isClosed()) {
+				if (binaryIn) {
+					byte[] frame = new byte[frames.readUnsignedShort()];
+					frames.readFully(frame);
+					receiveFrame(frame);
+				} else {
+					String line = Wire.readLine(in);
+					if (line == null) {
+						break;
 					}
+					System.out.println("Client received packet: " + line);
+					receive(line.split("\\|"));
+				}
+			}
+		} catch (EOFException e) {
+			System.out.println("Client connection closed by the server.");
+		} catch (IOException e) {
+			System.out.println("Client receive error: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reconnects to the server after the connection dropped, and asks for the
+	 * client's seat back with RESUME|id|token. The server answers with the
+	 * client's ID and a full refresh, or tells it to shut down if the seat is
+	 * gone. Tries until Const.SESSION_GRACE_MS have passed.
+	 * 
+	 * @return true if the client is connected again, false if it is leaving,
+	 * has no session to resume, or could not reconnect in time.
+	 * @since 23
+	 */
+	private boolean reconnect() {
+		String token = sessionToken;
+		if (closing || token == null) {
+			return false;
+		}
+		System.out.println("Client " + clientName + " lost the connection, trying to resume the session...");
+		listener.onChatReceived("Lost the connection to the server. Reconnecting...");
+
+		long giveUp = System.currentTimeMillis() + Const.SESSION_GRACE_MS;
+		long wait = Const.SESSION_RETRY_MIN_MS;
+		while (!closing && System.currentTimeMillis() < giveUp) {
+			try {
+				// each client waits a random part of the wait, so a server
+				// that dropped everyone is not hit by everyone at once
+				Thread.sleep(wait / 2 + ThreadLocalRandom.current().nextLong(wait / 2 + 1));
+			} catch (InterruptedException e) {
+				return false;
+			}
+			wait = Math.min(wait * 2, Const.SESSION_RETRY_MAX_MS);
+
+			Socket socket;
+			try {
+				socket = new Socket(ip, port);
+			} catch (IOException e) {
+				continue;
+			}
+			try {
+				clientSocket.close();
+			} catch (IOException e) {
+				// it is already dead
+			}
+			synchronized (sendLock) {
+				try {
+					out = socket.getOutputStream();
 				} catch (IOException e) {
-					System.out.println("Client receive error: " + e.getMessage());
+					continue;
+				}
+				clientSocket = socket;
+				binaryOut = false;
+			}
+			binaryIn = false;
+			send(new Wire.Packet("RESUME", String.valueOf(clientId), token));
+			listener.onChatReceived("Reconnected to the server.");
+			return true;
+		}
+
+		System.out.println("Client " + clientName + " could not resume the session.");
+		listener.onChatReceived("Could not reconnect to the server.");
+		listener.onTerminateGameRequest();
+		return false;
+	}
+
+	/**
+	 * Handles a binary frame from the server. View updates are applied to the
+	 * client's copy of the game as they are read; every other packet is
+	 * decoded into its fields and handled as its text form would be.
+	 * 
+	 * @param frame The frame, without its length.
+	 * @since 23
+	 */
+	private void receiveFrame(byte[] frame) {
+		try {
+			int op = frame[0] & 0xFF;
+			if (op == Wire.OP_REFRESH) {
+				view.applyRefresh(new Wire.Reader(frame, 1, frame.length - 1));
+				showView();
+			} else if (op == Wire.OP_DELTA) {
+				if (view.applyDelta(new Wire.Reader(frame, 1, frame.length - 1))) {
+					showView();
+				} else {
+					System.out.println("Client missed a view update, asking for a full refresh.");
+					send(new Wire.Packet("RESYNC"));
 				}
+			} else {
+				String[] packet = Wire.decode(frame, 0, frame.length);
+				System.out.println("Client received packet: " + packet[0]);
+				receive(packet);
+			}
+		} catch (IllegalArgumentException e) {
+			System.out.println("Client received a malformed frame: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Handles a packet from the server. The method switches on the packet
+	 * "type", which is the 0th index of the packet. What happens next depends
+	 * on the packet type, but mostly involves calling some method from the
+	 * listener.
+	 * 
+	 * @param packet The fields of the packet.
+	 * @since 23
+	 */
+	private void receive(String[] packet) {
+		switch (packet[0]) {
+
+		case "ID":
+			System.out.println("Client: " + clientName + " received a packet assigning them the ID: " + packet[1]);
+			clientId = Integer.parseInt(packet[1]);
+			if (packet.length > 3) {
+				sessionToken = packet[3];
+			}
+
+			// a spectator's ID is no player's, so it must never be taken for the host's
+			if (clientId == ViewState.SPECTATOR) {
+				spectating = true;
+				listener.onChatReceived("Watching the game.");
+			}
+
+			// a server that speaks the binary protocol says so after the ID
+			if (packet.length > 2 && Integer.parseInt(packet[2]) == Wire.VERSION) {
+				negotiate();
+			}
+			break;
+
+			// the server agreed to speak binary: every packet after this one is a frame
+		case "PROTO":
+			System.out.println("Client and Server now speak binary protocol version " + packet[1]);
+			binaryIn = true;
+			break;
+
+			// the server checking that the client is still there
+		case "PING":
+			send(new Wire.Packet("PONG"));
+			break;
+
+		case "CHAT":
+			System.out.println("Client received a request from Server to display a chat: " + packet[1]);
+			listener.onChatReceived(packet[1]);
+			break;
+
+		case "REFRESH":
+			if (packet.length == 8 || packet.length == 9) {
+				System.out.println("Client received a request to refresh its UI.");
+				view.applyRefresh(packet);
+				showView();
+			} else {
+				System.out.println("Client received a refresh packet with an invalid length.");
+			}
+			break;
+
+			// the changes since the last refresh. if one was missed, ask for everything
+		case "DELTA":
+			if (view.applyDelta(packet)) {
+				showView();
+			} else {
+				System.out.println("Client missed a view update, asking for a full refresh.");
+				send(new Wire.Packet("RESYNC"));
+			}
+			break;
+
+		case "CONSOLE":
+			System.out.println("Client has received a console message from the Server.");
+			listener.onConsoleMsgReceived(packet[1], packet[2], packet[3]);
+			break;
+
+		case "ROUNDOVER":
+			System.out.println("Client has received a request to display the round winner " + packet[1]);
+			listener.onRoundOver(packet[1]);
+			break;
+
+		case "GAMEOVER":
+			System.out.println("Client has received a request to display the game winner.");
+			listener.onGameOver(packet[1]);
+			break;
+
+		case "SUITREQUEST":
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					System.out.println("Client has received a request to choose a suit.");
+					listener.onClientSuitRequest(packet[1]);
+				}
+			});
+			break;
+
+		case "BTN":
+			System.out.println("Client received a button status packet from server.");
+			listener.onButtonStatusReceived(packet[1]);
+			break;
+			
+		case "CLEANUP":
+			listener.onTerminateGameRequest();
+			break;
+			
+		case "SHUTDOWN":
+			closing = true;
+			listener.onTerminateGameRequest();
+			receiveThread.interrupt();
+			break;
+
+			// replies of a lobby server, shown in the chat
+		case "TABLES":
+			listener.onChatReceived(describeTables(packet));
+			break;
+
+		case "JOINED":
+			clientId = Integer.parseInt(packet[2]);
+			listener.onChatReceived("Joined table " + packet[1] + ", seat " + packet[2]);
+			break;
+
+		case "LEFT":
+			sessionToken = null;
+			listener.onChatReceived("Left table " + packet[1]);
+			break;
+
+		case "LOBBYERR":
+			listener.onChatReceived(packet[1]);
+			break;
+
+		default:
+			System.out.println("Client received packet of unknown type: " + packet[0]);
+			break;
+		}
+	}
+
+	/**
+	 * Answers a server that speaks the binary protocol: the answer is the last
+	 * text line sent, and every packet after it is a frame.
+	 * 
+	 * @since 23
+	 */
+	private void negotiate() {
+		synchronized (sendLock) {
+			if (!binaryOut) {
+				send(new Wire.Packet("PROTO", String.valueOf(Wire.VERSION)));
+				binaryOut = true;
+			}
+		}
+	}
+
+	/**
+	 * Sends a packet to the server, as a text line or a frame, whichever the
+	 * client and the server agreed on.
+	 * 
+	 * @param packet The packet.
+	 * @since 23
+	 */
+	private void send(Wire.Message packet) {
+		synchronized (sendLock) {
+			try {
+				out.write(binaryOut ? packet.frame() : packet.line());
+				out.flush();
+			} catch (IOException | RuntimeException e) {
+				System.out.println("Client could not send a packet: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Refreshes the UI with the client's copy of the game.
+	 * 
+	 * @since 23
+	 */
+	private void showView() {
+		String[] f = view.toRefreshFields();
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {		// id	 hand  lastPlayed no. Cards plyrNames plyrScore turnDir
+				listener.onViewRefresh(f[0], f[1], f[2], f[3], f[4], f[5], f[6]);
 			}
 		});
-		receiveThread.start();
 	}
 
 	/**
@@ -161,7 +424,7 @@ public class GameClient {
 	 */
 	public void sendChat(String msg) {
 		System.out.println("Client " + clientName + " is sending a chat to the Server: " + msg);
-		out.println("CHAT" + "|" + msg);
+		send(new Wire.Packet("CHAT", msg.replace("|", "")));
 	}
 
 	/**
@@ -172,7 +435,20 @@ public class GameClient {
 	 */
 	public void sendName() {
 		System.out.println("Client " + clientName + " is sending their name to the Server.");
-		out.println("NAME" + "|" + clientName);
+		send(new Wire.Packet("NAME", clientName));
+	}
+
+	/**
+	 * Asks the server to watch the game without a seat, instead of sending
+	 * the client's name. The client is then sent what every player sees, but
+	 * no hand, and it is sent the ID ViewState.SPECTATOR, after which its
+	 * moves are not sent.
+	 *
+	 * @since 23
+	 */
+	public void sendWatch() {
+		System.out.println("Client " + clientName + " is asking the Server to watch the game.");
+		send(new Wire.Packet("WATCH", clientName));
 	}
 
 	/**
@@ -180,8 +456,11 @@ public class GameClient {
 	 * @since 23
 	 */
 	public void sendDraw() {
+		if (spectating) {
+			return;
+		}
 		System.out.println("Client " + clientName + " is sending a draw request to Server.");
-		out.println("DRAW" + "|" + clientId );
+		send(new Wire.Packet("DRAW", String.valueOf(clientId)));
 	}
 
 	/**
@@ -191,8 +470,11 @@ public class GameClient {
 	 * @since 23
 	 */
 	public void sendPlay(String card) {
+		if (spectating) {
+			return;
+		}
 		System.out.println("Client " + clientName + " is sending a play request to Server: " + card);
-		out.println("PLAY" + "|" + clientId + "|" + card);
+		send(new Wire.Packet("PLAY", String.valueOf(clientId), card));
 	}
 
 	/**
@@ -203,8 +485,71 @@ public class GameClient {
 	 * @since 23
 	 */
 	public void sendSuit(String suit, String cardToPlay) {
+		if (spectating) {
+			return;
+		}
 		System.out.println("Client " + clientName + " is sending a chosen suit to Server: " + suit);
-		out.println("SUITCHOICE" + "|" + clientId + "|" + suit + "|" + cardToPlay);
+		send(new Wire.Packet("SUITCHOICE", String.valueOf(clientId), suit, cardToPlay));
+	}
+
+	/**
+	 * Interprets a chat message starting with '/' as a command for a lobby
+	 * server: /tables, /create seats [name], /join table or /leave. The
+	 * command is sent as the matching lobby packet.
+	 *
+	 * @param msg The message typed in the chat box.
+	 * @return true if the message was a lobby command, false if it should be
+	 * sent as a chat.
+	 * @since 23
+	 */
+	public boolean sendLobbyCommand(String msg) {
+		if (!msg.startsWith("/")) {
+			return false;
+		}
+		String[] words = msg.split("\\s+", 3);
+		try {
+			switch (words[0]) {
+			case "/tables":
+				send(new Wire.Packet("LIST"));
+				return true;
+			case "/create":
+				String name = words.length > 2 ? words[2] : "";
+				send(new Wire.Packet("CREATE", String.valueOf(Integer.parseInt(words[1])), name.replace("|", "")));
+				return true;
+			case "/join":
+				send(new Wire.Packet("JOIN", String.valueOf(Integer.parseInt(words[1]))));
+				return true;
+			case "/leave":
+				send(new Wire.Packet("LEAVE"));
+				return true;
+			default:
+				return false;
+			}
+		} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+			listener.onChatReceived("Usage: /tables, /create <seats> [name], /join <table>, /leave");
+			return true;
+		}
+	}
+
+	/**
+	 * Formats the list of tables sent by a lobby server for the chat.
+	 *
+	 * @param packet The TABLES packet, split on '|'.
+	 * @return one line per table.
+	 * @since 23
+	 */
+	private static String describeTables(String[] packet) {
+		if (packet.length == 1) {
+			return "No tables yet. Create one with /create <seats> [name]";
+		}
+		StringBuilder sb = new StringBuilder("Tables:");
+		for (int i = 1; i < packet.length; i++) {
+			// id,name,seated,seats,state
+			String[] table = packet[i].split(",");
+			sb.append("\n  ").append(table[0]).append(": ").append(table[1]).append(" (")
+			.append(table[2]).append("/").append(table[3]).append(", ").append(table[4]).append(")");
+		}
+		return sb.toString();
 	}
 
 	/**
@@ -214,17 +559,19 @@ public class GameClient {
 	 */
 	public void disconnect() {
 		System.out.println("Client " + clientName + " is attempting to disconnect...");
-		out.println("DISCONNECT" + "|" + clientId);
+		closing = true;
+		send(new Wire.Packet("DISCONNECT", String.valueOf(clientId)));
 	}
 
 	/**
-	 * Facilitates shutdown of the GameClient. Closes the PrintWriter, the socket,
+	 * Facilitates shutdown of the GameClient. Closes the output stream, the socket,
 	 * and interrupts the thread.
 	 * 
 	 * @since 23
 	 */
 	public void shutdown() {
 		System.out.println("Client has called shutdown(), closing 'out' and the clientSocket...");
+		closing = true;
 		try {
 			out.close();
 			clientSocket.close();
@@ -1,21 +1,21 @@
 package system;
 
-import java.awt.Color;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
+import java.util.HashMap;
 import java.util.ResourceBundle;
 import java.util.Vector;
-import javax.swing.BorderFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import sysobj.AIPlayer;
 import sysobj.Card;
@@ -50,6 +50,18 @@ public class GameController implements GameControllerListener {
 	/** The selected game mode (e.g., single-player or multiplayer). */
 	private int gameMode;
 
+	/** The timer delaying the current AI player's move, if any. */
+	private Timer aiTurnTimer;
+
+	/** The move a hard AI player is searching for off the EDT, if any. */
+	private CompletableFuture<Card> aiSearch;
+
+	/** The timer ending the turn of a client who takes too long to move, if any. */
+	private Timer moveDeadlineTimer;
+
+	/** The timers ending the grace of each client whose connection was lost, by client id. */
+	private HashMap<Integer, Timer> graceTimers = new HashMap<>();
+
 
 	/**
 	 * Parameterized constructor for GameController. GameController acts as a bridge
@@ -77,7 +89,8 @@ public class GameController implements GameControllerListener {
 	 * Collects "network info" from clients or host, depending on the boolean
 	 * passed to it. If isHost, creates a new server object and starts listening
 	 * for connections on that port. If not, starts a new client and tries to 
-	 * connect to a server at a specific port/ip.
+	 * connect to a server at a specific port/ip, as a player, or as a
+	 * spectator if they chose to only watch.
 	 * 
 	 * 
 	 * @since 23
@@ -91,13 +104,14 @@ public class GameController implements GameControllerListener {
 		gameMode = Const.MULTI_PLAYER;
 
 		// Set up the panel dynamically based on role
-		JPanel panel = new JPanel(new GridLayout(3, 2));
+		JPanel panel = new JPanel(new GridLayout(isHost ? 3 : 4, 2));
 		JTextField nameField = new JTextField(10);
 		JTextField portField = new JTextField(10);
 		JTextField numPlField = new JTextField(10);
 
 		// Only for client
 		JTextField ipField = isHost ? null : new JTextField(15);
+		JCheckBox watchBox = isHost ? null : new JCheckBox();
 		ResourceBundle translatable = view.getTranslatable();
 
 		panel.add(new JLabel(translatable.getString("playerName")));
@@ -108,6 +122,8 @@ public class GameController implements GameControllerListener {
 		if (!isHost) {
 			panel.add(new JLabel(translatable.getString("ipAddress")));
 			panel.add(ipField);
+			panel.add(new JLabel(translatable.getString("watchGame")));
+			panel.add(watchBox);
 		} else {
 			panel.add(new JLabel(translatable.getString("numOpponents")));
 			panel.add(numPlField);
@@ -174,9 +190,14 @@ public class GameController implements GameControllerListener {
 						return;
 					}
 
-					// create a new client, send client's name to the server
+					// create a new client, send client's name to the server, or
+					// ask to watch the game without a seat
 					client = new GameClient(port, ipInput, this, playerName);
-					client.sendName();
+					if (watchBox.isSelected()) {
+						client.sendWatch();
+					} else {
+						client.sendName();
+					}
 					server = null;
 					System.out.println("Joining as: " + playerName + " at " + ipInput + ":" + port);
 				}
@@ -262,7 +283,8 @@ public class GameController implements GameControllerListener {
 		if (numAiPlayers > 0) {
 			model.loadAINames();
 			for (int i = 0; i < numAiPlayers; i++) {
-				Player AI = new AIPlayer(model.getAIPlayerName());
+				AIPlayer AI = new AIPlayer(model.getAIPlayerName());
+				AI.setDifficulty(model.getAIDifficulty());
 				AI.setOrientation(id);
 				AI.setID(id++);
 				players.add(AI);
@@ -301,29 +323,15 @@ public class GameController implements GameControllerListener {
 	public void handleClientPostSuitChoice(Card cardToPlay, Suit suitChoice) {
 		Player activePlayer = model.getActivePlayer();
 
-		handleCardPlay(cardToPlay);
-
-		// Find and remove the matching card
-		Vector<Card> playerHand = activePlayer.getHand();
-		Card cardToRemove = null;
-		for (Card c : playerHand) {
-
-			// find the exact object matching cardToPlay
-			if (c.toString().equals(cardToPlay.toString())) {
-				cardToRemove = c;
-				break;
-			}
-		}
-
-		// remove the card from their hand
-		if (cardToRemove != null) {
-			playerHand.remove(cardToRemove);
-			activePlayer.setHand(playerHand);
-		} else {
+		// the card is removed from their hand by the model when it is played
+		if (!activePlayer.getHand().contains(cardToPlay)) {
 			System.out.println("Card not found in hand: " + cardToPlay);
+			return;
 		}
 
-		model.getLastPlayedCard().setSuit(suitChoice);
+		handleCardPlay(cardToPlay);
+
+		model.declareSuit(suitChoice);
 		view.displayLastPlayedCard(model.getLastPlayedCard());
 		server.requestViewRefresh(model.getPlayers(), cardToPlay, model.getTurnOrderDirection());
 	}
@@ -341,6 +349,7 @@ public class GameController implements GameControllerListener {
 		replacement.setHand(player.getHand());
 		replacement.setName("AI " + player.getName().toUpperCase());
 		replacement.setID(player.getId());
+		replacement.setDifficulty(model.getAIDifficulty());
 		return replacement;
 	}
 
@@ -408,12 +417,11 @@ public class GameController implements GameControllerListener {
 	 * Determines if the client requesting to draw may draw (is it their turn?
 	 * do they have room in their hand?).
 	 * 
-	 * @param packetData: the draw request.
+	 * @param packetInfo: the fields of the draw request.
 	 * @since 23
 	 */
 	@Override
-	public void onClientDrawReceived(String packetData) {
-		String[] packetInfo = packetData.split("\\|");
+	public void onClientDrawReceived(String[] packetInfo) {
 		int clientId = Integer.parseInt(packetInfo[1]);
 
 		if (model.getActivePlayer().getId() == clientId) {
@@ -430,14 +438,14 @@ public class GameController implements GameControllerListener {
 	 * is the card a legal play based on the last played card?). If it is, handle
 	 * it, if not, quietly reject it (do nothing).
 	 * 
-	 * @param playData: the move, containing the card the player wishes to play.
+	 * @param parts: the fields of the move, containing the card the player
+	 * wishes to play.
 	 * @since 23
 	 */
 	@Override
-	public void onClientPlayReceived(String playData) {
+	public void onClientPlayReceived(String[] parts) {
 
 		// PLAY|clientID|card
-		String[] parts = playData.split("\\|");
 		int clientId = Integer.parseInt(parts[1]);
 		Card cardToPlay = Card.getCardFromStr(parts[2]);
 		Player activePlayer = model.getActivePlayer();
@@ -447,6 +455,12 @@ public class GameController implements GameControllerListener {
 
 			Card lastPlayedCard = model.getLastPlayedCard();
 
+			// block plays of cards the client doesn't hold
+			if (!activePlayer.getHand().contains(cardToPlay)) {
+				System.out.println("Card not found in hand: " + cardToPlay);
+				return;
+			}
+
 			// block illegal plays
 			if (!model.isPlayLegal(cardToPlay, lastPlayedCard)) {
 				System.out.println("Client attempted to play an illegal card.");
@@ -466,28 +480,9 @@ public class GameController implements GameControllerListener {
 				}
 			}
 
+			// the card is removed from their hand by the model when it is played
 			handleCardPlay(cardToPlay);
 
-			// Find and remove the matching card
-			Vector<Card> playerHand = activePlayer.getHand();
-			Card cardToRemove = null;
-			for (Card c : playerHand) {
-
-				// find the exact object matching cardToPlay
-				if (c.toString().equals(cardToPlay.toString())) {
-					cardToRemove = c;
-					break;
-				}
-			}
-
-			// remove the card from their hand
-			if (cardToRemove != null) {
-				playerHand.remove(cardToRemove);
-				activePlayer.setHand(playerHand);
-			} else {
-				System.out.println("Card not found in hand: " + cardToPlay);
-			}
-
 			server.requestViewRefresh(model.getPlayers(), cardToPlay, model.getTurnOrderDirection());
 		} else {
 			System.out.println("Active player ID did not match client ID, play request rejected.");
@@ -513,12 +508,11 @@ public class GameController implements GameControllerListener {
 	 * played; at this point the call stack is clear besides this function. Game
 	 * loop resumes once handleClientPostSuitChoice() is called.
 	 * 
-	 * @param packetData packet data
+	 * @param parsedPacket the fields of the packet
 	 * @since 23
 	 */
 	@Override
-	public void onClientSuitReceived(String packetData) {
-		String[] parsedPacket = packetData.split("\\|");
+	public void onClientSuitReceived(String[] parsedPacket) {
 		String suit = parsedPacket[2];
 		Card cardToPlay = Card.getCardFromStr(parsedPacket[3]);
 		Suit s = Card.getSuitFromStr(suit);
@@ -557,21 +551,160 @@ public class GameController implements GameControllerListener {
 
 	/**
 	 * When a player (client) disconnects, shut down their threads, close their
-	 * socket, and replace their player object with an AI player.
+	 * socket, and replace their player object with an AI player, who takes
+	 * over their turn if it was theirs.
 	 * 
-	 * @param packetData packet data
+	 * @param parsedPacket the fields of the packet
 	 * @since 23
 	 */
 	@Override
-	public void onPlayerDisconnect(String packetData) {
-		String[] parsedPacket = packetData.split("\\|");
+	public void onPlayerDisconnect(String[] parsedPacket) {
 		int clientId = Integer.parseInt(parsedPacket[1]);
+		SwingUtilities.invokeLater(() -> reclaimSeat(clientId, " left the game."));
+	}
+
+	/**
+	 * Keeps the seat of a client whose connection was lost for
+	 * Const.SESSION_GRACE_MS, so they can reconnect and resume their session.
+	 * If they have not by then, their seat is handed over to an AI player, as
+	 * if they had disconnected.
+	 * 
+	 * @since 23
+	 * @param clientId the id of the client
+	 */
+	@Override
+	public void onPlayerConnectionLost(int clientId) {
+		SwingUtilities.invokeLater(() -> {
+			if (server == null || !model.isGameRunning() || clientId < 1 || clientId >= model.getPlayers().size()) {
+				return;
+			}
+			Player clientPlayer = model.getPlayers().get(clientId);
+			if (clientPlayer instanceof AIPlayer) {
+				return;
+			}
+			stopGraceTimer(clientId);
+			Timer graceTimer = new Timer(Const.SESSION_GRACE_MS, new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					graceTimers.remove(clientId);
+					reclaimSeat(clientId, " lost their connection.");
+				}
+			});
+			graceTimer.setRepeats(false);
+			graceTimer.start();
+			graceTimers.put(clientId, graceTimer);
+
+			String msg = clientPlayer.getName() + " lost their connection. Their seat is kept for "
+					+ (Const.SESSION_GRACE_MS / 1000) + " seconds.";
+			server.broadcastChat(msg);
+			view.displayChat(msg);
+		});
+	}
+
+	/**
+	 * Welcomes back a client who resumed their session, and sends them the
+	 * game as it stands. Their connection is new, so the refresh they are
+	 * sent is whole.
+	 * 
+	 * @since 23
+	 * @param clientId the id of the client
+	 */
+	@Override
+	public void onPlayerResumed(int clientId) {
+		SwingUtilities.invokeLater(() -> {
+			stopGraceTimer(clientId);
+			if (server == null || !model.isGameRunning() || clientId < 1 || clientId >= model.getPlayers().size()) {
+				return;
+			}
+			String msg = model.getPlayers().get(clientId).getName() + " is back.";
+			server.broadcastChat(msg);
+			view.displayChat(msg);
+			server.requestViewRefresh(model.getPlayers(), model.getLastPlayedCard(), model.getTurnOrderDirection());
+		});
+	}
+
+	/**
+	 * Stops the grace of a client whose connection was lost, if any.
+	 * 
+	 * @since 23
+	 * @param clientId the id of the client
+	 */
+	private void stopGraceTimer(int clientId) {
+		Timer graceTimer = graceTimers.remove(clientId);
+		if (graceTimer != null) {
+			graceTimer.stop();
+		}
+	}
+
+	/**
+	 * Replaces the player of a client by an AI player, through replacePlayer(),
+	 * and closes the client's socket. If it was their turn, the AI player
+	 * takes it over, so the game never waits on a client that is gone. Does
+	 * nothing if the game is over or the seat was already handed over. Runs
+	 * on the EDT.
+	 * 
+	 * @since 23
+	 * @param clientId the id of the client
+	 * @param reason what happened to the client, shown in the chat after their name
+	 */
+	private void reclaimSeat(int clientId, String reason) {
+		if (server == null || !model.isGameRunning() || clientId < 1 || clientId >= model.getPlayers().size()) {
+			return;
+		}
 		Player clientPlayer = model.getPlayers().get(clientId);
+		if (clientPlayer instanceof AIPlayer) {
+			return;
+		}
+		stopGraceTimer(clientId);
+		boolean wasTheirTurn = model.getActivePlayer() == clientPlayer;
 		AIPlayer replacement = replacePlayer(clientPlayer);
 
 		model.getPlayers().set(clientId, replacement);
 		server.closeSocket(clientId);
 
+		String msg = clientPlayer.getName() + reason + " " + replacement.getName() + " takes their seat.";
+		server.broadcastChat(msg);
+		view.displayChat(msg);
+
+		if (wasTheirTurn) {
+			stopMoveDeadline();
+			model.setActivePlayer(replacement);
+			executeAIPlayerTurn(replacement);
+		}
+	}
+
+	/**
+	 * Starts the deadline of a client's turn. If they have not finished it
+	 * when it runs out, their seat is handed over to an AI player.
+	 * 
+	 * @since 23
+	 * @param player the player whose turn it is
+	 */
+	private void startMoveDeadline(Player player) {
+		stopMoveDeadline();
+		moveDeadlineTimer = new Timer(Const.MOVE_DEADLINE_MS, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				moveDeadlineTimer = null;
+				if (model.getActivePlayer() == player) {
+					reclaimSeat(player.getId(), " took too long to move.");
+				}
+			}
+		});
+		moveDeadlineTimer.setRepeats(false);
+		moveDeadlineTimer.start();
+	}
+
+	/**
+	 * Stops the deadline of the current client's turn, if any.
+	 * 
+	 * @since 23
+	 */
+	private void stopMoveDeadline() {
+		if (moveDeadlineTimer != null) {
+			moveDeadlineTimer.stop();
+			moveDeadlineTimer = null;
+		}
 	}
 
 	/**
@@ -604,6 +737,19 @@ public class GameController implements GameControllerListener {
 		}
 	}
 
+	/**
+	 * Sends a full view refresh to a client that missed an update. Before the
+	 * game starts there is nothing to send; the first refresh will be whole.
+	 *
+	 * @since 23
+	 */
+	@Override
+	public void onResyncRequested() {
+		if (server != null && model.isGameRunning()) {
+			server.requestViewRefresh(model.getPlayers(), model.getLastPlayedCard(), model.getTurnOrderDirection());
+		}
+	}
+
 	/**
 	 * Resets the client's UI to initial state.
 	 * 
@@ -611,6 +757,9 @@ public class GameController implements GameControllerListener {
 	 */
 	@Override
 	public void onTerminateGameRequest() {
+		// stop any AI player still deciding their move
+		cancelAIPlayerTurn();
+
 		// reset the model to initial state
 		model.resetGameFlags();
 
@@ -684,29 +833,13 @@ public class GameController implements GameControllerListener {
 	}
 
 	/**
-	 * Sets up listeners for a client's hand.
+	 * Makes the cards of a client's hand clickable.
 	 * 
 	 * @param hand the player's hand
 	 * @since 23
 	 */
 	public void onHandRefreshed(Vector<Card> hand) {
-		for (Card c : hand) {
-			for (ActionListener al : c.getActionListeners()) {
-				c.removeActionListener(al);
-			}
-			c.addActionListener(new CardPlayListener());
-			c.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-
-			c.addMouseListener(new MouseAdapter() {
-				public void mouseEntered(MouseEvent e) {
-					c.setBorder(BorderFactory.createLineBorder(Color.RED, 2));
-				}
-
-				public void mouseExited(MouseEvent e) {
-					c.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-				}
-			});
-		}
+		view.makeCardsClickable(hand);
 	}
 
 
@@ -731,10 +864,23 @@ public class GameController implements GameControllerListener {
 		view.setLangFrenchListener(new LangFrenchListener());
 		view.setSoundToggleListener(new SoundToggleListener());
 		view.setMusicToggleListener(new MusicToggleListener());
-		view.setDrawFromLibraryListener(new CardDrawListener());
+		view.setHardAIToggleListener(new HardAIToggleListener());
+		setCardTableListeners();
 		view.setChatSendButtonListener(new ChatSendButtonListener());
 	}
 
+	/**
+	 * Listens to the card table of the view: to the cards played from the
+	 * hand, and to draws from the library. The table holds one listener of
+	 * each, so setting them again replaces them.
+	 * 
+	 * @since 23
+	 */
+	public void setCardTableListeners() {
+		view.setDrawFromLibraryListener(new CardDrawListener());
+		view.setCardPlayListener(new CardPlayListener());
+	}
+
 	/**
 	 * Handles a new round starting. If the game is not running, then the round is
 	 * the first round played, and so special initialization must take place. The
@@ -761,13 +907,12 @@ public class GameController implements GameControllerListener {
 		boolean turnOrderDir = model.getTurnOrderDirection();
 
 		// host refreshing their own UI + listeners
-		List<Card> playedCards = model.getPlayedCards();
 		for (Player p : players) {
 			view.refreshScores(players, turnOrderDir);
 			view.displayCardsInHand(p);
 		}
 		refreshListenersInPlayerHand(model.getActivePlayer());
-		view.displayLastPlayedCard(playedCards.getLast());
+		view.displayLastPlayedCard(model.getLastPlayedCard());
 
 		if (gameMode == Const.MULTI_PLAYER && server != null) {
 			server.requestViewRefresh(players, model.getLastPlayedCard(), turnOrderDir);
@@ -796,6 +941,7 @@ public class GameController implements GameControllerListener {
 	 */
 	public void processTurn() {
 		System.out.println("Calling processTurn()");
+		stopMoveDeadline();
 		Player activePlayer = model.getActivePlayer();
 		String playerName = activePlayer.getName();
 		processConsoleMsg(playerName, "currentTurn", "");
@@ -851,6 +997,7 @@ public class GameController implements GameControllerListener {
 				executeAIPlayerTurn((AIPlayer) activePlayer);
 			} else {
 				System.out.println("Call stack cleared - awaiting player move...");
+				startMoveDeadline(activePlayer);
 			}
 		}
 	}
@@ -864,18 +1011,49 @@ public class GameController implements GameControllerListener {
 	 * @since 23
 	 */
 	public void executeAIPlayerTurn(AIPlayer AIPlayer) {
-		Timer timer = new Timer(1500, new ActionListener() {
+		aiTurnTimer = new Timer(1500, new ActionListener() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				decideAIPlayerMove(AIPlayer);
-				model.setActivePlayer(model.getNextPlayer());
-				view.refreshScores(model.getPlayers(), model.getTurnOrderDirection());
-				processTurn();
+				aiTurnTimer = null;
+				if (decideAIPlayerMove(AIPlayer)) {
+					endAIPlayerTurn();
+				}
 			}
 		});
 
-		timer.setRepeats(false);
-		timer.start();
+		aiTurnTimer.setRepeats(false);
+		aiTurnTimer.start();
+	}
+
+	/**
+	 * Ends an AI player's turn: advances the turn, refreshes the scores and
+	 * processes the next turn.
+	 * 
+	 * @since 23
+	 */
+	public void endAIPlayerTurn() {
+		model.setActivePlayer(model.getNextPlayer());
+		view.refreshScores(model.getPlayers(), model.getTurnOrderDirection());
+		processTurn();
+	}
+
+	/**
+	 * Stops the AI player's turn in progress, if any: the timer delaying their
+	 * move, and the search for their move. Called when the game is torn down,
+	 * so no move is played into a game that no longer exists.
+	 * 
+	 * @since 23
+	 */
+	public void cancelAIPlayerTurn() {
+		if (aiTurnTimer != null) {
+			aiTurnTimer.stop();
+			aiTurnTimer = null;
+		}
+		if (aiSearch != null) {
+			aiSearch.cancel(false);
+			aiSearch = null;
+		}
+		model.cancelAISearch();
 	}
 
 	/**
@@ -884,13 +1062,18 @@ public class GameController implements GameControllerListener {
 	 * to reflect the changes in the model. Fetches the AI player's move decision
 	 * based on the game state, and handles each case.
 	 * 
+	 * A hard AI player searches for the card to play on worker threads, so the
+	 * UI stays responsive. Their card is played, and their turn ended, on the
+	 * EDT once the search is done. If the search fails, they decide the way an
+	 * easy AI player does instead, so the game never waits on a lost search.
+	 * 
 	 * @param AIPlayer The AI player who's turn it is.
+	 * @return true if the move is done, false if it is still being searched.
 	 * @since 23
 	 */
-	public void decideAIPlayerMove(AIPlayer AIPlayer) {
+	public boolean decideAIPlayerMove(AIPlayer AIPlayer) {
 		String playerName = AIPlayer.getName();
 		Card lastPlayedCard = model.getLastPlayedCard();
-		Card cardToPlay = null;
 		int choice = 0;
 
 		while (true) {
@@ -900,18 +1083,40 @@ public class GameController implements GameControllerListener {
 			case Const.PASS:
 				processConsoleMsg(playerName, "passTurn", "");
 				System.out.println(AIPlayer.getName() + " is passing their turn.");
-				return;
+				return true;
 			case Const.PLAY:
-				cardToPlay = AIPlayer.decideCard(lastPlayedCard);
-				if (model.playCard(cardToPlay)) {
-					processConsoleMsg(playerName, "playCard", cardToPlay.toString());
-					handleCardActions(cardToPlay);
-					view.displayCardsInHand(AIPlayer);
-					view.displayLastPlayedCard(model.getLastPlayedCard());
-				} else {
-					System.out.println(playerName + " tried to break the rules by playing an illegal card.");
+				if (AIPlayer.getDifficulty() == Const.AI_HARD) {
+					CompletableFuture<Card> started;
+					try {
+						started = model.decideAICardAsync(AIPlayer);
+					} catch (RejectedExecutionException e) {
+						started = CompletableFuture.failedFuture(e);
+					}
+					CompletableFuture<Card> search = started;
+					aiSearch = search;
+					search.whenComplete((card, e) -> SwingUtilities.invokeLater(() -> {
+						// the game may have been torn down while searching
+						if (aiSearch != search) {
+							return;
+						}
+						aiSearch = null;
+
+						// the turn is ended even if playing the card fails, so the game goes on
+						try {
+							if (e != null) {
+								System.out.println("The search of " + playerName + " failed, deciding without it: " + e);
+								playAICard(AIPlayer, AIPlayer.decideCard(lastPlayedCard));
+							} else {
+								playAICard(AIPlayer, card);
+							}
+						} finally {
+							endAIPlayerTurn();
+						}
+					}));
+					return false;
 				}
-				return;
+				playAICard(AIPlayer, model.decideAICard(AIPlayer));
+				return true;
 
 			case Const.DRAW:
 				model.drawCard();
@@ -920,12 +1125,31 @@ public class GameController implements GameControllerListener {
 				break;
 			default:
 				System.out.println("Default switch case reached while AI was deciding move.");
-				return;
+				return true;
 			}
 		}
 
 	}
 
+	/**
+	 * Plays the card an AI player decided on and shows the result.
+	 * 
+	 * @param AIPlayer The AI player who's turn it is.
+	 * @param cardToPlay The card they decided to play.
+	 * @since 23
+	 */
+	public void playAICard(AIPlayer AIPlayer, Card cardToPlay) {
+		String playerName = AIPlayer.getName();
+		if (model.playCard(cardToPlay)) {
+			processConsoleMsg(playerName, "playCard", cardToPlay.toString());
+			handleCardActions(cardToPlay);
+			view.displayCardsInHand(AIPlayer);
+			view.displayLastPlayedCard(model.getLastPlayedCard());
+		} else {
+			System.out.println(playerName + " tried to break the rules by playing an illegal card.");
+		}
+	}
+
 	/**
 	 * Ends the current round. Resets some flags in the model, tallies up the scores
 	 * of each player at round end, displays those scores, and displays the winner
@@ -1027,6 +1251,14 @@ public class GameController implements GameControllerListener {
 	 * @since 23
 	 */
 	public void cleanUp() {
+		// stop any AI player still deciding their move
+		cancelAIPlayerTurn();
+		stopMoveDeadline();
+		for (Timer graceTimer : graceTimers.values()) {
+			graceTimer.stop();
+		}
+		graceTimers.clear();
+
 		// clear player's hands
 		clearPlayerHands();
 
@@ -1143,7 +1375,6 @@ public class GameController implements GameControllerListener {
 	public void handleEight() {
 		Player activePlayer = model.getActivePlayer();
 		if (activePlayer.isHuman()) {
-			Suit startingSuit = model.getLastPlayedCard().getSuit();
 			Suit chosenSuit = null;
 
 			// this only happens if the player is host
@@ -1161,10 +1392,9 @@ public class GameController implements GameControllerListener {
 			if (chosenSuit != null) {
 				processConsoleMsg("", "suitChanged", chosenSuit.toString());
 				System.out.println("Player chose: " + chosenSuit);
-				model.getLastPlayedCard().setSuit(chosenSuit);
+				model.declareSuit(chosenSuit);
 			} else {
 				System.out.println("No suit selected. Keeping current suit.");
-				model.getLastPlayedCard().setSuit(startingSuit);
 			}
 		}
 		view.displayLastPlayedCard(model.getLastPlayedCard());
@@ -1279,9 +1509,6 @@ public class GameController implements GameControllerListener {
 
 		if (activePlayer.isHuman()) {
 			if (model.playCard(c)) {
-				for (ActionListener al : c.getActionListeners()) {
-					c.removeActionListener(al);
-				}
 				processConsoleMsg(activePlayerName, "playCard", c.toString());
 				handleCardActions(c);
 
@@ -1307,70 +1534,31 @@ public class GameController implements GameControllerListener {
 	}
 
 	/**
-	 * Strips all listeners from a Card button, then adds a single listener back
-	 * onto it. As cards change zones (are added to human players hands) they must
-	 * be made to be clickable by having listeners added to them.
+	 * Makes the cards in a player's hand clickable. As cards change zones (are
+	 * added to human players hands) they must be made to be clickable; the card
+	 * table then tells the CardPlayListener which card was clicked.
 	 * 
-	 * @param player The player who's hand to add listeners to.
+	 * @param player The player who's hand to make clickable.
 	 * 
 	 * @since 23
 	 */
 	public void refreshListenersInPlayerHand(Player player) {
-		for (Card c : player.getHand()) {
-			for (ActionListener al : c.getActionListeners()) {
-				c.removeActionListener(al);
-			}
-			c.addActionListener(new CardPlayListener());
-
-			c.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-
-			c.addMouseListener(new MouseAdapter() {
-				public void mouseEntered(MouseEvent e) {
-					c.setBorder(BorderFactory.createLineBorder(Color.RED, 2));
-				}
-
-				public void mouseExited(MouseEvent e) {
-					c.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-				}
-			});
-		}
+		view.makeCardsClickable(player.getHand());
 	}
 
 	/**
-	 * Strips all listeners from card buttons in a player's hand and adds new
-	 * listeners to that hand.
+	 * Makes the cards in a hand, sent as a string, clickable.
 	 * 
 	 * @param hand the player's hand
 	 * 
 	 * @since 23
 	 */
 	public void refreshListenersInPlayerHand(String hand) {
-		// Dummy player - doesn’t need real one
-		Player tempPlayer = new Player("Temp", -1);
-		String[] cardStrs = hand.split(",");
 		Vector<Card> cards = new Vector<>();
-		for (String cardStr : cardStrs) {
+		for (String cardStr : hand.split(",")) {
 			cards.add(Card.getCardFromStr(cardStr));
 		}
-		tempPlayer.setHand(cards);
-
-		for (Card c : tempPlayer.getHand()) {
-			for (ActionListener al : c.getActionListeners()) {
-				c.removeActionListener(al);
-			}
-			c.addActionListener(new CardPlayListener());
-			c.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-
-			c.addMouseListener(new MouseAdapter() {
-				public void mouseEntered(MouseEvent e) {
-					c.setBorder(BorderFactory.createLineBorder(Color.RED, 2));
-				}
-
-				public void mouseExited(MouseEvent e) {
-					c.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-				}
-			});
-		}
+		view.makeCardsClickable(cards);
 	}
 
 
@@ -1426,7 +1614,7 @@ public class GameController implements GameControllerListener {
 
 		@Override
 		public void actionPerformed(ActionEvent e) {
-			Card c = (Card) e.getSource();
+			Card c = Card.getCardFromStr(e.getActionCommand());
 
 			/*
 			 * When the game mode is multiplayer, there needs to be a way to differentiate
@@ -1668,6 +1856,25 @@ public class GameController implements GameControllerListener {
 		}
 	}
 
+	/**
+	 * Listens for a toggle of the hard AI setting.
+	 * 
+	 * 
+	 * @since 23
+	 */
+	private class HardAIToggleListener implements ActionListener {
+
+		/**
+		 * Default Constructor
+		 */
+		HardAIToggleListener(){}
+
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			model.setAIDifficulty(view.getHardAIStatus() ? Const.AI_HARD : Const.AI_EASY);
+		}
+	}
+
 	/**
 	 * Listens for the action to send a chat message and triggers the sending of the
 	 * message.
@@ -1691,7 +1898,7 @@ public class GameController implements GameControllerListener {
 				if (server != null) {
 					server.broadcastChat(formattedMsg);
 					view.displayChat(formattedMsg);
-				} else if (client != null) {
+				} else if (client != null && !client.sendLobbyCommand(msg.trim())) {
 					client.sendChat(formattedMsg);
 				}
 			}
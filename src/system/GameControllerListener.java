@@ -31,16 +31,16 @@ public interface GameControllerListener extends Listener {
 	/**
 	 * Called when the client receives a draw card action from the server.
 	 *
-	 * @param packetData The data representing the draw action.
+	 * @param packet The fields of the draw packet.
 	 */
-	public void onClientDrawReceived(String packetData);
+	public void onClientDrawReceived(String[] packet);
 
 	/**
 	 * Called when the client receives a play card action from the server.
 	 *
-	 * @param packetData The data representing the play action.
+	 * @param packet The fields of the play packet.
 	 */
-	public void onClientPlayReceived(String packetData);
+	public void onClientPlayReceived(String[] packet);
 
 	/**
 	 * Called when the server requests the client to choose a suit 
@@ -60,9 +60,9 @@ public interface GameControllerListener extends Listener {
 	/**
 	 * Called when a suit selection made by a player is received.
 	 *
-	 * @param packetData The data representing the chosen suit.
+	 * @param packet The fields of the suit choice packet.
 	 */
-	public void onClientSuitReceived(String packetData);
+	public void onClientSuitReceived(String[] packet);
 
 	/**
 	 * Called when a player connects to the game.
@@ -75,9 +75,25 @@ public interface GameControllerListener extends Listener {
 	/**
 	 * Called when a player disconnects from the game.
 	 *
-	 * @param packetData The data representing the disconnected player.
+	 * @param packet The fields of the disconnect packet.
 	 */
-	public void onPlayerDisconnect(String packetData);
+	public void onPlayerDisconnect(String[] packet);
+
+	/**
+	 * Called when the connection of a client closed without a disconnect
+	 * packet, such as when it stopped answering heartbeats.
+	 *
+	 * @param clientId The id of the client.
+	 */
+	public void onPlayerConnectionLost(int clientId);
+
+	/**
+	 * Called when a client whose connection was lost has reconnected, and
+	 * got its seat back with its session token.
+	 *
+	 * @param clientId The id of the client.
+	 */
+	public void onPlayerResumed(int clientId);
 
 	/**
 	 * Called when a round of the game ends.
@@ -120,6 +136,13 @@ public interface GameControllerListener extends Listener {
 	 */
 	public void onViewRefresh(String hand, String id, String playedCard, String opponentCardCount, String playerNames, String playerScores, String turnDirection);
 
+	/**
+	 * Called when a client has missed a view update and needs a full refresh.
+	 * The server has already forgotten what it sent that client, so the next
+	 * view refresh sends them everything.
+	 */
+	public void onResyncRequested();
+
 	/**
 	 * Called when the game is being terminated by a player or the server.
 	 */
@@ -0,0 +1,1143 @@
+package system;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.Vector;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import sysobj.AIPlayer;
+import sysobj.Card;
+import sysobj.Deck;
+import sysobj.Player;
+import sysobj.Rank;
+import sysobj.Suit;
+
+/**
+ * The rules engine. Holds the draw pile, the discard pile, the turn order and
+ * the players' hands, and applies the special action of each card as stated in
+ * the rules. The engine has no dependency on Swing or AWT, so any number of
+ * games can be played headlessly; GameModel delegates all rule checks here.
+ *
+ * @since 23
+ */
+public class GameEngine {
+
+	/** The list of all players seated at the table. */
+	private Vector<Player> players;
+
+	/** The library (draw pile) and the cards that have been played so far. */
+	private final Deck deck;
+
+	/**
+	 * The random source for shuffles and AI choices. Every random decision of
+	 * the game is drawn from it, so a game can be replayed from its seed.
+	 */
+	private SplittableRandom random;
+
+	/** The seed the random source was created from. */
+	private long seed;
+
+	/** Flag indicating if each move is reported on the console. */
+	private boolean isVerbose = true;
+
+	/** The search run by hard AI players, created on first use. */
+	private MonteCarloSearch search;
+
+	/**
+	 * The suit chosen for an eight on top of the played cards pile, or null if
+	 * the top card keeps its printed suit.
+	 */
+	private Suit declaredSuit;
+
+	/** The player whose turn it is currently. */
+	private Player activePlayer;
+
+	/** The player who won the current or most recent round. */
+	private Player pRoundWinner;
+
+	/** Flag indicating if the turn order is currently reversed. */
+	private boolean isTurnOrderReversed;
+
+	/**
+	 * Flag indicating whether a card redirection effect is active.
+	 * Typically used when a card changes who draws or plays next.
+	 */
+	private boolean cardRedirection;
+
+	/** The index of the current player's turn in the `players` list. */
+	private int currentTurn;
+
+	/** Tracks how many "Two" cards have been played consecutively (for draw stacking). */
+	private int numTwosPlayed;
+
+
+	/* -------------------- Constructors -------------------- */
+
+	/**
+	 * Default constructor for GameEngine, seeded at random. The engine has no
+	 * players until setPlayers() is called.
+	 *
+	 * @since 23
+	 */
+	public GameEngine() {
+		this(ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Creates an engine whose random source starts from the passed seed. Two
+	 * engines with the same seed, players and moves play out identically.
+	 * @param seed - the seed of the random source.
+	 *
+	 * @since 23
+	 */
+	public GameEngine(long seed) {
+		this.deck = new Deck();
+		this.seed = seed;
+		this.random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Restarts the random source from the passed seed.
+	 * @param seed - the seed of the random source.
+	 *
+	 * @since 23
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		this.random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Getter for the seed the random source was created from. Record it to
+	 * replay a game.
+	 * @return the seed.
+	 *
+	 * @since 23
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Getter for the random source of the game.
+	 * @return the random source.
+	 *
+	 * @since 23
+	 */
+	public SplittableRandom getRandom() {
+		return this.random;
+	}
+
+	/**
+	 * Splits off a new, independent random source. Used to give each worker
+	 * thread of a parallel run its own generator, so threads never contend on
+	 * one shared source and the whole run stays reproducible from one seed.
+	 * @return a new random source.
+	 *
+	 * @since 23
+	 */
+	public SplittableRandom split() {
+		return this.random.split();
+	}
+
+	/**
+	 * Seats the passed players at the table and resets the turn order.
+	 * @param players - the players taking part in the game, in turn order.
+	 *
+	 * @since 23
+	 */
+	public void setPlayers(Vector<Player> players) {
+		this.players = players;
+		deck.clear();
+		declaredSuit = null;
+		pRoundWinner = null;
+		isTurnOrderReversed = false;
+		currentTurn = 0;
+		numTwosPlayed = 0;
+	}
+
+	/**
+	 * Clears the state of the engine, unseating all players. Called at the end
+	 * of the game.
+	 *
+	 * @since 23
+	 */
+	public void reset() {
+		cancelSearch();
+		cleanUpGameState();
+		isTurnOrderReversed = false;
+		currentTurn = 0;
+		numTwosPlayed = 0;
+		declaredSuit = null;
+		pRoundWinner = null;
+		players = null;
+	}
+
+
+	/* ------------------------------------------------------------------- */
+	/* -------------------- CARD MANIPULATION METHODS -------------------- */
+	/* ------------------------------------------------------------------- */
+
+	/**
+	 * Puts all 52 cards back into the library and empties the played cards.
+	 * The same card instances and the same array are reused every round.
+	 *
+	 * @since 23
+	 * */
+	public void instantiateDeck(){
+		deck.reset();
+	}
+
+	/**
+	 * Shuffles the library in place, using the random source of the game.
+	 *
+	 * @since 23
+	 * */
+	public void shuffleDeck() {
+		deck.shuffle(random);
+	}
+
+	/**
+	 * Deals numCards players to each player in the list of players.
+	 * @param numCards - the number of cards to deal to each player
+	 *
+	 * @since 23
+	 * */
+	public void dealCards(int numCards) {
+		if (deck.isLibraryEmpty()) {
+			System.out.println("Library was empty in GameEngine.dealCards().");
+		}
+		int cardsNeeded = players.size() * numCards;
+
+		if (cardsNeeded > deck.getLibrarySize()) {
+			System.out.println("dealCards(): insufficient cards in deck to deal to players.");
+			return;
+		}
+
+		for (Player p : players) {
+			for (int i = 0; i < numCards; i++) {
+				p.addCardToHand(deck.draw());
+			}
+		}
+	}
+
+	/**
+	 * Initializes a new round. Resets the turn to start from the host (south
+	 * player), clears each player's hand/the library/the played cards.
+	 * Instantiates a new deck, shuffles it, deals cards to players, and flips
+	 * the last card from the library into the played cards zone.
+	 *
+	 * @since 23
+	 * */
+	public void initRound() {
+
+		// New rounds always start from the host (south player), regardless of winner
+		currentTurn = Const.SOUTH;
+
+		// clear each player's hand, clear the library, clear the played cards
+		cleanUpGameState();
+
+		// set up a new game. shuffle a new deck and deal cards to each player
+		instantiateDeck();
+		shuffleDeck();
+
+		// Debugging the end-game can be done by setting the cards dealt to 1, or 0
+		dealCards(Const.DEFAULT_HAND_SIZE);
+
+		// Flip the top card of the library into the played cards zone
+		deck.discard(deck.draw());
+		declaredSuit = null;
+
+		// Edge case where the first card flipped in a round is a two
+		if (getLastPlayedCard().getRank() == Rank.TWO) {
+			numTwosPlayed++;
+		}
+
+		// Set the active player to the current turn
+		activePlayer = players.get(currentTurn);
+		isTurnOrderReversed = false;
+	}
+
+	/**
+	 * Conserves the last played card and reshuffles all other played cards back
+	 * into the library so that players don't try to draw from an empty deck.
+	 * The cards are moved within the deck's array, without allocating.
+	 *
+	 * @since 23
+	 * */
+	public void reshuffleSpentDeck() {
+
+		// Defensive programming
+		if (deck.getPlayedSize() <= 1) {
+			System.out.println("handleEmptyDeck() attempted to reshuffle a deck with only 1 card.");
+			return;
+		}
+
+		// Move all played cards but the top one back into the library and shuffle
+		deck.recyclePlayedCards(random);
+	}
+
+
+	/* ------------------------------------------------------------------ */
+	/* ------------------------- PLAYER ACTIONS ------------------------- */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Attempts to play a card onto the last card of the played cards zone. Only
+	 * succeeds if the "play" is legal.
+	 * @param card - The card to play.
+	 * @return boolean - Is the play successful or not.
+	 *
+	 * @since 23
+	 * */
+	public boolean playCard(Card card) {
+		if (activePlayer.getHandSize() == Const.HAND_EMPTY){
+			System.out.println("Player attempted to play a card from an empty hand in GameEngine.playCard().");
+			return false;
+		} else if (card == null) {
+			System.out.println("GameEngine.playCard() was passed a null card.");
+			return false;
+		} else if (!activePlayer.getHand().contains(card)) {
+			System.out.println("Player attempted to play a card that wasn't in their hand in GameEngine.playCard().");
+			return false;
+		} else {
+
+			// determine legality of play
+			if (isPlayLegal(card)) {
+				if (isVerbose) {
+					log(activePlayer.getName() + " is playing a " + card.toString());
+				}
+				activePlayer.removeCardFromHand(card);
+				deck.discard(card);
+				declaredSuit = null;
+				applySpecialAction(card);
+				return true;
+			} else {
+				return false;
+			}
+
+		}
+	}
+
+	/**
+	 * Checks if a play is legal against the last played card.
+	 * @return boolean - Determines if the play was legal or not
+	 * @param card - The card to be played
+	 *
+	 * @since 23
+	 * */
+	public boolean isPlayLegal(Card card) {
+		if (card == null) {
+			System.out.println("GameEngine.isPlayLegal() passed null card.");
+			return false;
+		}
+		return isPlayLegal(card.getId());
+	}
+
+	/**
+	 * Checks if the card with the passed id may be played onto the last played
+	 * card. Works on card ids only, without allocating.
+	 * @return boolean - Determines if the play was legal or not
+	 * @param cardId - The id of the card to be played
+	 *
+	 * @since 23
+	 * */
+	public boolean isPlayLegal(int cardId) {
+		if (Card.isLegalPlay(cardId, getTopCardId())) {
+			return true;
+		}
+		log("Illegal move!");
+		return false;
+	}
+
+	/**
+	 * Determines if a play is legal. A play is legal if the rank or suit of the
+	 * card to be played matches the rank or suit of the last played card, or if
+	 * the card to be played is an eight.
+	 *
+	 * @since 23
+	 * @param card the card to play
+	 * @param lastPlayedCard the last played card
+	 * @return true if play is legal, false if not
+	 */
+	public boolean isPlayLegal(Card card, Card lastPlayedCard) {
+		if (card == null) {
+			System.out.println("GameEngine.isPlayLegal() passed null card.");
+			return false;
+		}
+
+		if (Card.isLegalPlay(card.getId(), lastPlayedCard.getId())) {
+			return true;
+		}
+		log("Illegal move!");
+		return false;
+	}
+
+	/**
+	 * Draws a card to the hand of the current active user. If the library is
+	 * empty, the deck is reshuffled first. Checks that the draw would not cause
+	 * the player to have more than 12 (max) cards in hand first.
+	 *
+	 * @since 23
+	 * */
+	public void drawCard() {
+		// Check that the library is not empty. If it is, reshuffle it
+		if (deck.isLibraryEmpty()) {
+			log("Library was emptied. Reshuffling...");
+			reshuffleSpentDeck();
+			if (deck.isLibraryEmpty()) {
+				log("Deck remains empty after reshuffling.");
+				return;
+			}
+		}
+
+		// DEBUG: this might be where that weird hand size bug is coming from
+		if (activePlayer.getHandSize() < Const.MAX_HAND_SIZE) {
+			Card drawnCard = deck.draw();
+			activePlayer.addCardToHand(drawnCard);
+			if (isVerbose) {
+				log(activePlayer.getName() + " drew a " + drawnCard.toString());
+			}
+		} else {
+			log("Hand is full, cannot draw card");
+		}
+	}
+
+	/**
+	 * Plays the turn of an AI player without any UI or delay. The player draws
+	 * until they can play a card or must pass, then plays the card they chose.
+	 * This is the headless equivalent of GameController.decideAIPlayerMove();
+	 * the turn is not advanced.
+	 * @param p - The AI player whose turn it is.
+	 * @return Const.PLAY if a card was played, else Const.PASS.
+	 *
+	 * @since 23
+	 * */
+	public int playAITurn(AIPlayer p) {
+		Card lastPlayedCard = getLastPlayedCard();
+		while (true) {
+			switch (p.decidePlayDraw(lastPlayedCard)) {
+			case Const.PLAY:
+				if (!playCard(decideAICard(p))) {
+					System.out.println(p.getName() + " tried to break the rules by playing an illegal card.");
+					return Const.PASS;
+				}
+				return Const.PLAY;
+			case Const.DRAW:
+				int handSize = p.getHandSize();
+				drawCard();
+				if (p.getHandSize() == handSize) {
+					// nothing left to draw
+					return Const.PASS;
+				}
+				break;
+			default:
+				return Const.PASS;
+			}
+		}
+	}
+
+	/**
+	 * Decides which card an AI player plays. Easy players play their first
+	 * legal card; hard players search for their move, and plan the suit to
+	 * declare if the card is an eight.
+	 * @param p - The AI player whose turn it is. They must have a legal move.
+	 * @return the card to play.
+	 *
+	 * @since 23
+	 * */
+	public Card decideAICard(AIPlayer p) {
+		if (p.getDifficulty() == Const.AI_HARD) {
+			return toCard(p, getSearch().search(this, p), null);
+		}
+		return p.decideCard(getLastPlayedCard());
+	}
+
+	/**
+	 * Decides which card an AI player plays without blocking the caller. Hard
+	 * players search on the worker pool of the search; the state of the game
+	 * is copied before this method returns. Easy players decide at once.
+	 * @param p - The AI player whose turn it is. They must have a legal move.
+	 * @return the card to play. The future completes on a worker thread.
+	 *
+	 * @since 23
+	 * */
+	public CompletableFuture<Card> decideAICardAsync(AIPlayer p) {
+		Card fallback = p.decideCard(getLastPlayedCard());
+		if (p.getDifficulty() != Const.AI_HARD) {
+			return CompletableFuture.completedFuture(fallback);
+		}
+		return getSearch().searchAsync(this, p).thenApply(move -> toCard(p, move, fallback));
+	}
+
+	/**
+	 * Turns a move found by the search into a card, planning the declared
+	 * suit if the card is an eight.
+	 * @param p - The AI player who searched.
+	 * @param move - The move found.
+	 * @param fallback - The card to play if no move was found, or null to
+	 * decide it then.
+	 * @return the card to play.
+	 *
+	 * @since 23
+	 * */
+	private Card toCard(AIPlayer p, int move, Card fallback) {
+		if (move == MonteCarloSearch.NO_MOVE) {
+			return fallback != null ? fallback : p.decideCard(getLastPlayedCard());
+		}
+		Card c = Card.of(MonteCarloSearch.cardOf(move));
+		if (c.getRank() == Rank.EIGHT) {
+			p.setPlannedSuit(Suit.values()[MonteCarloSearch.suitOf(move)]);
+		}
+		return c;
+	}
+
+	/**
+	 * Stops the searches of hard AI players still running. Called when the
+	 * game is torn down.
+	 *
+	 * @since 23
+	 * */
+	public void cancelSearch() {
+		if (search != null) {
+			search.cancel();
+		}
+	}
+
+	/**
+	 * Copies the state of this engine into the passed engine as seen by one
+	 * player: their hand, the played cards, the hand sizes and the turn order
+	 * are kept, but the cards they cannot see (the other hands and the library)
+	 * are dealt again at random. Used by the hard AI to search over the hands
+	 * the other players might hold.
+	 * @param target - The engine to copy into. Its players are replaced by AI
+	 * players as needed, and are reused between calls.
+	 * @param observer - The player whose view of the game is copied.
+	 * @param rng - The random source used to deal the hidden cards.
+	 *
+	 * @since 23
+	 * */
+	public void determinize(GameEngine target, Player observer, RandomGenerator rng) {
+		int numPlayers = players.size();
+		if (target.players == null || target.players.size() != numPlayers) {
+			Vector<Player> copies = new Vector<>();
+			for (int i = 0; i < numPlayers; i++) {
+				copies.add(new AIPlayer("AI " + i, i));
+			}
+			target.setPlayers(copies);
+		}
+
+		target.deck.copyFrom(deck);
+		target.declaredSuit = declaredSuit;
+		target.isTurnOrderReversed = isTurnOrderReversed;
+		target.cardRedirection = cardRedirection;
+		target.numTwosPlayed = numTwosPlayed;
+		target.pRoundWinner = null;
+
+		// Gather every card the observer cannot see, then deal them back out
+		int[] hidden = new int[Const.DECK_SIZE];
+		int numHidden = 0;
+		int librarySize = deck.getLibrarySize();
+		for (int i = 0; i < librarySize; i++) {
+			hidden[numHidden++] = deck.getLibraryCard(i).getId();
+		}
+		for (Player p : players) {
+			if (p != observer) {
+				for (Card c : p.getHand()) {
+					hidden[numHidden++] = c.getId();
+				}
+			}
+		}
+		for (int i = numHidden - 1; i > 0; i--) {
+			int j = rng.nextInt(i + 1);
+			int tmp = hidden[i];
+			hidden[i] = hidden[j];
+			hidden[j] = tmp;
+		}
+
+		int next = 0;
+		for (int i = 0; i < numPlayers; i++) {
+			Player p = players.get(i);
+			Player copy = target.players.get(i);
+			copy.setScore(p.getScore());
+			if (p == observer) {
+				copy.getHand().setMask(p.getHand().getMask());
+			} else {
+				long mask = 0L;
+				for (int n = p.getHandSize(); n > 0; n--) {
+					mask |= 1L << hidden[next++];
+				}
+				copy.getHand().setMask(mask);
+			}
+			if (p == activePlayer) {
+				target.currentTurn = i;
+				target.activePlayer = copy;
+			}
+		}
+		for (int i = 0; i < librarySize; i++) {
+			target.deck.setLibraryCard(i, Card.of(hidden[next++]));
+		}
+	}
+
+	/**
+	 * Forces a player to draw x cards. This happens if a two or four is played.
+	 * The passive player is the player being forced to draw cards, and the active
+	 * player is the player who's turn it is. Checks that the passive player has
+	 * enough room in their hand to receive the cards, and if not, the cards are
+	 * redirected to the active player. If that player also has a full hand, then
+	 * the cards are not drawn and are instead turned into penalty points for
+	 * the active player.
+	 * @param passivePlayer - The player being forced to draw cards.
+	 * @param penaltyCards - The amount of cards that the method is forcing upon
+	 * the player.
+	 *
+	 * @since 23
+	 * */
+	public void forceDraw(Player passivePlayer, int penaltyCards) {
+		/* if the active player is forcing the passive player to draw x cards,
+		 * and their hand can only hold y cards, the surplus is redirected to
+		 * the active player.  */
+		int remainingCards = penaltyCards;
+
+		// while there are still cards left to be drawn
+		while (remainingCards > 0) {
+
+			// if deck is empty, reshuffle all but the last played card into a new deck
+			if (deck.isLibraryEmpty()) {
+				reshuffleSpentDeck();
+				if (deck.isLibraryEmpty()) {
+					log("Deck remains empty after reshuffling.");
+					break;
+				}
+			}
+
+			// if the passive player has room in their hand, force them to draw. else, the active player must draw
+			if (passivePlayer.getHandSize() < Const.MAX_HAND_SIZE) {
+				passivePlayer.addCardToHand(deck.draw());
+				if (isVerbose) {
+					log(passivePlayer.getName() + " was forced to draw a card!");
+				}
+			} else if (activePlayer.getHandSize() < Const.MAX_HAND_SIZE){
+				activePlayer.addCardToHand(deck.draw());
+				log("Card redirection occurred!");
+				cardRedirection = true;
+			} else {
+				int penaltyPoints = remainingCards;
+				if (isVerbose) {
+					log("PENALTY POINTS assigned to " + activePlayer + " = " + penaltyPoints);
+				}
+				incrementScore(activePlayer, penaltyPoints);
+			}
+			// decrement the number of cards
+			remainingCards--;
+		}
+	}
+
+
+	/* -------------------------------------------------------------- */
+	/* -------------------- SPECIAL CARD ACTIONS -------------------- */
+	/* -------------------------------------------------------------- */
+
+	/**
+	 * Applies special actions that certain cards have, as stated in the rules.
+	 * Each card that does not have a special action in the rules has the default
+	 * special action of not being a two and resets the count of twos played.
+	 * @param c - The card to check for special actions.
+	 *
+	 * @since 23
+	 * */
+	public void applySpecialAction(Card c) {
+		// each card technically has a special action of "not being a two"
+		switch (c.getRank()) {
+		case ACE: playAce(); break;
+		case TWO: playTwo(); break;
+		case FOUR: playFour(); break;
+		case EIGHT: playEight(); break;
+		case QUEEN: playQueen(); break;
+		default: numTwosPlayed = 0;
+		break;
+		}
+	}
+
+	/**
+	 * Aces reverse the turn order. Default is clockwise vs. counterclockwise.
+	 *
+	 * @since 23
+	 * */
+	public void playAce() {
+		numTwosPlayed = 0;
+		isTurnOrderReversed = !isTurnOrderReversed;
+	}
+
+	/**
+	 * Twos force the next player in the turn order to draw two times the number
+	 * of twos played consecutively cards.
+	 *
+	 * @since 23
+	 * */
+	public void playTwo() {
+		numTwosPlayed++;
+		forceDraw(peekNextPlayer(), 2*numTwosPlayed);
+	}
+
+	/**
+	 * Fours force the next player in the turn order to draw four cards.
+	 *
+	 * @since 23
+	 * */
+	public void playFour() {
+		numTwosPlayed = 0;
+		forceDraw(peekNextPlayer(), 4);
+	}
+
+	/**
+	 * Eights allow the player to choose a new suit for the played eight. AI
+	 * players choose a suit at random; human players declare theirs through
+	 * declareSuit() once they have chosen.
+	 *
+	 * @since 23
+	 * */
+	public void playEight() {
+		if (activePlayer.isHuman()) {
+			// do nothing, handled by the controller
+		} else {
+			Suit s = ((AIPlayer) activePlayer).chooseSuit(random);
+			declareSuit(s);
+			if (isVerbose) {
+				log(activePlayer.getName() + " decided to change the suit to " + s.toString());
+			}
+		}
+	}
+
+	/**
+	 * Queens skip the turn of the next player.
+	 *
+	 * @since 23
+	 * */
+	public void playQueen() {
+		numTwosPlayed = 0;
+		skipTurn();
+	}
+
+	/**
+	 * Declares the suit that the eight on top of the played cards pile counts
+	 * as. The eight itself is not modified, so it goes back into the library
+	 * with its printed suit when the deck is reshuffled.
+	 * @param s - The chosen suit.
+	 *
+	 * @since 23
+	 */
+	public void declareSuit(Suit s) {
+		this.declaredSuit = s;
+	}
+
+
+	/* --------------------------------------------------------------------- */
+	/* ------------------------- GAMESTATE METHODS ------------------------- */
+	/* --------------------------------------------------------------------- */
+
+	/**
+	 * Checks if the current round is over; the round is over when any one player
+	 * has no cards in hand. If a player plays their last card, they are the
+	 * winner of the round.
+	 * @return boolean - True if the round is over, false if not.
+	 *
+	 * @since 23
+	 * */
+	public boolean isRoundOver() {
+		// indexed, since this runs after every move of every search iteration
+		for (int i = 0, n = players.size(); i < n; i++) {
+			Player p = players.get(i);
+			if (p.getHandSize() == Const.HAND_EMPTY) {
+				pRoundWinner = p;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tallies up the scores for all players. The "score" is equal to the number
+	 * of cards remaining in players hands when the round ends.
+	 *
+	 * @since 23
+	 * */
+	public void tallyScores() {
+		for (Player p : players) {
+			int score = p.getScore();
+			score += p.getHandSize();
+			p.setScore(score);
+		}
+	}
+
+	/**
+	 * Checks if any one player has reached or exceeded the max score as outlined
+	 * in the constants (default 50).
+	 * @return boolean - True if the score limit was reached, false if not.
+	 *
+	 * @since 23
+	 * */
+	public boolean isScoreLimitReached() {
+		for (Player p : players) {
+			if (p.getScore() >= Const.MAX_SCORE) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determine who the winning player is. At the end of the game, the winning
+	 * player is the one with the least points. If there are multiple players with
+	 * the same score, they all win.
+	 * @return Player - The winning players. If only one, the list will only have
+	 * one element.
+	 *
+	 * @since 23
+	 * */
+	public Vector<Player> getWinningPlayers() {
+		Vector<Player> winningPlayers = new Vector<>();
+		int minScore = Integer.MAX_VALUE;
+
+		for (Player p : players) {
+			int playerScore = p.getScore();
+
+			if (playerScore < minScore) {
+				// New lowest score found, reset the list
+				minScore = playerScore;
+				winningPlayers.clear();
+				winningPlayers.add(p);
+			} else if (playerScore == minScore) {
+				// Tie: add the winning players to the list
+				winningPlayers.add(p);
+			}
+		}
+		return winningPlayers;
+	}
+
+	/**
+	 * Retrieves the next player based on the current turn and the turn order and
+	 * advances the turn by one in a direction based on if the turn order is
+	 * reversed or not.
+	 * @return Player - The next player in the turn order.
+	 *
+	 * @since 23
+	 * */
+	public Player getNextPlayer() {
+		int numPlayers = players.size();
+		if (isTurnOrderReversed) {
+			currentTurn--;
+			if (currentTurn < 0) {
+
+				// wrap turn around to numplayers-1
+				currentTurn = numPlayers-1;
+			}
+		} else {
+			currentTurn++;
+			if (currentTurn >= numPlayers) {
+
+				// wrap turn around to 0
+				currentTurn = 0;
+			}
+		}
+		return players.get(currentTurn);
+	}
+
+	/**
+	 * Looks at the next player without changing the turn order.
+	 * @return the next player in the turn order
+	 *
+	 * @since 23
+	 * */
+	public Player peekNextPlayer() {
+		int numPlayers = players.size();
+		int nextTurn = isTurnOrderReversed ? currentTurn - 1 : currentTurn + 1;
+
+		// Wrapping around when underflowing/overflowing max players
+		if (nextTurn < 0) {
+			nextTurn = numPlayers - 1;
+		} else if (nextTurn >= numPlayers) {
+			nextTurn = 0;
+		}
+
+		return players.get(nextTurn);
+	}
+
+	/**
+	 * Skips the next player's turn. Increments/decrements the current turn, based
+	 * on if the turn order is reversed or not.
+	 *
+	 * @since 23
+	 * */
+	public void skipTurn() {
+		int numPlayers = players.size();
+		if (isTurnOrderReversed) {
+			currentTurn--;
+			if (currentTurn < 0) {
+				currentTurn = numPlayers-1;
+			}
+		} else {
+			currentTurn++;
+			if (currentTurn >= numPlayers) {
+				currentTurn = 0;
+			}
+		}
+	}
+
+	/**
+	 * Clears the played cards, the library, and each player's hand.
+	 *
+	 * @since 23
+	 * */
+	public void cleanUpGameState() {
+		deck.clear();
+
+		if (players != null) {
+			for (Player p: players) {
+				p.clearHand();
+			}
+		}
+
+	}
+
+
+	/* ---------------------------------------------------------------- */
+	/* -------------------- GETTERS, SETTERS, MISC -------------------- */
+	/* ---------------------------------------------------------------- */
+
+	/**
+	 * Increments a players score by a passed amount.
+	 * @param player - The player who's score to increment.
+	 * @param amt - The amount to increment the score by.
+	 *
+	 * @since 23
+	 * */
+	public void incrementScore(Player player, int amt) {
+		player.setScore(player.getScore() + amt);
+	}
+
+	/**
+	 * Getter for the last played card (the top of the played cards pile). If
+	 * an eight is on top and a suit was declared for it, the card is returned
+	 * as the declared suit.
+	 * @return Card - the top of the played cards pile
+	 *
+	 * @since 23
+	 */
+	public Card getLastPlayedCard() {
+		return Card.of(getTopCardId());
+	}
+
+	/**
+	 * Getter for the id of the last played card, as the declared suit if an
+	 * eight is on top and a suit was declared for it.
+	 * @return the id of the top of the played cards pile.
+	 *
+	 * @since 23
+	 */
+	public int getTopCardId() {
+		int topId = deck.getTopCard().getId();
+		if (declaredSuit != null) {
+			return Card.withSuit(topId, declaredSuit.ordinal());
+		}
+		return topId;
+	}
+
+	/**
+	 * Setter for the last played card. Used by clients, who only mirror the
+	 * top of the played cards pile sent by the host, so the top card is
+	 * replaced rather than stacked.
+	 *
+	 * @since 23
+	 * @param c card the card to set the last played card to.
+	 */
+	public void setLastPlayedCard(Card c) {
+		deck.setTopCard(c);
+		this.declaredSuit = null;
+	}
+
+	/**
+	 * Getter for the player who's turn it is.
+	 * @return Player - The active player.
+	 *
+	 * @since 23
+	 */
+	public Player getActivePlayer() {
+		return this.activePlayer;
+	}
+
+	/**
+	 * Setter to set the active player (the player who's turn it is).
+	 * @param p - Set the active player to this player.
+	 *
+	 * @since 23
+	 */
+	public void setActivePlayer(Player p) {
+		this.activePlayer = p;
+	}
+
+	/**
+	 * Getter for the list of players seated at the table.
+	 * @return the list of players.
+	 *
+	 * @since 23
+	 */
+	public Vector<Player> getPlayers() {
+		return this.players;
+	}
+
+	/**
+	 * Getter for the deck, which holds both the library (unplayed cards) and
+	 * the "discard pile" or played cards.
+	 * @return the deck.
+	 *
+	 * @since 23
+	 */
+	public Deck getDeck() {
+		return this.deck;
+	}
+
+	/**
+	 * Sets the turn order to either normal or reversed.
+	 * @param turnOrder - True is reversed/counterclockwise, false is normal or
+	 * clockwise.
+	 *
+	 * @since 23
+	 */
+	public void setTurnOrderReversed(boolean turnOrder) {
+		this.isTurnOrderReversed = turnOrder;
+	}
+
+	/**
+	 * Getter for the turn order.
+	 * @return true if the turn order is reversed, false if the turn order is normal.
+	 *
+	 * @since 23
+	 */
+	public boolean getTurnOrderDirection() {
+		return this.isTurnOrderReversed;
+	}
+
+	/**
+	 * Setter for the current turn.
+	 * @param turn - sets the current turn to the passed int.
+	 *
+	 * @since 23
+	 */
+	public void setTurn(int turn) {
+		this.currentTurn = turn;
+	}
+
+	/**
+	 * Getter for the current turn.
+	 * @return the index of the player whose turn it is.
+	 *
+	 * @since 23
+	 */
+	public int getTurn() {
+		return this.currentTurn;
+	}
+
+	/**
+	 * Getter for the winner of the current round.
+	 * @return the winner of the current round as a Player object.
+	 *
+	 * @since 23
+	 */
+	public Player getRoundWinner() {
+		return this.pRoundWinner;
+	}
+
+	/**
+	 * Setter for the card redirection flag. This flag is used to determine if
+	 * card redirection is happening (in force draw scenarios)
+	 * @param tf - Set the flag to true/false
+	 *
+	 * @since 23
+	 */
+	public void setCardRedirection(boolean tf) {
+		this.cardRedirection = tf;
+	}
+
+	/**
+	 * Getter for card redirection status.
+	 * @return the status of the flag for redirection.
+	 *
+	 * @since 23
+	 */
+	public boolean getCardRedirection() {
+		return this.cardRedirection;
+	}
+
+	/**
+	 * Getter for the search run by hard AI players.
+	 * @return the search, with the default budget if none was set.
+	 *
+	 * @since 23
+	 */
+	public MonteCarloSearch getSearch() {
+		if (search == null) {
+			search = new MonteCarloSearch(Const.MCTS_ITERATIONS, Const.MCTS_TIME_MS);
+		}
+		return this.search;
+	}
+
+	/**
+	 * Setter for the search run by hard AI players, to change its budget.
+	 * @param search - The search to use.
+	 *
+	 * @since 23
+	 */
+	public void setSearch(MonteCarloSearch search) {
+		this.search = search;
+	}
+
+	/**
+	 * Turns the report of each move on the console on or off. Simulations turn
+	 * it off, since printing every move costs more than playing it. Errors are
+	 * always reported.
+	 * @param tf - true to report each move.
+	 *
+	 * @since 23
+	 */
+	public void setVerbose(boolean tf) {
+		this.isVerbose = tf;
+	}
+
+	/**
+	 * Reports a move on the console, unless the engine is not verbose. Callers
+	 * that build the message from parts check isVerbose first, so no string is
+	 * built when the engine is quiet.
+	 * @param msg - The message to print.
+	 *
+	 * @since 23
+	 */
+	private void log(String msg) {
+		if (isVerbose) {
+			System.out.println(msg);
+		}
+	}
+
+	/**
+	 * Getter for the number of twos played.
+	 * @return the current value of how many twos have been played in sequence.
+	 *
+	 * @since 23
+	 */
+	public int getNumTwosPlayed() {
+		return this.numTwosPlayed;
+	}
+
+	/**
+	 * For debugging purposes
+	 * @return the values of all fields in the engine.
+	 */
+	@Override
+	public String toString() {
+		return "GameEngine [players=" + players + ", " + deck
+				+ ", seed=" + seed + ", declaredSuit=" + declaredSuit + ", activePlayer=" + activePlayer + ", pRoundWinner="
+				+ pRoundWinner + ", isTurnOrderReversed=" + isTurnOrderReversed + ", cardRedirection="
+				+ cardRedirection + ", currentTurn=" + currentTurn + ", numTwosPlayed=" + numTwosPlayed + "]";
+	}
+
+}
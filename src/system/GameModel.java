@@ -5,70 +5,73 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import java.util.Vector;
 import sysobj.AIPlayer;
 import sysobj.Card;
+import sysobj.Deck;
 import sysobj.Player;
-import sysobj.Rank;
 import sysobj.Suit;
 
 /**
- * Contains logic and objects/collectinos needed to process game logic.
+ * Contains the state of a game (players, winners, whether a game is running)
+ * and delegates the rules themselves (deck, hands, played cards, turn order,
+ * special actions) to a headless GameEngine.
  * 
  * @since 23
  * */
 public class GameModel {
 
+    /** The rules engine holding the deck, played cards and turn order. */
+    private GameEngine engine;
+
     /** The list of all players currently in the game. */
     private Vector<Player> players;
 
     /** The list of names assigned to AI-controlled players. */
     private Vector<String> aiNames;
 
-    /** The library of all remaining cards in the draw pile. */
-    private Vector<Card> library;
-
-    /** The pile of cards that have been played so far. */
-    private Vector<Card> playedCards;
-
-    /** The player whose turn it is currently. */
-    private Player activePlayer;
-
     /** The list of players who have won the game (for multi-winner modes). */
     private Vector<Player> pGameWinner;
 
-    /** The player who won the current or most recent round. */
-    private Player pRoundWinner;
-
-    /** Flag indicating if the turn order is currently reversed. */
-    private boolean isTurnOrderReversed;
-
     /** Flag indicating if a game is actively running. */
     private boolean isGameRunning;
 
-    /** 
-     * Flag indicating whether a card redirection effect is active.
-     * Typically used when a card changes who draws or plays next.
-     */
-    private boolean cardRedirection;
-
-    /** The index of the current player's turn in the `players` list. */
-    private int currentTurn;
-
-    /** Tracks how many "Two" cards have been played consecutively (for draw stacking). */
-    private int numTwosPlayed;
+    /** The difficulty of the AI players, Const.AI_EASY or Const.AI_HARD. */
+    private int aiDifficulty = Const.AI_EASY;
 
 
 	/* -------------------- Constructors -------------------- */
 
 	/**
-	 * Default constructor for GameModel
+	 * Default constructor for GameModel. The game is seeded at random.
 	 * 
 	 * @since 23
 	 * */
 	public GameModel() {
+		this(new GameEngine());
+	}
+
+	/**
+	 * Creates a model whose shuffles and AI choices are drawn from a random
+	 * source started from the passed seed, so the game can be replayed.
+	 * @param seed - the seed of the game.
+	 *
+	 * @since 23
+	 * */
+	public GameModel(long seed) {
+		this(new GameEngine(seed));
+	}
+
+	/**
+	 * Creates a model backed by the passed engine.
+	 * @param engine - the rules engine.
+	 *
+	 * @since 23
+	 * */
+	private GameModel(GameEngine engine) {
+		this.engine = engine;
 		this.players = new Vector<>();
-		this.playedCards = new Vector<>();
 		this.aiNames = new Vector<>();
 	}
 
@@ -83,12 +86,7 @@ public class GameModel {
 		int numAIPlayers = 3;
 		players = new Vector<>();
 		pGameWinner = null;
-		pRoundWinner = null;
-		playedCards = new Vector<>();
 		aiNames = new Vector<>();
-		isTurnOrderReversed = false;
-		currentTurn = 0;
-		numTwosPlayed = 0;
 		isGameRunning = false;
 		loadAINames();
 
@@ -103,6 +101,8 @@ public class GameModel {
 		for (int i = 0; i < numAIPlayers; i++) {
 			this.players.add(createCPUOpponent(++orientation));
 		}
+		engine.setPlayers(players);
+		System.out.println("Game seed: " + engine.getSeed());
 	}
 
 	/**
@@ -112,35 +112,25 @@ public class GameModel {
 	 */
 	public void initMultiplayerGame(Vector<Player> players) {
 		this.players = players;
-		playedCards = new Vector<>();
 		pGameWinner = null;
-		pRoundWinner = null;
-		isTurnOrderReversed = false;
-		currentTurn = 0;
-		numTwosPlayed = 0;
 		isGameRunning = false;
+		engine.setPlayers(players);
+		System.out.println("Game seed: " + engine.getSeed());
 	}
 
 	/**
-	 * Clears the game status. Calls cleanUpGameState(), resets the turn order,
-	 * resets game/round winners. This is called at the end of the game to 
-	 * simulate the game state as it was when it began.
+	 * Clears the game status. Resets the engine, the turn order and the
+	 * game/round winners. This is called at the end of the game to simulate the
+	 * game state as it was when it began.
 	 * 
 	 * @since 23
 	 * */
 	public void resetGameFlags() {
-		cleanUpGameState();
-		setTurnOrderReversed(false);
-		currentTurn = 0;
-		numTwosPlayed = 0;
+		engine.reset();
 		isGameRunning = false;
 		pGameWinner = null;
-		pRoundWinner = null;
 		aiNames.clear();
-		//players.clear();
 		players = null;
-		playedCards = null;
-		//aiNames = null;
 	}
 
 
@@ -149,30 +139,21 @@ public class GameModel {
 	/* ------------------------------------------------------------------- */
 
 	/**
-	 * Clears the deck if it exists, else creates a new deck of 52 cards of each
-	 * rank and suit.
+	 * Creates a new deck of 52 cards of each rank and suit.
 	 * 
 	 * @since 23
 	 * */
 	public void instantiateDeck(){
-		if (library != null)
-			library.clear();
-
-		library = new Vector<Card>();
-		for (Suit s : Suit.values()) {
-			for (Rank r : Rank.values()) {
-				library.add(new Card(r, s));
-			}
-		}
+		engine.instantiateDeck();
 	}
 
 	/**
-	 * Shuffles the deck using the method from Collections.
+	 * Shuffles the deck.
 	 * 
 	 * @since 23
 	 * */
 	public void shuffleDeck() {
-		Collections.shuffle(this.library);
+		engine.shuffleDeck();
 	}
 
 	/**
@@ -182,21 +163,7 @@ public class GameModel {
 	 * @since 23
 	 * */
 	public void dealCards(int numCards) {
-		if (library == null || library.isEmpty()) {
-			System.out.println("Library was null or empty in GameModel.dealCards().");
-		}
-		int cardsNeeded = players.size() * numCards;
-
-		if (cardsNeeded > library.size()) {
-			System.out.println("dealCards(): insufficient cards in deck to deal to players.");
-			return;
-		}
-
-		for (Player p : players) {
-			for (int i = 0; i < numCards; i++) {
-				p.addCardToHand(library.removeLast());
-			}
-		}
+		engine.dealCards(numCards);
 	}
 
 	/**
@@ -207,7 +174,70 @@ public class GameModel {
 	 * @since 23
 	 * */
 	public AIPlayer createCPUOpponent(int orientation) {
-		return new AIPlayer(getAIPlayerName(), orientation);
+		AIPlayer ai = new AIPlayer(getAIPlayerName(), orientation);
+		ai.setDifficulty(aiDifficulty);
+		return ai;
+	}
+
+	/**
+	 * Decides which card an AI player plays, searching for the move if the AI
+	 * is hard.
+	 * @param p - The AI player whose turn it is.
+	 * @return the card to play.
+	 *
+	 * @since 23
+	 * */
+	public Card decideAICard(AIPlayer p) {
+		return engine.decideAICard(p);
+	}
+
+	/**
+	 * Decides which card an AI player plays without blocking the caller, so a
+	 * hard AI can search off the event dispatch thread.
+	 * @param p - The AI player whose turn it is.
+	 * @return the card to play. The future completes on a worker thread.
+	 *
+	 * @since 23
+	 * */
+	public CompletableFuture<Card> decideAICardAsync(AIPlayer p) {
+		return engine.decideAICardAsync(p);
+	}
+
+	/**
+	 * Stops the searches of hard AI players still running.
+	 *
+	 * @since 23
+	 * */
+	public void cancelAISearch() {
+		engine.cancelSearch();
+	}
+
+	/**
+	 * Setter for the difficulty of the AI players. Applies to the AI players
+	 * already seated as well as those created afterwards.
+	 * @param difficulty - Const.AI_EASY or Const.AI_HARD.
+	 *
+	 * @since 23
+	 * */
+	public void setAIDifficulty(int difficulty) {
+		this.aiDifficulty = difficulty;
+		if (players != null) {
+			for (Player p : players) {
+				if (p instanceof AIPlayer) {
+					((AIPlayer) p).setDifficulty(difficulty);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Getter for the difficulty of the AI players.
+	 * @return Const.AI_EASY or Const.AI_HARD.
+	 *
+	 * @since 23
+	 * */
+	public int getAIDifficulty() {
+		return this.aiDifficulty;
 	}
 
 	/**
@@ -237,74 +267,31 @@ public class GameModel {
 	 * */
 	public String getAIPlayerName() {
 		String name;
-		Collections.shuffle(aiNames);
+		Collections.shuffle(aiNames, engine.getRandom());
 		name = aiNames.getLast();
 		aiNames.removeLast();
 		return "AI " + name.toUpperCase();
 	}
 
 	/**
-	 * Initializes a new round. Resets the turn to start from the human player,
-	 * clears each player's hand/the library/the played cards. Instantiates a new
-	 * deck, shuffles it, deals cards to players, and flips the last card from the
-	 * library into the played cards zone. Sets the configures the starting turn.
+	 * Initializes a new round. The engine resets the turn to start from the
+	 * host, deals a freshly shuffled deck and flips the first played card.
 	 * 
 	 * @since 23
 	 * */
 	public void initRound() {
-
-		// New rounds always start from the host (south player), regardless of winner
-		currentTurn = Const.SOUTH;
-
-		// clear each player's hand, clear the library, clear the played cards
-		if (library != null) {
-			cleanUpGameState();
-		}
-
-		// set up a new game. shuffle a new deck and deal cards to each player
-		instantiateDeck();
-		shuffleDeck();
-
-		// Debugging the end-game can be done by setting the cards dealt to 1, or 0
-		dealCards(Const.DEFAULT_HAND_SIZE);
-
-		// Flip the top card of the library into the played cards zone
-		playedCards.add(library.removeLast());
-
-		// Edge case where the first card flipped in a round is a two
-		if (getLastPlayedCard().getRank() == Rank.TWO) {
-			numTwosPlayed++;
-		}
-
-		// Set the active player to the current turn
-		activePlayer = players.get(currentTurn);
-		isTurnOrderReversed = false;
+		engine.initRound();
 		isGameRunning = true;
 	}
 
 	/**
-	 * Conserves the last played card and reshuffles all other cards from the 
-	 * library and played cards into a new library so that players don't try to
-	 * draw from an empty deck.
+	 * Conserves the last played card and reshuffles all other cards into a new
+	 * library so that players don't try to draw from an empty deck.
 	 * 
 	 * @since 23
 	 * */
 	public void reshuffleSpentDeck() {
-
-		// Defensive programming
-		if (playedCards.size() <= 1) {
-			System.out.println("handleEmptyDeck() attempted to reshuffle a deck with only 1 card.");
-			return;
-		}
-
-		/* Remove and reserve the top card of the played cards pile, then add all
-		 * remaining cards to the deck. Clear the played cards, then add back
-		 * the top card, then shuffle the deck. */
-		Card topCard = playedCards.removeLast();
-		library.addAll(playedCards);
-		playedCards.clear();
-		shuffleDeck();
-		playedCards.add(topCard);
+		engine.reshuffleSpentDeck();
 	}
 
 
@@ -321,58 +308,18 @@ public class GameModel {
 	 * @since 23
 	 * */
 	public boolean playCard(Card card) {
-		// defensive programming, unlikely scenarios
-		/*
-		 * if (!activePlayer.getHand().contains(card)) { System.out.
-		 * println("Player attempted to play a card that wasn't in their hand in GameModel.playCard()."
-		 * ); return false; } else
-		 */
-		if (activePlayer.getHandSize() == Const.HAND_EMPTY){
-			System.out.println("Player attempted to play a card from an empty hand in GameModel.playCard().");
-			return false;
-		} else if (card == null) {
-			System.out.println("GameModel.playCard() was passed a null card.");
-			return false;
-		} else {
-
-			// determine legality of play
-			if (isPlayLegal(card)) {
-				System.out.println(activePlayer.getName() + " is playing a " + card.toString());
-				activePlayer.removeCardFromHand(card);
-				playedCards.add(card);			
-				applySpecialAction(card);
-				return true;
-			} else {
-				return false;
-			}
-
-		}
+		return engine.playCard(card);
 	}
 
 	/**
-	 * Checks if a play is legal. A play is legal if the rank or suit of the card
-	 * to be played matches the rank or suit of the last played card, or if the
-	 * card to be played is an eight.
+	 * Checks if a play is legal against the last played card.
 	 * @return boolean - Determines if the play was legal or not
 	 * @param card - The card to be played
 	 * 
 	 * @since 23
 	 * */
 	public boolean isPlayLegal(Card card) {
-		if (card == null) {
-			System.out.println("GameModel.isPlayLegal() passed null card.");
-			return false;
-		}
-
-		Card lastPlayedCard = playedCards.getLast();
-		Rank cardRank = card.getRank();
-		if (cardRank == Rank.EIGHT
-				|| cardRank == lastPlayedCard.getRank()
-				|| card.getSuit() == lastPlayedCard.getSuit()) {
-			return true;
-		}
-		System.out.println("Illegal move!");
-		return false;
+		return engine.isPlayLegal(card);
 	}
 
 	/**
@@ -385,53 +332,22 @@ public class GameModel {
 	 * @return true if play is legal, false if not
 	 */
 	public boolean isPlayLegal(Card card, Card lastPlayedCard) {
-		if (card == null) {
-			System.out.println("GameModel.isPlayLegal() passed null card.");
-			return false;
-		}
-
-		Rank cardRank = card.getRank();
-		if (cardRank == Rank.EIGHT
-				|| cardRank == lastPlayedCard.getRank()
-				|| card.getSuit() == lastPlayedCard.getSuit()) {
-			return true;
-		}
-		System.out.println("Illegal move!");
-		return false;
+		return engine.isPlayLegal(card, lastPlayedCard);
 	}
 
 	/**
-	 * Draws a card to the hand of the current active user. If the library is
-	 * empty, the deck is reshuffled first. Checks that the draw would not cause
-	 * the player to have more than 12 (max) cards in hand first.
+	 * Draws a card to the hand of the current active user.
 	 * 
 	 * @since 23
 	 * */
 	public void drawCard() {
-		// Check that the library is not empty. If it is, reshuffle it
-		if (library.isEmpty()) {
-			System.out.println("Library was emptied. Reshuffling...");
-			reshuffleSpentDeck();
-		}
-
-		// DEBUG: this might be where that weird hand size bug is coming from
-		if (activePlayer.getHandSize() < Const.MAX_HAND_SIZE) {
-			Card drawnCard = library.removeLast();
-			activePlayer.addCardToHand(drawnCard);
-			System.out.println(activePlayer.getName() + " drew a " + drawnCard.toString());
-		} else {
-			System.out.println("Hand is full, cannot draw card");
-		}
+		engine.drawCard();
 	}
 
 	/**
 	 * Forces a player to draw x cards. This happens if a two or four is played.
-	 * The passive player is the player being forced to draw cards, and the active
-	 * player is the player who's turn it is. Checks that the passive player has
-	 * enough room in their hand to receive the cards, and if not, the cards are
-	 * redirected to the active player. If that player also has a full hand, then
-	 * the cards are not drawn and are instead turned into penalty points for
-	 * the active player.
+	 * Penalty points of a redirected draw are checked against the score limit
+	 * at the end of the round, like every other score change.
 	 * @param passivePlayer - The player being forced to draw cards.
 	 * @param penaltyCards - The amount of cards that the method is forcing upon
 	 * the player.
@@ -439,125 +355,17 @@ public class GameModel {
 	 * @since 23
 	 * */
 	public void forceDraw(Player passivePlayer, int penaltyCards) {
-		/* if the active player is forcing the passive player to draw x cards, 
-		 * and their hand can only hold y cards, the surplus is redirected to 
-		 * the active player.  */
-		int remainingCards = penaltyCards;
-
-		// while there are still cards left to be drawn
-		while (remainingCards > 0) {
-
-			// if deck is empty, reshuffle all but the last played card into a new deck
-			if (library.isEmpty()) {
-				reshuffleSpentDeck();
-				if (library.isEmpty()) {
-					System.out.println("Deck remains empty after reshuffling.");
-					break;
-				}
-			}
-
-			// if the passive player has room in their hand, force them to draw. else, the active player must draw
-			if (passivePlayer.getHandSize() < Const.MAX_HAND_SIZE) {
-				passivePlayer.addCardToHand(library.removeLast());
-				System.out.println(passivePlayer.getName() + " was forced to draw a card!");
-			} else if (activePlayer.getHandSize() < Const.MAX_HAND_SIZE){
-				activePlayer.addCardToHand(library.removeLast());
-				System.out.println("Card redirection occurred!");
-				cardRedirection = true;
-			} else {
-				int penaltyPoints = remainingCards;
-				System.out.println("PENALTY POINTS assigned to " + activePlayer + " = " + penaltyPoints);
-				incrementScore(activePlayer, penaltyPoints);
-				if (isGameOver()) {
-					endGame();
-				}
-			}
-			// decrement the number of cards
-			remainingCards--;
-		}
+		engine.forceDraw(passivePlayer, penaltyCards);
 	}
 
-
-	/* -------------------------------------------------------------- */
-	/* -------------------- SPECIAL CARD ACTIONS -------------------- */
-	/* -------------------------------------------------------------- */
-
 	/**
-	 * Applies special actions that certain cards have, as stated in the rules.
-	 * Each card that does not have a special action in the rules has the default
-	 * special action of not being a two and resets the count of twos played.
-	 * @param c - The card to check for special actions.
+	 * Declares the suit of an eight played by a human player.
+	 * @param s - The chosen suit.
 	 * 
 	 * @since 23
 	 * */
-	public void applySpecialAction(Card c) {
-		// each card technically has a special action of "not being a two"
-		switch (c.getRank()) {
-		case ACE: playAce(); break;
-		case TWO: playTwo(); break;
-		case FOUR: playFour(); break;
-		case EIGHT: playEight(); break;
-		case QUEEN: playQueen(); break;
-		default: numTwosPlayed = 0; 
-		break;
-		}
-	}
-
-	/**
-	 * Aces reverse the turn order. Default is clockwise vs. counterclockwise.
-	 * 
-	 * @since 23
-	 * */
-	public void playAce() {
-		numTwosPlayed = 0;
-		isTurnOrderReversed = !isTurnOrderReversed;
-	}
-
-	/**
-	 * Twos force the next player in the turn order to draw two times the number
-	 * of twos played consecutively cards.
-	 * 
-	 * @since 23
-	 * */
-	public void playTwo() {
-		numTwosPlayed++;
-		forceDraw(peekNextPlayer(), 2*numTwosPlayed);
-	}
-
-	/**
-	 * Fours force the next player in the turn order to draw four cards.
-	 * 
-	 * @since 23
-	 * */
-	public void playFour() {
-		numTwosPlayed = 0;
-		forceDraw(peekNextPlayer(), 4);
-	}
-
-	/**
-	 * Eights allow the player to choose a new suit for the played eight. AI
-	 * players choose a suit at random.
-	 * 
-	 * @since 23
-	 * */
-	public void playEight() {
-		if (activePlayer.isHuman()) {
-			// do nothing, handled by the controller
-		} else {
-			Suit s = ((AIPlayer) activePlayer).chooseSuit();
-			getLastPlayedCard().setSuit(s);
-			System.out.println(activePlayer.getName() + " decided to change the suit to " + s.toString());
-		}
-	}
-
-	/**
-	 * Queens skip the turn of the next player.
-	 * 
-	 * @since 23
-	 * */
-	public void playQueen() {
-		numTwosPlayed = 0;
-		skipTurn();
+	public void declareSuit(Suit s) {
+		engine.declareSuit(s);
 	}
 
 
@@ -567,20 +375,13 @@ public class GameModel {
 
 	/**
 	 * Checks if the current round is over; the round is over when any one player
-	 * has no cards in hand. If a player plays their last card, they are the
-	 * winner of the round.
+	 * has no cards in hand.
 	 * @return boolean - True if the round is over, false if not.
 	 * 
 	 * @since 23
 	 * */
 	public boolean isRoundOver() {
-		for (Player p : players) {
-			if (p.getHandSize() == Const.HAND_EMPTY) {
-				pRoundWinner = p;
-				return true;
-			}
-		}
-		return false;
+		return engine.isRoundOver();
 	}
 
 	/**
@@ -590,11 +391,7 @@ public class GameModel {
 	 * @since 23
 	 * */
 	public void tallyScores() {
-		for (Player p : players) {
-			int score = p.getScore();
-			score += p.getHandSize();
-			p.setScore(score);
-		}
+		engine.tallyScores();
 	}
 
 	/**
@@ -606,69 +403,34 @@ public class GameModel {
 	 * @since 23
 	 * */
 	public boolean isGameOver() {
-		for (Player p : players) {
-			if (p.getScore() >= Const.MAX_SCORE) {
+		if (engine.isScoreLimitReached()) {
 				endGame();
 				return true;
-			}
 		}
 		return false;
 	}
 
 	/**
 	 * Determine who the winning player is. At the end of the game, the winning
-	 * player is the one with the least points. If there are multiple players with
+	 * player is the one with the least points.
 	 * @return Player - The winning players. If only one, the list will only have
 	 * one element.
 	 * 
 	 * @since 23
 	 * */
 	public Vector<Player> getWinningPlayers() {
-		Vector<Player> winningPlayers = new Vector<>();
-		int minScore = Integer.MAX_VALUE;
-
-		for (Player p : players) {
-			int playerScore = p.getScore();
-
-			if (playerScore < minScore) {
-				// New lowest score found, reset the list
-				minScore = playerScore;
-				winningPlayers.clear();
-				winningPlayers.add(p);
-			} else if (playerScore == minScore) {
-				// Tie: add the winning players to the list
-				winningPlayers.add(p);
-			}
-		}
-		return winningPlayers;
+		return engine.getWinningPlayers();
 	}
 
 	/**
 	 * Retrieves the next player based on the current turn and the turn order and
-	 * advances the turn by one in a direction based on if the turn order is 
-	 * reversed or not.
+	 * advances the turn.
 	 * @return Player - The next player in the turn order.
 	 * 
 	 * @since 23
 	 * */
 	public Player getNextPlayer() {
-		int numPlayers = players.size();
-		if (isTurnOrderReversed) {
-			currentTurn--;
-			if (currentTurn < 0) {
-
-				// wrap turn around to numplayers-1
-				currentTurn = numPlayers-1;
-			}
-		} else {
-			currentTurn++;
-			if (currentTurn >= numPlayers) {
-
-				// wrap turn around to 0
-				currentTurn = 0;
-			}
-		}
-		return players.get(currentTurn);
+		return engine.getNextPlayer();
 	}
 
 	/**
@@ -678,38 +440,16 @@ public class GameModel {
 	 * @since 23
 	 * */
 	public Player peekNextPlayer() {
-		int numPlayers = players.size();
-		int nextTurn = isTurnOrderReversed ? currentTurn - 1 : currentTurn + 1;
-
-		// Wrapping around when underflowing/overflowing max players
-		if (nextTurn < 0) {
-			nextTurn = numPlayers - 1;
-		} else if (nextTurn >= numPlayers) {
-			nextTurn = 0;
-		}
-
-		return players.get(nextTurn);
+		return engine.peekNextPlayer();
 	}
 
 	/**
-	 * Skips the next player's turn. Increments/decrements the current turn, based
-	 * on if the turn order is reversed or not.
+	 * Skips the next player's turn.
 	 * 
 	 * @since 23
 	 * */
 	public void skipTurn() {
-		int numPlayers = players.size();
-		if (isTurnOrderReversed) {
-			currentTurn--;
-			if (currentTurn < 0) {
-				currentTurn = numPlayers-1;
-			}
-		} else {
-			currentTurn++;
-			if (currentTurn >= numPlayers) {
-				currentTurn = 0;
-			}
-		}
+		engine.skipTurn();
 	}
 
 	/**
@@ -734,20 +474,7 @@ public class GameModel {
 	 * @since 23
 	 * */
 	public void cleanUpGameState() {
-		if (playedCards != null) {
-			playedCards.clear();
-		}
-
-		if (library != null) {
-			library.clear();
-		}
-
-		if (players != null) {
-			for (Player p: players) {
-				p.clearHand();
-			}
-		}
-
+		engine.cleanUpGameState();
 	}
 
 
@@ -763,7 +490,7 @@ public class GameModel {
 	 * @since 23
 	 * */
 	public void incrementScore(Player player, int amt) {
-		player.setScore(player.getScore() + amt);
+		engine.incrementScore(player, amt);
 	}
 
 	/**
@@ -773,7 +500,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public Card getLastPlayedCard() {
-		return this.playedCards.getLast();
+		return engine.getLastPlayedCard();
 	}
 
 	/**
@@ -783,7 +510,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public Player getActivePlayer() {
-		return this.activePlayer;
+		return engine.getActivePlayer();
 	}
 
 	/**
@@ -793,7 +520,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public void setActivePlayer(Player p) {
-		this.activePlayer = p;
+		engine.setActivePlayer(p);
 	}
 
 	/**
@@ -807,23 +534,34 @@ public class GameModel {
 	}
 
 	/**
-	 * Getter for the library (the deck of unplayed cards.
-	 * @return the list of unplayed cards.
+	 * Getter for the deck, which holds the library (the unplayed cards) and the
+	 * "discard pile" or played cards.
+	 * @return the deck.
 	 * 
 	 * @since 23
 	 */
-	public Vector<Card> getDeck() {
-		return this.library;
+	public Deck getDeck() {
+		return engine.getDeck();
 	}
 
 	/**
-	 * The "discard pile" or played cards. When a player plays a card, it goes here.
-	 * @return the collection of played cards.
+	 * Getter for the seed of the game's random source.
+	 * @return the seed, to replay the game with.
 	 * 
 	 * @since 23
 	 */
-	public Vector<Card> getPlayedCards() {
-		return this.playedCards;
+	public long getSeed() {
+		return engine.getSeed();
+	}
+
+	/**
+	 * Getter for the rules engine backing this model.
+	 * @return the engine.
+	 *
+	 * @since 23
+	 */
+	public GameEngine getEngine() {
+		return this.engine;
 	}
 
 	/**
@@ -855,7 +593,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public void setTurnOrderReversed(boolean turnOrder) {
-		this.isTurnOrderReversed = turnOrder;
+		engine.setTurnOrderReversed(turnOrder);
 	}
 
 	/**
@@ -865,7 +603,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public boolean getTurnOrderDirection() {
-		return this.isTurnOrderReversed;
+		return engine.getTurnOrderDirection();
 	}
 
 	/**
@@ -875,7 +613,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public void setTurn(int turn) {
-		this.currentTurn = turn;
+		engine.setTurn(turn);
 	}
 
 	/**
@@ -885,7 +623,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public Player getRoundWinner() {
-		return this.pRoundWinner;
+		return engine.getRoundWinner();
 	}
 
 	/**
@@ -906,7 +644,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public void setCardRedirection(boolean tf) {
-		this.cardRedirection = tf;
+		engine.setCardRedirection(tf);
 	}
 
 	/**
@@ -916,7 +654,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public boolean getCardRedirection() {
-		return this.cardRedirection;
+		return engine.getCardRedirection();
 	}
 
 	/**
@@ -926,7 +664,7 @@ public class GameModel {
 	 * @since 23
 	 */
 	public int getNumTwosPlayed() {
-		return this.numTwosPlayed;
+		return engine.getNumTwosPlayed();
 	}
 
 	/**
@@ -937,7 +675,7 @@ public class GameModel {
 	 * @param c card the card to set the last played card to.
 	 */
 	public void setLastPlayedCard(Card c) {
-		this.playedCards.add(c);
+		engine.setLastPlayedCard(c);
 	}
 
 	/**
@@ -962,11 +700,8 @@ public class GameModel {
 	 */
 	@Override
 	public String toString() {
-		return "GameModel [players=" + players + ", aiNames=" + aiNames + ", library=" + library + ", playedCards="
-				+ playedCards + ", activePlayer=" + activePlayer + ", pGameWinner=" + pGameWinner + ", pRoundWinner="
-				+ pRoundWinner + ", isTurnOrderReversed=" + isTurnOrderReversed + ", isGameRunning=" + isGameRunning
-				+ ", cardRedirection=" + cardRedirection + ", currentTurn=" + currentTurn + ", numTwosPlayed="
-				+ numTwosPlayed + "]";
+		return "GameModel [players=" + players + ", aiNames=" + aiNames + ", pGameWinner=" + pGameWinner
+				+ ", isGameRunning=" + isGameRunning + ", engine=" + engine + "]";
 	}
 
 }
@@ -1,48 +1,88 @@
 package system;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.util.LinkedHashSet;
 import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
 import sysobj.Card;
 import sysobj.Player;
 
 /**
- * The server holds a Vector of sockets, representing each client connected to it.
+ * The server holds a Vector of connections, representing each client connected to it.
  * The server allows the controller to communicate to each connected client, and
  * send/receive packets.
  * 
+ * The sockets themselves are served by a NetServer, on a single non-blocking
+ * event loop thread; packets sent from here are queued and written by that
+ * thread, so broadcasting never blocks the caller.
+ * 
+ * Everything sent for one game action goes out together: packets handled on
+ * the event loop, and each event of the EDT, are sent as a batch (see
+ * NetServer), and the view refreshes requested during a batch are collapsed
+ * into one, sent when it ends.
+ * 
+ * A client takes a seat by sending its NAME, and is issued a session token
+ * with its ID. If its connection drops, it may reconnect and send
+ * RESUME|id|token instead, and it is handed its seat back with a single full
+ * refresh; nothing it missed is replayed.
+ * 
+ * A client may also send WATCH|name instead, to watch the game without a
+ * seat. Spectators are sent what everyone sees: the last played card, the
+ * number of cards, names and scores of the players, and every broadcast, but
+ * never a hand. Their ID is ViewState.SPECTATOR, which is no player's.
+ * Each packet is built once for all of them, and sent to them on a thread of
+ * their own, after the seated players, so however many there are, the game
+ * never waits on them.
  * 
  * @since 23
  */
 public class GameServer {
 
-    /** The server socket that listens for incoming client connections. */
-    private ServerSocket serverSocket;
+    /** The attachment of the connection of a spectator. */
+    private static final Object SPECTATING = new Object();
 
-    /** The list of sockets connected to each client/player. */
-    private Vector<Socket> connectedPlayers;
+    /** The non-blocking server that accepts, reads and writes every socket. */
+    private NetServer net;
+
+    /** The list of connections to each client/player. */
+    private Vector<NetServer.Connection> connectedPlayers;
 
     /** Listener interface for forwarding game-related events to the controller. */
     private GameControllerListener listener;
 
-    /** Thread responsible for continuously accepting new client connections. */
-    private Thread acceptThread;
-
     /** The number of human (non-AI) opponents expected in the game. */
     private int numHumanOpponents;
 
+    /** The spectators watching the game. Only touched by the fan-out thread. */
+    private LinkedHashSet<NetServer.Connection> spectators;
+
+    /** The number of spectators watching, or about to. */
+    private AtomicInteger spectatorCount;
+
+    /** What the spectators were last sent of the view. Guarded by connectedPlayers. */
+    private ViewState spectatorView;
+
+    /** The snapshot of the view as of the last task of the fan-out thread. Only touched by that thread. */
+    private Wire.Message spectatorSnapshot;
+
+    /** Sends every packet meant for spectators, in order. */
+    private ExecutorService fanOut;
+
+    /** The session token of each client, by id - 1, or null once their seat is gone. */
+    private Vector<String> sessionTokens;
+
     /** The names of connected clients (used for display or identification). */
     private Vector<String> clientNames;
 
     /** Auto-incrementing ID assigned to the next connecting client. */
     private int nextClientId = 1;
-    
-    /** Output writer */
-    PrintWriter out;
+
+    /** Whether a batch is open for the current event of the EDT. */
+    private boolean edtBatch;
 
 	/**
 	 * Initializes a new Server and starts listening for packets on the socket.
@@ -55,151 +95,348 @@ public class GameServer {
 	 * @throws IOException if the input/output is interrupted
 	 */
 	public GameServer(int port, GameControllerListener listener, int maxPlayers) throws IOException {
-		this.serverSocket = new ServerSocket(port);
 		this.listener = listener;
 		this.connectedPlayers = new Vector<>();
+		this.sessionTokens = new Vector<>();
+		this.spectators = new LinkedHashSet<>();
+		this.spectatorCount = new AtomicInteger();
+		this.spectatorView = new ViewState();
+		this.fanOut = Threads.newSerial("spectator-fan-out");
 		this.clientNames = new Vector<>();
 		this.numHumanOpponents = maxPlayers;
+		this.net = new NetServer(port, new ClientHandler());
+		net.setHeartbeatFromProperties();
 	}
 
 	/**
-	 * Starts the acceptThread which is what the server uses to listen for
+	 * Starts the event loop which is what the server uses to listen for
 	 * incoming connections from clients. Once the number of connected clients
 	 * matches the number of clients that the server is waiting for, the server
 	 * alerts the listener to start the game.
 	 * @since 23
 	 */
 	public void acceptConnections() {
-		acceptThread = new Thread(new Runnable() {
-			public void run() {
-				try {
-					while (connectedPlayers.size() < numHumanOpponents && !serverSocket.isClosed()) {
-						Socket client = serverSocket.accept();
-						System.out.println("A new player has connected.");
-						connectedPlayers.add(client);
-						listener.onPlayerConnected(connectedPlayers.size(), numHumanOpponents);
-						new Thread(new ClientHandler(client, nextClientId++)).start();
-						if (connectedPlayers.size() == numHumanOpponents) {
-							listener.onGameStateUpdated("Game Starting");
-						}
-					}
-				} catch (IOException e) {
-					System.out.println("IO Exception encountered while accepting connections.");
-				}
-			}
-		});
-		acceptThread.start();
+		net.start();
 	}
 
 	/**
-	 * Private inner class that handles incoming packets from clients. Includes
-	 * a constructor and run(). This is where the server listens for and parses
-	 * incoming packets from different clients using the defined protocol of 
-	 * MSGTYPE|OPTIONALINFO|OPTIONALINFO... etc.
+	 * Private inner class that handles the events of client connections. This
+	 * is where the server parses incoming packets from different clients using
+	 * the defined protocol of MSGTYPE|OPTIONALINFO|OPTIONALINFO... etc. Every
+	 * method runs on the event loop thread.
 	 * @since 23
 	 */
-	private class ClientHandler implements Runnable {
-		
-		/** Client's socket */
-		private Socket client;
-		
-		/** Client's id */
-		private int clientId;
+	private class ClientHandler implements NetServer.Handler {
+
+		/**
+		 * Default Constructor
+		 * @since 23
+		 */
+		ClientHandler() {}
 
 		/**
-		 * Constructor for the private inner class ClientHandler; makes a new
-		 * client with the passed socket and clientId. 
+		 * Notes a new connection. It is seated, or becomes a spectator, once
+		 * it says which it wants with its first packet.
 		 * @since 23
-		 * @param client the client
-		 * @param clientId the client id
+		 * @param client the new client
 		 */
-		public ClientHandler(Socket client, int clientId) {
-			this.client = client;
-			this.clientId = clientId;
+		@Override
+		public void onConnected(NetServer.Connection client) {
+			System.out.println("A new client has connected.");
 		}
 
 		/**
-		 * Starts the thread that receives messages from the server. 
+		 * Seats a new client and sends them their ID and session token, or
+		 * turns them away if every seat is taken.
 		 * @since 23
+		 * @param client the new client
+		 * @return true if the client was seated
 		 */
-		public void run() {
+		private boolean seat(NetServer.Connection client) {
+			String token = NetServer.newToken();
+			synchronized (connectedPlayers) {
+				if (connectedPlayers.size() >= numHumanOpponents) {
+					System.out.println("A player tried to connect to a full game.");
+					client.close();
+					return false;
+				}
+				// attached first, so a refresh never finds a seated client without a view
+				client.attach(new ViewState());
+				connectedPlayers.add(client);
+				sessionTokens.add(token);
+			}
+			System.out.println("A new player has connected.");
+			client.send("ID|" + nextClientId++ + "|" + Wire.VERSION + "|" + token);
+			listener.onPlayerConnected(connectedPlayers.size(), numHumanOpponents);
+			if (connectedPlayers.size() == numHumanOpponents) {
+				listener.onGameStateUpdated("Game Starting");
+			}
+			return true;
+		}
+
+		/**
+		 * Makes a new client a spectator, and sends them the game as it
+		 * stands. They are sent the ID ViewState.SPECTATOR, so they can agree on
+		 * the protocol without taking anyone's ID, but no session token, since
+		 * they have no seat to get back.
+		 * @since 23
+		 * @param client the new client
+		 * @param packet the fields of the WATCH packet
+		 */
+		private void watch(NetServer.Connection client, String[] packet) {
+			if (spectatorCount.incrementAndGet() > Const.SPECTATOR_MAX) {
+				spectatorCount.decrementAndGet();
+				System.out.println("A spectator tried to watch a game that has too many.");
+				client.close();
+				return;
+			}
+			System.out.println((packet.length > 1 ? packet[1] : "A spectator") + " is watching the game.");
+			client.attach(SPECTATING);
+			client.setLowPriority(true);
+			client.send("ID|" + ViewState.SPECTATOR + "|" + Wire.VERSION);
+			postToSpectators(() -> {
+				spectators.add(client);
+				if (spectatorSnapshot != null) {
+					client.send(spectatorSnapshot);
+				}
+			});
+		}
+
+		/**
+		 * Parses a packet received from a client.
+		 * @since 23
+		 * @param client the client who sent the packet
+		 * @param packet the fields of the packet
+		 */
+		@Override
+		public void onMessage(NetServer.Connection client, String[] packet) {
+			// whatever the packet causes is sent as one batch
+			net.beginBatch();
 			try {
-				BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream()));
-				out = new PrintWriter(client.getOutputStream(), true);
-				out.println("ID|" + clientId);
-				String line;
-				while ((line = in.readLine()) != null && !client.isClosed()) {
-					String[] packet = line.split("\\|");
-
-					// switching on packet type (CHAT, TURN, PLAY, DRAW, etc...)
-					switch (packet[0]) {
-
-					// client sending name to the server. server adds it to an internal list
-					case "NAME":
-
-						// synchronized so that multiple threads don't access at once
-						synchronized (clientNames) {
-							System.out.println("Client name added: " + packet[1]);
-							clientNames.add(packet[1]);
+				handle(client, packet);
+			} finally {
+				net.endBatch();
+			}
+		}
+
+		/**
+		 * Handles a packet received from a client.
+		 * @since 23
+		 * @param client the client who sent the packet
+		 * @param packet the fields of the packet
+		 */
+		private void handle(NetServer.Connection client, String[] packet) {
+
+			// a new connection first says whether it plays, comes back, or watches
+			if (client.attachment() == null) {
+				switch (packet[0]) {
+				case "NAME":
+					if (!seat(client)) {
+						return;
+					}
+					break;
+				case "RESUME":
+					resume(client, packet);
+					return;
+				case "WATCH":
+					watch(client, packet);
+					return;
+				default:
+					System.out.println("A client sent " + packet[0] + " before saying who they are.");
+					client.close();
+					return;
+				}
+			}
+
+			// spectators only watch
+			if (client.attachment() == SPECTATING) {
+				switch (packet[0]) {
+				case "PROTO":
+					client.negotiate(packet);
+					break;
+				case "RESYNC":
+					postToSpectators(() -> {
+						if (spectatorSnapshot != null) {
+							client.send(spectatorSnapshot);
 						}
-						break;
+					});
+					break;
+				case "DISCONNECT":
+					client.close();
+					break;
+				default:
+					break;
+				}
+				return;
+			}
 
-						// chat msgs are rebroadcast to each connected client
-					case "CHAT":
+			// switching on packet type (CHAT, TURN, PLAY, DRAW, etc...)
+			switch (packet[0]) {
 
-						// In case users include the '|' char in their chat msg
-						if (packet.length != 2) {
+			// client sending name to the server. server adds it to an internal list
+			case "NAME":
+				if (packet.length < 2) {
+					System.out.println("A client sent a NAME packet without a name.");
+					break;
+				}
 
-							// stringbuilder re-builsds the msg without the '|'
-							StringBuilder sb = new StringBuilder();
-							for (int i=1;i<packet.length;i++) {
-								sb.append(packet[i]);
-							}
-							listener.onChatReceived(sb.toString());
-							System.out.println("Chat received: " + sb.toString());
+				// synchronized so that multiple threads don't access at once
+				synchronized (clientNames) {
+					System.out.println("Client name added: " + packet[1]);
+					clientNames.add(packet[1]);
+				}
+				break;
 
-						} else {
-							listener.onChatReceived(packet[1]);
-							System.out.println("Chat received: " + packet[1]);
-						}
-						break;
-
-						// play packet, [1] is the client ID, [2] is the card
-					case "PLAY":
-						System.out.println("Server received a play request packet: " +
-								packet[1] + " is trying to play card: " + packet[2]);
-						listener.onClientPlayReceived(line);
-						break;
-
-						// draw packet. only information is [1]: client ID
-					case "DRAW":
-						System.out.println("Server received a draw request packet: " );
-						listener.onClientDrawReceived(line);
-						break;
-
-						// packet containing a suit chosen by a client (when an 8 is played)
-					case "SUITCHOICE":
-						System.out.println("Server has been informed that client " +
-								packet[1] + " has chosen " + packet[2] + " to replace " + packet[3]);
-						listener.onClientSuitReceived(line);
-						break;
-
-						// client disconnect packet
-					case "DISCONNECT":
-						System.out.println("Client " + packet[1] + " is disconnecting...");
-						listener.onPlayerDisconnect(line);
-						break;
-
-						// need default for when new packets are implemented and not added
-					default:
-						System.out.println("Unknown packet type: " + packet[0]);
-						break;
+				// chat msgs are rebroadcast to each connected client
+			case "CHAT":
+
+				// In case users include the '|' char in their chat msg
+				if (packet.length != 2) {
+
+					// stringbuilder re-builsds the msg without the '|'
+					StringBuilder sb = new StringBuilder();
+					for (int i=1;i<packet.length;i++) {
+						sb.append(packet[i]);
 					}
+					listener.onChatReceived(sb.toString());
+					System.out.println("Chat received: " + sb.toString());
+
+				} else {
+					listener.onChatReceived(packet[1]);
+					System.out.println("Chat received: " + packet[1]);
+				}
+				break;
+
+				// play packet, [1] is the client ID, [2] is the card
+			case "PLAY":
+				if (packet.length < 3) {
+					System.out.println("A client sent a PLAY packet without a card.");
+					break;
 				}
-			} catch (IOException e) {
-				System.out.println("IO Exception encountered in GameServer.ClientHandler.run().");
+				System.out.println("Server received a play request packet: " +
+						packet[1] + " is trying to play card: " + packet[2]);
+				listener.onClientPlayReceived(packet);
+				break;
+
+				// draw packet. only information is [1]: client ID
+			case "DRAW":
+				if (packet.length < 2) {
+					System.out.println("A client sent a DRAW packet without their ID.");
+					break;
+				}
+				System.out.println("Server received a draw request packet: " );
+				listener.onClientDrawReceived(packet);
+				break;
+
+				// packet containing a suit chosen by a client (when an 8 is played)
+			case "SUITCHOICE":
+				if (packet.length < 4) {
+					System.out.println("A client sent a SUITCHOICE packet without a suit and card.");
+					break;
+				}
+				System.out.println("Server has been informed that client " +
+						packet[1] + " has chosen " + packet[2] + " to replace " + packet[3]);
+				listener.onClientSuitReceived(packet);
+				break;
+
+				// client answering the ID packet: it speaks binary from now on
+			case "PROTO":
+				client.negotiate(packet);
+				break;
+
+				// client missed a view update, and needs a full refresh
+			case "RESYNC":
+				System.out.println("Client " + (connectedPlayers.indexOf(client) + 1) + " asked for a full refresh.");
+				((ViewState) client.attachment()).reset();
+				listener.onResyncRequested();
+				break;
+
+				// client who is already seated, so has no seat to get back
+			case "RESUME":
+				System.out.println("Client " + (connectedPlayers.indexOf(client) + 1) + " was seated as a new player.");
+				break;
+
+				// client disconnect packet
+			case "DISCONNECT":
+				if (packet.length < 2) {
+					System.out.println("A client sent a DISCONNECT packet without their ID.");
+					client.close();
+					break;
+				}
+				System.out.println("Client " + packet[1] + " is disconnecting...");
+				listener.onPlayerDisconnect(packet);
+				break;
+
+				// need default for when new packets are implemented and not added
+			default:
+				System.out.println("Unknown packet type: " + packet[0]);
+				break;
 			}
-		} 
+		}
+
+		/**
+		 * Hands a client who reconnected with RESUME|id|token their seat back,
+		 * in place of their lost connection, and sends them their ID again.
+		 * Their view is sent whole with the next refresh. A client with a
+		 * wrong token, or whose seat is gone, is told to shut down.
+		 * @since 23
+		 * @param client the new connection of the client
+		 * @param packet the fields of the packet
+		 */
+		private void resume(NetServer.Connection client, String[] packet) {
+			int index;
+			try {
+				index = Integer.parseInt(packet[1]) - 1;
+			} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+				index = -1;
+			}
+			String token = packet.length > 2 ? packet[2] : null;
+
+			NetServer.Connection lost;
+			String newToken = NetServer.newToken();
+			synchronized (connectedPlayers) {
+				if (index < 0 || index >= sessionTokens.size()
+						|| !NetServer.tokenMatches(sessionTokens.get(index), token)) {
+					System.out.println("A player tried to resume a session that does not exist.");
+					client.send("SHUTDOWN");
+					client.close();
+					return;
+				}
+				// the token is only good once, so a stale copy of it is useless
+				client.attach(new ViewState());
+				lost = connectedPlayers.set(index, client);
+				sessionTokens.set(index, newToken);
+			}
+
+			// the lost connection may not have noticed yet; it no longer has a seat
+			lost.close();
+			client.send("ID|" + (index + 1) + "|" + Wire.VERSION + "|" + newToken);
+			System.out.println("Client " + (index + 1) + " resumed their session.");
+			listener.onPlayerResumed(index + 1);
+		}
+
+		/**
+		 * Notes that a client's socket was closed. The client keeps their seat
+		 * for a while, in case they come back.
+		 * @since 23
+		 * @param client the client who was disconnected
+		 */
+		@Override
+		public void onDisconnected(NetServer.Connection client) {
+			if (client.attachment() == SPECTATING) {
+				spectatorCount.decrementAndGet();
+				postToSpectators(() -> spectators.remove(client));
+				return;
+			}
+			int index = connectedPlayers.indexOf(client);
+
+			// if the client left with DISCONNECT, or came back on a new
+			// connection, there is nothing left to do
+			if (index >= 0 && sessionTokens.get(index) != null) {
+				System.out.println("Client " + (index + 1) + " connection closed.");
+				listener.onPlayerConnectionLost(index + 1);
+			}
+		}
 	}
 
 	/**
@@ -209,14 +446,7 @@ public class GameServer {
 	 */
 	public void broadcastChat(String msg) {
 		System.out.println("Server is broadcasting a chat to all connected clients: " + msg);
-		for (Socket client : connectedPlayers) {
-			try {
-				out = new PrintWriter(client.getOutputStream(), true);
-				out.println("CHAT|" + msg);
-			} catch (IOException e) {
-				System.out.println("Failed to broadcast chat to a client." + e.getStackTrace());
-			}
-		}
+		broadcast("CHAT|" + msg);
 	}
 
 	/**
@@ -229,14 +459,7 @@ public class GameServer {
 	public void broadcastConsoleMsg(String optName, String msg, String optCard) {
 		System.out.println("Server is broadcasting console message to all connected clients: " +
 				optName + " " + msg + " " + optCard);
-		for (Socket client : connectedPlayers) {
-			try {
-				out = new PrintWriter(client.getOutputStream(), true);
-				out.println("CONSOLE|" + optName + "|" + msg + "|" + optCard);
-			} catch (IOException e) {
-				System.out.println("Failed to broadcast chat to a client." + e.getStackTrace());
-			}
-		}
+		broadcast(new Wire.Packet("CONSOLE", optName, msg, optCard));
 	}
 
 	/**
@@ -246,14 +469,7 @@ public class GameServer {
 	 */
 	public void broadcastRoundWinner(String winnerName) {
 		System.out.println("Server is broadcasting round winner to all connected clients.");
-		for (Socket client : connectedPlayers) {
-			try {
-				out = new PrintWriter(client.getOutputStream(), true);
-				out.println("ROUNDOVER" + "|" + winnerName);
-			} catch (IOException e) {
-				System.out.println("Failed to broadcast round winner to client." + e.getStackTrace());
-			}
-		}
+		broadcast("ROUNDOVER" + "|" + winnerName);
 	}
 
 	/**
@@ -263,14 +479,7 @@ public class GameServer {
 	 */
 	public void broadcastGameWinners(String winnerNames) {
 		System.out.println("Server is broadcasting game winner to all connected clients.");
-		for (Socket client : connectedPlayers) {
-			try {
-				out = new PrintWriter(client.getOutputStream(), true);
-				out.println("GAMEOVER" + "|" + winnerNames);
-			} catch (IOException e) {
-				System.out.println("Failed to broadcast game winner to client." + e.getStackTrace());
-			}
-		}
+		broadcast("GAMEOVER" + "|" + winnerNames);
 	}
 
 	/**
@@ -283,15 +492,10 @@ public class GameServer {
 	 */
 	public void requestSuitChoice(int clientId, String cardToPlay) {
 		System.out.println("Server is sending a request to client " + clientId + " to choose a suit.");
+		net.runDeferred();
 
 		// connectedPlayers doesn't have the host, so subtract 1 from client Id
-		Socket client = connectedPlayers.get(clientId - 1);
-		try {
-			out = new PrintWriter(client.getOutputStream(), true);
-			out.println("SUITREQUEST" + "|" + cardToPlay);
-		} catch (IOException e) {
-			System.out.println("Failed to request suit from client " + clientId);
-		}
+		connectedPlayers.get(clientId - 1).send("SUITREQUEST" + "|" + cardToPlay);
 	}
 
 	/**
@@ -304,33 +508,24 @@ public class GameServer {
 	 */
 	public void broadCastButtonMode(String mode) {
 		System.out.println("Server is telling its clients to adjust which buttons are active.");
-
-		for (Socket s : connectedPlayers) {
-			try {
-				out = new PrintWriter(s.getOutputStream(), true);
-				out.println("BTN" + "|" + mode);
-			} catch (IOException e) {
-				System.out.println("Failed to broadcast button state to client.");
-			}
-
-		}
+		broadcast("BTN" + "|" + mode);
 	}
 
 	/**
-	 * Tells the "client" (read: socket) at the passed index to shutdown. Its 
-	 * receive thread is interrupted and its UI is reset to default. 
+	 * Tells the "client" (read: connection) at the passed index to shutdown. Its 
+	 * connection is closed once the packet is sent, and its UI is reset to default. 
+	 * Its session token no longer gets its seat back.
 	 * @since 23
 	 * @param index the index to close socket
 	 */
 	public void closeSocket(int index) {
-		Socket client = connectedPlayers.get(index - 1);
-		try {
-			out = new PrintWriter(client.getOutputStream(), true);
-			out.println("SHUTDOWN");
-			client.close();
-		} catch (IOException e) {
-			System.out.println("IO exception occurred while a client was disconnecting.");
+		NetServer.Connection client;
+		synchronized (connectedPlayers) {
+			client = connectedPlayers.get(index - 1);
+			sessionTokens.set(index - 1, null);
 		}
+		client.send("SHUTDOWN");
+		client.close();
 	}
 
 	/**
@@ -339,104 +534,157 @@ public class GameServer {
 	 */
 	public void terminateGame() {
 		// tell each client to clean up their UI
-		for (Socket client : connectedPlayers) {
-			try {
-				out = new PrintWriter(client.getOutputStream(), true);
-				out.println("CLEANUP");
-			} catch (IOException e) {
-				System.out.println("Failed to tell client to cleanup UI.");
-			}
-		}
+		broadcast("CLEANUP");
 	}
 
 	/**
-	 * Terminates (interrupts) the receiveThread of each connected client, then 
-	 * does the same for the host's acceptThread.  
+	 * Tells each connected client to shut down and closes their connection,
+	 * then stops the event loop once every queued packet has been sent.
 	 * @since 23
 	 */
 	public void terminateThreads() {
-		for (Socket client : connectedPlayers) {
-			try {
-				out = new PrintWriter(client.getOutputStream(), true);
-				out.println("SHUTDOWN");
-				client.close();
-			} catch (IOException e) {
-				System.out.println("Failed to close socket while terminating threads.");
-			}
+		for (NetServer.Connection client : connectedPlayers) {
+			client.send("SHUTDOWN");
+			client.close();
 		}
-
-		if (acceptThread.isAlive()) {
-			acceptThread.interrupt();
+		postToSpectators(() -> {
+			for (NetServer.Connection spectator : spectators) {
+				spectator.send("SHUTDOWN");
+				spectator.close();
+			}
+		});
+		fanOut.shutdown();
+		try {
+			fanOut.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 		}
+		net.drain();
 	}
 
 	/**
-	 * Getter for the vector of connected clients (their sockets). 
+	 * Getter for the vector of connected clients (their connections). 
 	 * @since 23
 	 * @return connected clients
 	 */
-	public Vector<Socket> getConnectedClients(){
+	public Vector<NetServer.Connection> getConnectedClients(){
 		return this.connectedPlayers;
 	}
 
 	/**
 	 * Requests that each client refresh their view. A "view refresh" is basically
 	 * an update of each component in the UI that *could* have a new value (hands,
-	 * last played card, player scores, etc.). 
+	 * last played card, player scores, etc.). Only the first refresh of a client
+	 * is sent whole; after that, each client is only sent what changed since
+	 * their last refresh, or nothing if nothing did (see ViewState). A client
+	 * that did not answer its ID with PROTO is sent the whole REFRESH of the
+	 * original protocol whenever its view changes.
 	 * @since 23
 	 * @param players: the list of players, passed from the model.
 	 * @param lastPlayedCard: the last played (discarded) card.
 	 * @param turnDirection: clockwise/counterclockwise (normal vs. reversed)
 	 */
 	public void requestViewRefresh(Vector<Player> players, Card lastPlayedCard, boolean turnDirection) {
-		for (int i = 0; i < connectedPlayers.size(); i++) {
-			try {
-				out = new PrintWriter(connectedPlayers.get(i).getOutputStream(), true);
-				Player clientPlayer = players.get(i + 1);
-				String hand = clientPlayer.stringifyHand();
-				String played = lastPlayedCard.toString();
-
-				StringBuilder sbCardCount = new StringBuilder();
-				StringBuilder sbPlayerNames = new StringBuilder();
-				StringBuilder sbPlayerScores = new StringBuilder();
-
-				// build string versions of each player's information
-				for (int j = 0; j < players.size(); j++) {
-					sbCardCount.append(players.get(j).getHand().size()).append(",");
-					sbPlayerNames.append(players.get(j).getName().trim().replace(",", ";")).append(",");
-					sbPlayerScores.append(players.get(j).getScore()).append(",");
-				}
+		openEdtBatch();
+		// the refreshes of one batch are sent once, before the next message
+		// of the batch or at its end, so they keep their place in it
+		Runnable refresh = () -> {
+			// refreshes are requested from the event loop and the EDT alike
+			synchronized (connectedPlayers) {
+				sendViewRefresh(players, lastPlayedCard, turnDirection);
+			}
+		};
+		if (!net.defer(refresh)) {
+			refresh.run();
+		}
+	}
 
-				// remove the trailing comma from all
-				String counts = sbCardCount.substring(0, sbCardCount.length() - 1);
-				String names = sbPlayerNames.substring(0, sbPlayerNames.length() - 1);
-				String scores = sbPlayerScores.substring(0, sbPlayerScores.length() - 1);
+	/**
+	 * Sends each client what changed in their view since their last refresh.
+	 * Called with the lock on connectedPlayers held.
+	 * @since 23
+	 * @param players: the list of players, passed from the model.
+	 * @param lastPlayedCard: the last played (discarded) card.
+	 * @param turnDirection: clockwise/counterclockwise (normal vs. reversed)
+	 */
+	private void sendViewRefresh(Vector<Player> players, Card lastPlayedCard, boolean turnDirection) {
+		for (int i = 0; i < connectedPlayers.size(); i++) {
+			NetServer.Connection client = connectedPlayers.get(i);
+			Wire.Message packet = ((ViewState) client.attachment()).update(players, i + 1, lastPlayedCard, turnDirection,
+					client.isVersioned());
+			if (packet != null) {
+				client.send(packet);
+				System.out.println("Refresh sent to client " + i + ".");
+			}
+		}
 
-				// 			packetType	 clientID		hand		lastPlayed		no. cards	  playerNames	playerScores	turnDir
-				out.println("REFRESH|" + (i + 1) + "|" + hand + "|" + played + "|" + counts + "|" + names + "|" + scores + "|" + turnDirection);
-				System.out.println("Refresh sent to client " + i + ": " + hand);
-			} catch (IOException e) {
-				System.out.println("Failed to refresh client " + i + ": " + e.getMessage());
+		// the spectators share one view; the snapshot goes with it, so a
+		// spectator who joins later is sent the view as of their joining.
+		// WATCH is newer than versioned views, so every spectator knows them
+		Wire.Message update = spectatorView.update(players, ViewState.SPECTATOR, lastPlayedCard, turnDirection, true);
+		Wire.Message snapshot = spectatorView.snapshot();
+		postToSpectators(() -> {
+			spectatorSnapshot = snapshot;
+			if (update != null) {
+				sendToSpectators(update);
 			}
+		});
+	}
+
+	/**
+	 * Runs a task on the fan-out thread, after every task posted before it.
+	 * Tasks posted once the server has shut down are dropped.
+	 * @since 23
+	 * @param task the task
+	 */
+	private void postToSpectators(Runnable task) {
+		try {
+			fanOut.execute(task);
+		} catch (RejectedExecutionException e) {
+			// the server is shutting down
 		}
 	}
 
 	/**
-	 * Closes the socket of each connected client. 
+	 * Sends a packet to every spectator, as one batch. Runs on the fan-out
+	 * thread.
 	 * @since 23
+	 * @param packet the packet
 	 */
-	public void shutdown() {
+	private void sendToSpectators(Wire.Message packet) {
+		net.beginBatch();
 		try {
-			for (Socket s : connectedPlayers) {
-				s.close();
+			for (NetServer.Connection spectator : spectators) {
+				spectator.send(packet);
 			}
-			serverSocket.close();
-			if (acceptThread != null) {
-				acceptThread.interrupt();
-			}
-		} catch (IOException e) {
-			System.out.println("IO Exception encountered while shutting down server.");
+		} finally {
+			net.endBatch();
+		}
+	}
+
+	/**
+	 * Opens a batch for the current event of the EDT, if called on the EDT
+	 * and none is open yet. The batch ends once the event has been handled.
+	 * @since 23
+	 */
+	private void openEdtBatch() {
+		if (!edtBatch && SwingUtilities.isEventDispatchThread()) {
+			edtBatch = true;
+			net.beginBatch();
+			SwingUtilities.invokeLater(() -> {
+				edtBatch = false;
+				net.endBatch();
+			});
 		}
+	}
+
+	/**
+	 * Closes the connection of each connected client and stops the server. 
+	 * @since 23
+	 */
+	public void shutdown() {
+		fanOut.shutdownNow();
+		net.shutdown();
 		System.out.println("Shutting down...");
 	}
 
@@ -449,6 +697,15 @@ public class GameServer {
 		return connectedPlayers.size();
 	}
 
+	/**
+	 * Returns the number of spectators watching the game.
+	 * @since 23
+	 * @return spectator count
+	 */
+	public int getSpectatorCount() {
+		return spectatorCount.get();
+	}
+
 	/**
 	 * Returns the Vector of client names. 
 	 * @since 23
@@ -460,4 +717,30 @@ public class GameServer {
 		return new Vector<>(clientNames);
 	}
 
+	/**
+	 * Queues a packet to be sent to every connected client.
+	 * @since 23
+	 * @param packet the packet to send, fields separated by '|'
+	 */
+	private void broadcast(String packet) {
+		broadcast(Wire.Packet.ofText(packet));
+	}
+
+	/**
+	 * Queues a packet to be sent to every connected client. It is encoded
+	 * once for the clients speaking text, and once for those speaking binary.
+	 * @since 23
+	 * @param packet the packet to send
+	 */
+	private void broadcast(Wire.Message packet) {
+		openEdtBatch();
+		net.runDeferred();
+		for (NetServer.Connection client : connectedPlayers) {
+			client.send(packet);
+		}
+		if (spectatorCount.get() > 0) {
+			postToSpectators(() -> sendToSpectators(packet));
+		}
+	}
+
 }
@@ -0,0 +1,853 @@
+package system;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import sysobj.AIPlayer;
+import sysobj.Card;
+import sysobj.Player;
+import sysobj.Rank;
+import sysobj.Suit;
+
+/**
+ * One table of a LobbyServer: its seats and the game played at it. The table
+ * is the headless equivalent of a host's GameController in multiplayer mode,
+ * with every human player connected as a client.
+ *
+ * A table has no thread of its own. Everything that touches its state is
+ * posted to it and run on the lobby's worker pool, one task at a time and in
+ * the order posted, so the state needs no locking and an idle table holds no
+ * thread. AI players move after Const.TABLE_AI_DELAY_MS, on the lobby's timer.
+ *
+ * A player whose connection drops during the game keeps their seat for
+ * Const.SESSION_GRACE_MS, so they can resume their session (see LobbyServer).
+ *
+ * @since 23
+ */
+public class GameTable {
+
+	/** The id of the table in its lobby. */
+	private final int id;
+
+	/** The name of the table. */
+	private final String name;
+
+	/** The number of human players the game waits for. */
+	private final int humanSeats;
+
+	/** The difficulty of the AI players filling the other seats. */
+	private final int difficulty;
+
+	/** The lobby hosting the table. */
+	private final LobbyServer lobby;
+
+	/** The rules engine of the game played at the table. */
+	private final GameEngine engine;
+
+	/** The human player at each seat, or null. */
+	private final LobbyServer.Session[] seats;
+
+	/** What was last sent to the human player at each seat. */
+	private final ViewState[] views;
+
+	/** Tasks posted to the table and not run yet, oldest first. */
+	private final ConcurrentLinkedQueue<Runnable> mailbox;
+
+	/** Whether the table has a task running or submitted to the worker pool. */
+	private final AtomicBoolean scheduled;
+
+	/** The number of human players seated. */
+	private volatile int seated;
+
+	/** Whether the game has started. */
+	private volatile boolean running;
+
+	/** Whether the table is closed: its game is over or everyone left. */
+	private boolean closed;
+
+	/** The eight a client played and is choosing a suit for, or null. */
+	private Card pendingEight;
+
+	/** Counts the turns played, so moves scheduled for an earlier turn are dropped. */
+	private int turnCount;
+
+	/** The deadline of the current human player's turn, if any. */
+	private Future<?> moveDeadline;
+
+	/**
+	 * Creates an empty table.
+	 *
+	 * @param id - The id of the table in its lobby.
+	 * @param name - The name of the table.
+	 * @param humanSeats - The number of human players the game waits for.
+	 * @param difficulty - The difficulty of the AI players.
+	 * @param lobby - The lobby hosting the table.
+	 * @since 23
+	 */
+	public GameTable(int id, String name, int humanSeats, int difficulty, LobbyServer lobby) {
+		this.id = id;
+		this.name = name;
+		this.humanSeats = humanSeats;
+		this.difficulty = difficulty;
+		this.lobby = lobby;
+		this.seats = new LobbyServer.Session[Const.TABLE_SEATS];
+		this.views = new ViewState[Const.TABLE_SEATS];
+		this.mailbox = new ConcurrentLinkedQueue<>();
+		this.scheduled = new AtomicBoolean();
+		this.engine = new GameEngine();
+		engine.setVerbose(false);
+		engine.setSearch(lobby.getSearch());
+	}
+
+	/* ------------------------------------------------------------------ */
+	/* --------------------------- SCHEDULING --------------------------- */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Posts a task to the table. Safe to call from any thread; the task runs
+	 * on the worker pool after every task posted before it. Tasks posted
+	 * once the lobby has shut down are dropped.
+	 * @param task - The task.
+	 *
+	 * @since 23
+	 */
+	public void post(Runnable task) {
+		mailbox.add(task);
+		if (scheduled.compareAndSet(false, true)) {
+			try {
+				lobby.getWorkers().execute(this::drain);
+			} catch (RejectedExecutionException e) {
+				// the lobby is shutting down, and so is the table
+			}
+		}
+	}
+
+	/**
+	 * Runs the posted tasks until there are none left, then gives the worker
+	 * back to the pool. Each task is one game action, and what it sends is
+	 * sent as one batch.
+	 *
+	 * @since 23
+	 */
+	private void drain() {
+		NetServer net = lobby.getNet();
+		Runnable task;
+		while ((task = mailbox.poll()) != null) {
+			net.beginBatch();
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				System.out.println("Table " + id + " failed to handle an event: " + e);
+			} finally {
+				net.endBatch();
+			}
+		}
+		scheduled.set(false);
+
+		// a task may have been posted after the last poll, but before the flag was cleared
+		if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+			lobby.getWorkers().execute(this::drain);
+		}
+	}
+
+	/* ------------------------------------------------------------------ */
+	/* ----------------------------- SEATS ------------------------------ */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Seats a player at the first free seat, and starts the game once every
+	 * human seat is taken. Runs on the table.
+	 * @param s - The player.
+	 *
+	 * @since 23
+	 */
+	void join(LobbyServer.Session s) {
+		if (closed || running || seated >= humanSeats) {
+			s.table = null;
+			s.send("LOBBYERR|Table " + id + " is not open.");
+			return;
+		}
+
+		int seat = 0;
+		while (seats[seat] != null) {
+			seat++;
+		}
+		seats[seat] = s;
+		views[seat] = new ViewState();
+		s.seat = seat;
+		seated++;
+
+		s.send("ID|" + seat + "|" + Wire.VERSION + "|" + lobby.issueToken(s));
+		s.send("JOINED|" + id + "|" + seat);
+		broadcast("CHAT|" + s.name + " sat down at " + name + " (" + seated + "/" + humanSeats + ")");
+
+		if (seated == humanSeats) {
+			start();
+		}
+	}
+
+	/**
+	 * Removes a player from their seat. Before the game, the seat is freed;
+	 * during the game, the player is replaced by an AI player, as
+	 * GameController.replacePlayer() does. The table closes when no human
+	 * player is left. Runs on the table.
+	 * @param s - The player.
+	 *
+	 * @since 23
+	 */
+	void leave(LobbyServer.Session s) {
+		int seat = s.seat;
+		if (closed || seat < 0 || seats[seat] != s) {
+			return;
+		}
+		seats[seat] = null;
+		seated--;
+		s.table = null;
+		s.seat = -1;
+		lobby.revokeToken(s);
+		s.send("LEFT|" + id);
+
+		if (seated == 0) {
+			close();
+			return;
+		}
+		broadcast("CHAT|" + s.name + " left " + name);
+
+		if (running) {
+			Player leaver = engine.getPlayers().get(seat);
+			AIPlayer replacement = new AIPlayer(leaver.getName());
+			replacement.setScore(leaver.getScore());
+			replacement.setHand(leaver.getHand());
+			replacement.setName("AI " + leaver.getName().toUpperCase());
+			replacement.setOrientation(seat);
+			replacement.setID(seat);
+			replacement.setDifficulty(difficulty);
+			engine.getPlayers().set(seat, replacement);
+
+			// if it was their turn, the AI player takes it over
+			if (engine.getActivePlayer() == leaver) {
+				pendingEight = null;
+				engine.setActivePlayer(replacement);
+				turnCount++;
+				processTurn();
+			} else {
+				refresh();
+			}
+		}
+	}
+
+	/**
+	 * Notes that the connection of a seated player was lost. Before the game,
+	 * they leave; during the game, their seat is kept for
+	 * Const.SESSION_GRACE_MS, and they leave if they have not resumed their
+	 * session by then. Runs on the table.
+	 * @param s - The player.
+	 * @param lost - The connection that was lost.
+	 *
+	 * @since 23
+	 */
+	void connectionLost(LobbyServer.Session s, NetServer.Connection lost) {
+		if (closed || s.seat < 0 || seats[s.seat] != s || s.connection != lost) {
+			return;
+		}
+		if (!running) {
+			leave(s);
+			return;
+		}
+		broadcast("CHAT|" + s.name + " lost their connection. Their seat is kept for "
+				+ (Const.SESSION_GRACE_MS / 1000) + " seconds.");
+		lobby.schedule(() -> post(() -> {
+			if (s.connection == lost && s.table == this) {
+				broadcast("CHAT|" + s.name + " did not come back, and was replaced by an AI player.");
+				leave(s);
+			}
+		}), Const.SESSION_GRACE_MS);
+	}
+
+	/**
+	 * Gives a player who resumed their session on a new connection their
+	 * seat back. They are sent their ID and the game as it stands, in one
+	 * full refresh, rather than everything they missed. Runs on the table.
+	 * @param s - The player, whose connection is the new one.
+	 *
+	 * @since 23
+	 */
+	void resume(LobbyServer.Session s) {
+		if (closed || s.table != this || s.seat < 0 || seats[s.seat] != s) {
+			s.send("LOBBYERR|Your seat is gone.");
+			return;
+		}
+		int seat = s.seat;
+		s.send("ID|" + seat + "|" + Wire.VERSION + "|" + lobby.issueToken(s));
+		broadcast("CHAT|" + s.name + " is back.");
+		if (running) {
+			views[seat].reset();
+			refresh();
+
+			// if it is their turn, they are told again, and asked again for
+			// the suit of the eight they played
+			if (isTurnOf(s)) {
+				s.send(new Wire.Packet("CONSOLE", s.name, "currentTurn", " "));
+				if (pendingEight != null) {
+					s.send("SUITREQUEST|" + pendingEight);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Closes the table and removes it from the lobby. Runs on the table.
+	 *
+	 * @since 23
+	 */
+	private void close() {
+		closed = true;
+		running = false;
+		cancelMoveDeadline();
+
+		// the search is shared with other tables, so a search still running for
+		// this table is left to finish; its result is dropped
+		lobby.removeTable(this);
+	}
+
+	/* ------------------------------------------------------------------ */
+	/* --------------------------- GAME FLOW ---------------------------- */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Starts the game: AI players fill the seats no human took, and the first
+	 * round is dealt. Runs on the table.
+	 *
+	 * @since 23
+	 */
+	private void start() {
+		ArrayList<String> names = new ArrayList<>(lobby.getAINames());
+		Collections.shuffle(names, engine.getRandom());
+
+		Vector<Player> players = new Vector<>();
+		for (int seat = 0; seat < Const.TABLE_SEATS; seat++) {
+			if (seats[seat] != null) {
+				players.add(new Player(seats[seat].name, seat, seat, true));
+			} else {
+				String aiName = names.isEmpty() ? String.valueOf(seat) : names.removeLast();
+				AIPlayer ai = new AIPlayer("AI " + aiName.toUpperCase());
+				ai.setDifficulty(difficulty);
+				ai.setOrientation(seat);
+				ai.setID(seat);
+				players.add(ai);
+			}
+		}
+
+		engine.setPlayers(players);
+		running = true;
+		broadcast("BTN|MULTIPLAYER");
+		startRound();
+	}
+
+	/**
+	 * Deals a new round and plays its first turn. Runs on the table.
+	 *
+	 * @since 23
+	 */
+	private void startRound() {
+		engine.initRound();
+		console("", "newRound", "");
+		processTurn();
+	}
+
+	/**
+	 * Core of the game loop, as GameController.processTurn(): ends the round,
+	 * and the game, if they are over; else tells everyone whose turn it is and
+	 * schedules the move of an AI player. Human players move by sending a
+	 * packet. Runs on the table.
+	 *
+	 * @since 23
+	 */
+	private void processTurn() {
+		cancelMoveDeadline();
+		if (engine.isRoundOver()) {
+			endRound();
+			if (engine.isScoreLimitReached()) {
+				endGame();
+			} else {
+				startRound();
+			}
+			return;
+		}
+
+		// the view goes first, so it is up to date when a player is told it is
+		// their turn; if nothing changed since the last move, none is sent
+		Player activePlayer = engine.getActivePlayer();
+		refresh();
+		console(activePlayer.getName(), "currentTurn", "");
+
+		int turn = turnCount;
+		if (activePlayer instanceof AIPlayer ai) {
+			lobby.schedule(() -> post(() -> {
+				if (!closed && turn == turnCount) {
+					playAITurn(ai);
+				}
+			}), Const.TABLE_AI_DELAY_MS);
+		} else {
+			// a player who does not finish their turn in time loses their seat
+			// to an AI player, as if they had left
+			moveDeadline = lobby.schedule(() -> post(() -> {
+				LobbyServer.Session s = seats[activePlayer.getId()];
+				if (!closed && turn == turnCount && s != null) {
+					broadcast("CHAT|" + s.name + " took too long to move, and was replaced by an AI player.");
+					leave(s);
+				}
+			}), Const.MOVE_DEADLINE_MS);
+		}
+	}
+
+	/**
+	 * Cancels the deadline of the current human player's turn, if any. Runs
+	 * on the table.
+	 *
+	 * @since 23
+	 */
+	private void cancelMoveDeadline() {
+		if (moveDeadline != null) {
+			moveDeadline.cancel(true);
+			moveDeadline = null;
+		}
+	}
+
+	/**
+	 * Passes the turn to the next player. Runs on the table.
+	 *
+	 * @since 23
+	 */
+	private void endTurn() {
+		turnCount++;
+		engine.setActivePlayer(engine.getNextPlayer());
+		processTurn();
+	}
+
+	/**
+	 * Tallies the scores of the round and tells everyone who won it. Runs on
+	 * the table.
+	 *
+	 * @since 23
+	 */
+	private void endRound() {
+		engine.setTurnOrderReversed(false);
+		engine.tallyScores();
+		refresh();
+		broadcast("ROUNDOVER|" + engine.getRoundWinner().getName());
+	}
+
+	/**
+	 * Tells everyone who won the game, sends them back to the main menu as a
+	 * host does at the end of a game, and closes the table. Runs on the table.
+	 *
+	 * @since 23
+	 */
+	private void endGame() {
+		StringBuilder winnerNames = new StringBuilder();
+		for (Player p : engine.getWinningPlayers()) {
+			winnerNames.append(p.getName());
+			winnerNames.append(" ");
+		}
+		broadcast("GAMEOVER|" + winnerNames);
+		broadcast("CLEANUP");
+		for (int seat = 0; seat < seats.length; seat++) {
+			LobbyServer.Session s = seats[seat];
+			if (s != null) {
+				s.send("SHUTDOWN");
+				s.connection.close();
+				s.table = null;
+				lobby.revokeToken(s);
+				seats[seat] = null;
+			}
+		}
+		seated = 0;
+		close();
+	}
+
+	/**
+	 * Plays the turn of an AI player, as GameController.decideAIPlayerMove():
+	 * they draw until they can play or must pass. Hard players search for
+	 * their card on the search pool, and the table resumes once it is found;
+	 * if that search fails, or the pool refuses it, they decide the way an
+	 * easy AI player does, so the table never searches itself. Runs on the
+	 * table.
+	 * @param ai - The AI player whose turn it is.
+	 *
+	 * @since 23
+	 */
+	private void playAITurn(AIPlayer ai) {
+		while (true) {
+			switch (ai.decidePlayDraw(engine.getLastPlayedCard())) {
+			case Const.PLAY:
+				if (ai.getDifficulty() == Const.AI_HARD) {
+					int turn = turnCount;
+					CompletableFuture<Card> search;
+					try {
+						search = engine.decideAICardAsync(ai);
+					} catch (RejectedExecutionException e) {
+						search = CompletableFuture.failedFuture(e);
+					}
+					search.whenComplete((card, e) -> post(() -> {
+						if (closed || turn != turnCount) {
+							return;
+						}
+						if (e != null) {
+							// the player still has to move; searching again would hold up the other tables
+							System.out.println("The search of " + ai.getName() + " failed, deciding without it: " + e);
+							playAICard(ai, ai.decideCard(engine.getLastPlayedCard()));
+						} else {
+							playAICard(ai, card);
+						}
+					}));
+					return;
+				}
+				playAICard(ai, engine.decideAICard(ai));
+				return;
+			case Const.DRAW:
+				int handSize = ai.getHandSize();
+				engine.drawCard();
+				if (ai.getHandSize() == handSize) {
+					// nothing left to draw
+					console(ai.getName(), "passTurn", "");
+					endTurn();
+					return;
+				}
+				console(ai.getName(), "drawCard", "");
+				break;
+			default:
+				console(ai.getName(), "passTurn", "");
+				endTurn();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Plays the card an AI player decided on and ends their turn. Runs on the
+	 * table.
+	 * @param ai - The AI player whose turn it is.
+	 * @param card - The card they decided to play.
+	 *
+	 * @since 23
+	 */
+	private void playAICard(AIPlayer ai, Card card) {
+		if (engine.playCard(card)) {
+			console(ai.getName(), "playCard", card.toString());
+			announceCardActions(card);
+		} else {
+			System.out.println(ai.getName() + " tried to break the rules by playing an illegal card.");
+		}
+		endTurn();
+	}
+
+	/**
+	 * Tells everyone about the special action of a card just played, as
+	 * GameController.handleCardActions() does. The engine has already applied
+	 * it. Runs on the table.
+	 * @param c - The card played.
+	 *
+	 * @since 23
+	 */
+	private void announceCardActions(Card c) {
+		switch (c.getRank()) {
+		case TWO:
+			console(engine.peekNextPlayer().getName(), "forceDraw", (engine.getNumTwosPlayed() * 2) + " cards!");
+			break;
+		case FOUR:
+			console(engine.peekNextPlayer().getName(), "forceDraw", 4 + " cards!");
+			break;
+		case EIGHT:
+			console("", "suitChanged", engine.getLastPlayedCard().getSuit().toString());
+			break;
+		case ACE:
+			console(engine.getActivePlayer().getName(), "turnReversed", "");
+			break;
+		case QUEEN:
+			console(engine.getActivePlayer().getName(), "turnSkipped", "");
+			break;
+		default:
+			break;
+		}
+	}
+
+	/* ------------------------------------------------------------------ */
+	/* -------------------------- CLIENT MOVES -------------------------- */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Handles a game packet from a seated player. Moves are only accepted from
+	 * the player whose turn it is, whatever id the packet claims. Runs on the
+	 * table.
+	 * @param s - The player who sent the packet.
+	 * @param packet - The fields of the packet.
+	 *
+	 * @since 23
+	 */
+	void onPacket(LobbyServer.Session s, String[] packet) {
+		if (closed || s.table != this) {
+			return;
+		}
+
+		switch (packet[0]) {
+
+		// chat msgs are rebroadcast to everyone at the table
+		case "CHAT":
+			broadcast("CHAT|" + String.join("", Arrays.copyOfRange(packet, 1, packet.length)));
+			break;
+
+		case "PLAY":
+			if (isTurnOf(s) && pendingEight == null && packet.length > 2) {
+				handlePlay(s, packet[2]);
+			}
+			break;
+
+		case "DRAW":
+			if (isTurnOf(s) && pendingEight == null) {
+				handleDraw(s);
+			}
+			break;
+
+		case "SUITCHOICE":
+			if (isTurnOf(s) && pendingEight != null && packet.length > 2) {
+				handleSuitChoice(packet[2]);
+			}
+			break;
+
+		// the player missed a view update, and needs a full refresh
+		case "RESYNC":
+			if (running) {
+				views[s.seat].reset();
+				refresh();
+			}
+			break;
+
+		case "DISCONNECT":
+			leave(s);
+			break;
+
+		default:
+			System.out.println("Table " + id + " received a packet of unknown type: " + packet[0]);
+			break;
+		}
+	}
+
+	/**
+	 * Returns whether it is the turn of the passed player.
+	 * @param s - The player.
+	 * @return true if the game is running and it is their turn.
+	 *
+	 * @since 23
+	 */
+	private boolean isTurnOf(LobbyServer.Session s) {
+		return running && engine.getActivePlayer().getId() == s.seat;
+	}
+
+	/**
+	 * Plays a card for a client, or asks them for a suit if it is an eight.
+	 * Illegal plays are quietly rejected, as the host does.
+	 * @param s - The player whose turn it is.
+	 * @param cardStr - The card they want to play.
+	 *
+	 * @since 23
+	 */
+	private void handlePlay(LobbyServer.Session s, String cardStr) {
+		Card card;
+		try {
+			card = Card.getCardFromStr(cardStr);
+		} catch (IllegalArgumentException e) {
+			System.out.println("Table " + id + " received an unreadable card: " + cardStr);
+			return;
+		}
+		Player activePlayer = engine.getActivePlayer();
+		if (!activePlayer.getHand().contains(card) || !engine.isPlayLegal(card)) {
+			System.out.println("Client attempted to play an illegal card.");
+			return;
+		}
+
+		// the eight is played once the client has chosen its suit
+		if (card.getRank() == Rank.EIGHT) {
+			pendingEight = card;
+			s.send("SUITREQUEST|" + card);
+			return;
+		}
+
+		engine.playCard(card);
+		console(activePlayer.getName(), "playCard", card.toString());
+		announceCardActions(card);
+		endTurn();
+	}
+
+	/**
+	 * Plays the eight a client was choosing a suit for, with the chosen suit.
+	 * @param suitStr - The chosen suit; the printed suit is kept if it is not
+	 * a suit.
+	 *
+	 * @since 23
+	 */
+	private void handleSuitChoice(String suitStr) {
+		Card card = pendingEight;
+		pendingEight = null;
+		Player activePlayer = engine.getActivePlayer();
+
+		engine.playCard(card);
+		Suit suit = Card.getSuitFromStr(suitStr);
+		if (suit != null) {
+			engine.declareSuit(suit);
+		}
+		console(activePlayer.getName(), "playCard", card.toString());
+		announceCardActions(card);
+		endTurn();
+	}
+
+	/**
+	 * Draws a card for a client who has no legal move. Their turn ends if
+	 * their hand is full or nothing is left to draw.
+	 * @param s - The player whose turn it is.
+	 *
+	 * @since 23
+	 */
+	private void handleDraw(LobbyServer.Session s) {
+		Player activePlayer = engine.getActivePlayer();
+		if (activePlayer.hasLegalMove(engine.getLastPlayedCard())) {
+			s.send("CONSOLE||cantDraw| ");
+			return;
+		}
+
+		int handSize = activePlayer.getHandSize();
+		engine.drawCard();
+		if (activePlayer.getHandSize() >= Const.MAX_HAND_SIZE || activePlayer.getHandSize() == handSize) {
+			console(activePlayer.getName(), "passTurn", "");
+			endTurn();
+			return;
+		}
+		console(activePlayer.getName(), "drawCard", "");
+		refresh();
+	}
+
+	/* ------------------------------------------------------------------ */
+	/* ---------------------------- PACKETS ----------------------------- */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Queues a packet to every human player at the table.
+	 * @param packet - The packet, fields separated by '|'.
+	 *
+	 * @since 23
+	 */
+	private void broadcast(String packet) {
+		broadcast(Wire.Packet.ofText(packet));
+	}
+
+	/**
+	 * Queues a packet to every human player at the table, encoded once for
+	 * each protocol spoken.
+	 * @param packet - The packet.
+	 *
+	 * @since 23
+	 */
+	private void broadcast(Wire.Message packet) {
+		for (LobbyServer.Session s : seats) {
+			if (s != null) {
+				s.send(packet);
+			}
+		}
+	}
+
+	/**
+	 * Sends a console message to every human player at the table, in the
+	 * format of GameServer.broadcastConsoleMsg().
+	 * @param optName - The optional name section.
+	 * @param msg - The key of the message.
+	 * @param optCard - The optional card section.
+	 *
+	 * @since 23
+	 */
+	private void console(String optName, String msg, String optCard) {
+		broadcast(new Wire.Packet("CONSOLE", optName, msg, optCard.isEmpty() ? " " : optCard));
+	}
+
+	/**
+	 * Sends each human player at the table what changed in their hand and on
+	 * the table since their last refresh, as GameServer.requestViewRefresh()
+	 * does.
+	 *
+	 * @since 23
+	 */
+	private void refresh() {
+		Vector<Player> players = engine.getPlayers();
+		Card lastPlayedCard = engine.getLastPlayedCard();
+		boolean turnDirection = engine.getTurnOrderDirection();
+		for (int seat = 0; seat < seats.length; seat++) {
+			if (seats[seat] != null) {
+				Wire.Message packet = views[seat].update(players, seat, lastPlayedCard, turnDirection,
+						seats[seat].connection.isVersioned());
+				if (packet != null) {
+					seats[seat].send(packet);
+				}
+			}
+		}
+	}
+
+	/* ------------------------------------------------------------------ */
+	/* ---------------------------- GETTERS ----------------------------- */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Getter for the id of the table.
+	 * @return the id.
+	 *
+	 * @since 23
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Getter for the name of the table.
+	 * @return the name.
+	 *
+	 * @since 23
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Getter for the number of human players the game waits for.
+	 * @return the number of human seats.
+	 *
+	 * @since 23
+	 */
+	public int getHumanSeats() {
+		return humanSeats;
+	}
+
+	/**
+	 * Getter for the number of human players seated.
+	 * @return the number of players seated.
+	 *
+	 * @since 23
+	 */
+	public int getSeated() {
+		return seated;
+	}
+
+	/**
+	 * Returns whether the game at the table has started.
+	 * @return true once the game has started.
+	 *
+	 * @since 23
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+}
@@ -22,8 +22,6 @@ import java.net.UnknownHostException;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.Vector;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -50,14 +48,13 @@ import javax.swing.text.StyledDocument;
 import javax.swing.text.StyledEditorKit;
 import sysobj.Card;
 import sysobj.Player;
-import sysobj.Rank;
 import sysobj.Suit;
 
 /**
  * The View, where all UI elements are generated and drawn.
  * @since 23
  */
-public class GameView extends JFrame {
+public class GameView {
 
 	/* --------------------------------------------------------- */
 	/* ------------------------ FIELDS ------------------------- */
@@ -65,27 +62,18 @@ public class GameView extends JFrame {
 
 	/* ---------- Player Information ---------- */
 
-	/** Panel that holds the cards for the player in the the North zone of the UI */
-	private JPanel playerNorthCards;
+	/** The card table, which paints every hand, the library and the played cards */
+	private CardTable table;
 
 	/** Label for the North player's name */
 	private JLabel playerNorthName;
 
-	/** Panel that holds the cards for the player in the the East zone of the UI */
-	private JPanel playerEastCards;
-
 	/** Label for the East player's name */
 	private JLabel playerEastName;
 
-	/** Panel that holds the cards for the player in the the West zone of the UI */
-	private JPanel playerWestCards;
-
 	/** Label for the West player's name */
 	private JLabel playerWestName;
 
-	/** Panel that holds the cards for the player in the the South zone of the UI */
-	private JPanel playerSouthCards;
-
 	/** Label for the South player's name */
 	private JLabel playerSouthName;
 
@@ -137,21 +125,15 @@ public class GameView extends JFrame {
 	/** Toggles music on or off */
 	private JCheckBoxMenuItem musicToggle;
 
+	/** Checkbox menu item to toggle the hard AI on/off. */
+	private JCheckBoxMenuItem hardAIToggle;
+
 	/** Starts a new game against AI */
 	private JMenuItem mSinglePlayer;
 
 	/** Starts a new game against humans and AI */
 	private JMenuItem mHostGame;
 
-	/** The last played (discarded) card */
-	private JButton playedCards;
-
-	/** The panel containing the button "playedCards". */
-	private JPanel cardsPlayed;
-
-	/** The stack of un-drawn cards */
-	private JButton library;
-
 	/** Chat send button (for sending chat messages) */
 	private JButton chatSend;
 
@@ -163,12 +145,6 @@ public class GameView extends JFrame {
 	 */
 	JFrame gui;
 
-	/**
-	 * SerialVersionID.
-	 * Default: @value 1L
-	 */
-	private static final long serialVersionUID = 1L;
-
 	/** Font used by UI elements */
 	private Font myFont;
 
@@ -228,6 +204,7 @@ public class GameView extends JFrame {
 		packCalls = 0;
 		language = Locale.ENGLISH;
 		translatable = ResourceBundle.getBundle("resources.MessagesBundle", language);
+		SoundEffects.preload();
 	}
 
 	/**
@@ -365,135 +342,7 @@ public class GameView extends JFrame {
 		/* ------------------------- GAME PANEL SECTION ------------------------- */
 		/* ---------------------------------------------------------------------- */
 
-		/* ---------- NORTH PLAYER ---------- */
-
-		/*
-		 * playerNorth holds the cards (playerNorthCards) in its SOUTH border, its name
-		 * (playerNorthName) in the NORTH border, and then within the cards panel,
-		 * FlowLayout is used to add cards to hand. All of this is then added to the
-		 * NORTH section of the main game panel
-		 */
-		JPanel playerNorth = new JPanel();
-		playerNorth.setLayout(new BorderLayout());
-		this.playerNorthCards = new JPanel();
-		playerNorthCards.setLayout(new FlowLayout(FlowLayout.CENTER, 0, 10));
-		playerNorthCards.setBackground(null);
-		playerNorthName = new JLabel("");
-		playerNorthName.setFont(myFont);
-		playerNorthName.setBorder(BorderFactory.createEmptyBorder(10, 0, 0, 0));
-		playerNorthName.setHorizontalAlignment(SwingConstants.CENTER);
-		playerNorth.add(BorderLayout.NORTH, playerNorthName);
-		playerNorth.add(BorderLayout.SOUTH, playerNorthCards);
-		playerNorth.setBackground(Const.BACKGROUND_PINK);
-
-		/* ---------- EAST PLAYER ---------- */
-
-		// Panel to hold Name and Cards
-		JPanel playerEast = new JPanel();
-		playerEast.setBackground(Const.BACKGROUND_PINK);
-		playerEast.setLayout(new GridBagLayout());
-
-		// Label for the name
-		playerEastName = new JLabel("");
-		playerEastName.setFont(myFont);
-		playerEastName.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
-
-		// Panel for cards held
-		playerEastCards = new JPanel(new GridBagLayout());
-
-		// Add elements to the pEast container
-		playerEast.add(playerEastName, myGBC);
-		playerEast.add(playerEastCards, myGBC);
-
-		// Wrapper to hold East Player's elements
-		JPanel pEastWrapper = new JPanel();
-		pEastWrapper.setBackground(Const.BACKGROUND_PINK);
-		pEastWrapper.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
-		pEastWrapper.add(playerEast);
-
-		/* ---------- WEST PLAYER ---------- */
-
-		// Panel to hold Name and Cards
-		JPanel playerWest = new JPanel();
-		playerWest.setBackground(Const.BACKGROUND_PINK);
-		playerWest.setLayout(new GridBagLayout());
-
-		// Label for the name
-		playerWestName = new JLabel("");
-		playerWestName.setFont(myFont);
-		playerWestName.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
-
-		// Panel for cards held
-		playerWestCards = new JPanel(new GridBagLayout());
-
-		// Add elements to the pWest container
-		playerWest.add(playerWestName, myGBC);
-		playerWest.add(playerWestCards, myGBC);
-
-		// Wrapper to hold East Player's elements
-		JPanel pWestWrapper = new JPanel();
-		pWestWrapper.setBackground(Const.BACKGROUND_PINK);
-		pWestWrapper.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
-		pWestWrapper.add(playerWest);
-
-		/* ---------- MAIN PLAYER / SOUTH PLAYER ---------- */
-
-		// Hand for the user interacting with the app (located in the south)
-		JPanel playerSouth = new JPanel(new BorderLayout());
-		playerSouth.setBackground(Const.BACKGROUND_PINK);
-		playerSouthName = new JLabel("");
-		playerSouthName.setFont(myFont);
-		playerSouthName.setHorizontalAlignment(SwingConstants.CENTER);
-		playerSouthCards = new JPanel();
-		playerSouthCards.setLayout(new FlowLayout(FlowLayout.CENTER, 0, 10));
-		playerSouthCards.setBackground(Const.BACKGROUND_PINK);
-		playerSouth.add(BorderLayout.NORTH, playerSouthName);
-		playerSouth.add(BorderLayout.SOUTH, playerSouthCards);
-
-		/* ---------- GAME LOGO ---------- */
-
-		// Icon that sits in the south-to-center of screen
-		ImageIcon gameLogoImg = new ImageIcon("asset/img/logo_sm.png");
-		JLabel gameLogo = new JLabel(gameLogoImg);
-		gameLogo.setVerticalAlignment(SwingConstants.CENTER);
-		gameLogo.setHorizontalAlignment(SwingConstants.CENTER);
-
-		/* ---------- PLAYING AREA ---------- */
-
-		// Library refers to the pile of face-down cards that have yet to be drawn
-		JPanel cardLibrary = new JPanel();
-		cardLibrary.setBackground(Const.BACKGROUND_PINK);
-		library = new JButton(new ImageIcon("asset/card/back.png"));
-		library.setBorder(null);
-		cardLibrary.add(library);
-
-		// Played cards have been played by players and are face-up
-		cardsPlayed = new JPanel();
-		cardsPlayed.setBackground(Const.BACKGROUND_PINK);
-		playedCards = new JButton();
-		playedCards.setBorder(null);
-		cardsPlayed.add(playedCards);
-
-		// Panel to hold the library and the played cards
-		JPanel playingArea = new JPanel();
-		playingArea.setBackground(Const.BACKGROUND_PINK);
-		playingArea.setLayout(new FlowLayout());
-		playingArea.add(cardLibrary);
-		playingArea.add(cardsPlayed);
-
-		// Holds the logo panel plus the combined library + played cards panel
-		JPanel playingAreaAndLogo = new JPanel();
-		playingAreaAndLogo.setLayout(new BorderLayout());
-		playingAreaAndLogo.setBackground(Const.BACKGROUND_PINK);
-		playingAreaAndLogo.add(BorderLayout.SOUTH, gameLogo);
-		playingAreaAndLogo.add(BorderLayout.NORTH, playingArea);
-
-		// Add all gameplay elements to game area
-		gameElements.add(BorderLayout.NORTH, playerNorth);
-		gameElements.add(BorderLayout.EAST, pEastWrapper);
-		gameElements.add(BorderLayout.WEST, pWestWrapper);
-		gameElements.add(BorderLayout.SOUTH, playerSouth);
-		gameElements.add(BorderLayout.CENTER, playingAreaAndLogo);
+		gameElements.add(BorderLayout.CENTER, drawCardTable());
 
 		/* ------------------------------------------------------ */
 		/* -------------------- MENU SECTION -------------------- */
@@ -534,12 +383,15 @@ public class GameView extends JFrame {
 		soundToggle.setSelected(true);
 		musicToggle = new JCheckBoxMenuItem(translatable.getString("music"));
 		musicToggle.setSelected(false);
+		hardAIToggle = new JCheckBoxMenuItem(translatable.getString("hardAI"));
+		hardAIToggle.setSelected(false);
 		mSinglePlayer = new JMenuItem(translatable.getString("singlePlayer"));
 		mHostGame = new JMenuItem(translatable.getString("hostGame"));
 
 		// Add submenu items
 		mOptions.add(soundToggle);
 		mOptions.add(musicToggle);
+		mOptions.add(hardAIToggle);
 		mOptions.add(langSelect);
 		mOptions.add(mRules);
 		langSelect.add(langEng);
@@ -576,6 +428,47 @@ public class GameView extends JFrame {
 
 	}
 
+	/**
+	 * Draws the card table, with the labels of the players' names and the
+	 * game logo it places around the hands. Called by drawMainWindow(); it
+	 * needs no window, so the table can also be drawn alone, as ListenerCheck
+	 * does.
+	 * @return the card table.
+	 *
+	 * @since 23
+	 */
+	public CardTable drawCardTable() {
+
+		/* ---------- PLAYER NAMES ---------- */
+
+		// Labels for each player's name, placed by the card table around its hand
+		playerNorthName = new JLabel("");
+		playerNorthName.setFont(myFont);
+		playerEastName = new JLabel("");
+		playerEastName.setFont(myFont);
+		playerWestName = new JLabel("");
+		playerWestName.setFont(myFont);
+		playerSouthName = new JLabel("");
+		playerSouthName.setFont(myFont);
+
+		/* ---------- GAME LOGO ---------- */
+
+		// Icon that sits in the south-to-center of screen
+		ImageIcon gameLogoImg = new ImageIcon("asset/img/logo_sm.png");
+		JLabel gameLogo = new JLabel(gameLogoImg);
+
+		/* ---------- CARD TABLE ---------- */
+
+		/*
+		 * The card table paints the four hands, the library (the pile of face-down
+		 * cards that have yet to be drawn) and the played cards itself, and finds
+		 * the card under the mouse when one is clicked.
+		 */
+		table = new CardTable(playerNorthName, playerEastName, playerSouthName, playerWestName, gameLogo);
+		table.setBackground(Const.BACKGROUND_PINK);
+		return table;
+	}
+
 	/**
 	 * Draws a splash screen for 3 seconds.
 	 * 
@@ -675,26 +568,20 @@ public class GameView extends JFrame {
 	 */
 	public void displayLastPlayedCard(Card card) {
 		// Display the full card, face-up.
-		ImageIcon playedCardImg = card.fetchCardImg(Const.FULL_CARD, Const.FULL_CARD, Const.FULL_CARD);
-		playedCards.setIcon(playedCardImg);
-		this.revalidate();
-		this.repaint();
+		table.showLastPlayed(card);
 	}
 
 	/**
 	 * Displays all cards in a player's hand. Fetches a player's orientation (as
-	 * this changes how the card is displayed) and clears the panel that holds 
-	 * their cards. Then, the hand is rebuilt. This is called whenever a card is
-	 * removed or added to the hand, as depending on if the card is the last card
-	 * in the hand, it is drawn differently.
+	 * this changes where and how the cards are drawn) and hands the table the
+	 * cards in the hand, which repaints the hand if it changed. This is called
+	 * whenever a card is removed or added to the hand.
 	 * @param p The player who's hand is to be redrawn.
 	 * 
 	 * @since 23
 	 */
 	public void displayCardsInHand(Player p) {
-		int handSize = p.getHandSize();
 		int orientation = p.getOrientation();
-		JPanel handDisplay = null;
 
 		// Defensive programming for future versions of this game. Never reached in current state.
 		if (orientation < 0 || orientation > 3) {
@@ -702,73 +589,8 @@ public class GameView extends JFrame {
 			return;
 		}
 
-		switch (orientation) {
-		case Const.NORTH:
-			handDisplay = playerNorthCards;
-			break;
-		case Const.EAST:
-			handDisplay = playerEastCards;
-			break;
-		case Const.SOUTH:
-			handDisplay = playerSouthCards;
-			break;
-		case Const.WEST:
-			handDisplay = playerWestCards;
-			break;
-		default:
-			System.out.println("Default switch case reached in GameView.displayCardsInHand()");
-		}
-
-		handDisplay.removeAll();
-
-		for (int i = 0; i < handSize; i++) {
-			Card card = p.getHand().get(i);
-
-			if (orientation == Const.SOUTH) {
-				card.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-			} else {
-				card.setBorder(null);
-			}
-
-			boolean isLastCard = (i == handSize - 1);
-
-			// Only South sees their cards
-			boolean isHidden = (orientation != Const.SOUTH); 
-
-			if (orientation == Const.NORTH || orientation == Const.SOUTH) {
-				// FlowLayout (Left-to-right)
-				if (!isLastCard) {
-
-					// Left slice for all but last card
-					card.fetchCardImg(false, true, isHidden);  
-				} else {
-
-					// Full card for last card
-					card.fetchCardImg(false, false, isHidden); 
-				}
-			} else if (orientation == Const.EAST || orientation == Const.WEST) {
-				// GridBagLayout (Top-to-bottom)
-				if (!isLastCard) {
-
-					// Top slice for all but last card
-					card.fetchCardImg(true, false, isHidden);  
-				} else {
-
-					// Full card for last card
-					card.fetchCardImg(false, false, isHidden); 
-				}
-			}
-
-			if (orientation == Const.EAST || orientation == Const.WEST) {
-				handDisplay.add(card, myGBC);
-			} else {
-				handDisplay.add(card);
-			}
-		}
-
-		handDisplay.revalidate();
-		handDisplay.repaint();
-		resizeWindow(handDisplay);
+		// cards are displayed in the hand's iteration order (by suit, then rank)
+		table.showCards(orientation, p.getHand());
 	}
 
 	/**
@@ -779,9 +601,7 @@ public class GameView extends JFrame {
 	 * @param card no description
 	 */
 	public void removeCardFromHand(Card card) {
-		playerSouthCards.remove(card);
-		playerSouthCards.revalidate();
-		playerSouthCards.repaint();
+		table.removeCard(Const.SOUTH, card);
 	}
 
 	/**
@@ -796,41 +616,22 @@ public class GameView extends JFrame {
 
 		if (hand.isEmpty()) {
 			// No cards to display
-			playerSouthCards.removeAll();
-			playerSouthCards.revalidate();
-			playerSouthCards.repaint();
+			table.showCards(Const.SOUTH, new Vector<>());
 			return;
 		}
 
 		String[] handStrArr = hand.split(",");
 		Vector<Card> newHand = new Vector<>();
 
-		playerSouthCards.removeAll();
-
 		// convert the string representatoins of cards to card objects, add to temp hand
 		for (String c : handStrArr) {
 			newHand.add(Card.getCardFromStr(c));
 		}
 
-		// remove border, fetch the image, and add card imgs to the panel for the player
-		for (int i = 0; i < newHand.size()-1; i++) {
-			Card c = newHand.get(i);
-			c.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-			c.fetchCardImg(false, true, false);
-			playerSouthCards.add(c);
-		}
-
-		// last card in hand is displayed as a full card image
-		Card lastCard = newHand.getLast();
-		lastCard.setBorder(null);
-		lastCard.fetchCardImg(false, false, false);
-		playerSouthCards.add(lastCard);
+		table.showCards(Const.SOUTH, newHand);
 
-		// add listeners to the client's hand
+		// make the client's hand clickable
 		listener.onHandRefreshed(newHand);
-		playerSouthCards.revalidate();
-		playerSouthCards.repaint();
-		resizeWindow(playerSouthCards);
 	}
 
 	/**
@@ -842,17 +643,12 @@ public class GameView extends JFrame {
 	 * @param clientId no description
 	 */
 	public void refreshOpponentHands(String opponentCardCount, int clientId) {
-		// Remove existing cards
-		playerEastCards.removeAll();
-		playerNorthCards.removeAll();
-		playerWestCards.removeAll();
-
 		// Handle empty string. highly unlikely
 		if (opponentCardCount.isEmpty()) {
 			System.out.println("refreshOpponentHands() was passed an empty string.");
-			refreshOppHandsHelper(0, Const.EAST, playerEastCards);
-			refreshOppHandsHelper(0, Const.NORTH, playerNorthCards);
-			refreshOppHandsHelper(0, Const.WEST, playerWestCards);
+			table.showHiddenCards(Const.EAST, 0);
+			table.showHiddenCards(Const.NORTH, 0);
+			table.showHiddenCards(Const.WEST, 0);
 			return;
 		}
 
@@ -874,65 +670,20 @@ public class GameView extends JFrame {
 
 		System.out.println("Client ID: " + clientId + ", East: " + oppEast + ", West: " + oppWest + ", North: " + oppNorth);
 
-		refreshOppHandsHelper(oppEast, Const.EAST, playerEastCards);
-		refreshOppHandsHelper(oppNorth, Const.NORTH, playerNorthCards);
-		refreshOppHandsHelper(oppWest, Const.WEST, playerWestCards);
+		// opponents' cards are all hidden, so only how many there are is needed
+		table.showHiddenCards(Const.EAST, oppEast);
+		table.showHiddenCards(Const.NORTH, oppNorth);
+		table.showHiddenCards(Const.WEST, oppWest);
 	}
 
 	/**
-	 * Displays the cards in the opponent's hands. These are all hidden, so the
-	 * only needed information is how many cards to display and in what orientation
-	 * are the cards being displayed.
-	 * 
-	 * 
+	 * Lets cards be clicked to be played. The card table tells the listener
+	 * set with setCardPlayListener() which card was clicked.
+	 * @param cards The cards.
 	 * @since 23
-	 * @param numCards no description
-	 * @param orientation no description
-	 * @param panel no description
 	 */
-	private void refreshOppHandsHelper(int numCards, int orientation, JPanel panel) {
-		for (int i = 0; i < numCards; i++) {
-			Card card = new Card(Rank.TWO, Suit.HEARTS);
-			card.setBorder(null);
-			boolean isLastCard = (i == numCards - 1);
-
-			// Only South sees their cards
-			boolean isHidden = (orientation != Const.SOUTH); 
-
-			if (orientation == Const.NORTH || orientation == Const.SOUTH) {
-				// FlowLayout (Left-to-right)
-				if (!isLastCard) {
-
-					// Left slice for all but last card
-					card.fetchCardImg(false, true, isHidden);  
-				} else {
-
-					// Full card for last card
-					card.fetchCardImg(false, false, isHidden); 
-				}
-			} else if (orientation == Const.EAST || orientation == Const.WEST) {
-				// GridBagLayout (Top-to-bottom)
-				if (!isLastCard) {
-
-					// Top slice for all but last card
-					card.fetchCardImg(true, false, isHidden);  
-				} else {
-
-					// Full card for last card
-					card.fetchCardImg(false, false, isHidden); 
-				}
-			}
-
-			if (orientation == Const.EAST || orientation == Const.WEST) {
-				panel.add(card, myGBC);
-			} else {
-				panel.add(card);
-			}
-		}
-
-		panel.revalidate();
-		panel.repaint();
-		resizeWindow(panel);
+	public void makeCardsClickable(Iterable<Card> cards) {
+		table.makeClickable(cards);
 	}
 
 	/**
@@ -1049,20 +800,13 @@ public class GameView extends JFrame {
 	 * @since 23
 	 */
 	public void refreshView() {
-		playerSouthCards.revalidate();
-		playerSouthCards.repaint();
+		table.repaint();
 		playerSouthName.revalidate();
 		playerSouthName.repaint();
-		playerWestCards.revalidate();
-		playerWestCards.repaint();
 		playerWestName.revalidate();
 		playerWestName.repaint();
-		playerNorthCards.revalidate();
-		playerNorthCards.repaint();
 		playerNorthName.revalidate();
 		playerNorthName.repaint();
-		playerEastCards.revalidate();
-		playerEastCards.repaint();
 		playerEastName.revalidate();
 		playerEastName.repaint();
 	}
@@ -1107,7 +851,7 @@ public class GameView extends JFrame {
 	 * @since 23
 	 */
 	public void resetLastPlayedCard() {
-		playedCards.setIcon(null);
+		table.showLastPlayed(null);
 	}
 
 	/**
@@ -1116,10 +860,7 @@ public class GameView extends JFrame {
 	 * @since 23
 	 */
 	public void resetHands() {
-		playerSouthCards.removeAll();
-		playerWestCards.removeAll();
-		playerNorthCards.removeAll();
-		playerEastCards.removeAll();
+		table.clearHands();
 	}
 
 
@@ -1230,7 +971,7 @@ public class GameView extends JFrame {
 			System.out.println("IO stream interrupted.");
 		}
 
-		JOptionPane.showMessageDialog(this, sb.toString(), translatable.getString("rules"), JOptionPane.INFORMATION_MESSAGE);
+		JOptionPane.showMessageDialog(gui, sb.toString(), translatable.getString("rules"), JOptionPane.INFORMATION_MESSAGE);
 	}
 
 	/**
@@ -1240,7 +981,7 @@ public class GameView extends JFrame {
 	 * @since 23
 	 */
 	public void displayRoundWinner(Player player) {
-		JOptionPane.showMessageDialog(this, player.getName() + " " + translatable.getString("roundWinner") +"!",
+		JOptionPane.showMessageDialog(gui, player.getName() + " " + translatable.getString("roundWinner") +"!",
 				translatable.getString("roundWinnerLabel"), JOptionPane.INFORMATION_MESSAGE);
 	}
 
@@ -1251,7 +992,7 @@ public class GameView extends JFrame {
 	 * @since 23
 	 */
 	public void displayRoundWinner(String playerName) {
-		JOptionPane.showMessageDialog(this, playerName + " " + translatable.getString("roundWinner") +"!",
+		JOptionPane.showMessageDialog(gui, playerName + " " + translatable.getString("roundWinner") +"!",
 				translatable.getString("roundWinnerLabel"), JOptionPane.INFORMATION_MESSAGE);
 	}
 
@@ -1267,7 +1008,7 @@ public class GameView extends JFrame {
 			sb.append(p.getName());
 			sb.append(" ");
 		}
-		JOptionPane.showMessageDialog(this, sb.toString() + translatable.getString("gameWinner") + "!",
+		JOptionPane.showMessageDialog(gui, sb.toString() + translatable.getString("gameWinner") + "!",
 				translatable.getString("gameWinnerLabel"), JOptionPane.INFORMATION_MESSAGE);
 	}
 
@@ -1277,7 +1018,7 @@ public class GameView extends JFrame {
 	 * @param winnerNames no description
 	 */
 	public void displayGameWinners(String winnerNames) {
-		JOptionPane.showMessageDialog(this, winnerNames + translatable.getString("gameWinner") + "!",
+		JOptionPane.showMessageDialog(gui, winnerNames + translatable.getString("gameWinner") + "!",
 				translatable.getString("gameWinnerLabel"), JOptionPane.INFORMATION_MESSAGE);
 	}
 
@@ -1524,6 +1265,7 @@ public class GameView extends JFrame {
 		langFr.setText(translatable.getString("french"));
 		soundToggle.setText(translatable.getString("soundEffects"));
 		musicToggle.setText(translatable.getString("music"));
+		hardAIToggle.setText(translatable.getString("hardAI"));
 		mSinglePlayer.setText(translatable.getString("singlePlayer"));
 		mHostGame.setText(translatable.getString("hostGame"));
 	}
@@ -1590,22 +1332,7 @@ public class GameView extends JFrame {
 	 * @param is8bit plays a bitcrushed version of the sound instead.
 	 */
 	public void soundInvalidMove(boolean is8bit) {
-		String fileName;
-		if (is8bit) {
-			fileName = "crushed_invalidMove.wav";
-		} else {
-			fileName = "invalidMove.wav";
-		}
-
-		File cantPlay = new File("asset/sound/" + fileName);
-
-		try {
-			Clip clip = AudioSystem.getClip();
-			clip.open(AudioSystem.getAudioInputStream(cantPlay));
-			clip.start();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		SoundEffects.play(SoundEffects.Effect.INVALID_MOVE, is8bit);
 	}
 
 	/**
@@ -1616,22 +1343,7 @@ public class GameView extends JFrame {
 	 * @param is8bit plays a bitcrushed version of the sound instead.
 	 */
 	public void soundPassTurn(boolean is8bit) {
-		String fileName;
-		if (is8bit) {
-			fileName = "crushed_powerUp.wav";
-		} else {
-			fileName = "powerUp.wav";
-		}
-
-		File passTurn = new File("asset/sound/" + fileName);
-
-		try {
-			Clip clip = AudioSystem.getClip();
-			clip.open(AudioSystem.getAudioInputStream(passTurn));
-			clip.start();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		SoundEffects.play(SoundEffects.Effect.PASS_TURN, is8bit);
 	}
 
 	/**
@@ -1642,22 +1354,7 @@ public class GameView extends JFrame {
 	 * @param is8bit plays a bitcrushed version of the sound instead.
 	 */
 	public void soundNewRound(boolean is8bit) {
-		String fileName;
-		if (is8bit) {
-			fileName = "crushed_pickupCoin.wav";
-		} else {
-			fileName = "pickupCoin.wav";
-		}
-
-		File newRound = new File("asset/sound/" + fileName);
-
-		try {
-			Clip clip = AudioSystem.getClip();
-			clip.open(AudioSystem.getAudioInputStream(newRound));
-			clip.start();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		SoundEffects.play(SoundEffects.Effect.NEW_ROUND, is8bit);
 	}
 
 	/**
@@ -1668,22 +1365,7 @@ public class GameView extends JFrame {
 	 * @param is8bit plays a bitcrushed version of the sound instead.
 	 */
 	public void soundPlayCard(boolean is8bit) {
-		String fileName;
-		if (is8bit) {
-			fileName = "crushed_playCard.wav";
-		} else {
-			fileName = "playCard.wav";
-		}
-
-		File playCard = new File("asset/sound/" + fileName);
-
-		try {
-			Clip clip = AudioSystem.getClip();
-			clip.open(AudioSystem.getAudioInputStream(playCard));
-			clip.start();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		SoundEffects.play(SoundEffects.Effect.PLAY_CARD, is8bit);
 	}
 
 	/**
@@ -1694,22 +1376,7 @@ public class GameView extends JFrame {
 	 * @param is8bit plays a bitcrushed version of the sound instead.
 	 */
 	public void soundDrawCard(boolean is8bit) {
-		String fileName;
-		if (is8bit) {
-			fileName = "crushed_drawCard.wav";
-		} else {
-			fileName = "drawCard.wav";
-		}
-
-		File drawCard = new File("asset/sound/" + fileName);
-
-		try {
-			Clip clip = AudioSystem.getClip();
-			clip.open(AudioSystem.getAudioInputStream(drawCard));
-			clip.start();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		SoundEffects.play(SoundEffects.Effect.DRAW_CARD, is8bit);
 	}
 
 	/**
@@ -1720,22 +1387,7 @@ public class GameView extends JFrame {
 	 * @param is8bit plays a bitcrushed version of the sound instead.
 	 */
 	public void soundTurnReversed(boolean is8bit) {
-		String fileName;
-		if (is8bit) {
-			fileName = "crushed_powerUp.wav";
-		} else {
-			fileName = "powerUp.wav";
-		}
-
-		File turnReversed = new File("asset/sound/" + fileName);
-
-		try {
-			Clip clip = AudioSystem.getClip();
-			clip.open(AudioSystem.getAudioInputStream(turnReversed));
-			clip.start();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		SoundEffects.play(SoundEffects.Effect.TURN_REVERSED, is8bit);
 	}
 
 	/**
@@ -1746,22 +1398,7 @@ public class GameView extends JFrame {
 	 * @param is8bit plays a bitcrushed version of the sound instead.
 	 */
 	public void soundTurnSkipped(boolean is8bit) {
-		String fileName;
-		if (is8bit) {
-			fileName = "crushed_jump.wav";
-		} else {
-			fileName = "jump.wav";
-		}
-
-		File turnSkipped = new File("asset/sound/" + fileName);
-
-		try {
-			Clip clip = AudioSystem.getClip();
-			clip.open(AudioSystem.getAudioInputStream(turnSkipped));
-			clip.start();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		SoundEffects.play(SoundEffects.Effect.TURN_SKIPPED, is8bit);
 	}
 
 	/**
@@ -1786,6 +1423,17 @@ public class GameView extends JFrame {
 		return musicToggle.isSelected();
 	}
 
+	/**
+	 * Getter for the status of the hard AI tickbox.
+	 * 
+	 * 
+	 * @since 23
+	 * @return true if on, false if off.
+	 */
+	public boolean getHardAIStatus() {
+		return hardAIToggle.isSelected();
+	}
+
 
 	/* ----------------------------------------------------------- */
 	/* -------------------- LISTENERS & OTHER -------------------- */
@@ -1901,6 +1549,16 @@ public class GameView extends JFrame {
 		musicToggle.addActionListener(listener);
 	}
 
+	/**
+	 * Sets the action listener for the hard AI toggle button.
+	 *
+	 * @param listener The action listener to toggle the hard AI on/off.
+	 * @since 23
+	 */
+	public void setHardAIToggleListener(ActionListener listener) {
+		hardAIToggle.addActionListener(listener);
+	}
+
 	/**
 	 * Sets the action listener for drawing a card from the library.
 	 *
@@ -1908,7 +1566,18 @@ public class GameView extends JFrame {
 	 * @since 23
 	 */
 	public void setDrawFromLibraryListener(ActionListener listener) {
-		library.addActionListener(listener);
+		table.setLibraryListener(listener);
+	}
+
+	/**
+	 * Sets the action listener for playing a card. The action command of the
+	 * event is the name of the clicked card.
+	 *
+	 * @param listener The action listener to play a card.
+	 * @since 23
+	 */
+	public void setCardPlayListener(ActionListener listener) {
+		table.setCardPlayListener(listener);
 	}
 
 	/**
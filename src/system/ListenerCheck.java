@@ -0,0 +1,138 @@
+package system;
+
+import java.awt.Dimension;
+import java.awt.event.MouseEvent;
+import java.util.Vector;
+import sysobj.AIPlayer;
+import sysobj.Player;
+
+/**
+ * Checks that the listeners of the card table stay bounded over a long game.
+ * A GameController and its GameView are built without a window, the view
+ * drawing only its card table, and the controller setting its listeners on
+ * it as launchGame() does. Rounds of four AI players are then played on the
+ * rules engine, and after every turn the controller and the view are asked
+ * to do what they do after a turn of a real game: the view shows every hand
+ * and the played card, the controller makes the South hand clickable with
+ * refreshListenersInPlayerHand(), and the view refreshes the South hand as a
+ * client's, from its text, which has the controller make it clickable again
+ * through onHandRefreshed(). The mouse is then moved over the South hand.
+ * Cards are not clicked: the controller would play them into its own model,
+ * which is not the game played here.
+ *
+ * After the first round and every tenth, the number of listeners the table
+ * holds and the time one mouse move takes to dispatch are printed. The check
+ * fails, with exit status 1, if the number of listeners grew.
+ *
+ * Usage: java system.ListenerCheck [rounds]
+ *
+ * It runs headless, from the project directory so the card images load, with
+ * src/ on the class path for the messages of the view.
+ *
+ * @since 23
+ */
+public class ListenerCheck {
+
+	/** The number of seats at the checked table. */
+	private static final int SEATS = 4;
+
+	/** The seed the engine starts from. */
+	private static final long SEED = 23L;
+
+	/**
+	 * So Javadoc doesn't throw a fit
+	 */
+	ListenerCheck(){}
+
+	/**
+	 * Runs the check.
+	 *
+	 * @param args - The number of rounds to play, optional.
+	 * @since 23
+	 */
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		int rounds = Const.LISTENER_CHECK_ROUNDS;
+		try {
+			if (args.length > 0) {
+				rounds = Integer.parseInt(args[0]);
+			}
+		} catch (NumberFormatException e) {
+			System.out.println("Usage: java system.ListenerCheck [rounds]");
+			return;
+		}
+
+		Vector<Player> players = new Vector<>();
+		for (int seat = 0; seat < SEATS; seat++) {
+			AIPlayer p = new AIPlayer("AI " + seat, seat);
+			p.setID(seat);
+			players.add(p);
+		}
+		GameEngine engine = new GameEngine(SEED);
+		engine.setVerbose(false);
+		engine.setPlayers(players);
+		Player south = players.get(Const.SOUTH);
+
+		GameView view = new GameView();
+		CardTable table = view.drawCardTable();
+		GameController controller = new GameController(new GameModel(), view);
+		controller.setCardTableListeners();
+		Dimension size = table.getPreferredSize();
+		table.setSize(size);
+		table.doLayout();
+
+		int first = -1;
+		int last = 0;
+		System.out.printf("%8s %10s %12s %14s%n", "round", "listeners", "mouse moves", "ns per move");
+		for (int round = 1; round <= rounds; round++) {
+			if (engine.isScoreLimitReached()) {
+				for (Player p : players) {
+					p.setScore(0);
+				}
+			}
+			engine.initRound();
+			long moves = 0;
+			long nanos = 0;
+			int turns = 0;
+			while (!engine.isRoundOver() && ++turns <= Const.SIM_MAX_TURNS) {
+				engine.playAITurn((AIPlayer) engine.getActivePlayer());
+				engine.setActivePlayer(engine.getNextPlayer());
+
+				// what the controller and the view do after each turn
+				for (Player p : players) {
+					view.displayCardsInHand(p);
+				}
+				view.displayLastPlayedCard(engine.getLastPlayedCard());
+				controller.refreshListenersInPlayerHand(south);
+				view.refreshClientHand(south.stringifyHand(), controller);
+
+				// sweep the mouse over the South hand
+				int y = size.height - size.height / 10;
+				long start = System.nanoTime();
+				for (int x = 0; x < size.width; x += 5) {
+					table.dispatchEvent(new MouseEvent(table, MouseEvent.MOUSE_MOVED, 0, 0, x, y, 0, false));
+					moves++;
+				}
+				nanos += System.nanoTime() - start;
+			}
+			engine.tallyScores();
+			view.resetHands();
+
+			last = table.getListenerCount();
+			if (first < 0) {
+				first = last;
+			}
+			if (round == 1 || round % 10 == 0 || round == rounds) {
+				System.out.printf("%8d %10d %12d %14d%n", round, last, moves, moves == 0 ? 0 : nanos / moves);
+			}
+		}
+
+		if (last > first) {
+			System.out.println("FAILED: the table held " + first + " listeners after the first round and " + last
+					+ " after the last.");
+			System.exit(1);
+		}
+		System.out.println("OK: the table held " + last + " listeners throughout.");
+		System.exit(0);
+	}
+}
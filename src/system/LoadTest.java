@@ -0,0 +1,202 @@
+package system;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A load test of the lobby: starts a lobby in this process, then adds more
+ * and more bots playing at its tables, in steps of Const.LOAD_RAMP_STEP,
+ * until the target is reached or bots start failing. Each step is a
+ * BotClient run in its own process, so the threads of the bots are never
+ * counted with those of the server, and the tables, their AI turns and their
+ * workers carry the load, not just the event loop.
+ *
+ * After each step, the test prints the bots started, their errors, the moves
+ * answered per second, the worst median and 99th percentile move round trip
+ * of the steps, and the number of platform threads of this process, which
+ * only runs the server. Run it once with platform threads and once with
+ * virtual threads to compare the server; the bot processes always run on
+ * virtual threads, so they are never the bottleneck:
+ *
+ * Usage: java [-Dcrazyeights.threads=virtual] system.LoadTest [bots] [port]
+ *
+ * It runs from the project directory, with the classes on the class path.
+ *
+ * @since 23
+ */
+public class LoadTest {
+
+	/** The bot processes started so far. */
+	private static final ArrayList<Process> steps = new ArrayList<>();
+
+	/** The file each bot process writes its reports to. */
+	private static final ArrayList<File> logs = new ArrayList<>();
+
+	/**
+	 * So Javadoc doesn't throw a fit
+	 */
+	LoadTest(){}
+
+	/**
+	 * Runs the load test.
+	 *
+	 * @param args - The number of bots to reach, and the port of the lobby,
+	 * both optional.
+	 * @since 23
+	 */
+	public static void main(String[] args) {
+		int bots = Const.LOAD_DEFAULT_BOTS;
+		int port = Const.LOBBY_DEFAULT_PORT;
+		try {
+			if (args.length > 0) {
+				bots = Integer.parseInt(args[0]);
+			}
+			if (args.length > 1) {
+				port = Integer.parseInt(args[1]);
+			}
+		} catch (NumberFormatException e) {
+			System.out.println("Usage: java system.LoadTest [bots] [port]");
+			return;
+		}
+
+		LobbyServer lobby;
+		try {
+			lobby = new LobbyServer(port);
+		} catch (IOException e) {
+			System.out.println("Could not open the lobby on port " + port + ": " + e.getMessage());
+			return;
+		}
+		lobby.start();
+		System.out.println("Load testing " + bots + " bots on a lobby on " + Threads.describe() + " threads");
+		System.out.printf("%8s %8s %10s %10s %10s %16s%n", "bots", "errors", "moves/s", "p50 us", "p99 us",
+				"server platform");
+
+		int started = 0;
+		boolean ok = true;
+		try {
+			while (ok && started < bots) {
+				int step = Math.min(Const.LOAD_RAMP_STEP, bots - started);
+				startBots(step, port);
+				started += step;
+				ok = report(started);
+			}
+			if (ok) {
+				// one more step with every bot playing
+				report(started);
+			}
+		} catch (IOException e) {
+			System.out.println("Could not start the bots: " + e.getMessage());
+			ok = false;
+		} finally {
+			for (Process p : steps) {
+				p.destroy();
+			}
+			lobby.shutdown();
+		}
+
+		// the output of failed bots is kept, to find out what went wrong
+		for (File log : logs) {
+			if (ok) {
+				log.delete();
+			} else {
+				System.out.println("Bot output kept in " + log);
+			}
+		}
+	}
+
+	/**
+	 * Starts a process of bots playing at the lobby until they are stopped,
+	 * reporting to a temporary file.
+	 * @param count - The number of bots.
+	 * @param port - The port of the lobby.
+	 * @throws IOException if the process or its file cannot be created.
+	 *
+	 * @since 23
+	 */
+	private static void startBots(int count, int port) throws IOException {
+		File log = File.createTempFile("loadtest-bots-", ".log");
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		ProcessBuilder pb = new ProcessBuilder(java, "-D" + Const.THREADS_PROPERTY + "=virtual", "-cp",
+				System.getProperty("java.class.path"), BotClient.class.getName(), String.valueOf(count),
+				String.valueOf(Const.BOT_DEFAULT_SEATS), String.valueOf(Const.LOAD_BOT_SECONDS), String.valueOf(port), "nolobby");
+		pb.redirectErrorStream(true);
+		pb.redirectOutput(log);
+		steps.add(pb.start());
+		logs.add(log);
+	}
+
+	/**
+	 * Waits one step, then prints what the bot processes reported during it.
+	 * @param bots - The number of bots started.
+	 * @return false if a bot process failed or reported errors.
+	 *
+	 * @since 23
+	 */
+	private static boolean report(int bots) {
+		try {
+			Thread.sleep(Const.LOAD_STEP_MS + Const.LOAD_STEP_MS / 2);
+		} catch (InterruptedException e) {
+			return false;
+		}
+
+		long errors = 0;
+		long moves = 0;
+		long p50 = 0;
+		long p99 = 0;
+		boolean alive = true;
+		for (int i = 0; i < steps.size(); i++) {
+			long[] last = lastReport(logs.get(i));
+			if (last != null) {
+				errors += last[2];
+				moves += last[3];
+				p50 = Math.max(p50, last[4]);
+				p99 = Math.max(p99, last[5]);
+			}
+			if (!steps.get(i).isAlive()) {
+				System.out.println("A bot process stopped.");
+				alive = false;
+			}
+		}
+		System.out.printf("%8d %8d %10d %10d %10d %16d%n", bots, errors, moves, p50, p99,
+				ManagementFactory.getThreadMXBean().getThreadCount());
+		return alive && errors == 0;
+	}
+
+	/**
+	 * Reads the last report line a bot process wrote: the bots connected,
+	 * games, errors, moves per second, p50, p99 and max round trip.
+	 * @param log - The file the process writes to.
+	 * @return the seven numbers, or null if there is no report yet.
+	 *
+	 * @since 23
+	 */
+	private static long[] lastReport(File log) {
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(log.toPath(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return null;
+		}
+		for (int i = lines.size() - 1; i >= 0; i--) {
+			String[] fields = lines.get(i).trim().split("\\s+");
+			if (fields.length != 7) {
+				continue;
+			}
+			try {
+				long[] values = new long[7];
+				for (int f = 0; f < 7; f++) {
+					values[f] = Long.parseLong(fields[f]);
+				}
+				return values;
+			} catch (NumberFormatException e) {
+				// not a report line
+			}
+		}
+		return null;
+	}
+}
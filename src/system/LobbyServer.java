@@ -0,0 +1,565 @@
+package system;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A server hosting many independent tables in one process. Players connect
+ * over the same socket protocol as a hosted game, then list, create and join
+ * tables; once every human seat of a table is taken, its game starts and AI
+ * players fill the remaining seats, as in GameController.startMultiplayerGame().
+ *
+ * Every socket is served by one NetServer event loop, and every table runs its
+ * game on a worker pool shared by all tables, so an idle table costs its
+ * engine state and nothing more. Hard AI players of every table share one
+ * search pool. Tables and delayed AI turns run on virtual threads instead if
+ * they were chosen at startup (see Threads).
+ *
+ * Lobby packets (client to server): LIST, CREATE|seats|name[|HARD], JOIN|table
+ * and LEAVE. Replies: TABLES|id,name,seated,seats,state|..., JOINED|table|seat,
+ * LEFT|table and LOBBYERR|reason. Game packets are routed to the table of the
+ * sender.
+ *
+ * A player seated at a table is issued a session token with their ID. If their
+ * connection drops during the game, their seat is kept for
+ * Const.SESSION_GRACE_MS; a new connection that sends RESUME|seat|token in
+ * that time takes it back, and is sent the game as it stands in one refresh.
+ *
+ * The heartbeat interval and idle timeout of the connections may be set with
+ * the system properties Const.NET_HEARTBEAT_PROPERTY and
+ * Const.NET_IDLE_TIMEOUT_PROPERTY, in milliseconds.
+ *
+ * Usage: java [-Dcrazyeights.threads=virtual] [-Dcrazyeights.heartbeatMs=ms]
+ * [-Dcrazyeights.idleTimeoutMs=ms] system.LobbyServer [port]
+ *
+ * @since 23
+ */
+public class LobbyServer {
+
+	/** The non-blocking server that accepts, reads and writes every socket. */
+	private final NetServer net;
+
+	/** The hosted tables, by id. */
+	private final Map<Integer, GameTable> tables;
+
+	/** The seated players, by session token. */
+	private final Map<String, Session> sessions;
+
+	/** The pool every table runs its game on. */
+	private final ExecutorService workers;
+
+	/** Wakes tables up when their AI players are due to move, or null on virtual threads. */
+	private final ScheduledThreadPoolExecutor timer;
+
+	/** The search every hard AI player of every table uses. */
+	private final MonteCarloSearch search;
+
+	/** The names AI players are picked from. */
+	private final Vector<String> aiNames;
+
+	/** The id of the next table. Only touched by the event loop thread. */
+	private int nextTableId = 1;
+
+	/**
+	 * Opens the lobby on the passed port. No connection is accepted until
+	 * start() is called.
+	 *
+	 * @param port - The port to listen on.
+	 * @throws IOException if the port cannot be bound.
+	 * @since 23
+	 */
+	public LobbyServer(int port) throws IOException {
+		this.tables = new ConcurrentSkipListMap<>();
+		this.sessions = new ConcurrentHashMap<>();
+		this.workers = Threads.newPool("table-worker", Runtime.getRuntime().availableProcessors());
+
+		// with virtual threads, a delayed task sleeps on a thread of its own
+		if (Threads.VIRTUAL) {
+			this.timer = null;
+		} else {
+			this.timer = new ScheduledThreadPoolExecutor(1, r -> {
+				Thread t = new Thread(r, "table-timer");
+				t.setDaemon(true);
+				return t;
+			});
+
+			// most move deadlines are cancelled, and should not pile up
+			timer.setRemoveOnCancelPolicy(true);
+		}
+		this.search = new MonteCarloSearch(Const.MCTS_ITERATIONS, Const.MCTS_TIME_MS);
+		this.aiNames = loadAINames();
+		this.net = new NetServer(port, new LobbyHandler());
+		net.setHeartbeatFromProperties();
+	}
+
+	/**
+	 * Runs a lobby server until the process is killed.
+	 *
+	 * @param args - The port to listen on, optional.
+	 * @since 23
+	 */
+	public static void main(String[] args) {
+		int port = Const.LOBBY_DEFAULT_PORT;
+		try {
+			if (args.length > 0) {
+				port = Integer.parseInt(args[0]);
+			}
+		} catch (NumberFormatException e) {
+			System.out.println("Usage: java system.LobbyServer [port]");
+			return;
+		}
+
+		try {
+			new LobbyServer(port).start();
+			System.out.println("Lobby listening on port " + port + ", on " + Threads.describe() + " threads");
+		} catch (IOException e) {
+			System.out.println("Could not open the lobby on port " + port + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Starts accepting players.
+	 *
+	 * @since 23
+	 */
+	public void start() {
+		net.start();
+	}
+
+	/**
+	 * Closes every connection and stops the lobby.
+	 *
+	 * @since 23
+	 */
+	public void shutdown() {
+		net.shutdown();
+		search.shutdown();
+		if (timer != null) {
+			timer.shutdownNow();
+		}
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Returns the event loop every client is served by.
+	 * @return the event loop.
+	 *
+	 * @since 23
+	 */
+	NetServer getNet() {
+		return net;
+	}
+
+	/**
+	 * Returns the pool tables run their games on.
+	 * @return the worker pool.
+	 *
+	 * @since 23
+	 */
+	ExecutorService getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * Runs a task of a table after a delay, such as the move of an AI player:
+	 * on the timer, or on a virtual thread that sleeps until then.
+	 * @param task - The task.
+	 * @param delayMs - The delay, in milliseconds.
+	 * @return the scheduled task, to cancel it with, or null if the lobby is
+	 * shutting down and the task was dropped.
+	 *
+	 * @since 23
+	 */
+	Future<?> schedule(Runnable task, long delayMs) {
+		try {
+			if (timer != null) {
+				return timer.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+			}
+			return workers.submit(() -> {
+				try {
+					Thread.sleep(delayMs);
+				} catch (InterruptedException e) {
+					// cancelled, or the lobby is shutting down
+					return;
+				}
+				task.run();
+			});
+		} catch (RejectedExecutionException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the search shared by every hard AI player.
+	 * @return the search.
+	 *
+	 * @since 23
+	 */
+	MonteCarloSearch getSearch() {
+		return search;
+	}
+
+	/**
+	 * Returns the names AI players are picked from.
+	 * @return the names, which must not be modified.
+	 *
+	 * @since 23
+	 */
+	Vector<String> getAINames() {
+		return aiNames;
+	}
+
+	/**
+	 * Returns the number of tables hosted.
+	 * @return the number of tables.
+	 *
+	 * @since 23
+	 */
+	public int getTableCount() {
+		return tables.size();
+	}
+
+	/**
+	 * Stops hosting a table. Called by the table once its game is over or its
+	 * last player has left.
+	 * @param table - The table to remove.
+	 *
+	 * @since 23
+	 */
+	void removeTable(GameTable table) {
+		tables.remove(table.getId());
+	}
+
+	/**
+	 * Issues a player a new session token, in place of the one they had, if
+	 * any. Called by their table when they sit down, or resume their session.
+	 * @param s - The player.
+	 * @return the token.
+	 *
+	 * @since 23
+	 */
+	String issueToken(Session s) {
+		revokeToken(s);
+		String token = NetServer.newToken();
+		s.token = token;
+		sessions.put(token, s);
+		return token;
+	}
+
+	/**
+	 * Revokes the session token of a player, who no longer has a seat to get
+	 * back. Called by their table.
+	 * @param s - The player.
+	 *
+	 * @since 23
+	 */
+	void revokeToken(Session s) {
+		String token = s.token;
+		if (token != null) {
+			sessions.remove(token);
+			s.token = null;
+		}
+	}
+
+	/**
+	 * Loads the list of AI names from the .txt, as GameModel.loadAINames() does.
+	 * @return the names, or an empty list if the file cannot be read.
+	 *
+	 * @since 23
+	 */
+	private static Vector<String> loadAINames() {
+		Vector<String> names = new Vector<>();
+		String name;
+		try (BufferedReader reader = new BufferedReader(new FileReader("asset/AINames.txt"))){
+			while ((name = reader.readLine()) != null) {
+				names.add(name);
+			}
+		} catch (FileNotFoundException e) {
+			System.out.println("File not found in LobbyServer.loadAINames().");
+		} catch (IOException e) {
+			System.out.println("IOException encountered");
+		}
+		return names;
+	}
+
+	/**
+	 * Strips the characters the protocol uses as separators from a name.
+	 * @param name - The name sent by a client.
+	 * @return the name, safe to put in a packet.
+	 *
+	 * @since 23
+	 */
+	static String sanitize(String name) {
+		return name.replace("|", "").replace(",", ";").trim();
+	}
+
+	/**
+	 * A player connected to the lobby: their connection, their name, and the
+	 * table they are seated at, if any.
+	 *
+	 * @since 23
+	 */
+	static class Session {
+
+		/** The connection of the player, replaced when they resume their session. */
+		volatile NetServer.Connection connection;
+
+		/** The name of the player. */
+		volatile String name = "Player";
+
+		/**
+		 * The table the player is seated at or joining, or null. Set by the
+		 * event loop thread when joining, cleared by the table when leaving.
+		 */
+		volatile GameTable table;
+
+		/** The seat of the player at their table. */
+		volatile int seat = -1;
+
+		/** The token to resume the session with, while the player has a seat. */
+		volatile String token;
+
+		/**
+		 * Creates the session of a new connection.
+		 * @param connection - The connection of the player.
+		 *
+		 * @since 23
+		 */
+		Session(NetServer.Connection connection) {
+			this.connection = connection;
+		}
+
+		/**
+		 * Queues a packet to the player.
+		 * @param packet - The packet, fields separated by '|'.
+		 *
+		 * @since 23
+		 */
+		void send(String packet) {
+			connection.send(packet);
+		}
+
+		/**
+		 * Queues a packet to the player.
+		 * @param packet - The packet.
+		 *
+		 * @since 23
+		 */
+		void send(Wire.Message packet) {
+			connection.send(packet);
+		}
+	}
+
+	/**
+	 * Handles the events of every connection. Lobby packets are answered on
+	 * the event loop thread; game packets are handed to the sender's table.
+	 *
+	 * @since 23
+	 */
+	private class LobbyHandler implements NetServer.Handler {
+
+		/**
+		 * Default Constructor
+		 * @since 23
+		 */
+		LobbyHandler() {}
+
+		@Override
+		public void onConnected(NetServer.Connection c) {
+			c.attach(new Session(c));
+			c.send("CHAT|Welcome to the lobby. Commands: /tables, /create <seats> [name], /join <table>, /leave");
+		}
+
+		@Override
+		public void onMessage(NetServer.Connection c, String[] packet) {
+			Session s = (Session) c.attachment();
+
+			switch (packet[0]) {
+			// the answer to the ID packet a table sends when a player sits down
+			case "PROTO":
+				c.negotiate(packet);
+				break;
+
+			case "NAME":
+				if (packet.length > 1 && !sanitize(packet[1]).isEmpty()) {
+					s.name = sanitize(packet[1]);
+				}
+				break;
+
+			case "LIST":
+				s.send(listTables());
+				break;
+
+			case "CREATE":
+				createTable(s, packet);
+				break;
+
+			case "JOIN":
+				joinTable(s, packet);
+				break;
+
+			case "RESUME":
+				resumeSession(c, s, packet);
+				break;
+
+			case "LEAVE":
+				GameTable current = s.table;
+				if (current == null) {
+					s.send("LOBBYERR|You are not seated at a table.");
+				} else {
+					current.post(() -> current.leave(s));
+				}
+				break;
+
+				// everything else is part of a game, and goes to the player's table
+			default:
+				GameTable table = s.table;
+				if (table != null) {
+					table.post(() -> table.onPacket(s, packet));
+				} else {
+					System.out.println("Lobby received a " + packet[0] + " packet from a player without a table.");
+				}
+				break;
+			}
+		}
+
+		@Override
+		public void onDisconnected(NetServer.Connection c) {
+			Session s = (Session) c.attachment();
+			GameTable table = s.table;
+
+			// a session resumed on a new connection has lost nothing
+			if (table != null && s.connection == c) {
+				table.post(() -> table.connectionLost(s, c));
+			}
+		}
+
+		/**
+		 * Hands a player who reconnected with RESUME|seat|token the session
+		 * the token was issued for, in place of the fresh one of their new
+		 * connection, and gives them their seat back. The old connection is
+		 * closed, if it had not noticed it was dead.
+		 * @param c - The new connection.
+		 * @param fresh - The session of the new connection.
+		 * @param packet - The packet.
+		 *
+		 * @since 23
+		 */
+		private void resumeSession(NetServer.Connection c, Session fresh, String[] packet) {
+			Session s = packet.length > 2 ? sessions.get(packet[2]) : null;
+			GameTable table = s == null ? null : s.table;
+			if (table == null || fresh.table != null) {
+				fresh.send("LOBBYERR|Your seat is gone.");
+				return;
+			}
+
+			// the token is only good once, so a second RESUME with it is turned away
+			revokeToken(s);
+			NetServer.Connection lost = s.connection;
+			s.connection = c;
+			c.attach(s);
+			if (lost != c) {
+				lost.close();
+			}
+			table.post(() -> table.resume(s));
+		}
+
+		/**
+		 * Lists every table, its seats and whether its game has started.
+		 * @return the TABLES packet.
+		 *
+		 * @since 23
+		 */
+		private String listTables() {
+			StringBuilder sb = new StringBuilder("TABLES");
+			for (GameTable t : tables.values()) {
+				sb.append('|').append(t.getId()).append(',').append(t.getName())
+				.append(',').append(t.getSeated()).append(',').append(t.getHumanSeats())
+				.append(',').append(t.isRunning() ? "PLAYING" : "OPEN");
+			}
+			return sb.toString();
+		}
+
+		/**
+		 * Creates a table from a CREATE|seats|name[|HARD] packet and seats its
+		 * creator.
+		 * @param s - The creator.
+		 * @param packet - The packet.
+		 *
+		 * @since 23
+		 */
+		private void createTable(Session s, String[] packet) {
+			if (s.table != null) {
+				s.send("LOBBYERR|You are already seated at a table.");
+				return;
+			}
+			if (tables.size() >= Const.LOBBY_MAX_TABLES) {
+				s.send("LOBBYERR|The lobby is full.");
+				return;
+			}
+
+			int seats;
+			try {
+				seats = Integer.parseInt(packet[1]);
+			} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+				seats = -1;
+			}
+			if (seats < 1 || seats > Const.TABLE_SEATS) {
+				s.send("LOBBYERR|A table has 1 to " + Const.TABLE_SEATS + " human seats.");
+				return;
+			}
+
+			String name = packet.length > 2 ? sanitize(packet[2]) : "";
+			if (name.isEmpty()) {
+				name = s.name + "'s table";
+			}
+			int difficulty = packet.length > 3 && packet[3].equals("HARD") ? Const.AI_HARD : Const.AI_EASY;
+
+			GameTable table = new GameTable(nextTableId++, name, seats, difficulty, LobbyServer.this);
+			tables.put(table.getId(), table);
+			s.table = table;
+			table.post(() -> table.join(s));
+		}
+
+		/**
+		 * Seats a player at the table named by a JOIN|table packet.
+		 * @param s - The player.
+		 * @param packet - The packet.
+		 *
+		 * @since 23
+		 */
+		private void joinTable(Session s, String[] packet) {
+			if (s.table != null) {
+				s.send("LOBBYERR|You are already seated at a table.");
+				return;
+			}
+
+			GameTable table = null;
+			try {
+				table = tables.get(Integer.parseInt(packet[1]));
+			} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+				// reported below
+			}
+			if (table == null) {
+				s.send("LOBBYERR|No such table.");
+				return;
+			}
+
+			GameTable joined = table;
+			s.table = joined;
+			joined.post(() -> joined.join(s));
+		}
+	}
+
+}
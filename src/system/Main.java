@@ -25,12 +25,24 @@ public class Main {
 	/**
 	 * Creates the controller, which is made of a model and a view.
 	 * 
-	 * @param args - An array of strings passed as arguments
+	 * @param args - An array of strings passed as arguments. If the first
+	 * argument is a number, it is used as the seed of the game, so a recorded
+	 * game can be replayed.
 	 * @since 23
 	 */
 	public static void main(String[] args) {
 		
-		GameModel model = new GameModel();
+		GameModel model;
+		if (args.length > 0) {
+			try {
+				model = new GameModel(Long.parseLong(args[0]));
+			} catch (NumberFormatException e) {
+				System.out.println("Seed must be a number, ignoring " + args[0]);
+				model = new GameModel();
+			}
+		} else {
+			model = new GameModel();
+		}
 		GameView view = new GameView();
 		GameController game = new GameController(model, view);
 		game.launchGame();
@@ -0,0 +1,575 @@
+package system;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import sysobj.AIPlayer;
+import sysobj.Card;
+import sysobj.Player;
+import sysobj.Suit;
+
+/**
+ * The move search of the hard AI: information-set Monte Carlo tree search.
+ *
+ * The AI cannot see the other players' hands or the order of the library, so
+ * every iteration starts from a determinization of the game: the hidden cards
+ * are dealt again at random, consistent with what the AI has seen (see
+ * GameEngine.determinize()). The iteration then walks one shared tree of moves
+ * for every player, expanding one new move, plays the round out at random and
+ * scores it for every seat. Moves that are not possible in a determinization
+ * are skipped for that iteration, and each move is weighed by how often it
+ * was available rather than by how often its parent was visited.
+ *
+ * Moves are played on a copy of the engine, so aces, twos, fours, queens and
+ * eights have the same effect in the search as at the table. A move is a card
+ * id and, for eights, the suit declared, packed as id * 4 + suit.
+ *
+ * searchAsync() runs the search root-parallel: each worker of a pool searches
+ * its own tree from its own determinizations, and the trees are merged by the
+ * visit counts of the moves at their roots. The game is copied before the
+ * workers start, so they never read the live engine.
+ *
+ * @since 23
+ */
+public class MonteCarloSearch {
+
+	/** Returned by search() when the player has no legal move. */
+	public static final int NO_MOVE = -1;
+
+	/** The ordinal of Rank.EIGHT. */
+	private static final int EIGHT = 7;
+
+	/** The number of suits an eight may be declared as. */
+	private static final int NUM_SUITS = 4;
+
+	/** Every suit, indexed by ordinal. */
+	private static final Suit[] SUITS = Suit.values();
+
+	/** The most search iterations per move, 0 for no limit. */
+	private final int maxIterations;
+
+	/** The most time per move in milliseconds, 0 for no limit. */
+	private final long maxMillis;
+
+	/** The number of workers of a parallel search. */
+	private final int numWorkers;
+
+	/** The worker pool of the parallel search, created on first use. */
+	private ExecutorService pool;
+
+	/** The stop flags of the parallel searches still running. */
+	private final Set<AtomicBoolean> running = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Creates a search with the passed budget per move, with one parallel
+	 * worker per core.
+	 * @param maxIterations - The most iterations per move, 0 for no limit.
+	 * @param maxMillis - The most time per move in milliseconds, 0 for no limit.
+	 *
+	 * @since 23
+	 */
+	public MonteCarloSearch(int maxIterations, long maxMillis) {
+		this(maxIterations, maxMillis, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a search with the passed budget per move. The search stops at
+	 * whichever limit comes first; at least one must be set. In a parallel
+	 * search, each worker gets the whole budget.
+	 * @param maxIterations - The most iterations per move, 0 for no limit.
+	 * @param maxMillis - The most time per move in milliseconds, 0 for no limit.
+	 * @param numWorkers - The number of workers of a parallel search.
+	 *
+	 * @since 23
+	 */
+	public MonteCarloSearch(int maxIterations, long maxMillis, int numWorkers) {
+		if (maxIterations <= 0 && maxMillis <= 0) {
+			throw new IllegalArgumentException("MonteCarloSearch needs an iteration or a time limit.");
+		}
+		if (numWorkers < 1) {
+			throw new IllegalArgumentException("MonteCarloSearch needs at least one worker.");
+		}
+		this.maxIterations = maxIterations;
+		this.maxMillis = maxMillis;
+		this.numWorkers = numWorkers;
+	}
+
+	/**
+	 * Extracts the card id from a move.
+	 * @param move - The move.
+	 * @return the id of the card played.
+	 *
+	 * @since 23
+	 */
+	public static int cardOf(int move) {
+		return move / NUM_SUITS;
+	}
+
+	/**
+	 * Extracts the declared suit from a move. Only meaningful for eights.
+	 * @param move - The move.
+	 * @return the ordinal of the declared suit.
+	 *
+	 * @since 23
+	 */
+	public static int suitOf(int move) {
+		return move % NUM_SUITS;
+	}
+
+	/**
+	 * Searches for the best move of an AI player whose turn it is. The random
+	 * source of the engine is used, so with an iteration budget and no time
+	 * budget, a seeded game stays reproducible.
+	 * @param engine - The engine of the game, left unchanged.
+	 * @param p - The AI player whose turn it is.
+	 * @return the chosen move, or NO_MOVE if the player has no legal move.
+	 *
+	 * @since 23
+	 */
+	public int search(GameEngine engine, AIPlayer p) {
+		return search(engine, p, engine.split(), null).bestMove();
+	}
+
+	/**
+	 * Searches for the best move of an AI player on the worker pool, without
+	 * blocking the caller. Each worker searches from its own copy of the game,
+	 * made before this method returns, so the engine may change while the
+	 * search runs. The future completes on a worker thread.
+	 * @param engine - The engine of the game, left unchanged.
+	 * @param p - The AI player whose turn it is.
+	 * @return the chosen move, or NO_MOVE if the player has no legal move.
+	 *
+	 * @since 23
+	 */
+	public CompletableFuture<Integer> searchAsync(GameEngine engine, AIPlayer p) {
+		SplittableRandom rng = engine.split();
+		AtomicBoolean stop = new AtomicBoolean();
+		running.add(stop);
+
+		ArrayList<CompletableFuture<Node>> parts = new ArrayList<>();
+		for (int w = 0; w < numWorkers; w++) {
+			// Copy the game as seen by the player; the hidden cards are dealt
+			// again by every iteration anyway
+			GameEngine snapshot = new GameEngine(rng.nextLong());
+			snapshot.setVerbose(false);
+			engine.determinize(snapshot, p, rng);
+			Player seat = snapshot.getPlayers().get(engine.getTurn());
+			SplittableRandom workerRng = rng.split();
+			parts.add(CompletableFuture.supplyAsync(() -> search(snapshot, seat, workerRng, stop), getPool()));
+		}
+
+		return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0])).handle((v, ex) -> {
+			running.remove(stop);
+			if (ex != null) {
+				System.out.println("MonteCarloSearch worker failed: " + ex);
+				return NO_MOVE;
+			}
+			return merge(parts);
+		});
+	}
+
+	/**
+	 * Stops every parallel search still running. Their futures still complete,
+	 * with the best move found so far.
+	 *
+	 * @since 23
+	 */
+	public void cancel() {
+		for (AtomicBoolean stop : running) {
+			stop.set(true);
+		}
+	}
+
+	/**
+	 * Stops every parallel search and the worker pool. A later parallel search
+	 * starts a new pool.
+	 *
+	 * @since 23
+	 */
+	public synchronized void shutdown() {
+		cancel();
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Getter for the worker pool, created on first use. The workers are daemon
+	 * threads, so they never keep the program running.
+	 * @return the pool.
+	 *
+	 * @since 23
+	 */
+	private synchronized ExecutorService getPool() {
+		if (pool == null) {
+			pool = Executors.newFixedThreadPool(numWorkers, r -> {
+				Thread t = new Thread(r, "ai-search");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		return pool;
+	}
+
+	/**
+	 * Merges the trees of a parallel search by adding up the visits of each
+	 * move at their roots.
+	 * @param parts - The finished searches.
+	 * @return the most visited move, or NO_MOVE if there are none.
+	 *
+	 * @since 23
+	 */
+	private static int merge(ArrayList<CompletableFuture<Node>> parts) {
+		Node merged = new Node(NO_MOVE, -1, null);
+		for (CompletableFuture<Node> part : parts) {
+			for (Node child : part.join().children) {
+				Node total = merged.childFor(child.move);
+				if (total == null) {
+					total = merged.addChild(child.move, child.seat);
+				}
+				total.visits += child.visits;
+			}
+		}
+		return merged.bestMove();
+	}
+
+	/**
+	 * Runs the search and returns the root of its tree.
+	 * @param engine - The engine of the game, left unchanged.
+	 * @param p - The AI player whose turn it is.
+	 * @param rng - The random source of this search.
+	 * @param stop - Ends the search early once set. May be null.
+	 * @return the root of the search tree.
+	 *
+	 * @since 23
+	 */
+	private Node search(GameEngine engine, Player p, SplittableRandom rng, AtomicBoolean stop) {
+		Node root = new Node(NO_MOVE, -1, null);
+		long legal = p.getHand().legalMoves(engine.getTopCardId());
+		if (legal == 0L) {
+			return root;
+		}
+		int[] moves = new int[Const.MAX_HAND_SIZE * NUM_SUITS];
+		if (listMoves(legal, moves) == 1) {
+			root.addChild(moves[0], engine.getTurn()).visits = 1;
+			return root;
+		}
+
+		GameEngine copy = new GameEngine(rng.nextLong());
+		copy.setVerbose(false);
+		double[] rewards = new double[engine.getPlayers().size()];
+		int[] startScores = new int[rewards.length];
+		long deadline = maxMillis > 0 ? System.nanoTime() + maxMillis * 1_000_000L : Long.MAX_VALUE;
+
+		for (int i = 0; maxIterations <= 0 || i < maxIterations; i++) {
+			if (System.nanoTime() >= deadline || (stop != null && stop.get())) {
+				break;
+			}
+			engine.determinize(copy, p, rng);
+			for (int seat = 0; seat < startScores.length; seat++) {
+				startScores[seat] = copy.getPlayers().get(seat).getScore();
+			}
+			Node node = select(root, copy, rng, moves);
+			// a player who went out is left as the active player (see play())
+			if (!copy.getActivePlayer().getHand().isEmpty()) {
+				rollout(copy, rng, moves);
+			}
+			score(copy, startScores, rewards);
+			for (; node != null; node = node.parent) {
+				node.visits++;
+				if (node.seat >= 0) {
+					node.reward += rewards[node.seat];
+				}
+			}
+		}
+		return root;
+	}
+
+	/**
+	 * Walks down the tree from the root, playing each move on the copy, until
+	 * a move that was never tried is expanded or the round ends.
+	 * @param root - The root of the tree.
+	 * @param copy - The determinized game, played on as the tree is walked.
+	 * @param rng - The random source of the search.
+	 * @param moves - Scratch space for the moves of each turn.
+	 * @return the last node reached.
+	 *
+	 * @since 23
+	 */
+	private Node select(Node root, GameEngine copy, SplittableRandom rng, int[] moves) {
+		Node node = root;
+		while (true) {
+			long legal = resolveTurn(copy);
+			if (legal == 0L) {
+				return node;
+			}
+			int numMoves = listMoves(legal, moves);
+			int seat = copy.getTurn();
+
+			// Every child possible in this determinization was available once more
+			int numUntried = numMoves;
+			for (Node child : node.children) {
+				if (contains(moves, numMoves, child.move)) {
+					child.available++;
+					numUntried--;
+				}
+			}
+
+			if (numUntried > 0) {
+				int pick = rng.nextInt(numUntried);
+				for (int i = 0; i < numMoves; i++) {
+					if (node.childFor(moves[i]) == null && pick-- == 0) {
+						Node child = node.addChild(moves[i], seat);
+						child.available = 1;
+						play(copy, moves[i]);
+						return child;
+					}
+				}
+			}
+
+			Node best = null;
+			double bestValue = Double.NEGATIVE_INFINITY;
+			for (Node child : node.children) {
+				if (contains(moves, numMoves, child.move)) {
+					double value = child.reward / child.visits
+							+ Const.MCTS_EXPLORATION * Math.sqrt(Math.log(child.available) / child.visits);
+					if (value > bestValue) {
+						bestValue = value;
+						best = child;
+					}
+				}
+			}
+			node = best;
+			if (play(copy, best.move)) {
+				return node;
+			}
+		}
+	}
+
+	/**
+	 * Plays the rest of the round with random legal moves.
+	 * @param copy - The determinized game.
+	 * @param rng - The random source of the search.
+	 * @param moves - Scratch space for the moves of each turn.
+	 *
+	 * @since 23
+	 */
+	private void rollout(GameEngine copy, SplittableRandom rng, int[] moves) {
+		for (int turn = 0; turn < Const.MCTS_ROLLOUT_TURNS; turn++) {
+			long legal = resolveTurn(copy);
+			if (legal == 0L) {
+				return;
+			}
+			int numMoves = listMoves(legal, moves);
+			if (play(copy, moves[rng.nextInt(numMoves)])) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Scores the round as it stands for every seat. A seat's reward is 1 for
+	 * going out, falling towards 0 with the points it took this round (cards
+	 * left in hand plus penalty points).
+	 * @param copy - The determinized game, at the end of its play-out.
+	 * @param startScores - The score of each seat before the play-out.
+	 * @param rewards - Receives the reward of each seat, from 0 to 1.
+	 *
+	 * @since 23
+	 */
+	private static void score(GameEngine copy, int[] startScores, double[] rewards) {
+		double worst = 2.0 * Const.MAX_HAND_SIZE;
+		for (int seat = 0; seat < rewards.length; seat++) {
+			Player p = copy.getPlayers().get(seat);
+			int points = p.getScore() - startScores[seat] + p.getHandSize();
+			rewards[seat] = 1.0 - Math.min(points, worst) / worst;
+		}
+	}
+
+	/**
+	 * Plays the turns in which the player to move has no choice: if they have
+	 * no legal move, they draw until they do, or pass if they cannot. Only a
+	 * play can end a round, so the round is not checked here (see play()).
+	 * @param copy - The determinized game.
+	 * @return the legal moves of the player to move, as a card mask, or 0 if
+	 * nobody can move.
+	 *
+	 * @since 23
+	 */
+	private static long resolveTurn(GameEngine copy) {
+		int numPlayers = copy.getPlayers().size();
+		for (int passes = 0; passes < numPlayers; passes++) {
+			Player active = copy.getActivePlayer();
+			long legal = active.getHand().legalMoves(copy.getTopCardId());
+			while (legal == 0L && active.getHandSize() < Const.MAX_HAND_SIZE) {
+				int handSize = active.getHandSize();
+				copy.drawCard();
+				if (active.getHandSize() == handSize) {
+					break;
+				}
+				legal = active.getHand().legalMoves(copy.getTopCardId());
+			}
+			if (legal != 0L) {
+				return legal;
+			}
+			copy.setActivePlayer(copy.getNextPlayer());
+		}
+		return 0L;
+	}
+
+	/**
+	 * Plays a move on the copy and passes the turn.
+	 * @param copy - The determinized game.
+	 * @param move - The move to play.
+	 * @return true if the player went out, which ends the round. The turn is
+	 * not passed in that case.
+	 *
+	 * @since 23
+	 */
+	private static boolean play(GameEngine copy, int move) {
+		Player mover = copy.getActivePlayer();
+		int cardId = cardOf(move);
+		copy.playCard(Card.of(cardId));
+		if (mover.getHand().isEmpty()) {
+			return true;
+		}
+		if (Card.rankOf(cardId) == EIGHT) {
+			copy.declareSuit(SUITS[suitOf(move)]);
+		}
+		copy.setActivePlayer(copy.getNextPlayer());
+		return false;
+	}
+
+	/**
+	 * Lists the moves for a mask of legal cards: one per card, or one per suit
+	 * for eights.
+	 * @param legal - The mask of legal cards.
+	 * @param moves - Receives the moves.
+	 * @return the number of moves.
+	 *
+	 * @since 23
+	 */
+	private static int listMoves(long legal, int[] moves) {
+		int n = 0;
+		for (long rest = legal; rest != 0L; rest &= rest - 1) {
+			int id = Long.numberOfTrailingZeros(rest);
+			if (Card.rankOf(id) == EIGHT) {
+				for (int suit = 0; suit < NUM_SUITS; suit++) {
+					moves[n++] = id * NUM_SUITS + suit;
+				}
+			} else {
+				moves[n++] = id * NUM_SUITS;
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * Checks if a move is among the first n moves of a list.
+	 * @param moves - The list of moves.
+	 * @param n - The number of moves in the list.
+	 * @param move - The move to look for.
+	 * @return true if the move is in the list.
+	 *
+	 * @since 23
+	 */
+	private static boolean contains(int[] moves, int n, int move) {
+		for (int i = 0; i < n; i++) {
+			if (moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * A move in the search tree, with the statistics gathered for it.
+	 *
+	 * @since 23
+	 */
+	static class Node {
+
+		/** The move leading to this node, or NO_MOVE for the root. */
+		final int move;
+
+		/** The seat of the player who made the move, or -1 for the root. */
+		final int seat;
+
+		/** The node this move was made from. */
+		final Node parent;
+
+		/** The moves tried from this node. */
+		final ArrayList<Node> children = new ArrayList<>();
+
+		/** The number of iterations that went through this node. */
+		int visits;
+
+		/** The number of iterations in which this move was possible. */
+		int available;
+
+		/** The sum of the rewards of the player who made the move. */
+		double reward;
+
+		/**
+		 * Creates a node.
+		 * @param move - The move leading to the node.
+		 * @param seat - The seat of the player who made the move.
+		 * @param parent - The node the move was made from.
+		 */
+		Node(int move, int seat, Node parent) {
+			this.move = move;
+			this.seat = seat;
+			this.parent = parent;
+		}
+
+		/**
+		 * Adds a child for a move never tried from this node.
+		 * @param m - The move.
+		 * @param s - The seat of the player making it.
+		 * @return the new child.
+		 */
+		Node addChild(int m, int s) {
+			Node child = new Node(m, s, this);
+			children.add(child);
+			return child;
+		}
+
+		/**
+		 * Finds the child for a move.
+		 * @param m - The move.
+		 * @return the child, or null if the move was never tried.
+		 */
+		Node childFor(int m) {
+			for (Node child : children) {
+				if (child.move == m) {
+					return child;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * The move of the most visited child, which is the move the search
+		 * recommends.
+		 * @return the best move, or NO_MOVE if there are no children.
+		 */
+		int bestMove() {
+			int best = NO_MOVE;
+			int mostVisits = -1;
+			for (Node child : children) {
+				if (child.visits > mostVisits) {
+					mostVisits = child.visits;
+					best = child.move;
+				}
+			}
+			return best;
+		}
+	}
+
+}
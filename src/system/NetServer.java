@@ -0,0 +1,974 @@
+package system;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The non-blocking core of the server. A single event loop thread accepts
+ * connections, reads from and writes to every socket through one Selector, so
+ * the number of connections served is not tied to the number of threads.
+ *
+ * Each connection has its own read buffer, from which messages are decoded as
+ * newline terminated UTF-8 lines, or as binary frames once the client has
+ * agreed to speak them (see Wire), and its own queue of outgoing messages.
+ * Messages may be sent from any thread: they are encoded for the connection,
+ * queued, and the event loop is woken up to write them. Decoded messages are
+ * handed to the Handler on the event loop thread, split into their fields.
+ *
+ * The queue of a connection is bounded, so a slow or dead client never holds
+ * up the others or the game. A full view snapshot replaces the view updates
+ * queued before it. Past Const.NET_QUEUE_SOFT_LIMIT bytes, the client is
+ * behind: view updates are dropped for it, and once its queue is written it
+ * is handed to the Handler as if it had sent RESYNC, so it gets a full
+ * refresh. Past Const.NET_QUEUE_HARD_LIMIT bytes, it is disconnected.
+ *
+ * A thread that sends several messages for one game action can put them in a
+ * batch, between beginBatch() and endBatch(): the event loop is only woken up
+ * once the batch ends, so each client gets the whole action in one write. A
+ * message that is only worth sending once per action, such as a view
+ * refresh, can be deferred within the batch: a deferred task replaces the one
+ * deferred before it, and runs when the batch ends, or earlier if the thread
+ * asks, so it keeps its place before the messages sent after it.
+ *
+ * The event loop also watches for clients that vanished without closing their
+ * socket. A client silent for the heartbeat interval is sent PING, which it
+ * answers with PONG; a client silent for the idle timeout is disconnected,
+ * and the handler is told as for any other disconnect. PING and PONG never
+ * reach the handler. Both times are Const.NET_HEARTBEAT_MS and
+ * Const.NET_IDLE_TIMEOUT_MS unless the owner sets them with setHeartbeat();
+ * the game and lobby servers read them from the system properties
+ * Const.NET_HEARTBEAT_PROPERTY and Const.NET_IDLE_TIMEOUT_PROPERTY.
+ *
+ * A connection can be made low priority, such as that of a spectator, who
+ * must never hold up the players. Its messages are only written once every
+ * other connection's are, Const.NET_LOW_PRIORITY_WRITES connections at a
+ * time, so a message to the players is written after at most that many.
+ *
+ * @since 23
+ */
+public class NetServer {
+
+	/** The heartbeat sent to a silent client. */
+	private static final Wire.Message PING = new Wire.Packet("PING");
+
+	/** The answer to a client's heartbeat. */
+	private static final Wire.Message PONG = new Wire.Packet("PONG");
+
+	/** Where session tokens come from. */
+	private static final SecureRandom TOKENS = new SecureRandom();
+
+	/**
+	 * Receives the events of the connections of a NetServer. Every method is
+	 * called on the event loop thread, so it must not block.
+	 *
+	 * @since 23
+	 */
+	public interface Handler {
+
+		/**
+		 * Called when a new connection has been accepted.
+		 * @param c - The new connection.
+		 */
+		void onConnected(Connection c);
+
+		/**
+		 * Called for each message decoded from a connection.
+		 * @param c - The connection the message was read from.
+		 * @param packet - The fields of the message, type first.
+		 */
+		void onMessage(Connection c, String[] packet);
+
+		/**
+		 * Called once a connection has been closed, by either side.
+		 * @param c - The closed connection.
+		 */
+		void onDisconnected(Connection c);
+	}
+
+	/** The socket that listens for incoming connections. */
+	private final ServerSocketChannel serverChannel;
+
+	/** The selector every socket is registered with. */
+	private final Selector selector;
+
+	/** Receives the events of each connection. */
+	private final Handler handler;
+
+	/** The open connections. Only touched by the event loop thread. */
+	private final ArrayList<Connection> connections;
+
+	/** Connections with messages queued or a close requested since the last select. */
+	private final ConcurrentLinkedQueue<Connection> pending;
+
+	/** The same, for low priority connections. */
+	private final ConcurrentLinkedQueue<Connection> lowPending;
+
+	/** The messages of one gathering write. Only touched by the event loop thread. */
+	private final ByteBuffer[] batch;
+
+	/** The batch open on each thread, if any. */
+	private final ThreadLocal<Batch> batches;
+
+	/** When the event loop last looked for idle clients, in nanoseconds. */
+	private long lastIdleCheck;
+
+	/** The event loop thread. */
+	private Thread loopThread;
+
+	/** Whether the event loop should keep running. */
+	private volatile boolean running;
+
+	/** Whether the event loop should stop once every connection is closed. */
+	private volatile boolean draining;
+
+	/** The time a client may be silent before it is sent PING, in milliseconds, or 0 for never. */
+	private volatile long heartbeatMs;
+
+	/** The time a client may be silent before it is disconnected, in milliseconds. */
+	private volatile long idleTimeoutMs;
+
+	/**
+	 * Opens the listening socket on the passed port. No connection is accepted
+	 * until start() is called.
+	 *
+	 * @param port - The port to listen on.
+	 * @param handler - Receives the events of each connection.
+	 * @throws IOException if the port cannot be bound.
+	 * @since 23
+	 */
+	public NetServer(int port, Handler handler) throws IOException {
+		this.handler = handler;
+		this.connections = new ArrayList<>();
+		this.pending = new ConcurrentLinkedQueue<>();
+		this.lowPending = new ConcurrentLinkedQueue<>();
+		this.batch = new ByteBuffer[Const.NET_WRITE_BATCH];
+		this.batches = new ThreadLocal<>();
+		this.heartbeatMs = Const.NET_HEARTBEAT_MS;
+		this.idleTimeoutMs = Const.NET_IDLE_TIMEOUT_MS;
+		this.selector = Selector.open();
+		this.serverChannel = ServerSocketChannel.open();
+		try {
+			serverChannel.bind(new InetSocketAddress(port));
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		} catch (IOException e) {
+			serverChannel.close();
+			selector.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Starts the event loop thread.
+	 *
+	 * @since 23
+	 */
+	public void start() {
+		running = true;
+		loopThread = new Thread(this::loop, "game-server");
+		loopThread.start();
+	}
+
+	/**
+	 * Stops accepting connections and lets the event loop finish writing what
+	 * is queued. The loop stops once every connection has been closed.
+	 *
+	 * @since 23
+	 */
+	public void drain() {
+		draining = true;
+		selector.wakeup();
+	}
+
+	/**
+	 * Stops the event loop and closes every connection at once, without
+	 * flushing their queued messages.
+	 *
+	 * @since 23
+	 */
+	public void shutdown() {
+		running = false;
+		selector.wakeup();
+		if (loopThread == null) {
+			closeQuietly();
+		}
+	}
+
+	/**
+	 * Sets how long a client may be silent before it is sent PING, and before
+	 * it is disconnected.
+	 * @param heartbeatMs - The heartbeat interval, in milliseconds, or 0 to
+	 * turn heartbeats and idle timeouts off.
+	 * @param idleTimeoutMs - The idle timeout, in milliseconds.
+	 *
+	 * @since 23
+	 */
+	public void setHeartbeat(long heartbeatMs, long idleTimeoutMs) {
+		this.heartbeatMs = heartbeatMs;
+		this.idleTimeoutMs = idleTimeoutMs;
+		selector.wakeup();
+	}
+
+	/**
+	 * Sets the heartbeat interval and the idle timeout from the system
+	 * properties Const.NET_HEARTBEAT_PROPERTY and
+	 * Const.NET_IDLE_TIMEOUT_PROPERTY, keeping the default of each one that
+	 * is not set, or is not a number.
+	 *
+	 * @since 23
+	 */
+	public void setHeartbeatFromProperties() {
+		setHeartbeat(Long.getLong(Const.NET_HEARTBEAT_PROPERTY, Const.NET_HEARTBEAT_MS),
+				Long.getLong(Const.NET_IDLE_TIMEOUT_PROPERTY, Const.NET_IDLE_TIMEOUT_MS));
+	}
+
+	/**
+	 * Returns a new session token, which a client whose connection drops
+	 * sends back to get its seat back. The token is 128 random bits, so it
+	 * cannot be guessed.
+	 * @return the token, as 32 hex digits.
+	 *
+	 * @since 23
+	 */
+	public static String newToken() {
+		byte[] bytes = new byte[16];
+		TOKENS.nextBytes(bytes);
+		StringBuilder sb = new StringBuilder(32);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns whether a token sent by a client is the one it was issued. The
+	 * comparison takes the same time wherever the tokens differ.
+	 * @param issued - The token issued, or null if there is none.
+	 * @param sent - The token sent by the client, or null.
+	 * @return true if both are the same token.
+	 *
+	 * @since 23
+	 */
+	public static boolean tokenMatches(String issued, String sent) {
+		return issued != null && sent != null && MessageDigest.isEqual(
+				issued.getBytes(StandardCharsets.US_ASCII), sent.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Starts a batch on the calling thread: the messages it sends are queued,
+	 * but not written until the batch ends. Batches may be nested; only the
+	 * outermost one counts.
+	 *
+	 * @since 23
+	 */
+	public void beginBatch() {
+		Batch b = batches.get();
+		if (b == null) {
+			b = new Batch();
+			batches.set(b);
+		}
+		b.depth++;
+	}
+
+	/**
+	 * Ends the batch started on the calling thread, and has every message sent
+	 * in it written, one write per connection.
+	 *
+	 * @since 23
+	 */
+	public void endBatch() {
+		Batch b = batches.get();
+		if (b == null) {
+			return;
+		}
+		try {
+			if (b.depth == 1) {
+				// still in the batch, so what the task sends goes out with it
+				runDeferred();
+			}
+		} finally {
+			b.depth--;
+		}
+		if (b.depth > 0) {
+			return;
+		}
+		batches.remove();
+		if (!b.connections.isEmpty()) {
+			for (Connection c : b.connections) {
+				(c.lowPriority ? lowPending : pending).add(c);
+			}
+			selector.wakeup();
+		}
+	}
+
+	/**
+	 * Defers a task to the end of the batch of the calling thread, in place of
+	 * the task deferred before it, if any.
+	 * @param task - The task.
+	 * @return false if the calling thread is not inside a batch, in which
+	 * case the task is not taken and should be run at once.
+	 *
+	 * @since 23
+	 */
+	public boolean defer(Runnable task) {
+		Batch b = batches.get();
+		if (b == null) {
+			return false;
+		}
+		b.deferred = task;
+		return true;
+	}
+
+	/**
+	 * Runs the task deferred in the batch of the calling thread now, if there
+	 * is one, so it is sent before whatever the thread sends next.
+	 *
+	 * @since 23
+	 */
+	public void runDeferred() {
+		Batch b = batches.get();
+		if (b != null && b.deferred != null) {
+			Runnable task = b.deferred;
+			b.deferred = null;
+			task.run();
+		}
+	}
+
+	/**
+	 * The event loop: waits for sockets to be ready, accepts, reads and writes,
+	 * until the server is shut down or drained.
+	 *
+	 * @since 23
+	 */
+	private void loop() {
+		try {
+			while (running) {
+				long interval = heartbeatMs;
+				if (lowPending.isEmpty()) {
+					selector.select(interval > 0 ? interval : 0);
+				} else {
+					// low priority writes are left, so there is no waiting
+					selector.selectNow();
+				}
+
+				// queued messages are written at once; the socket is usually
+				// writable, so there is no need to wait for OP_WRITE first
+				Connection c;
+				while ((c = pending.poll()) != null) {
+					c.write();
+				}
+
+				// then some of the low priority ones, unless others are waiting
+				for (int i = 0; i < Const.NET_LOW_PRIORITY_WRITES && pending.isEmpty()
+						&& (c = lowPending.poll()) != null; i++) {
+					c.write();
+				}
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid()) {
+						continue;
+					}
+					if (key.isAcceptable()) {
+						accept();
+						continue;
+					}
+					c = (Connection) key.attachment();
+					if (key.isReadable()) {
+						c.read();
+					}
+					if (key.isValid() && key.isWritable()) {
+						c.write();
+					}
+				}
+
+				if (heartbeatMs > 0) {
+					checkIdle();
+				}
+
+				if (draining) {
+					if (serverChannel.isOpen()) {
+						serverChannel.close();
+					}
+					if (connections.isEmpty()) {
+						running = false;
+					}
+				}
+			}
+		} catch (IOException | ClosedSelectorException e) {
+			System.out.println("IO Exception encountered in the server event loop: " + e.getMessage());
+		} finally {
+			closeQuietly();
+		}
+	}
+
+	/**
+	 * Pings the clients that have been silent for the heartbeat interval, and
+	 * disconnects those that have been silent for the idle timeout. Called on
+	 * the event loop thread.
+	 *
+	 * @since 23
+	 */
+	private void checkIdle() {
+		long now = System.nanoTime();
+		if (now - lastIdleCheck < TimeUnit.MILLISECONDS.toNanos(heartbeatMs) / 2) {
+			return;
+		}
+		lastIdleCheck = now;
+		for (Connection c : new ArrayList<>(connections)) {
+			long silentMs = TimeUnit.NANOSECONDS.toMillis(now - c.lastRead);
+			if (silentMs >= idleTimeoutMs) {
+				System.out.println("A client was silent for " + silentMs + " ms, closing its connection.");
+				c.closeNow();
+			} else if (silentMs >= heartbeatMs && !c.pinged) {
+				c.pinged = true;
+				c.send(PING);
+			}
+		}
+	}
+
+	/**
+	 * Accepts every pending connection and registers it for reading.
+	 *
+	 * @throws IOException if the listening socket fails.
+	 * @since 23
+	 */
+	private void accept() throws IOException {
+		SocketChannel channel;
+		while ((channel = serverChannel.accept()) != null) {
+			channel.configureBlocking(false);
+			// messages are small and already batched by write(), so they are
+			// sent at once rather than held back by Nagle's algorithm
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			Connection c = new Connection(channel);
+			c.key = channel.register(selector, SelectionKey.OP_READ, c);
+			connections.add(c);
+			handler.onConnected(c);
+		}
+	}
+
+	/**
+	 * Closes every connection, the listening socket and the selector.
+	 *
+	 * @since 23
+	 */
+	private void closeQuietly() {
+		for (Connection c : new ArrayList<>(connections)) {
+			c.closeNow();
+		}
+		try {
+			serverChannel.close();
+			selector.close();
+		} catch (IOException e) {
+			System.out.println("IO Exception encountered while closing the server socket.");
+		}
+	}
+
+	/**
+	 * One client connection: its socket, its read buffer, and its queue of
+	 * outgoing messages.
+	 *
+	 * @since 23
+	 */
+	public class Connection {
+
+		/** The client's socket. */
+		private final SocketChannel channel;
+
+		/** The key of the socket in the selector. */
+		private SelectionKey key;
+
+		/** Bytes read from the socket that do not form a whole message yet. */
+		private ByteBuffer in;
+
+		/** Encoded messages waiting to be written, oldest first. */
+		private final ArrayDeque<Outgoing> out;
+
+		/** The number of bytes of the messages in the queue. */
+		private int queued;
+
+		/** Whether view updates have been dropped since the client fell behind. */
+		private boolean dropped;
+
+		/** Whether the connection should be closed once its queue is written. */
+		private boolean closing;
+
+		/** Whether the client speaks binary frames rather than text lines. */
+		private volatile boolean binary;
+
+		/** Whether the client understands versioned REFRESH and DELTA packets. */
+		private volatile boolean versioned;
+
+		/** When the client last sent anything, in nanoseconds. Only touched by the event loop thread. */
+		private long lastRead;
+
+		/** Whether the client was sent PING since it last sent anything. Only touched by the event loop thread. */
+		private boolean pinged;
+
+		/** Whether the connection has been closed. */
+		private volatile boolean closed;
+
+		/** Whether the messages of the connection are written after those of the others. */
+		private volatile boolean lowPriority;
+
+		/** The object the owner of the server attached to this connection. */
+		private volatile Object attachment;
+
+		/**
+		 * Wraps an accepted socket.
+		 * @param channel - The socket.
+		 *
+		 * @since 23
+		 */
+		Connection(SocketChannel channel) {
+			this.channel = channel;
+			this.in = ByteBuffer.allocate(Const.NET_READ_BUFFER_SIZE);
+			this.out = new ArrayDeque<>();
+			this.lastRead = System.nanoTime();
+		}
+
+		/**
+		 * Queues a message to be sent on this connection. Safe to call from
+		 * any thread; messages are sent in the order they were queued.
+		 *
+		 * @param msg - The message, fields separated by '|', without a line
+		 * terminator.
+		 * @since 23
+		 */
+		public void send(String msg) {
+			send(Wire.Packet.ofText(msg));
+		}
+
+		/**
+		 * Queues a message to be sent on this connection, as a text line or a
+		 * frame, whichever the client speaks. Safe to call from any thread;
+		 * messages are sent in the order they were queued.
+		 *
+		 * @param msg - The message.
+		 * @since 23
+		 */
+		public void send(Wire.Message msg) {
+			boolean wasIdle;
+			synchronized (out) {
+				if (closing || closed) {
+					return;
+				}
+				// encoded under the lock, so no message is encoded for a mode
+				// the connection has left by the time it is queued
+				byte[] bytes;
+				try {
+					bytes = binary ? msg.frame() : msg.line();
+				} catch (RuntimeException e) {
+					System.out.println("Could not encode a message for a client: " + e.getMessage());
+					return;
+				}
+
+				if (msg.isSnapshot()) {
+					// the snapshot replaces every view update queued before it,
+					// except one that is already partly written
+					Iterator<Outgoing> it = out.iterator();
+					while (it.hasNext()) {
+						Outgoing o = it.next();
+						if (o.view && o.buf.position() == 0) {
+							queued -= o.buf.limit();
+							it.remove();
+						}
+					}
+					dropped = false;
+				} else if (msg.isViewUpdate() && (dropped || queued > Const.NET_QUEUE_SOFT_LIMIT)) {
+					// the client is behind, and is sent a full refresh once it
+					// has caught up
+					dropped = true;
+					return;
+				}
+
+				if (queued + bytes.length > Const.NET_QUEUE_HARD_LIMIT) {
+					System.out.println("A client fell " + queued + " bytes behind, closing its connection.");
+					out.clear();
+					queued = 0;
+					closing = true;
+					wasIdle = true;
+				} else {
+					wasIdle = out.isEmpty();
+					out.add(new Outgoing(ByteBuffer.wrap(bytes), msg.isViewUpdate()));
+					queued += bytes.length;
+				}
+			}
+			if (wasIdle) {
+				Batch b = batches.get();
+				if (b != null) {
+					// written when the batch ends
+					b.connections.add(this);
+				} else {
+					(lowPriority ? lowPending : pending).add(this);
+					selector.wakeup();
+				}
+			}
+		}
+
+		/**
+		 * Answers a PROTO|version packet, or PROTO|version|text. A client that
+		 * speaks the version of this server understands versioned view
+		 * updates. Unless it asked to keep to text, the same packet is sent
+		 * back as the last text line, and every message after it, both ways,
+		 * is a binary frame. Otherwise the connection keeps speaking text,
+		 * and a client of an unknown version is treated as one that never
+		 * sent PROTO. Called on the event loop thread.
+		 *
+		 * @param packet - The fields of the packet.
+		 * @since 23
+		 */
+		public void negotiate(String[] packet) {
+			int version;
+			try {
+				version = Integer.parseInt(packet[1]);
+			} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+				version = -1;
+			}
+			if (binary) {
+				return;
+			}
+			if (version != Wire.VERSION) {
+				System.out.println("A client asked for an unknown protocol version, it will be sent text.");
+				return;
+			}
+			versioned = true;
+			if (packet.length > 2 && packet[2].equals("text")) {
+				return;
+			}
+			// the answer and the switch happen under the lock, so no other
+			// thread can queue a text line after the answer
+			synchronized (out) {
+				send("PROTO|" + Wire.VERSION);
+				binary = true;
+			}
+		}
+
+		/**
+		 * Returns whether the client speaks binary frames.
+		 * @return true once the protocol has been negotiated.
+		 *
+		 * @since 23
+		 */
+		public boolean isBinary() {
+			return binary;
+		}
+
+		/**
+		 * Returns whether the client understands versioned REFRESH and DELTA
+		 * packets. A client that never answered the ID with PROTO is sent the
+		 * full REFRESH of the original protocol instead.
+		 * @return true once the client has said it does.
+		 *
+		 * @since 23
+		 */
+		public boolean isVersioned() {
+			return versioned;
+		}
+
+		/**
+		 * Closes this connection once the messages queued so far have been
+		 * sent. Safe to call from any thread.
+		 *
+		 * @since 23
+		 */
+		public void close() {
+			synchronized (out) {
+				if (closing || closed) {
+					return;
+				}
+				closing = true;
+			}
+			(lowPriority ? lowPending : pending).add(this);
+			selector.wakeup();
+		}
+
+		/**
+		 * Attaches an object to this connection, such as the session of the
+		 * client, so the handler can find it again.
+		 * @param attachment - The object to attach, or null.
+		 *
+		 * @since 23
+		 */
+		public void attach(Object attachment) {
+			this.attachment = attachment;
+		}
+
+		/**
+		 * Returns the object attached to this connection.
+		 * @return the attachment, or null if there is none.
+		 *
+		 * @since 23
+		 */
+		public Object attachment() {
+			return attachment;
+		}
+
+		/**
+		 * Makes the messages of this connection wait for those of every other
+		 * connection, such as those of a spectator.
+		 * @param lowPriority - Whether the connection is low priority.
+		 *
+		 * @since 23
+		 */
+		public void setLowPriority(boolean lowPriority) {
+			this.lowPriority = lowPriority;
+		}
+
+		/**
+		 * Returns whether this connection is still open.
+		 * @return true until the connection is closed.
+		 *
+		 * @since 23
+		 */
+		public boolean isOpen() {
+			return !closed;
+		}
+
+		/**
+		 * Reads what the socket has available, and hands each whole message in
+		 * the read buffer to the handler. Called on the event loop thread.
+		 *
+		 * @since 23
+		 */
+		private void read() {
+			int n;
+			try {
+				n = channel.read(in);
+			} catch (IOException e) {
+				System.out.println("IO Exception encountered while reading from a client: " + e.getMessage());
+				closeNow();
+				return;
+			}
+			if (n < 0) {
+				closeNow();
+				return;
+			}
+			lastRead = System.nanoTime();
+			pinged = false;
+
+			in.flip();
+			int start = 0;
+			while (!closed) {
+				int end;
+				String[] packet;
+				if (binary) {
+					if (in.limit() - start < 2) {
+						break;
+					}
+					int len = ((in.get(start) & 0xFF) << 8) | (in.get(start + 1) & 0xFF);
+					end = start + 2 + len;
+					if (end > in.limit()) {
+						break;
+					}
+					try {
+						packet = Wire.decode(in.array(), start + 2, len);
+					} catch (IllegalArgumentException e) {
+						System.out.println("A client sent a malformed frame, closing its connection: " + e.getMessage());
+						closeNow();
+						return;
+					}
+				} else {
+					end = start;
+					while (end < in.limit() && in.get(end) != '\n') {
+						end++;
+					}
+					if (end == in.limit()) {
+						break;
+					}
+					int lineEnd = end > start && in.get(end - 1) == '\r' ? end - 1 : end;
+					packet = new String(in.array(), start, lineEnd - start, StandardCharsets.UTF_8).split("\\|");
+					end++;
+				}
+				start = end;
+
+				// an empty line or frame carries nothing to handle
+				if (packet.length == 0 || packet[0].isEmpty()) {
+					continue;
+				}
+
+				// the handler may switch the connection to binary, so the mode
+				// is checked again for the next message
+				if (packet[0].equals("PING")) {
+					send(PONG);
+				} else if (!packet[0].equals("PONG")) {
+					try {
+						handler.onMessage(this, packet);
+					} catch (RuntimeException e) {
+						// a message the handler chokes on costs the client its
+						// connection, not every client the event loop
+						System.out.println("Handling a " + packet[0] + " message from a client failed, closing its connection: "
+								+ e);
+						closeNow();
+						return;
+					}
+				}
+			}
+			if (closed) {
+				return;
+			}
+			in.position(start);
+			in.compact();
+
+			// a partial message fills the buffer: grow it, up to the frame limit
+			if (!in.hasRemaining()) {
+				if (in.capacity() >= Const.NET_MAX_FRAME_SIZE) {
+					System.out.println("A client sent a message longer than " + Const.NET_MAX_FRAME_SIZE
+							+ " bytes, closing its connection.");
+					closeNow();
+					return;
+				}
+				ByteBuffer larger = ByteBuffer.allocate(Math.min(in.capacity() * 2, Const.NET_MAX_FRAME_SIZE));
+				in.flip();
+				larger.put(in);
+				in = larger;
+			}
+		}
+
+		/**
+		 * Writes as much of the queue as the socket accepts. Waits for OP_WRITE
+		 * if the socket is full, and closes the connection if a close was
+		 * requested and the queue is empty. A client that fell behind and has
+		 * now caught up is handed to the handler as a RESYNC. Called on the
+		 * event loop thread.
+		 *
+		 * @since 23
+		 */
+		private void write() {
+			if (closed) {
+				return;
+			}
+			boolean flushed;
+			boolean close;
+			boolean resync;
+			synchronized (out) {
+				try {
+					// queued messages are written several at a time, rather than
+					// one small write per message
+					boolean full = false;
+					while (!out.isEmpty() && !full) {
+						int n = 0;
+						for (Outgoing o : out) {
+							batch[n++] = o.buf;
+							if (n == batch.length) {
+								break;
+							}
+						}
+						channel.write(batch, 0, n);
+						full = batch[n - 1].hasRemaining();
+						Arrays.fill(batch, 0, n, null);
+						while (!out.isEmpty() && !out.peek().buf.hasRemaining()) {
+							queued -= out.poll().buf.limit();
+						}
+					}
+				} catch (IOException e) {
+					System.out.println("IO Exception encountered while writing to a client: " + e.getMessage());
+					out.clear();
+					queued = 0;
+					closing = true;
+				}
+				flushed = out.isEmpty();
+				close = flushed && closing;
+				resync = flushed && dropped && !closing;
+				if (resync) {
+					dropped = false;
+				}
+			}
+			if (close) {
+				closeNow();
+				return;
+			}
+			if (key.isValid()) {
+				key.interestOps(flushed ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			}
+			if (resync) {
+				handler.onMessage(this, new String[] { "RESYNC" });
+			}
+		}
+
+		/**
+		 * Closes the socket at once and tells the handler. Called on the event
+		 * loop thread.
+		 *
+		 * @since 23
+		 */
+		private void closeNow() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			if (key != null) {
+				key.cancel();
+			}
+			try {
+				channel.close();
+			} catch (IOException e) {
+				System.out.println("IO Exception encountered while closing a client socket.");
+			}
+			connections.remove(this);
+			handler.onDisconnected(this);
+		}
+	}
+
+	/**
+	 * The messages one thread is sending for a single action.
+	 *
+	 * @since 23
+	 */
+	private static class Batch {
+
+		/** The number of beginBatch() calls not ended yet. */
+		private int depth;
+
+		/** The connections that were idle when the batch first sent to them. */
+		private final ArrayList<Connection> connections = new ArrayList<>();
+
+		/** The task deferred to the end of the batch, or null. */
+		private Runnable deferred;
+	}
+
+	/**
+	 * A message in the queue of a connection.
+	 *
+	 * @since 23
+	 */
+	private static class Outgoing {
+
+		/** The encoded message, positioned at the first byte not written yet. */
+		private final ByteBuffer buf;
+
+		/** Whether the message is a view update. */
+		private final boolean view;
+
+		/**
+		 * Wraps an encoded message.
+		 * @param buf - The encoded message.
+		 * @param view - Whether the message is a view update.
+		 *
+		 * @since 23
+		 */
+		Outgoing(ByteBuffer buf, boolean view) {
+			this.buf = buf;
+			this.view = view;
+		}
+	}
+
+}
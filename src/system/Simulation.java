@@ -0,0 +1,241 @@
+package system;
+
+import java.util.SplittableRandom;
+import java.util.Vector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import sysobj.AIPlayer;
+import sysobj.Player;
+
+/**
+ * Command line runner that plays complete four-AI games on the rules engine,
+ * with no UI and no delays between turns, to tune the rules and the AI. The
+ * games are split across all cores with a fork/join pool, and each task plays
+ * its games on its own engine and its own split of the random source, so a run
+ * is reproducible from its seed no matter how many threads play it.
+ *
+ * Usage: java system.Simulation [games] [seed] [threads] [hard seats]
+ *
+ * The first [hard seats] seats are played by the hard AI, searching a fixed
+ * number of iterations per move so the run stays reproducible.
+ *
+ * @since 23
+ */
+public class Simulation {
+
+	/** The number of seats at a simulated table. */
+	private static final int SEATS = 4;
+
+	/**
+	 * So Javadoc doesn't throw a fit
+	 */
+	Simulation(){}
+
+	/**
+	 * Runs the simulation and prints games per second, average rounds per game
+	 * and the win rate of each seat.
+	 *
+	 * @param args - The number of games, the seed, the number of threads and
+	 * the number of hard AI seats, all optional.
+	 * @since 23
+	 */
+	public static void main(String[] args) {
+		int games = Const.SIM_DEFAULT_GAMES;
+		long seed = ThreadLocalRandom.current().nextLong();
+		int threads = Runtime.getRuntime().availableProcessors();
+		int hardSeats = 0;
+		try {
+			if (args.length > 0) {
+				games = Integer.parseInt(args[0]);
+			}
+			if (args.length > 1) {
+				seed = Long.parseLong(args[1]);
+			}
+			if (args.length > 2) {
+				threads = Integer.parseInt(args[2]);
+			}
+			if (args.length > 3) {
+				hardSeats = Integer.parseInt(args[3]);
+			}
+		} catch (NumberFormatException e) {
+			System.out.println("Usage: java system.Simulation [games] [seed] [threads] [hard seats]");
+			return;
+		}
+
+		long start = System.nanoTime();
+		Tally tally;
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			tally = pool.invoke(new GamesTask(0, games, hardSeats, new SplittableRandom(seed)));
+		} finally {
+			pool.shutdown();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("Simulated %d games on %d threads in %.2f s (%.1f games/s), seed %d%n",
+				tally.games, threads, seconds, tally.games / seconds, seed);
+		System.out.printf("Average rounds per game: %.2f%n", (double) tally.rounds / tally.games);
+		System.out.println("Abandoned rounds (no player could move): " + tally.stalledRounds);
+		for (int seat = 0; seat < SEATS; seat++) {
+			System.out.printf("Seat %d (%s) win rate: %.2f%%%n", seat, seat < hardSeats ? "hard" : "easy",
+					100.0 * tally.wins[seat] / tally.games);
+		}
+		System.out.println("Games with tied winners (counted for every tied seat): " + tally.ties);
+	}
+
+	/**
+	 * Plays one complete game: rounds are played until a player reaches the
+	 * score limit.
+	 * @param engine - The engine to play on, with the players already seated.
+	 * @param tally - The results to add the game to.
+	 *
+	 * @since 23
+	 */
+	static void playGame(GameEngine engine, Tally tally) {
+		Vector<Player> players = engine.getPlayers();
+		for (Player p : players) {
+			p.setScore(0);
+		}
+		engine.setPlayers(players);
+
+		while (!engine.isScoreLimitReached()) {
+			engine.initRound();
+			tally.rounds++;
+			int turns = 0;
+			while (!engine.isRoundOver()) {
+				if (++turns > Const.SIM_MAX_TURNS) {
+					tally.stalledRounds++;
+					break;
+				}
+				engine.playAITurn((AIPlayer) engine.getActivePlayer());
+				engine.setActivePlayer(engine.getNextPlayer());
+			}
+			engine.tallyScores();
+		}
+
+		Vector<Player> winners = engine.getWinningPlayers();
+		for (Player p : winners) {
+			tally.wins[players.indexOf(p)]++;
+		}
+		if (winners.size() > 1) {
+			tally.ties++;
+		}
+		tally.games++;
+		engine.cleanUpGameState();
+	}
+
+	/**
+	 * The results of a number of simulated games.
+	 *
+	 * @since 23
+	 */
+	static class Tally {
+
+		/** The number of games played. */
+		long games;
+
+		/** The number of rounds played over all games. */
+		long rounds;
+
+		/** The number of rounds abandoned because nobody could move. */
+		long stalledRounds;
+
+		/** The number of games that ended with more than one winner. */
+		long ties;
+
+		/** The number of games won by each seat. */
+		final long[] wins = new long[SEATS];
+
+		/**
+		 * Adds the results of another tally to this one.
+		 * @param other - The tally to add.
+		 * @return this tally.
+		 *
+		 * @since 23
+		 */
+		Tally merge(Tally other) {
+			games += other.games;
+			rounds += other.rounds;
+			stalledRounds += other.stalledRounds;
+			ties += other.ties;
+			for (int seat = 0; seat < SEATS; seat++) {
+				wins[seat] += other.wins[seat];
+			}
+			return this;
+		}
+	}
+
+	/**
+	 * Plays the games in the range [from, to). Ranges larger than
+	 * Const.SIM_GAMES_PER_TASK are split in two, and the forked half gets a
+	 * split of the random source.
+	 *
+	 * @since 23
+	 */
+	static class GamesTask extends RecursiveTask<Tally> {
+
+		private static final long serialVersionUID = 1L;
+
+		/** The index of the first game to play. */
+		private final int from;
+
+		/** The index after the last game to play. */
+		private final int to;
+
+		/** The number of seats, from seat 0, played by the hard AI. */
+		private final int hardSeats;
+
+		/** The random source the seed of each game is drawn from. */
+		private final transient SplittableRandom random;
+
+		/**
+		 * Creates a task playing the games in the range [from, to).
+		 * @param from - The index of the first game.
+		 * @param to - The index after the last game.
+		 * @param hardSeats - The number of seats played by the hard AI.
+		 * @param random - The random source of the task.
+		 *
+		 * @since 23
+		 */
+		GamesTask(int from, int to, int hardSeats, SplittableRandom random) {
+			this.from = from;
+			this.to = to;
+			this.hardSeats = hardSeats;
+			this.random = random;
+		}
+
+		@Override
+		protected Tally compute() {
+			if (to - from > Const.SIM_GAMES_PER_TASK) {
+				int mid = (from + to) >>> 1;
+				GamesTask left = new GamesTask(from, mid, hardSeats, random.split());
+				left.fork();
+				Tally right = new GamesTask(mid, to, hardSeats, random).compute();
+				return right.merge(left.join());
+			}
+
+			Vector<Player> players = new Vector<>();
+			for (int seat = 0; seat < SEATS; seat++) {
+				AIPlayer p = new AIPlayer("AI " + seat, seat);
+				p.setID(seat);
+				if (seat < hardSeats) {
+					p.setDifficulty(Const.AI_HARD);
+				}
+				players.add(p);
+			}
+			GameEngine engine = new GameEngine();
+			engine.setVerbose(false);
+			engine.setSearch(new MonteCarloSearch(Const.MCTS_ITERATIONS, 0));
+			engine.setPlayers(players);
+
+			Tally tally = new Tally();
+			for (int game = from; game < to; game++) {
+				engine.setSeed(random.nextLong());
+				playGame(engine, tally);
+			}
+			return tally;
+		}
+	}
+
+}
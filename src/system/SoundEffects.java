@@ -0,0 +1,188 @@
+package system;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+
+/**
+ * Plays the sound effects of the game. Every effect, both the normal and the
+ * bitcrushed version, is decoded from asset/sound/ once and opened into a few
+ * clips that are played again and again, so playing a sound reads no file
+ * and opens no audio line.
+ *
+ * Loading and playing happen on one audio thread, in the order they were
+ * asked for; the caller, usually the event dispatch thread, only queues the
+ * request. Only the audio thread touches the clips.
+ *
+ * @since 23
+ */
+public final class SoundEffects {
+
+	/**
+	 * The sound effects of the game, with the name of the file each is read
+	 * from. The bitcrushed version of each is in "crushed_" + that file.
+	 *
+	 * @since 23
+	 */
+	public enum Effect {
+		/** A move that is not allowed. */
+		INVALID_MOVE("invalidMove.wav"),
+		/** A player passes the turn. */
+		PASS_TURN("powerUp.wav"),
+		/** A new round starts. */
+		NEW_ROUND("pickupCoin.wav"),
+		/** A player plays a card. */
+		PLAY_CARD("playCard.wav"),
+		/** A player draws a card. */
+		DRAW_CARD("drawCard.wav"),
+		/** The turn order is reversed. */
+		TURN_REVERSED("powerUp.wav"),
+		/** A player's turn is skipped. */
+		TURN_SKIPPED("jump.wav");
+
+		/** The file the normal version is read from. */
+		private final String fileName;
+
+		/**
+		 * Default Constructor
+		 * @param fileName - The file the normal version is read from.
+		 */
+		Effect(String fileName) {
+			this.fileName = fileName;
+		}
+	}
+
+	/**
+	 * The clips one sound file was opened into, played in turn so a sound
+	 * can start again while it is still playing.
+	 *
+	 * @since 23
+	 */
+	private static final class Pool {
+
+		/** The clips, all holding the same sound. */
+		private final Clip[] clips;
+
+		/** The clip played next. */
+		private int next;
+
+		/**
+		 * Default Constructor
+		 * @param clips - The clips.
+		 */
+		Pool(Clip[] clips) {
+			this.clips = clips;
+		}
+	}
+
+	/** The thread sounds are loaded and played on. */
+	private static final ExecutorService AUDIO = Threads.newSerial("sound-effects");
+
+	/** The clips of each sound file, by file name. Only the audio thread uses it. */
+	private static final HashMap<String, Pool> POOLS = new HashMap<>();
+
+	/** Whether the sounds were loaded. Only the audio thread uses it. */
+	private static boolean loaded;
+
+	/**
+	 * So Javadoc doesn't throw a fit
+	 */
+	private SoundEffects() {}
+
+	/**
+	 * Starts loading every sound effect on the audio thread, so the first
+	 * sounds of the game don't wait for it.
+	 *
+	 * @since 23
+	 */
+	public static void preload() {
+		AUDIO.execute(SoundEffects::load);
+	}
+
+	/**
+	 * Plays a sound effect. Returns at once; the sound is started on the
+	 * audio thread. If the sound is already playing on every clip it has, the
+	 * oldest one is started over.
+	 * @param effect - The sound effect.
+	 * @param is8bit - Plays the bitcrushed version of the sound instead.
+	 *
+	 * @since 23
+	 */
+	public static void play(Effect effect, boolean is8bit) {
+		String fileName = is8bit ? "crushed_" + effect.fileName : effect.fileName;
+		AUDIO.execute(() -> {
+			load();
+			Pool pool = POOLS.get(fileName);
+			if (pool == null || pool.clips.length == 0) {
+				return;
+			}
+			Clip clip = pool.clips[pool.next];
+			pool.next = (pool.next + 1) % pool.clips.length;
+			clip.stop();
+			clip.setFramePosition(0);
+			clip.start();
+		});
+	}
+
+	/**
+	 * Decodes every sound file and opens its clips, the first time it is
+	 * called. Runs on the audio thread.
+	 *
+	 * @since 23
+	 */
+	private static void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		for (Effect effect : Effect.values()) {
+			for (String fileName : new String[] {effect.fileName, "crushed_" + effect.fileName}) {
+				if (!POOLS.containsKey(fileName)) {
+					POOLS.put(fileName, open(fileName));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Decodes one sound file and opens it into Const.SOUND_CLIPS_PER_EFFECT
+	 * clips, or as many as the audio system allows. A sound that cannot be
+	 * read gets no clips, and is not played.
+	 * @param fileName - The name of the file in asset/sound/.
+	 * @return the clips.
+	 *
+	 * @since 23
+	 */
+	private static Pool open(String fileName) {
+		AudioFormat format;
+		byte[] data;
+		try (AudioInputStream in = AudioSystem.getAudioInputStream(new File("asset/sound/" + fileName))) {
+			format = in.getFormat();
+			data = in.readAllBytes();
+		} catch (Exception e) {
+			System.out.println("Could not read the sound effect " + fileName + ": " + e.getMessage());
+			return new Pool(new Clip[0]);
+		}
+
+		Clip[] clips = new Clip[Const.SOUND_CLIPS_PER_EFFECT];
+		int opened = 0;
+		try {
+			while (opened < clips.length) {
+				Clip clip = AudioSystem.getClip();
+				clip.open(format, data, 0, data.length);
+				clips[opened++] = clip;
+			}
+		} catch (Exception e) {
+			if (opened == 0) {
+				System.out.println("Could not open the sound effect " + fileName + ": " + e.getMessage());
+			}
+		}
+		Clip[] open = new Clip[opened];
+		System.arraycopy(clips, 0, open, 0, opened);
+		return new Pool(open);
+	}
+}
@@ -0,0 +1,100 @@
+package system;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the threads of the server and client, as platform threads or as
+ * virtual threads. The choice is made once, at startup, with the system
+ * property Const.THREADS_PROPERTY:
+ *
+ * java -Dcrazyeights.threads=virtual system.LobbyServer
+ *
+ * With virtual threads, each table task and each delayed AI turn gets its own
+ * virtual thread, and a delayed task simply sleeps on it, so waiting costs no
+ * platform thread. The socket event loop stays on one platform thread either
+ * way, and so does the AI search, which keeps every core busy and gains
+ * nothing from virtual threads.
+ *
+ * @since 23
+ */
+public final class Threads {
+
+	/** Whether virtual threads were chosen at startup. */
+	public static final boolean VIRTUAL = "virtual".equalsIgnoreCase(System.getProperty(Const.THREADS_PROPERTY));
+
+	/**
+	 * So Javadoc doesn't throw a fit
+	 */
+	private Threads() {}
+
+	/**
+	 * Starts a thread running the passed task. Platform threads are daemons,
+	 * as virtual threads always are, if asked.
+	 * @param name - The name of the thread.
+	 * @param daemon - Whether a platform thread should be a daemon.
+	 * @param task - The task.
+	 * @return the started thread.
+	 *
+	 * @since 23
+	 */
+	public static Thread start(String name, boolean daemon, Runnable task) {
+		if (VIRTUAL) {
+			return Thread.ofVirtual().name(name).start(task);
+		}
+		Thread t = new Thread(task, name);
+		t.setDaemon(daemon);
+		t.start();
+		return t;
+	}
+
+	/**
+	 * Creates the pool tasks are run on: one virtual thread per task, or a
+	 * fixed number of daemon platform threads.
+	 * @param name - The name of its threads.
+	 * @param size - The number of platform threads.
+	 * @return the pool.
+	 *
+	 * @since 23
+	 */
+	public static ExecutorService newPool(String name, int size) {
+		if (VIRTUAL) {
+			return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name).factory());
+		}
+		return Executors.newFixedThreadPool(size, r -> {
+			Thread t = new Thread(r, name);
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Creates an executor that runs its tasks one at a time, in the order
+	 * they were submitted, on one virtual thread or one daemon platform
+	 * thread.
+	 * @param name - The name of its thread.
+	 * @return the executor.
+	 *
+	 * @since 23
+	 */
+	public static ExecutorService newSerial(String name) {
+		if (VIRTUAL) {
+			return Executors.newSingleThreadExecutor(Thread.ofVirtual().name(name).factory());
+		}
+		return Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, name);
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Returns a short description of the threads in use, for logs.
+	 * @return "virtual" or "platform".
+	 *
+	 * @since 23
+	 */
+	public static String describe() {
+		return VIRTUAL ? "virtual" : "platform";
+	}
+}
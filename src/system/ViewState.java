@@ -0,0 +1,697 @@
+package system;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Vector;
+import sysobj.Card;
+import sysobj.Player;
+
+/**
+ * What one client sees of the game: their hand, the last played card, the
+ * number of cards, name and score of each player, and the turn direction.
+ *
+ * The server keeps one per client, holding what it last sent them, and only
+ * sends what changed since: update() returns a DELTA packet, or nothing if
+ * nothing changed. A full REFRESH snapshot is only sent the first time, or
+ * after the client asks for a resync. The client keeps its own copy, applies
+ * each packet to it, and asks for a resync if a packet was missed.
+ *
+ * Every packet carries a version, one more than the last. A DELTA is
+ * DELTA|version|op|op..., where each op is one of: +id (card added to your
+ * hand), -id (card removed from your hand), Tid (top card is now id), D (turn
+ * direction flipped), Cseat:count, Sseat:score and Nseat:name. In binary
+ * (see Wire), each op is its letter followed by a card id, or by a seat and
+ * a value.
+ *
+ * A spectator's view is the same, without a hand: it is seen from seat 0,
+ * with nothing in it, so a spectator is never sent a card of any hand.
+ *
+ * Only clients that answered the ID packet with PROTO understand versions
+ * and deltas. Any other client is sent the REFRESH of the original
+ * protocol, REFRESH|seat|hand|played|counts|names|scores|direction, whole
+ * and without a version, every time its view changes. A client that says it
+ * understands them later is then sent a versioned REFRESH.
+ *
+ * @since 23
+ */
+public class ViewState {
+
+	/** The seat passed to update() for the view of a spectator. */
+	public static final int SPECTATOR = -1;
+
+	/** The version of the last packet sent or applied. */
+	private int version;
+
+	/** Whether a full snapshot has been sent or applied since the last reset. */
+	private boolean synced;
+
+	/** Whether the client was last sent versioned packets. */
+	private boolean versioned;
+
+	/** The seat of the client. */
+	private int seat;
+
+	/** The client's hand, one bit per card id. */
+	private long hand;
+
+	/** The id of the last played card. */
+	private int top;
+
+	/** The turn direction. */
+	private boolean direction;
+
+	/** The number of cards in each player's hand. */
+	private int[] counts;
+
+	/** The score of each player. */
+	private int[] scores;
+
+	/** The name of each player. */
+	private String[] names;
+
+	/**
+	 * Creates a view that has not been synced yet.
+	 *
+	 * @since 23
+	 */
+	public ViewState() {
+		this.counts = new int[0];
+		this.scores = new int[0];
+		this.names = new String[0];
+	}
+
+	/**
+	 * Forgets what was sent, so the next update() sends a full snapshot.
+	 *
+	 * @since 23
+	 */
+	public void reset() {
+		synced = false;
+	}
+
+	/* ------------------------------------------------------------------ */
+	/* --------------------------- SERVER SIDE -------------------------- */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Brings the view up to date with the game, and returns the packet that
+	 * brings the client up to date the same way.
+	 * @param players - The players, passed from the model.
+	 * @param seat - The seat of the client, or SPECTATOR.
+	 * @param lastPlayedCard - The last played card.
+	 * @param turnDirection - The turn direction.
+	 * @param versioned - Whether the client understands versioned REFRESH
+	 * and DELTA packets; if not, it is sent an unversioned REFRESH instead.
+	 * @return a REFRESH or DELTA packet, or null if nothing changed.
+	 *
+	 * @since 23
+	 */
+	public Wire.Message update(Vector<Player> players, int seat, Card lastPlayedCard, boolean turnDirection,
+			boolean versioned) {
+		int n = players.size();
+		if (!synced || n != counts.length || seat != this.seat || versioned != this.versioned) {
+			record(players, seat, lastPlayedCard, turnDirection);
+			synced = true;
+			this.versioned = versioned;
+			return versioned ? new Update(this, ++version) : new Update(this, Update.NO_VERSION);
+		}
+
+		Update u = new Update(++version);
+		long newHand = handOf(players, seat);
+		u.added = newHand & ~hand;
+		u.removed = hand & ~newHand;
+		hand = newHand;
+
+		int newTop = lastPlayedCard.getId();
+		if (newTop != top) {
+			u.top = newTop;
+			top = newTop;
+		}
+		if (turnDirection != direction) {
+			u.flipped = true;
+			direction = turnDirection;
+		}
+
+		for (int i = 0; i < n; i++) {
+			Player p = players.get(i);
+			int count = p.getHandSize();
+			if (count != counts[i]) {
+				u.set('C', i, count, null);
+				counts[i] = count;
+			}
+			int score = p.getScore();
+			if (score != scores[i]) {
+				u.set('S', i, score, null);
+				scores[i] = score;
+			}
+			String name = nameOf(p);
+			if (!name.equals(names[i])) {
+				u.set('N', i, 0, name);
+				names[i] = name;
+			}
+		}
+
+		if (!u.hasChanges()) {
+			version--;
+			return null;
+		}
+		if (!versioned) {
+			version--;
+			return new Update(this, Update.NO_VERSION);
+		}
+		return u;
+	}
+
+	/**
+	 * Returns a full snapshot of the view as last sent, with the same version,
+	 * for a client who joins the clients this view is sent to.
+	 * @return a REFRESH packet, or null if nothing has been sent yet.
+	 *
+	 * @since 23
+	 */
+	public Wire.Message snapshot() {
+		return synced ? new Update(this, versioned ? version : Update.NO_VERSION) : null;
+	}
+
+	/**
+	 * Returns the hand a client at a seat sees.
+	 * @param players - The players.
+	 * @param seat - The seat of the client, or SPECTATOR.
+	 * @return the hand, one bit per card id; none for a spectator.
+	 *
+	 * @since 23
+	 */
+	private static long handOf(Vector<Player> players, int seat) {
+		return seat == SPECTATOR ? 0L : players.get(seat).getHand().getMask();
+	}
+
+	/**
+	 * Records the whole state of the game as sent.
+	 * @param players - The players.
+	 * @param seat - The seat of the client, or SPECTATOR.
+	 * @param lastPlayedCard - The last played card.
+	 * @param turnDirection - The turn direction.
+	 *
+	 * @since 23
+	 */
+	private void record(Vector<Player> players, int seat, Card lastPlayedCard, boolean turnDirection) {
+		int n = players.size();
+		this.seat = seat;
+		this.hand = handOf(players, seat);
+		this.top = lastPlayedCard.getId();
+		this.direction = turnDirection;
+		this.counts = new int[n];
+		this.scores = new int[n];
+		this.names = new String[n];
+		for (int i = 0; i < n; i++) {
+			Player p = players.get(i);
+			counts[i] = p.getHandSize();
+			scores[i] = p.getScore();
+			names[i] = nameOf(p);
+		}
+	}
+
+	/**
+	 * Returns a player's name as it is sent: trimmed, with ',' (which
+	 * separates the names of a REFRESH) replaced.
+	 * @param p - The player.
+	 * @return the name.
+	 *
+	 * @since 23
+	 */
+	private static String nameOf(Player p) {
+		return p.getName().trim().replace(",", ";");
+	}
+
+	/**
+	 * A REFRESH or DELTA packet. It holds what it sends rather than its
+	 * encoding, since whether the client speaks text or binary is only known
+	 * when it is queued.
+	 *
+	 * @since 23
+	 */
+	private static class Update implements Wire.Message {
+
+		/** The version of a REFRESH of the original protocol, which has none. */
+		static final int NO_VERSION = -1;
+
+		/** The version of the packet, or NO_VERSION. */
+		private final int version;
+
+		/** Whether the packet is a full snapshot rather than a delta. */
+		private final boolean full;
+
+		/** The seat of the client. Snapshots only. */
+		private int seat;
+
+		/** The hand of the client. Snapshots only. */
+		private long hand;
+
+		/** Cards added to and removed from the hand. Deltas only. */
+		private long added, removed;
+
+		/** The id of the top card, or -1 if it did not change. */
+		private int top = -1;
+
+		/** The turn direction. Snapshots only. */
+		private boolean direction;
+
+		/** Whether the turn direction flipped. Deltas only. */
+		private boolean flipped;
+
+		/** The seat-level ops of a delta (C, S or N), in order. */
+		private char[] ops;
+
+		/** The seat of each op. */
+		private int[] opSeats;
+
+		/** The count or score of each op, or the seat count of a snapshot. */
+		private int[] opValues;
+
+		/** The name of each N op. */
+		private String[] opNames;
+
+		/** The number of ops. */
+		private int opCount;
+
+		/** The counts, scores and names of a snapshot. */
+		private int[] counts, scores;
+
+		/** The names of a snapshot. */
+		private String[] names;
+
+		/** The encoded line, or null until built. */
+		private byte[] line;
+
+		/** The encoded frame, or null until built. */
+		private byte[] frame;
+
+		/**
+		 * Creates a snapshot of a view.
+		 * @param v - The view.
+		 * @param version - The version of the packet, or NO_VERSION.
+		 *
+		 * @since 23
+		 */
+		Update(ViewState v, int version) {
+			this.version = version;
+			this.full = true;
+			this.seat = Math.max(v.seat, 0);
+			this.hand = v.hand;
+			this.top = v.top;
+			this.direction = v.direction;
+			this.counts = v.counts.clone();
+			this.scores = v.scores.clone();
+			this.names = v.names.clone();
+		}
+
+		/**
+		 * Creates an empty delta.
+		 * @param version - The version of the packet.
+		 *
+		 * @since 23
+		 */
+		Update(int version) {
+			this.version = version;
+			this.full = false;
+		}
+
+		/**
+		 * Adds a seat-level op to the delta.
+		 * @param op - C, S or N.
+		 * @param seat - The seat.
+		 * @param value - The count or score.
+		 * @param name - The name, for N.
+		 *
+		 * @since 23
+		 */
+		void set(char op, int seat, int value, String name) {
+			if (ops == null) {
+				ops = new char[4];
+				opSeats = new int[4];
+				opValues = new int[4];
+				opNames = new String[4];
+			} else if (opCount == ops.length) {
+				ops = Arrays.copyOf(ops, opCount * 2);
+				opSeats = Arrays.copyOf(opSeats, opCount * 2);
+				opValues = Arrays.copyOf(opValues, opCount * 2);
+				opNames = Arrays.copyOf(opNames, opCount * 2);
+			}
+			ops[opCount] = op;
+			opSeats[opCount] = seat;
+			opValues[opCount] = value;
+			opNames[opCount] = name;
+			opCount++;
+		}
+
+		/**
+		 * Returns whether the delta changes anything.
+		 * @return true if it does.
+		 *
+		 * @since 23
+		 */
+		boolean hasChanges() {
+			return added != 0L || removed != 0L || top >= 0 || flipped || opCount > 0;
+		}
+
+		@Override
+		public boolean isViewUpdate() {
+			return true;
+		}
+
+		@Override
+		public boolean isSnapshot() {
+			return full;
+		}
+
+		@Override
+		public synchronized byte[] line() {
+			if (line == null) {
+				line = (this + "\n").getBytes(StandardCharsets.UTF_8);
+			}
+			return line;
+		}
+
+		/**
+		 * Returns the text form of the packet:
+		 * REFRESH|seat|hand|played|counts|names|scores|direction|version, or
+		 * without the version if it has none, or DELTA|version|op|op...
+		 * @return the packet.
+		 *
+		 * @since 23
+		 */
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			if (full) {
+				sb.append("REFRESH|").append(seat).append('|');
+				appendCards(sb, hand);
+				sb.append('|').append(Card.of(top)).append('|');
+				for (int i = 0; i < counts.length; i++) {
+					sb.append(i > 0 ? "," : "").append(counts[i]);
+				}
+				sb.append('|').append(String.join(",", names)).append('|');
+				for (int i = 0; i < scores.length; i++) {
+					sb.append(i > 0 ? "," : "").append(scores[i]);
+				}
+				sb.append('|').append(direction);
+				if (version != NO_VERSION) {
+					sb.append('|').append(version);
+				}
+				return sb.toString();
+			}
+
+			sb.append("DELTA|").append(version);
+			for (long rest = added; rest != 0L; rest &= rest - 1) {
+				sb.append("|+").append(Long.numberOfTrailingZeros(rest));
+			}
+			for (long rest = removed; rest != 0L; rest &= rest - 1) {
+				sb.append("|-").append(Long.numberOfTrailingZeros(rest));
+			}
+			if (top >= 0) {
+				sb.append("|T").append(top);
+			}
+			if (flipped) {
+				sb.append("|D");
+			}
+			for (int i = 0; i < opCount; i++) {
+				sb.append('|').append(ops[i]).append(opSeats[i]).append(':');
+				if (ops[i] == 'N') {
+					sb.append(opNames[i]);
+				} else {
+					sb.append(opValues[i]);
+				}
+			}
+			return sb.toString();
+		}
+
+		/**
+		 * Returns the binary form of the packet. A snapshot is the version,
+		 * the seat, the number of cards in hand and their ids, the top card,
+		 * the turn direction, the number of players, then the count, score
+		 * and name of each. A delta is the version, then each op as its
+		 * letter followed by its card id, or its seat and value.
+		 * @return the frame.
+		 *
+		 * @since 23
+		 */
+		@Override
+		public synchronized byte[] frame() {
+			if (frame != null) {
+				return frame;
+			}
+			Wire.Writer w;
+			if (full) {
+				w = new Wire.Writer(Wire.OP_REFRESH).varint(Math.max(version, 0)).u8(seat).u8(Long.bitCount(hand));
+				for (long rest = hand; rest != 0L; rest &= rest - 1) {
+					w.u8(Long.numberOfTrailingZeros(rest));
+				}
+				w.u8(top).u8(direction ? 1 : 0).u8(counts.length);
+				for (int i = 0; i < counts.length; i++) {
+					w.varint(counts[i]).varint(scores[i]).str(names[i]);
+				}
+			} else {
+				w = new Wire.Writer(Wire.OP_DELTA).varint(version);
+				for (long rest = added; rest != 0L; rest &= rest - 1) {
+					w.u8('+').u8(Long.numberOfTrailingZeros(rest));
+				}
+				for (long rest = removed; rest != 0L; rest &= rest - 1) {
+					w.u8('-').u8(Long.numberOfTrailingZeros(rest));
+				}
+				if (top >= 0) {
+					w.u8('T').u8(top);
+				}
+				if (flipped) {
+					w.u8('D');
+				}
+				for (int i = 0; i < opCount; i++) {
+					w.u8(ops[i]).u8(opSeats[i]);
+					if (ops[i] == 'N') {
+						w.str(opNames[i]);
+					} else {
+						w.varint(opValues[i]);
+					}
+				}
+			}
+			frame = w.frame();
+			return frame;
+		}
+	}
+
+	/**
+	 * Appends the names of the cards of a hand, in id order, separated by ','.
+	 * @param sb - The builder.
+	 * @param hand - The hand, one bit per card id.
+	 *
+	 * @since 23
+	 */
+	private static void appendCards(StringBuilder sb, long hand) {
+		for (long rest = hand; rest != 0L; rest &= rest - 1) {
+			if (rest != hand) {
+				sb.append(",");
+			}
+			sb.append(Card.of(Long.numberOfTrailingZeros(rest)));
+		}
+	}
+
+	/* ------------------------------------------------------------------ */
+	/* --------------------------- CLIENT SIDE -------------------------- */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Replaces the view with a full snapshot.
+	 * @param packet - The REFRESH packet, split on '|'. A snapshot without a
+	 * version is accepted, and versioned 0.
+	 *
+	 * @since 23
+	 */
+	public void applyRefresh(String[] packet) {
+		seat = Integer.parseInt(packet[1]);
+		hand = 0L;
+		if (!packet[2].isEmpty()) {
+			for (String c : packet[2].split(",")) {
+				hand |= 1L << Card.getCardFromStr(c).getId();
+			}
+		}
+		top = Card.getCardFromStr(packet[3]).getId();
+		String[] countStrs = packet[4].split(",");
+		names = packet[5].split(",");
+		String[] scoreStrs = packet[6].split(",");
+		counts = new int[countStrs.length];
+		scores = new int[scoreStrs.length];
+		for (int i = 0; i < countStrs.length; i++) {
+			counts[i] = Integer.parseInt(countStrs[i]);
+		}
+		for (int i = 0; i < scoreStrs.length; i++) {
+			scores[i] = Integer.parseInt(scoreStrs[i]);
+		}
+		direction = Boolean.parseBoolean(packet[7]);
+		version = packet.length > 8 ? Integer.parseInt(packet[8]) : 0;
+		synced = true;
+	}
+
+	/**
+	 * Applies a delta to the view, if it is the next one.
+	 * @param packet - The DELTA packet, split on '|'.
+	 * @return false if the view was not synced or a packet was missed, in
+	 * which case the client must ask for a resync.
+	 *
+	 * @since 23
+	 */
+	public boolean applyDelta(String[] packet) {
+		int v = Integer.parseInt(packet[1]);
+		if (!synced || v != version + 1) {
+			synced = false;
+			return false;
+		}
+		version = v;
+
+		for (int i = 2; i < packet.length; i++) {
+			String op = packet[i];
+			switch (op.charAt(0)) {
+			case '+': hand |= 1L << Integer.parseInt(op.substring(1)); break;
+			case '-': hand &= ~(1L << Integer.parseInt(op.substring(1))); break;
+			case 'T': top = Integer.parseInt(op.substring(1)); break;
+			case 'D': direction = !direction; break;
+			case 'C': counts[seatOf(op)] = Integer.parseInt(valueOf(op)); break;
+			case 'S': scores[seatOf(op)] = Integer.parseInt(valueOf(op)); break;
+			case 'N': names[seatOf(op)] = valueOf(op); break;
+			default: System.out.println("Unknown view delta: " + op); break;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Replaces the view with a full snapshot, read from a binary REFRESH.
+	 * @param r - The frame, read past its opcode.
+	 *
+	 * @since 23
+	 */
+	public void applyRefresh(Wire.Reader r) {
+		version = r.varint();
+		seat = r.u8();
+		hand = 0L;
+		for (int i = r.u8(); i > 0; i--) {
+			hand |= 1L << r.card().getId();
+		}
+		top = r.card().getId();
+		direction = r.u8() != 0;
+		int n = r.u8();
+		counts = new int[n];
+		scores = new int[n];
+		names = new String[n];
+		for (int i = 0; i < n; i++) {
+			counts[i] = r.varint();
+			scores[i] = r.varint();
+			names[i] = r.str();
+		}
+		synced = true;
+	}
+
+	/**
+	 * Applies a binary DELTA to the view, if it is the next one.
+	 * @param r - The frame, read past its opcode.
+	 * @return false if the view was not synced or a packet was missed, in
+	 * which case the client must ask for a resync.
+	 *
+	 * @since 23
+	 */
+	public boolean applyDelta(Wire.Reader r) {
+		int v = r.varint();
+		if (!synced || v != version + 1) {
+			synced = false;
+			return false;
+		}
+		version = v;
+
+		while (r.hasMore()) {
+			int op = r.u8();
+			switch (op) {
+			case '+': hand |= 1L << r.card().getId(); break;
+			case '-': hand &= ~(1L << r.card().getId()); break;
+			case 'T': top = r.card().getId(); break;
+			case 'D': direction = !direction; break;
+			case 'C': counts[r.u8()] = r.varint(); break;
+			case 'S': scores[r.u8()] = r.varint(); break;
+			case 'N': names[r.u8()] = r.str(); break;
+			default: throw new IllegalArgumentException("Unknown view delta: " + (char) op);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the seat an op of the form Xseat:value is about.
+	 * @param op - The op.
+	 * @return the seat.
+	 *
+	 * @since 23
+	 */
+	private static int seatOf(String op) {
+		return Integer.parseInt(op.substring(1, op.indexOf(':')));
+	}
+
+	/**
+	 * Returns the value of an op of the form Xseat:value.
+	 * @param op - The op.
+	 * @return the value.
+	 *
+	 * @since 23
+	 */
+	private static String valueOf(String op) {
+		return op.substring(op.indexOf(':') + 1);
+	}
+
+	/**
+	 * Returns the view in the form GameControllerListener.onViewRefresh()
+	 * takes it: seat, hand, last played card, counts, names, scores and turn
+	 * direction.
+	 * @return the seven fields of a refresh.
+	 *
+	 * @since 23
+	 */
+	public String[] toRefreshFields() {
+		StringBuilder sbHand = new StringBuilder();
+		appendCards(sbHand, hand);
+		StringBuilder sbCounts = new StringBuilder();
+		StringBuilder sbScores = new StringBuilder();
+		for (int i = 0; i < counts.length; i++) {
+			sbCounts.append(i > 0 ? "," : "").append(counts[i]);
+			sbScores.append(i > 0 ? "," : "").append(scores[i]);
+		}
+		return new String[] { String.valueOf(seat), sbHand.toString(), Card.of(top).toString(),
+				sbCounts.toString(), String.join(",", names), sbScores.toString(), String.valueOf(direction) };
+	}
+
+	/**
+	 * Getter for the version of the last packet sent or applied.
+	 * @return the version.
+	 *
+	 * @since 23
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Getter for the client's hand.
+	 * @return one bit per card id.
+	 *
+	 * @since 23
+	 */
+	public long getHand() {
+		return hand;
+	}
+
+	/**
+	 * Getter for the id of the last played card.
+	 * @return the card id.
+	 *
+	 * @since 23
+	 */
+	public int getTop() {
+		return top;
+	}
+
+}
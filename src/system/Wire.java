@@ -0,0 +1,625 @@
+package system;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import sysobj.Card;
+import sysobj.Suit;
+
+/**
+ * The binary form of the packets of the game, spoken instead of '|' separated
+ * text lines once a client and the server agree on it.
+ *
+ * The server sends ID|id|version|token as text. A client that speaks that
+ * version answers PROTO|version, the last text line it sends, and sends
+ * binary from then on. The server answers PROTO|version in turn, the last
+ * text line that client receives. A client that answers PROTO|version|text
+ * keeps to text, and is not answered. A client that does not answer, such as
+ * one built before this protocol, is sent text for as long as it stays
+ * connected, and its view only as the REFRESH of the original protocol (see
+ * ViewState).
+ * A client whose connection drops sends RESUME|id|token as the first line of
+ * its new connection, and is sent ID again if it got its seat back.
+ *
+ * A frame is a two byte big-endian length, followed by that many bytes: a one
+ * byte opcode, then the fields of the packet in the order of its text form.
+ * Cards and suits are sent as one byte, numbers as varints, and strings as a
+ * varint length followed by their UTF-8 bytes. A field missing at the end of a
+ * packet is missing from the frame too.
+ *
+ * @since 23
+ */
+public final class Wire {
+
+	/** The version of the binary protocol. */
+	public static final int VERSION = 1;
+
+	/** The type of each packet, indexed by opcode. */
+	private static final String[] TYPES = {
+			"ID", "PROTO", "NAME", "CHAT", "REFRESH", "DELTA", "CONSOLE", "ROUNDOVER",
+			"GAMEOVER", "SUITREQUEST", "SUITCHOICE", "PLAY", "DRAW", "BTN", "CLEANUP",
+			"SHUTDOWN", "DISCONNECT", "RESYNC", "LIST", "TABLES", "CREATE", "JOIN",
+			"JOINED", "LEAVE", "LEFT", "LOBBYERR", "PING", "PONG", "RESUME",
+			"WATCH"
+	};
+
+	/**
+	 * The fields of each packet, indexed by opcode: i (number), s (string),
+	 * c (card), u (suit), k (console message key), x (console message extra,
+	 * a card or a string). A trailing * repeats the field before it. REFRESH
+	 * and DELTA are encoded by ViewState.
+	 */
+	private static final String[] SCHEMAS = {
+			"iis", "i", "s", "s", null, null, "skx", "s",
+			"s", "c", "iuc", "ic", "i", "s", "",
+			"", "i", "", "", "s*", "iss", "i",
+			"ii", "", "i", "s", "", "", "is",
+			"s"
+	};
+
+	/** The opcode of each packet type. */
+	private static final Map<String, Integer> OPCODES = new HashMap<>();
+
+	static {
+		for (int op = 0; op < TYPES.length; op++) {
+			OPCODES.put(TYPES[op], op);
+		}
+	}
+
+	/** The opcode of a full view refresh. */
+	public static final int OP_REFRESH = opcode("REFRESH");
+
+	/** The opcode of a view delta. */
+	public static final int OP_DELTA = opcode("DELTA");
+
+	/** The keys of console messages, sent as their index. */
+	private static final String[] CONSOLE_KEYS = {
+			"newRound", "currentTurn", "passTurn", "drawCard", "playCard", "forceDraw",
+			"suitChanged", "turnReversed", "turnSkipped", "cantDraw", "notYourTurn"
+	};
+
+	/** Every suit, indexed by ordinal. */
+	private static final Suit[] SUITS = Suit.values();
+
+	/**
+	 * Not instantiated.
+	 * @since 23
+	 */
+	private Wire() {}
+
+	/**
+	 * A packet ready to be sent, in whichever form the connection speaks. Each
+	 * form is only built once, however many connections it is sent to.
+	 *
+	 * @since 23
+	 */
+	public interface Message {
+
+		/**
+		 * Returns the packet as a newline terminated text line.
+		 * @return the UTF-8 bytes of the line, which must not be modified.
+		 */
+		byte[] line();
+
+		/**
+		 * Returns the packet as a binary frame.
+		 * @return the frame, length included, which must not be modified.
+		 */
+		byte[] frame();
+
+		/**
+		 * Returns whether the packet is a view update (REFRESH or DELTA), which
+		 * may be dropped for a client that is behind.
+		 * @return true for view updates.
+		 */
+		default boolean isViewUpdate() {
+			return false;
+		}
+
+		/**
+		 * Returns whether the packet is a full snapshot of the view (REFRESH),
+		 * which makes every view update queued before it useless.
+		 * @return true for snapshots.
+		 */
+		default boolean isSnapshot() {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the opcode of a packet type.
+	 * @param type - The type, such as "PLAY".
+	 * @return the opcode.
+	 *
+	 * @since 23
+	 */
+	public static int opcode(String type) {
+		Integer op = OPCODES.get(type);
+		if (op == null) {
+			throw new IllegalArgumentException("Unknown packet type: " + type);
+		}
+		return op;
+	}
+
+	/**
+	 * Returns the type of the packet with the passed opcode.
+	 * @param op - The opcode.
+	 * @return the type, such as "PLAY".
+	 *
+	 * @since 23
+	 */
+	public static String typeOf(int op) {
+		if (op < 0 || op >= TYPES.length) {
+			throw new IllegalArgumentException("Unknown opcode: " + op);
+		}
+		return TYPES[op];
+	}
+
+	/**
+	 * Decodes a frame into the fields of its text form, type first, as
+	 * splitting the text line on '|' would.
+	 * @param buf - The buffer holding the frame.
+	 * @param off - The offset of the opcode, just after the length.
+	 * @param len - The length of the frame, without the length itself.
+	 * @return the fields of the packet.
+	 * @throws IllegalArgumentException if the frame is malformed.
+	 *
+	 * @since 23
+	 */
+	public static String[] decode(byte[] buf, int off, int len) {
+		Reader r = new Reader(buf, off, len);
+		int op = r.u8();
+		String schema = op < SCHEMAS.length ? SCHEMAS[op] : null;
+		if (schema == null) {
+			throw new IllegalArgumentException("Cannot decode a packet with opcode " + op);
+		}
+
+		ArrayList<String> fields = new ArrayList<>();
+		fields.add(TYPES[op]);
+		for (int i = 0; r.hasMore(); i++) {
+			char kind = kindOf(schema, i);
+			if (kind == 0) {
+				throw new IllegalArgumentException("Too many fields in a " + TYPES[op] + " packet.");
+			}
+			fields.add(readField(r, kind));
+		}
+		return fields.toArray(new String[0]);
+	}
+
+	/**
+	 * Returns the kind of the field at the passed index of a schema.
+	 * @param schema - The schema.
+	 * @param i - The index of the field, the type not counted.
+	 * @return the kind, or 0 if the schema has no such field.
+	 *
+	 * @since 23
+	 */
+	private static char kindOf(String schema, int i) {
+		if (i < schema.length() && schema.charAt(i) != '*') {
+			return schema.charAt(i);
+		}
+		if (schema.endsWith("*")) {
+			return schema.charAt(schema.length() - 2);
+		}
+		return 0;
+	}
+
+	/**
+	 * Reads one field in its text form.
+	 * @param r - The reader.
+	 * @param kind - The kind of the field.
+	 * @return the field.
+	 *
+	 * @since 23
+	 */
+	private static String readField(Reader r, char kind) {
+		switch (kind) {
+		case 'i': return Integer.toString(r.varint());
+		case 's': return r.str();
+		case 'c': return r.card().toString();
+		case 'u': return r.suit().toString();
+		case 'k':
+			int key = r.u8();
+			return key < CONSOLE_KEYS.length ? CONSOLE_KEYS[key] : r.str();
+		case 'x':
+			switch (r.u8()) {
+			case 0: return " ";
+			case 1: return r.card().toString();
+			default: return r.str();
+			}
+		default: throw new IllegalArgumentException("Unknown field kind: " + kind);
+		}
+	}
+
+	/**
+	 * Writes one field from its text form.
+	 * @param w - The writer.
+	 * @param kind - The kind of the field.
+	 * @param field - The field.
+	 *
+	 * @since 23
+	 */
+	private static void writeField(Writer w, char kind, String field) {
+		switch (kind) {
+		case 'i': w.varint(Integer.parseInt(field)); break;
+		case 's': w.str(field); break;
+		case 'c': w.u8(Card.getCardFromStr(field).getId()); break;
+		case 'u': w.u8(Suit.valueOf(field).ordinal()); break;
+		case 'k':
+			int key = Arrays.asList(CONSOLE_KEYS).indexOf(field);
+			if (key >= 0) {
+				w.u8(key);
+			} else {
+				w.u8(0xFF).str(field);
+			}
+			break;
+		case 'x':
+			int id = -1;
+			if (field.contains(" of ")) {
+				try {
+					id = Card.getCardFromStr(field).getId();
+				} catch (IllegalArgumentException e) {
+					// not a card, sent as a string
+				}
+			}
+			if (field.isBlank()) {
+				w.u8(0);
+			} else if (id >= 0) {
+				w.u8(1).u8(id);
+			} else {
+				w.u8(2).str(field);
+			}
+			break;
+		default: throw new IllegalArgumentException("Unknown field kind: " + kind);
+		}
+	}
+
+	/**
+	 * Reads a newline terminated UTF-8 line from a stream, without reading
+	 * past it, so the stream can switch to frames after any line.
+	 * @param in - The stream, which should be buffered.
+	 * @return the line, without its terminator, or null at the end of the stream.
+	 * @throws IOException if the stream cannot be read.
+	 *
+	 * @since 23
+	 */
+	public static String readLine(InputStream in) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int b;
+		while ((b = in.read()) != '\n') {
+			if (b < 0) {
+				return line.size() == 0 ? null : line.toString(StandardCharsets.UTF_8);
+			}
+			line.write(b);
+		}
+		String s = line.toString(StandardCharsets.UTF_8);
+		return s.endsWith("\r") ? s.substring(0, s.length() - 1) : s;
+	}
+
+	/**
+	 * A packet made of text fields, such as most packets of the game. Its text
+	 * form is the fields joined with '|'; its binary form follows the schema of
+	 * its type. Fields beyond the schema are not sent in binary.
+	 *
+	 * @since 23
+	 */
+	public static class Packet implements Message {
+
+		/** The fields of the packet, type first, or null until the text is split. */
+		private String[] fields;
+
+		/** The text form of the packet, or null until built. */
+		private String text;
+
+		/** The encoded line, or null until built. */
+		private byte[] line;
+
+		/** The encoded frame, or null until built. */
+		private byte[] frame;
+
+		/**
+		 * Creates a packet from its fields.
+		 * @param fields - The fields, type first.
+		 *
+		 * @since 23
+		 */
+		public Packet(String... fields) {
+			this.fields = fields;
+		}
+
+		/**
+		 * Creates a packet from its text form. The text is only split if the
+		 * packet is sent in binary.
+		 * @param text - The packet, fields separated by '|'.
+		 * @return the packet.
+		 *
+		 * @since 23
+		 */
+		public static Packet ofText(String text) {
+			Packet p = new Packet((String[]) null);
+			p.text = text;
+			return p;
+		}
+
+		@Override
+		public synchronized byte[] line() {
+			if (line == null) {
+				line = (this + "\n").getBytes(StandardCharsets.UTF_8);
+			}
+			return line;
+		}
+
+		@Override
+		public synchronized byte[] frame() {
+			if (frame == null) {
+				String[] f = fields();
+				int op = opcode(f[0]);
+				String schema = SCHEMAS[op];
+				if (schema == null) {
+					throw new IllegalArgumentException("A " + f[0] + " packet has no generic binary form.");
+				}
+				Writer w = new Writer(op);
+				for (int i = 1; i < f.length; i++) {
+					char kind = kindOf(schema, i - 1);
+					if (kind == 0) {
+						break;
+					}
+					writeField(w, kind, f[i]);
+				}
+				frame = w.frame();
+			}
+			return frame;
+		}
+
+		/**
+		 * Returns the fields of the packet, type first.
+		 * @return the fields.
+		 *
+		 * @since 23
+		 */
+		public synchronized String[] fields() {
+			if (fields == null) {
+				ArrayList<String> list = new ArrayList<>();
+				int start = 0;
+				int bar;
+				while ((bar = text.indexOf('|', start)) >= 0) {
+					list.add(text.substring(start, bar));
+					start = bar + 1;
+				}
+				list.add(text.substring(start));
+				fields = list.toArray(new String[0]);
+			}
+			return fields;
+		}
+
+		/**
+		 * Returns the text form of the packet.
+		 * @return the fields joined with '|'.
+		 *
+		 * @since 23
+		 */
+		@Override
+		public synchronized String toString() {
+			if (text == null) {
+				text = String.join("|", fields);
+			}
+			return text;
+		}
+	}
+
+	/**
+	 * Builds a frame, growing its buffer as fields are written.
+	 *
+	 * @since 23
+	 */
+	public static class Writer {
+
+		/** The frame, with two bytes reserved for its length. */
+		private byte[] buf;
+
+		/** The number of bytes written, length included. */
+		private int len;
+
+		/**
+		 * Starts a frame.
+		 * @param op - The opcode of the packet.
+		 *
+		 * @since 23
+		 */
+		public Writer(int op) {
+			this.buf = new byte[64];
+			this.buf[2] = (byte) op;
+			this.len = 3;
+		}
+
+		/**
+		 * Writes one byte.
+		 * @param v - The byte, from 0 to 255.
+		 * @return this writer.
+		 *
+		 * @since 23
+		 */
+		public Writer u8(int v) {
+			if (len == buf.length) {
+				buf = Arrays.copyOf(buf, buf.length * 2);
+			}
+			buf[len++] = (byte) v;
+			return this;
+		}
+
+		/**
+		 * Writes a number as a zigzag varint: 1 byte from -64 to 63, 2 bytes
+		 * up to 8191, and so on.
+		 * @param v - The number.
+		 * @return this writer.
+		 *
+		 * @since 23
+		 */
+		public Writer varint(int v) {
+			int z = (v << 1) ^ (v >> 31);
+			while ((z & ~0x7F) != 0) {
+				u8((z & 0x7F) | 0x80);
+				z >>>= 7;
+			}
+			return u8(z);
+		}
+
+		/**
+		 * Writes a string as its length followed by its UTF-8 bytes.
+		 * @param s - The string.
+		 * @return this writer.
+		 *
+		 * @since 23
+		 */
+		public Writer str(String s) {
+			byte[] b = s.getBytes(StandardCharsets.UTF_8);
+			varint(b.length);
+			if (len + b.length > buf.length) {
+				buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + b.length));
+			}
+			System.arraycopy(b, 0, buf, len, b.length);
+			len += b.length;
+			return this;
+		}
+
+		/**
+		 * Finishes the frame.
+		 * @return the frame, length included.
+		 * @throws IllegalStateException if the frame is longer than a length
+		 * of two bytes can tell.
+		 *
+		 * @since 23
+		 */
+		public byte[] frame() {
+			int n = len - 2;
+			if (n > 0xFFFF) {
+				throw new IllegalStateException("A " + TYPES[buf[2] & 0xFF] + " packet is too long for a frame: " + n + " bytes");
+			}
+			buf[0] = (byte) (n >>> 8);
+			buf[1] = (byte) n;
+			return Arrays.copyOf(buf, len);
+		}
+	}
+
+	/**
+	 * Reads the fields of a frame in order.
+	 *
+	 * @since 23
+	 */
+	public static class Reader {
+
+		/** The buffer holding the frame. */
+		private final byte[] buf;
+
+		/** The position of the next byte to read. */
+		private int pos;
+
+		/** The position just past the frame. */
+		private final int end;
+
+		/**
+		 * Reads a frame from its opcode on.
+		 * @param buf - The buffer holding the frame.
+		 * @param off - The offset of the opcode, just after the length.
+		 * @param len - The length of the frame, without the length itself.
+		 *
+		 * @since 23
+		 */
+		public Reader(byte[] buf, int off, int len) {
+			this.buf = buf;
+			this.pos = off;
+			this.end = off + len;
+		}
+
+		/**
+		 * Returns whether there is anything left to read.
+		 * @return true until the end of the frame.
+		 *
+		 * @since 23
+		 */
+		public boolean hasMore() {
+			return pos < end;
+		}
+
+		/**
+		 * Reads one byte.
+		 * @return the byte, from 0 to 255.
+		 *
+		 * @since 23
+		 */
+		public int u8() {
+			if (pos >= end) {
+				throw new IllegalArgumentException("Frame ended early.");
+			}
+			return buf[pos++] & 0xFF;
+		}
+
+		/**
+		 * Reads a zigzag varint.
+		 * @return the number.
+		 *
+		 * @since 23
+		 */
+		public int varint() {
+			int z = 0;
+			for (int shift = 0; shift < 35; shift += 7) {
+				int b = u8();
+				z |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return (z >>> 1) ^ -(z & 1);
+				}
+			}
+			throw new IllegalArgumentException("Malformed varint.");
+		}
+
+		/**
+		 * Reads a string.
+		 * @return the string.
+		 *
+		 * @since 23
+		 */
+		public String str() {
+			int n = varint();
+			if (n < 0 || n > end - pos) {
+				throw new IllegalArgumentException("Malformed string length: " + n);
+			}
+			String s = new String(buf, pos, n, StandardCharsets.UTF_8);
+			pos += n;
+			return s;
+		}
+
+		/**
+		 * Reads a card id.
+		 * @return the card.
+		 *
+		 * @since 23
+		 */
+		public Card card() {
+			int id = u8();
+			if (id >= Const.DECK_SIZE) {
+				throw new IllegalArgumentException("Malformed card id: " + id);
+			}
+			return Card.of(id);
+		}
+
+		/**
+		 * Reads a suit ordinal.
+		 * @return the suit.
+		 *
+		 * @since 23
+		 */
+		public Suit suit() {
+			int ordinal = u8();
+			if (ordinal >= SUITS.length) {
+				throw new IllegalArgumentException("Malformed suit: " + ordinal);
+			}
+			return SUITS[ordinal];
+		}
+	}
+
+}